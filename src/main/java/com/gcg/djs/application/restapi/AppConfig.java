@@ -2,41 +2,105 @@ package com.gcg.djs.application.restapi;
 
 import com.gcg.djs.domain.interfaces.external.ICronService;
 import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.interfaces.repositories.IDeadLetterReplayRepository;
+import com.gcg.djs.domain.interfaces.repositories.IDeadLetterRepository;
+import com.gcg.djs.domain.interfaces.repositories.IJobRepository;
+import com.gcg.djs.domain.interfaces.repositories.IRecurringJobRepository;
 import com.gcg.djs.domain.interfaces.repositories.Repository;
+import com.gcg.djs.domain.interfaces.services.IDeadLetterService;
 import com.gcg.djs.domain.interfaces.services.IJobService;
+import com.gcg.djs.domain.interfaces.services.IRecurringJobListener;
 import com.gcg.djs.domain.interfaces.services.IRecurringJobService;
 import com.gcg.djs.domain.models.jobs.Job;
 import com.gcg.djs.domain.models.recurringjob.RecurringJob;
+import com.gcg.djs.domain.models.scheduler.SchedulerSettings;
+import com.gcg.djs.domain.services.jobs.DeadLetterService;
 import com.gcg.djs.domain.services.jobs.JobService;
+import com.gcg.djs.domain.services.recurringjobs.RecurringJobSchedulerService;
 import com.gcg.djs.domain.services.recurringjobs.RecurringJobService;
 import com.gcg.djs.infrastructure.cron.CronService;
+import com.gcg.djs.infrastructure.mongdb.DeadLetterReplayRepository;
+import com.gcg.djs.infrastructure.mongdb.DeadLetterRepository;
 import com.gcg.djs.infrastructure.mongdb.JobRepository;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
+import com.gcg.djs.infrastructure.mongdb.MongoSchemaMigrator;
 import com.gcg.djs.infrastructure.mongdb.RecurringJobRepository;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoDatabase;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
     @Value("${spring.data.mongodb.database}")
     private String mongoDBName;
 
+    // Jobs are routed to partitions by this count, it must be the same on every node
+    @Value("${scheduler.partition-count}")
+    private int partitionCount;
+
+    @Value("${scheduler.schema-migration.enabled}")
+    private boolean schemaMigrationEnabled;
+
+    @Value("${scheduler.schema-migration.batch-size}")
+    private int schemaMigrationBatchSize;
+
+    @Value("${scheduler.schema-migration.batch-pause-millis}")
+    private long schemaMigrationBatchPauseMillis;
+
     @Bean
     public MongoDatabase mongoDatabase(MongoClient mongoClient) {
         return mongoClient.getDatabase(mongoDBName);
     }
 
+    @Bean
+    public MongoIndexProvisioner.Report indexReport(MongoDatabase mongoDatabase, ILog log) {
+        // Runs once at startup, before any request reaches the repositories
+        return new MongoIndexProvisioner(mongoDatabase, log).provision();
+    }
+
+    @Bean
+    public MongoSchemaMigrator schemaMigrator(MongoClient mongoClient, MongoDatabase mongoDatabase, ILog log) {
+        return new MongoSchemaMigrator(mongoClient, mongoDatabase, log,
+                schemaMigrationBatchSize, Duration.ofMillis(schemaMigrationBatchPauseMillis));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSchemaMigration(ApplicationReadyEvent event) {
+        if (!schemaMigrationEnabled) {
+            return;
+        }
+
+        // Migrates in the background once the application is up, reads accept both schemas until it is done
+        var migrator = event.getApplicationContext().getBean(MongoSchemaMigrator.class);
+        Thread.ofVirtual().name("schema-migration").start(migrator::migrate);
+    }
+
     @Bean
     public RecurringJobRepository recurringJob(MongoDatabase mongoDatabase) {
-        return new RecurringJobRepository(mongoDatabase);
+        return new RecurringJobRepository(mongoDatabase, MongoIndexProvisioner.indexedFields("recurringJobs"));
     }
 
     @Bean
-    public JobRepository jobRepository(MongoDatabase mongoDatabase) {
-        return new JobRepository(mongoDatabase);
+    public JobRepository jobRepository(MongoDatabase mongoDatabase, SchedulerSettings schedulerSettings) {
+        return new JobRepository(
+                mongoDatabase, schedulerSettings.partitionCount(), MongoIndexProvisioner.indexedFields("jobs"));
+    }
+
+    @Bean
+    public DeadLetterRepository deadLetterRepository(MongoDatabase mongoDatabase) {
+        return new DeadLetterRepository(mongoDatabase, MongoIndexProvisioner.indexedFields("deadLetterJobs"));
+    }
+
+    @Bean
+    public DeadLetterReplayRepository deadLetterReplayRepository(MongoDatabase mongoDatabase) {
+        return new DeadLetterReplayRepository(mongoDatabase);
     }
 
     @Bean
@@ -44,10 +108,41 @@ public class AppConfig {
         return new JobService(jobRepository, log);
     }
 
+    @Bean
+    public SchedulerSettings schedulerSettings() {
+        return new SchedulerSettings.Builder()
+                .partitionCount(partitionCount)
+                .build();
+    }
+
+    @Bean
+    public IDeadLetterService deadLetterService(
+            IDeadLetterRepository deadLetterRepository,
+            IDeadLetterReplayRepository deadLetterReplayRepository,
+            IJobRepository jobRepository,
+            SchedulerSettings schedulerSettings,
+            ILog log) {
+        return new DeadLetterService(
+                deadLetterRepository, deadLetterReplayRepository, jobRepository, schedulerSettings, log);
+    }
+
+    @Bean
+    public RecurringJobSchedulerService recurringJobSchedulerService(
+            IRecurringJobRepository recurringJobRepository,
+            IJobRepository jobRepository,
+            ICronService cronService,
+            SchedulerSettings schedulerSettings) {
+        return new RecurringJobSchedulerService(recurringJobRepository, jobRepository, cronService, schedulerSettings);
+    }
+
     @Bean
     public IRecurringJobService recurringJobService(
-            Repository<RecurringJob> recurringJobRepository, ILog log, ICronService cronService) {
-        return new RecurringJobService(log, recurringJobRepository, cronService);
+            Repository<RecurringJob> recurringJobRepository,
+            ILog log,
+            ICronService cronService,
+            IRecurringJobListener recurringJobListener) {
+        // Changes made through the API go straight into the in-memory index of next runs of the scheduler
+        return new RecurringJobService(log, recurringJobRepository, cronService, recurringJobListener);
     }
 
 
@@ -0,0 +1,101 @@
+package com.gcg.djs.application.restapi.controllers;
+
+import com.gcg.djs.domain.common.CountMode;
+import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.common.QueryParametersBuilder;
+import com.gcg.djs.domain.interfaces.services.IDeadLetterService;
+import com.gcg.djs.domain.models.errors.ValidationException;
+import com.gcg.djs.domain.models.jobs.DeadLetterJob;
+import com.gcg.djs.domain.models.jobs.DeadLetterReplay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/dead-letters")
+public class DeadLetterController {
+
+    private final IDeadLetterService deadLetterService;
+
+    @Autowired
+    public DeadLetterController(IDeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<DeadLetterJob>> getDeadLetterJobs(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(required = false) String errorType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
+        try {
+            Page<DeadLetterJob> jobs = deadLetterService.getDeadLetterJobs(
+                    page, pageSize, toQueryParameters(errorType, from, to, count));
+            return new ResponseEntity<>(jobs, HttpStatus.OK);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<DeadLetterReplay> replay(
+            @RequestParam(defaultValue = "1000") int limit,
+            @RequestParam(required = false) String errorType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        try {
+            // The replay runs in the background, its progress is polled from the returned location
+            DeadLetterReplay replay = deadLetterService.replay(
+                    toQueryParameters(errorType, from, to, CountMode.NONE), limit);
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create("/dead-letters/replays/" + replay.id()))
+                    .body(replay);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/replays/{id}")
+    public ResponseEntity<DeadLetterReplay> getReplay(@PathVariable UUID id) {
+        try {
+            return new ResponseEntity<>(deadLetterService.getReplay(id), HttpStatus.OK);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    private static QueryParameters toQueryParameters(
+            String errorType, Instant from, Instant to, CountMode countMode) {
+        var builder = new QueryParametersBuilder().countMode(countMode);
+
+        if (errorType == null && from == null && to == null) {
+            return builder.build();
+        }
+
+        builder.and();
+
+        if (errorType != null) {
+            builder.equal("error.errorType", errorType);
+        }
+
+        if (from != null) {
+            builder.greaterThanOrEqual("deadLetteredAt", from);
+        }
+
+        if (to != null) {
+            builder.lessThan("deadLetteredAt", to);
+        }
+
+        return builder.build();
+    }
+}
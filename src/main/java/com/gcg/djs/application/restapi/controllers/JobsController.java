@@ -1,7 +1,12 @@
 package com.gcg.djs.application.restapi.controllers;
 
+import com.gcg.djs.domain.common.BulkResult;
+import com.gcg.djs.domain.common.CountMode;
+import com.gcg.djs.domain.common.CursorPage;
+import com.gcg.djs.domain.common.FieldSelection;
 import com.gcg.djs.domain.common.Page;
-import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.common.QueryParametersBuilder;
+import com.gcg.djs.domain.common.sorts.SortOperator;
 import com.gcg.djs.domain.interfaces.services.IJobService;
 import com.gcg.djs.domain.models.errors.ValidationException;
 import com.gcg.djs.domain.models.jobs.CreateJob;
@@ -12,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -35,6 +41,16 @@ public class JobsController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BulkResult<Job>> createJobs(@RequestBody List<CreateJob> createJobs) {
+        try {
+            BulkResult<Job> result = jobService.addJobs(createJobs);
+            return new ResponseEntity<>(result, result.allApplied() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Job> updateJob(@PathVariable UUID id, @RequestBody UpdateJob updateJob) {
         try {
@@ -69,19 +85,67 @@ public class JobsController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<Job>> searchJobs(
+    public ResponseEntity<Page<?>> searchJobs(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int pageSize,
-            @RequestParam(required = false) String queryParams) {
+            @RequestParam(required = false) String queryParams,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "ASC") SortOperator direction,
+            @RequestParam(required = false) List<String> fields) {
 
         try {
 
             // TODO build a string parser to queryParameters
-            Page<Job> jobs = jobService.searchJobs(page, pageSize, null);
-            return new ResponseEntity<>(jobs, HttpStatus.OK);
+            var parameters = new QueryParametersBuilder().countMode(count);
+            if (sortBy != null) {
+                if (direction == SortOperator.DESC) {
+                    parameters.sortByDesc(sortBy);
+                } else {
+                    parameters.sortByAsc(sortBy);
+                }
+            }
+            if (fields != null) {
+                parameters.fields(fields);
+            }
+
+            Page<Job> jobs = jobService.searchJobs(page, pageSize, parameters.build());
+
+            // Only the requested fields were read, so only those are returned
+            Page<?> body = fields != null ? FieldSelection.select(jobs, fields) : jobs;
+            return new ResponseEntity<>(body, HttpStatus.OK);
+
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<?>> scrollJobs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "ASC") SortOperator direction,
+            @RequestParam(required = false) List<String> fields) {
+        try {
+            var parameters = new QueryParametersBuilder();
+            if (sortBy != null) {
+                if (direction == SortOperator.DESC) {
+                    parameters.sortByDesc(sortBy);
+                } else {
+                    parameters.sortByAsc(sortBy);
+                }
+            }
+            if (fields != null) {
+                parameters.fields(fields);
+            }
+
+            CursorPage<Job> jobs = jobService.scrollJobs(cursor, pageSize, parameters.build());
 
+            CursorPage<?> body = fields != null ? FieldSelection.select(jobs, fields) : jobs;
+            return new ResponseEntity<>(body, HttpStatus.OK);
         } catch (ValidationException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
-}
\ No newline at end of file
+}
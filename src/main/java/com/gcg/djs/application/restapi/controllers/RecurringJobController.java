@@ -1,6 +1,11 @@
 package com.gcg.djs.application.restapi.controllers;
 
+import com.gcg.djs.domain.common.CountMode;
+import com.gcg.djs.domain.common.CursorPage;
+import com.gcg.djs.domain.common.FieldSelection;
 import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.QueryParametersBuilder;
+import com.gcg.djs.domain.common.sorts.SortOperator;
 import com.gcg.djs.domain.interfaces.services.IRecurringJobService;
 import com.gcg.djs.domain.models.errors.ValidationException;
 import com.gcg.djs.domain.models.recurringjob.CreateRecurringJob;
@@ -10,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -43,14 +49,33 @@ public class RecurringJobController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<RecurringJob>> getRecurringJobs(
+    public ResponseEntity<Page<?>> getRecurringJobs(
             @RequestParam int page,
-            @RequestParam int pageSize) {
+            @RequestParam int pageSize,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "ASC") SortOperator direction,
+            @RequestParam(required = false) List<String> fields) {
         try {
             // TODO build a string parser to queryParameters
+            var parameters = new QueryParametersBuilder().countMode(count);
+            if (sortBy != null) {
+                if (direction == SortOperator.DESC) {
+                    parameters.sortByDesc(sortBy);
+                } else {
+                    parameters.sortByAsc(sortBy);
+                }
+            }
+            if (fields != null) {
+                parameters.fields(fields);
+            }
+
             Page<RecurringJob> recurringJobs = recurringJobService.getRecurringJobsPage(
-                    page, pageSize, null);
-            return new ResponseEntity<>(recurringJobs, HttpStatus.OK);
+                    page, pageSize, parameters.build());
+
+            // Only the requested fields were read, so only those are returned
+            Page<?> body = fields != null ? FieldSelection.select(recurringJobs, fields) : recurringJobs;
+            return new ResponseEntity<>(body, HttpStatus.OK);
         } catch (ValidationException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -81,4 +106,34 @@ public class RecurringJobController {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<?>> scrollRecurringJobs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "ASC") SortOperator direction,
+            @RequestParam(required = false) List<String> fields) {
+        try {
+            var parameters = new QueryParametersBuilder();
+            if (sortBy != null) {
+                if (direction == SortOperator.DESC) {
+                    parameters.sortByDesc(sortBy);
+                } else {
+                    parameters.sortByAsc(sortBy);
+                }
+            }
+            if (fields != null) {
+                parameters.fields(fields);
+            }
+
+            CursorPage<RecurringJob> recurringJobs = recurringJobService.scrollRecurringJobs(
+                    cursor, pageSize, parameters.build());
+
+            CursorPage<?> body = fields != null ? FieldSelection.select(recurringJobs, fields) : recurringJobs;
+            return new ResponseEntity<>(body, HttpStatus.OK);
+        } catch (ValidationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.gcg.djs.application.restapi.controllers;
+
+import com.gcg.djs.infrastructure.mongdb.MongoSchemaMigrator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/schema-migration")
+public class SchemaMigrationController {
+    private final MongoSchemaMigrator schemaMigrator;
+
+    @Autowired
+    public SchemaMigrationController(MongoSchemaMigrator schemaMigrator) {
+        this.schemaMigrator = schemaMigrator;
+    }
+
+    @GetMapping
+    public ResponseEntity<MongoSchemaMigrator.Progress> getProgress() {
+        return new ResponseEntity<>(schemaMigrator.progress(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,87 @@
+package com.gcg.djs.domain.common;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The outcome of a batch write, item by item.
+ *
+ * <p>Batches are written unordered, so one item failing does not stop the others; the result tells which
+ * items were written and why the others were not. Items are in the same order as in the batch.
+ *
+ * @param <T> The type of the written entities.
+ * @param items The outcome of every item of the batch.
+ */
+public record BulkResult<T>(List<Item<T>> items) {
+
+    public BulkResult {
+        Objects.requireNonNull(items);
+    }
+
+    /**
+     * @return The entities that were written.
+     */
+    public List<T> applied() {
+        return items.stream()
+                .filter(item -> item.status() == Status.APPLIED)
+                .map(Item::entity)
+                .toList();
+    }
+
+    /**
+     * @return The items that were not written, with the reason why.
+     */
+    public List<Item<T>> rejected() {
+        return items.stream()
+                .filter(item -> item.status() != Status.APPLIED)
+                .toList();
+    }
+
+    public boolean allApplied() {
+        return items.stream().allMatch(item -> item.status() == Status.APPLIED);
+    }
+
+    public static <T> BulkResult<T> empty() {
+        return new BulkResult<>(List.of());
+    }
+
+    /**
+     * @param entity The entity of the item.
+     * @param status Whether the item was written.
+     * @param error Why the item was not written, or null if it was.
+     */
+    public record Item<T>(T entity, Status status, String error) {
+        public Item {
+            Objects.requireNonNull(status);
+        }
+
+        public static <T> Item<T> applied(T entity) {
+            return new Item<>(entity, Status.APPLIED, null);
+        }
+
+        public static <T> Item<T> notMatched(T entity) {
+            return new Item<>(entity, Status.NOT_MATCHED, null);
+        }
+
+        public static <T> Item<T> failed(T entity, String error) {
+            return new Item<>(entity, Status.FAILED, error);
+        }
+    }
+
+    public enum Status {
+        /**
+         * The item was written.
+         */
+        APPLIED,
+
+        /**
+         * The stored entity is missing or no longer matches the precondition of the write.
+         */
+        NOT_MATCHED,
+
+        /**
+         * The item was rejected, by validation or by the database.
+         */
+        FAILED
+    }
+}
@@ -0,0 +1,18 @@
+package com.gcg.djs.domain.common;
+
+import java.util.Objects;
+
+/**
+ * An update that is only applied if the stored entity still matches a precondition.
+ *
+ * @param entity The entity with updated data.
+ * @param precondition Filters the stored entity must match for the update to be applied.
+ * @param <T> The type of the entity.
+ */
+public record ConditionalWrite<T>(T entity, QueryParameters precondition) {
+
+    public ConditionalWrite {
+        Objects.requireNonNull(entity);
+        Objects.requireNonNull(precondition);
+    }
+}
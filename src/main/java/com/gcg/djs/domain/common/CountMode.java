@@ -0,0 +1,30 @@
+package com.gcg.djs.domain.common;
+
+/**
+ * How the total number of items of a {@link Page} is counted.
+ *
+ * <p>Counting is often the most expensive part of reading a page, so callers that do not need an exact
+ * total, such as dashboards polling job lists, can ask for a cheaper one.
+ */
+public enum CountMode {
+    /**
+     * Counts every matching item.
+     */
+    EXACT,
+
+    /**
+     * Counts matching items up to a limit, or reads the size of the collection when nothing is filtered.
+     * The total is exact below the limit and the limit itself above it.
+     */
+    ESTIMATED,
+
+    /**
+     * Reuses an exact count taken shortly before for the same filters, so the total may be slightly stale.
+     */
+    CACHED,
+
+    /**
+     * Does not count at all; the total of the page is {@link Page#UNKNOWN_TOTAL}.
+     */
+    NONE
+}
@@ -0,0 +1,78 @@
+package com.gcg.djs.domain.common;
+
+import com.gcg.djs.domain.common.sorts.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A page of a keyset-paginated query.
+ *
+ * <p>Unlike {@link Page}, a cursor page does not know its position or the total number of items; it only knows
+ * where it ended. The next page is requested with {@link #nextCursor()}, which keeps deep pages as cheap as the
+ * first one.
+ *
+ * @param <T> The type of items in the page.
+ * @param pageSize The maximum number of items per page.
+ * @param items The items on the current page.
+ * @param nextCursor The opaque token of the next page, or null if this is the last page.
+ */
+public record CursorPage<T>(int pageSize, List<T> items, String nextCursor) {
+
+    public CursorPage {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(ErrorMessages.PAGE_SIZE_INVALID);
+        }
+
+        Objects.requireNonNull(items);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Validates a request for a cursor page.
+     *
+     * @param cursor The token of the requested page, or null for the first page.
+     * @param pageSize The number of items per page.
+     * @param parameters The filters and sorts of the query.
+     * @return The validation errors, empty if the request is valid.
+     */
+    public static List<String> validate(String cursor, int pageSize, QueryParameters parameters) {
+        List<String> errors = new ArrayList<>();
+
+        if (pageSize <= 0) {
+            errors.add(ErrorMessages.PAGE_SIZE_INVALID);
+        }
+
+        if (parameters != null && parameters.sorts().size() > 1) {
+            errors.add(ErrorMessages.PAGE_CURSOR_SORT_INVALID);
+        }
+
+        if (cursor != null) {
+            try {
+                PageCursor decoded = PageCursor.decode(cursor);
+                Sort sort = parameters == null ? null : sortOf(parameters);
+
+                // A token only makes sense for the order it was taken from
+                if (!Objects.equals(decoded.sortField(), sort == null ? null : sort.fieldName())) {
+                    errors.add(ErrorMessages.PAGE_CURSOR_INVALID);
+                }
+            } catch (IllegalArgumentException e) {
+                errors.add(ErrorMessages.PAGE_CURSOR_INVALID);
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * @param parameters The filters and sorts of the query.
+     * @return The sort of a keyset-paginated query, or null if it is only sorted by id.
+     */
+    public static Sort sortOf(QueryParameters parameters) {
+        return parameters.sorts().isEmpty() ? null : parameters.sorts().get(0);
+    }
+}
@@ -0,0 +1,109 @@
+package com.gcg.djs.domain.common;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the due time of a set of keys and answers which one is due first.
+ *
+ * <p>Due times are kept in a min-heap next to a map of the current due time of every key. Changing or
+ * removing a key does not search the heap; the previous entry is left behind and skipped once it reaches
+ * the top, and the heap is rebuilt when such stale entries outnumber the live ones. Updating a key is
+ * O(log n) and reading the earliest due time is O(1) amortized.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @param <K> The type of the keys.
+ */
+public final class DueTimeIndex<K> {
+    private final Map<K, Instant> dueTimes = new HashMap<>();
+    private final PriorityQueue<Entry<K>> heap = new PriorityQueue<>(Comparator.comparing(Entry<K>::dueAt));
+
+    /**
+     * Sets the due time of a key, replacing its previous one.
+     *
+     * @param key The key.
+     * @param dueAt The due time, or null to remove the key.
+     */
+    public synchronized void put(K key, Instant dueAt) {
+        Objects.requireNonNull(key);
+
+        if (dueAt == null) {
+            remove(key);
+            return;
+        }
+
+        if (dueAt.equals(dueTimes.put(key, dueAt))) {
+            return;
+        }
+
+        heap.add(new Entry<>(key, dueAt));
+        compactIfNeeded();
+    }
+
+    public synchronized void remove(K key) {
+        if (dueTimes.remove(Objects.requireNonNull(key)) != null) {
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Replaces every key with the given due times.
+     *
+     * @param dueTimes The due time of every key.
+     */
+    public synchronized void reset(Map<K, Instant> dueTimes) {
+        Objects.requireNonNull(dueTimes);
+
+        this.dueTimes.clear();
+        this.heap.clear();
+        dueTimes.forEach((key, dueAt) -> {
+            if (dueAt != null) {
+                this.dueTimes.put(key, dueAt);
+            }
+        });
+        rebuild();
+    }
+
+    /**
+     * @return The earliest due time of all keys, or null if there are none.
+     */
+    public synchronized Instant earliest() {
+        Entry<K> top = heap.peek();
+
+        // Entries of keys that were changed or removed since are dropped once they surface
+        while (top != null && !top.dueAt().equals(dueTimes.get(top.key()))) {
+            heap.poll();
+            top = heap.peek();
+        }
+
+        return top != null ? top.dueAt() : null;
+    }
+
+    public synchronized int size() {
+        return dueTimes.size();
+    }
+
+    private void compactIfNeeded() {
+        if (heap.size() > 2 * dueTimes.size() + 64) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        List<Entry<K>> entries = new ArrayList<>(dueTimes.size());
+        dueTimes.forEach((key, dueAt) -> entries.add(new Entry<>(key, dueAt)));
+
+        heap.clear();
+        heap.addAll(entries);
+    }
+
+    private record Entry<K>(K key, Instant dueAt) {
+    }
+}
@@ -3,4 +3,8 @@ package com.gcg.djs.domain.common;
 public final class ErrorMessages {
     public static final String PAGE_NUMBER_INVALID = "Page number must not be smaller or equal to 0";
     public static final String PAGE_SIZE_INVALID = "Page size must not be smaller or equal to 0";
+    public static final String PAGE_CURSOR_INVALID = "Page cursor is invalid or was taken from a differently sorted query";
+    public static final String PAGE_CURSOR_SORT_INVALID = "Cursor pagination supports sorting by at most one field";
+    public static final String FIELDS_INVALID = "Unknown fields: %s";
+    public static final String SORT_FIELDS_INVALID = "Unknown sort fields: %s";
 }
@@ -0,0 +1,122 @@
+package com.gcg.djs.domain.common;
+
+import com.gcg.djs.domain.common.sorts.Sort;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Selects the fields of {@link QueryParameters#fields()} from the items of a page.
+ * <p>
+ * The fields of an item are the components of its record, so a page read with only some fields can be returned
+ * without the ones that were not read.
+ */
+public final class FieldSelection {
+    private static final Map<Class<?>, Map<String, Method>> accessors = new ConcurrentHashMap<>();
+
+    private FieldSelection() {}
+
+    /**
+     * Validates the fields requested for a type of item.
+     *
+     * @param fields The requested fields.
+     * @param type The type of the items.
+     * @return The validation errors, empty if every field exists.
+     */
+    public static List<String> validate(List<String> fields, Class<? extends Record> type) {
+        Objects.requireNonNull(fields);
+        Objects.requireNonNull(type);
+
+        List<String> unknown = fields.stream()
+                .filter(field -> !accessorsOf(type).containsKey(field))
+                .toList();
+
+        return unknown.isEmpty()
+                ? List.of()
+                : List.of(String.format(ErrorMessages.FIELDS_INVALID, String.join(", ", unknown)));
+    }
+
+    /**
+     * Validates the fields a query for a type of item is sorted by.
+     *
+     * @param sorts The sorts of the query.
+     * @param type The type of the items.
+     * @return The validation errors, empty if every sort field exists.
+     */
+    public static List<String> validateSorts(List<Sort> sorts, Class<? extends Record> type) {
+        Objects.requireNonNull(sorts);
+        Objects.requireNonNull(type);
+
+        List<String> unknown = sorts.stream()
+                .map(Sort::fieldName)
+                .filter(field -> !accessorsOf(type).containsKey(field))
+                .toList();
+
+        return unknown.isEmpty()
+                ? List.of()
+                : List.of(String.format(ErrorMessages.SORT_FIELDS_INVALID, String.join(", ", unknown)));
+    }
+
+    /**
+     * @param page A page of items.
+     * @param fields The fields to keep, in the order they are returned.
+     * @return The page with only the given fields of each item.
+     */
+    public static <T extends Record> Page<Map<String, Object>> select(Page<T> page, List<String> fields) {
+        return new Page<>(page.page(), page.pageSize(), page.totalItems(), select(page.items(), fields), page.countMode());
+    }
+
+    /**
+     * @param page A page of items.
+     * @param fields The fields to keep, in the order they are returned.
+     * @return The page with only the given fields of each item.
+     */
+    public static <T extends Record> CursorPage<Map<String, Object>> select(CursorPage<T> page, List<String> fields) {
+        return new CursorPage<>(page.pageSize(), select(page.items(), fields), page.nextCursor());
+    }
+
+    private static <T extends Record> List<Map<String, Object>> select(List<T> items, List<String> fields) {
+        List<Map<String, Object>> selected = new ArrayList<>(items.size());
+
+        for (T item : items) {
+            Map<String, Method> itemAccessors = accessorsOf(item.getClass());
+            Map<String, Object> values = new LinkedHashMap<>();
+
+            for (String field : fields) {
+                Method accessor = itemAccessors.get(field);
+                if (accessor != null) {
+                    values.put(field, read(accessor, item));
+                }
+            }
+
+            selected.add(values);
+        }
+
+        return selected;
+    }
+
+    private static Map<String, Method> accessorsOf(Class<?> type) {
+        return accessors.computeIfAbsent(type, key -> {
+            Map<String, Method> byName = new LinkedHashMap<>();
+            for (RecordComponent component : key.getRecordComponents()) {
+                byName.put(component.getName(), component.getAccessor());
+            }
+            return byName;
+        });
+    }
+
+    private static Object read(Method accessor, Object item) {
+        try {
+            return accessor.invoke(item);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Reading field " + accessor.getName() + " failed", e);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.gcg.djs.domain.common;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel holding items until their due time.
+ *
+ * <p>Time is split into ticks of a fixed duration. The first level has one slot per tick, and
+ * every following level has slots as wide as a whole rotation of the level below. An item is
+ * stored in the lowest level able to hold its due time and moves down one level each time the
+ * level below completes a rotation, until it expires from the first level. Inserting and
+ * cancelling an item are O(1), and advancing the wheel costs one slot visit per elapsed tick
+ * plus the items that move or expire.
+ *
+ * <p>Items fire on the first tick boundary at or after their due time, so they are never fired
+ * early and at most one tick late. Items already due when scheduled fire on the next advance.
+ *
+ * <p>This class is not thread-safe; callers are expected to confine it to one thread or guard it.
+ *
+ * @param <T> The type of the items held by the wheel.
+ */
+public final class HierarchicalTimingWheel<T> {
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Slot<T>[][] levels;
+    private final Slot<T> overflow = new Slot<>();
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a wheel whose first tick starts at {@code start}.
+     *
+     * @param tick The duration of one tick, which is the firing precision.
+     * @param start The instant the wheel starts counting ticks from.
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(Duration tick, Instant start) {
+        Objects.requireNonNull(tick);
+        Objects.requireNonNull(start);
+
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick duration must be at least one millisecond");
+        }
+
+        this.tickMillis = tick.toMillis();
+        this.currentTick = start.toEpochMilli() / tickMillis;
+        this.levels = new Slot[LEVELS][WHEEL_SIZE];
+
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                levels[level][slot] = new Slot<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules an item to fire at the given instant.
+     *
+     * @param item The item to schedule.
+     * @param dueAt The instant the item is due.
+     * @return A handle that can be used to cancel the item.
+     */
+    public Timeout<T> schedule(T item, Instant dueAt) {
+        Objects.requireNonNull(item);
+        Objects.requireNonNull(dueAt);
+
+        long dueTick = Math.floorDiv(dueAt.toEpochMilli() + tickMillis - 1, tickMillis);
+        var timeout = new Timeout<>(item, Math.max(dueTick, currentTick));
+        place(timeout);
+        size++;
+
+        return timeout;
+    }
+
+    /**
+     * Cancels a scheduled item.
+     *
+     * @param timeout The handle returned when the item was scheduled.
+     * @return true if the item was cancelled, false if it had already fired or been cancelled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        Objects.requireNonNull(timeout);
+
+        if (timeout.slot == null) {
+            return false;
+        }
+
+        timeout.slot.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel up to {@code now}, firing every item due at or before it.
+     *
+     * @param now The instant to advance to.
+     * @param onExpired Callback invoked once for every fired item.
+     * @return The number of fired items.
+     */
+    public int advanceTo(Instant now, Consumer<T> onExpired) {
+        Objects.requireNonNull(now);
+        Objects.requireNonNull(onExpired);
+
+        long targetTick = now.toEpochMilli() / tickMillis;
+        int fired = 0;
+
+        // Items that were due before the current tick are held in the current slot
+        fired += expire(levels[0][(int) (currentTick & WHEEL_MASK)], onExpired);
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Whenever a level completes a rotation, the next slot of the level above moves down
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+
+                int slot = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                cascade(levels[level][slot]);
+
+                if (level == LEVELS - 1) {
+                    cascade(overflow);
+                }
+            }
+
+            fired += expire(levels[0][(int) (currentTick & WHEEL_MASK)], onExpired);
+        }
+
+        return fired;
+    }
+
+    /**
+     * Returns the instant the next item fires at, so callers can sleep until then instead of advancing
+     * the wheel on every tick. Costs one visit per slot of every level plus the items of one slot per level.
+     *
+     * @return The tick boundary the earliest item fires on, which may already be past, or null if the
+     *         wheel is empty.
+     */
+    public Instant nextDeadline() {
+        if (size == 0) {
+            return null;
+        }
+
+        long nextTick = Long.MAX_VALUE;
+
+        for (int level = 0; level < LEVELS; level++) {
+            // The first level starts at the current slot, which holds the overdue items. Higher levels only
+            // hold items of the rotations after the current one, so they start at the next slot.
+            long firstSlot = (currentTick >>> (WHEEL_BITS * level)) + (level == 0 ? 0 : 1);
+
+            for (int offset = 0; offset < WHEEL_SIZE; offset++) {
+                Slot<T> slot = levels[level][(int) ((firstSlot + offset) & WHEEL_MASK)];
+                if (slot.head != null) {
+                    // Slots are visited in due order, so the first non-empty one holds the earliest items of the level
+                    nextTick = Math.min(nextTick, earliestDueTick(slot));
+                    break;
+                }
+            }
+        }
+
+        nextTick = Math.min(nextTick, earliestDueTick(overflow));
+
+        return Instant.ofEpochMilli(Math.max(nextTick, currentTick) * tickMillis);
+    }
+
+    /**
+     * Returns the number of items waiting in the wheel.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every item from the wheel without firing them.
+     */
+    public void clear() {
+        for (Slot<T>[] level : levels) {
+            for (Slot<T> slot : level) {
+                slot.clear();
+            }
+        }
+
+        overflow.clear();
+        size = 0;
+    }
+
+    /**
+     * Removes every item from the wheel without firing them and moves it to {@code start}, so the next
+     * advance does not walk through every tick that passed while the wheel was not used.
+     *
+     * @param start The instant the wheel counts ticks from again.
+     */
+    public void reset(Instant start) {
+        Objects.requireNonNull(start);
+
+        clear();
+        currentTick = start.toEpochMilli() / tickMillis;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.dueTick - currentTick;
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (WHEEL_BITS * (level + 1)))) {
+                int slot = (int) ((timeout.dueTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                levels[level][slot].add(timeout);
+                return;
+            }
+        }
+
+        overflow.add(timeout);
+    }
+
+    private void cascade(Slot<T> slot) {
+        Timeout<T> timeout = slot.detachAll();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.next = null;
+            timeout.previous = null;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private static <T> long earliestDueTick(Slot<T> slot) {
+        long earliest = Long.MAX_VALUE;
+        for (Timeout<T> timeout = slot.head; timeout != null; timeout = timeout.next) {
+            earliest = Math.min(earliest, timeout.dueTick);
+        }
+
+        return earliest;
+    }
+
+    private int expire(Slot<T> slot, Consumer<T> onExpired) {
+        int fired = 0;
+        Timeout<T> timeout = slot.detachAll();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.next = null;
+            timeout.previous = null;
+            size--;
+            fired++;
+            onExpired.accept(timeout.item);
+            timeout = next;
+        }
+
+        return fired;
+    }
+
+    /**
+     * Handle of an item scheduled in a {@link HierarchicalTimingWheel}.
+     *
+     * @param <T> The type of the scheduled item.
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long dueTick;
+
+        private Slot<T> slot;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T item, long dueTick) {
+            this.item = item;
+            this.dueTick = dueTick;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public boolean isPending() {
+            return slot != null;
+        }
+    }
+
+    // Intrusive doubly linked list, so a timeout can unlink itself in O(1)
+    private static final class Slot<T> {
+        private Timeout<T> head;
+
+        private void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.previous = null;
+            timeout.next = head;
+
+            if (head != null) {
+                head.previous = timeout;
+            }
+
+            head = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+
+            timeout.slot = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        private Timeout<T> detachAll() {
+            Timeout<T> detached = head;
+            head = null;
+
+            for (Timeout<T> timeout = detached; timeout != null; timeout = timeout.next) {
+                timeout.slot = null;
+            }
+
+            return detached;
+        }
+
+        private void clear() {
+            Timeout<T> timeout = detachAll();
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                timeout.previous = null;
+                timeout = next;
+            }
+        }
+    }
+}
@@ -17,10 +17,12 @@ import java.util.Objects;
  * @param <T> The type of items in the page (e.g., a list of objects or entities).
  * @param page The current page number (1-based index).
  * @param pageSize The number of items per page.
- * @param totalItems The total number of items across all pages.
+ * @param totalItems The total number of items across all pages, or {@link #UNKNOWN_TOTAL} if it was not counted.
  * @param items The items on the current page.
+ * @param countMode How {@code totalItems} was counted.
  */
-public record Page<T>(int page, int pageSize, long totalItems, List<T> items) {
+public record Page<T>(int page, int pageSize, long totalItems, List<T> items, CountMode countMode) {
+    public static final long UNKNOWN_TOTAL = -1;
 
     /**
      * Constructor that validates the page size and page number.
@@ -35,6 +37,14 @@ public record Page<T>(int page, int pageSize, long totalItems, List<T> items) {
         }
 
         Objects.requireNonNull(items);
+        Objects.requireNonNull(countMode);
+    }
+
+    /**
+     * Creates a page with an exact total.
+     */
+    public Page(int page, int pageSize, long totalItems, List<T> items) {
+        this(page, pageSize, totalItems, items, CountMode.EXACT);
     }
 
     /**
@@ -43,9 +53,13 @@ public record Page<T>(int page, int pageSize, long totalItems, List<T> items) {
      * <p>It uses {@link Math#ceil} to round up to the nearest whole number, ensuring that if there are
      * leftover items, an additional page is included.
      *
-     * @return The total number of pages.
+     * @return The total number of pages, or {@link #UNKNOWN_TOTAL} if the items were not counted.
      */
     public int totalPages() {
+        if (totalItems == UNKNOWN_TOTAL) {
+            return (int) UNKNOWN_TOTAL;
+        }
+
         return (int) Math.ceil((double) totalItems / pageSize);
     }
 
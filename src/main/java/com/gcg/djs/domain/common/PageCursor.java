@@ -0,0 +1,141 @@
+package com.gcg.djs.domain.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Marks where a page of a keyset-paginated query ended.
+ *
+ * <p>A cursor holds the sort key and the id of the last item of a page; the next page is every item that sorts
+ * after that pair. Because the id breaks ties, items sharing a sort key are neither skipped nor repeated, and
+ * because the next page is a range lookup on an index, reading it costs the same at any depth.
+ *
+ * <p>Cursors travel to clients as opaque tokens, see {@link #encode()} and {@link #decode(String)}.
+ *
+ * @param sortField The field the query was sorted by, or null if it was only sorted by id.
+ * @param sortValue The value of the sort field on the last item, one of {@link String}, {@link Long},
+ *                  {@link Integer}, {@link Double}, {@link Boolean} or {@link Instant}; null if the item had none.
+ * @param lastId The id of the last item.
+ */
+public record PageCursor(String sortField, Object sortValue, UUID lastId) {
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte INTEGER = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte INSTANT = 6;
+
+    public PageCursor {
+        Objects.requireNonNull(lastId);
+
+        if (sortValue != null && typeOf(sortValue) == NULL) {
+            throw new IllegalArgumentException("Unsupported sort value type: " + sortValue.getClass());
+        }
+    }
+
+    /**
+     * @return The cursor as an opaque, URL-safe token.
+     */
+    public String encode() {
+        var bytes = new ByteArrayOutputStream();
+
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeBoolean(sortField != null);
+            if (sortField != null) {
+                out.writeUTF(sortField);
+            }
+
+            byte type = sortValue == null ? NULL : typeOf(sortValue);
+            out.writeByte(type);
+            switch (type) {
+                case STRING -> out.writeUTF((String) sortValue);
+                case LONG -> out.writeLong((Long) sortValue);
+                case INTEGER -> out.writeInt((Integer) sortValue);
+                case DOUBLE -> out.writeDouble((Double) sortValue);
+                case BOOLEAN -> out.writeBoolean((Boolean) sortValue);
+                case INSTANT -> {
+                    out.writeLong(((Instant) sortValue).getEpochSecond());
+                    out.writeInt(((Instant) sortValue).getNano());
+                }
+                default -> { }
+            }
+
+            out.writeLong(lastId.getMostSignificantBits());
+            out.writeLong(lastId.getLeastSignificantBits());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Reads a token written by {@link #encode()}.
+     *
+     * @param token The token.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the token is not a valid cursor.
+     */
+    public static PageCursor decode(String token) {
+        Objects.requireNonNull(token);
+
+        try (var in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException(ErrorMessages.PAGE_CURSOR_INVALID);
+            }
+
+            String sortField = in.readBoolean() ? in.readUTF() : null;
+
+            Object sortValue = switch (in.readByte()) {
+                case NULL -> null;
+                case STRING -> in.readUTF();
+                case LONG -> in.readLong();
+                case INTEGER -> in.readInt();
+                case DOUBLE -> in.readDouble();
+                case BOOLEAN -> in.readBoolean();
+                case INSTANT -> Instant.ofEpochSecond(in.readLong(), in.readInt());
+                default -> throw new IllegalArgumentException(ErrorMessages.PAGE_CURSOR_INVALID);
+            };
+
+            UUID lastId = new UUID(in.readLong(), in.readLong());
+
+            if (in.available() > 0) {
+                throw new IllegalArgumentException(ErrorMessages.PAGE_CURSOR_INVALID);
+            }
+
+            return new PageCursor(sortField, sortValue, lastId);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException(ErrorMessages.PAGE_CURSOR_INVALID, e);
+        }
+    }
+
+    private static byte typeOf(Object value) {
+        if (value instanceof String) {
+            return STRING;
+        } else if (value instanceof Long) {
+            return LONG;
+        } else if (value instanceof Integer) {
+            return INTEGER;
+        } else if (value instanceof Double) {
+            return DOUBLE;
+        } else if (value instanceof Boolean) {
+            return BOOLEAN;
+        } else if (value instanceof Instant) {
+            return INSTANT;
+        }
+
+        return NULL;
+    }
+}
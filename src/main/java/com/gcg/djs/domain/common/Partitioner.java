@@ -0,0 +1,109 @@
+package com.gcg.djs.domain.common;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The {@link Partitioner} class splits jobs into a fixed number of partitions and decides which
+ * scheduler node owns each partition.
+ * <p>
+ * Jobs are mapped to a partition by hashing their id. Partitions are mapped to nodes with
+ * rendezvous (highest random weight) hashing: every node computes the same assignment from the
+ * same member list without talking to the others, and when a node joins or leaves only the
+ * partitions it gains or loses move.
+ */
+public final class Partitioner {
+    public static final int DEFAULT_PARTITION_COUNT = 64;
+
+    private Partitioner() {}
+
+    /**
+     * Returns the partition a job belongs to.
+     *
+     * @param id The id of the job.
+     * @param partitionCount The total number of partitions.
+     * @return The partition of the job, between 0 (inclusive) and {@code partitionCount} (exclusive).
+     */
+    public static int partitionOf(UUID id, int partitionCount) {
+        Objects.requireNonNull(id);
+        validatePartitionCount(partitionCount);
+
+        long hash = mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+        return (int) Math.floorMod(hash, (long) partitionCount);
+    }
+
+    /**
+     * Returns every partition, which is what a node holding global leadership owns.
+     *
+     * @param partitionCount The total number of partitions.
+     * @return An immutable set with all partitions.
+     */
+    public static Set<Integer> allPartitions(int partitionCount) {
+        validatePartitionCount(partitionCount);
+
+        return IntStream.range(0, partitionCount).boxed().collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns the partitions owned by {@code nodeId} given the current cluster members.
+     *
+     * @param nodeId The node to compute the partitions for.
+     * @param members The ids of all live nodes, including {@code nodeId}.
+     * @param partitionCount The total number of partitions.
+     * @return An immutable set with the partitions owned by the node; empty if it is not a member.
+     */
+    public static Set<Integer> ownedPartitions(String nodeId, Collection<String> members, int partitionCount) {
+        Objects.requireNonNull(nodeId);
+        Objects.requireNonNull(members);
+        validatePartitionCount(partitionCount);
+
+        if (!members.contains(nodeId)) {
+            return Set.of();
+        }
+
+        // Sorting makes ties resolve identically on every node
+        var sortedMembers = new TreeSet<>(members);
+        var owned = new TreeSet<Integer>();
+
+        for (int partition = 0; partition < partitionCount; partition++) {
+            String owner = null;
+            long ownerScore = Long.MIN_VALUE;
+
+            for (String member : sortedMembers) {
+                long score = mix(((long) member.hashCode() << 32) ^ partition);
+                if (owner == null || score > ownerScore) {
+                    owner = member;
+                    ownerScore = score;
+                }
+            }
+
+            if (nodeId.equals(owner)) {
+                owned.add(partition);
+            }
+        }
+
+        return Collections.unmodifiableSet(owned);
+    }
+
+    private static void validatePartitionCount(int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count must be greater than 0");
+        }
+    }
+
+    // Murmur3 finalizer, spreads every input bit over the whole hash
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -1,36 +1,31 @@
 package com.gcg.djs.domain.common;
 
-import com.gcg.djs.domain.common.filters.ComparisonFilter;
-import com.gcg.djs.domain.common.filters.Filter;
-import com.gcg.djs.domain.common.filters.LogicalFilter;
-import com.gcg.djs.domain.common.filters.StringFilter;
-
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
-import java.util.Stack;
 
 /**
  * The {@link QueryBuilder} class is responsible for constructing queries based on provided
  * {@link QueryParameters} and a {@link FilterConverter}. It processes filters in the specified
  * order, handling both logical and comparison filters to build the final query.
  * <p>
- * This class uses a stack-based approach to handle logical and comparison filters. It converts
- * the filters into query components using the provided {@link FilterConverter}, allowing dynamic
- * query construction for various use cases.
+ * The order in which filters are combined only depends on the shape of the query, so it is compiled
+ * into a {@link QueryPlan} once per shape and cached, and each call only binds the query's values
+ * using the provided {@link FilterConverter}.
  */
 public final class QueryBuilder {
+    private static final QueryPlanCache plans = new QueryPlanCache();
+
     /**
      * Builds a query using the provided {@link QueryParameters} and {@link FilterConverter}.
      * It processes filters and generates a query representation based on the filter types (logical
      * or comparison) and their order.
      * <p>
      * The method performs the following steps:
-     * 1. It initializes an empty list of filters and a stack to handle filter processing.
-     * 2. It iterates over the filters, popping elements from the stack.
+     * 1. It gets the cached {@link QueryPlan} of the shape of the parameters, compiling it on first use.
+     * 2. The plan walks the filters from the last to the first; comparison filters are collected and
+     *    each logical filter combines every filter collected so far.
      * 3. Depending on the filter type (logical or comparison), the appropriate conversion method
-     *    is invoked on the {@link FilterConverter}.
-     * 4. The filters are processed, and the final query representation is returned.
+     *    is invoked on the {@link FilterConverter} with the values of the parameters.
+     * 4. The final query representation is returned.
      *
      * @param parameters The {@link QueryParameters} containing the filters to be used for query building.
      * @param filterConverter The {@link FilterConverter} responsible for converting the filters into query components.
@@ -45,30 +40,6 @@ public final class QueryBuilder {
         Objects.requireNonNull(parameters);
         Objects.requireNonNull(filterConverter);
 
-        List<T> filters = new ArrayList<>();
-
-        Stack<Filter> filterStack = new Stack<>();
-        filterStack.addAll(parameters.filters());
-
-        while(!filterStack.isEmpty()) {
-            var filter = filterStack.pop();
-
-            if (filter instanceof LogicalFilter logicalFilter) {
-                T logicalQuery = filterConverter.convertLogical(logicalFilter, filters);
-                filters = new ArrayList<>();
-                filters.add(logicalQuery);
-            } else if (filter instanceof ComparisonFilter<?> comparisonFilter) {
-                T comparisonQuery = filterConverter.convertComparison(comparisonFilter);
-                filters.add(comparisonQuery);
-            } else if (filter instanceof StringFilter stringFilter) {
-                T stringQuery = filterConverter.convertString(stringFilter);
-                filters.add(stringQuery);
-            }
-            else {
-                throw new RuntimeException("Unexpected filter type.");
-            }
-        }
-
-        return filters.get(0);
+        return plans.get(parameters).bind(parameters, filterConverter);
     }
 }
@@ -0,0 +1,384 @@
+package com.gcg.djs.domain.common;
+
+import com.gcg.djs.domain.common.filters.ComparisonFilter;
+import com.gcg.djs.domain.common.filters.ComparisonOperator;
+import com.gcg.djs.domain.common.filters.Filter;
+import com.gcg.djs.domain.common.filters.InstantFilter;
+import com.gcg.djs.domain.common.filters.LogicalFilter;
+import com.gcg.djs.domain.common.filters.LogicalOperator;
+import com.gcg.djs.domain.common.filters.NumberFilter;
+import com.gcg.djs.domain.common.filters.StringFilter;
+import com.gcg.djs.domain.common.filters.StringOperator;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Simplifies the filters of a {@link QueryParameters} before they are converted into a query.
+ * <p>
+ * The filters are read into the tree {@link QueryBuilder} builds from them, and the tree is rewritten:
+ * <ul>
+ *     <li>logical nodes nested in a node of the same operator are merged into it,</li>
+ *     <li>comparisons on the same field combined by AND are merged into the narrowest range, or into the
+ *     single equality they allow,</li>
+ *     <li>AND nodes that no document can satisfy, like {@code retries < 3 AND retries > 5}, are detected, and
+ *     OR nodes drop such branches,</li>
+ *     <li>the filters of AND nodes are ordered equalities first, then ranges, fields with an index before
+ *     fields without one.</li>
+ * </ul>
+ * The rewritten tree is written back into the flat filter list, so the rest of the query path is unchanged.
+ */
+public final class QueryOptimizer {
+    private final Set<String> indexedFields;
+
+    /**
+     * @param indexedFields The fields covered by an index, their filters go first.
+     */
+    public QueryOptimizer(Set<String> indexedFields) {
+        this.indexedFields = Set.copyOf(Objects.requireNonNull(indexedFields));
+    }
+
+    /**
+     * Optimizes the filters of the given parameters, keeping their sorts, count mode and fields.
+     *
+     * @param parameters The query parameters.
+     * @return The optimized parameters, or an empty optional if no item can match them.
+     * @throws NullPointerException If {@code parameters} is {@code null}.
+     */
+    public Optional<QueryParameters> optimize(QueryParameters parameters) {
+        Objects.requireNonNull(parameters);
+
+        List<Filter> filters = parameters.filters();
+
+        // Only lists built as the builder builds them are rewritten, any other list keeps its meaning as is
+        if (filters.isEmpty() || !(filters.get(0) instanceof LogicalFilter) || !isSupported(filters)) {
+            return Optional.of(parameters);
+        }
+
+        Node root = optimize(parse(filters));
+        if (root == null) {
+            return Optional.empty();
+        }
+
+        // A single remaining filter still needs a logical filter in front of it
+        Logical logical = root instanceof Logical rootLogical
+                ? rootLogical
+                : new Logical(LogicalOperator.AND, List.of(root));
+
+        List<Filter> optimized = new ArrayList<>(filters.size());
+        write(logical, optimized);
+
+        return Optional.of(new QueryParameters(
+                optimized, parameters.sorts(), parameters.countMode(), parameters.fields()));
+    }
+
+    private static boolean isSupported(List<Filter> filters) {
+        return filters.stream().allMatch(filter -> filter instanceof LogicalFilter
+                || filter instanceof ComparisonFilter<?>
+                || filter instanceof StringFilter);
+    }
+
+    private static Node parse(List<Filter> filters) {
+        List<Node> nodes = new ArrayList<>();
+
+        for (int i = filters.size() - 1; i >= 0; i--) {
+            if (filters.get(i) instanceof LogicalFilter logicalFilter) {
+                Node logical = new Logical(logicalFilter.getOperator(), List.copyOf(nodes));
+                nodes = new ArrayList<>();
+                nodes.add(logical);
+            } else {
+                nodes.add(new Leaf(filters.get(i)));
+            }
+        }
+
+        return nodes.get(0);
+    }
+
+    private static void write(Logical logical, List<Filter> filters) {
+        // A logical filter combines every filter after it, so the nested logical node, if any, goes last
+        filters.add(new LogicalFilter(logical.operator()));
+
+        Logical nested = null;
+        for (int i = logical.children().size() - 1; i >= 0; i--) {
+            Node child = logical.children().get(i);
+
+            if (child instanceof Leaf leaf) {
+                filters.add(leaf.filter());
+            } else {
+                nested = (Logical) child;
+            }
+        }
+
+        if (nested != null) {
+            write(nested, filters);
+        }
+    }
+
+    /**
+     * @return The optimized node, or null if no item can match it.
+     */
+    private Node optimize(Node node) {
+        if (!(node instanceof Logical logical)) {
+            return node;
+        }
+
+        List<Node> children = new ArrayList<>();
+        for (Node child : logical.children()) {
+            Node optimized = optimize(child);
+
+            if (optimized == null) {
+                if (logical.operator() == LogicalOperator.AND) {
+                    return null;
+                }
+                continue;
+            }
+
+            if (optimized instanceof Logical nested && nested.operator() == logical.operator()) {
+                children.addAll(nested.children());
+            } else {
+                children.add(optimized);
+            }
+        }
+
+        if (logical.children().isEmpty()) {
+            return logical;
+        }
+
+        if (children.isEmpty()) {
+            return null;
+        }
+
+        if (logical.operator() == LogicalOperator.AND) {
+            children = mergeComparisons(children);
+            if (children == null) {
+                return null;
+            }
+
+            children.sort(Comparator.comparingInt(this::rank));
+        }
+
+        return children.size() == 1 ? children.get(0) : new Logical(logical.operator(), List.copyOf(children));
+    }
+
+    /**
+     * Merges the comparisons of each field of an AND node.
+     *
+     * @return The merged children, or null if no item can match them.
+     */
+    private static List<Node> mergeComparisons(List<Node> children) {
+        Map<String, List<Filter>> byField = new LinkedHashMap<>();
+        List<Node> merged = new ArrayList<>();
+
+        for (Node child : children) {
+            String field = mergeableField(child);
+
+            if (field == null) {
+                merged.add(child);
+            } else {
+                byField.computeIfAbsent(field, key -> new ArrayList<>()).add(((Leaf) child).filter());
+            }
+        }
+
+        for (Map.Entry<String, List<Filter>> field : byField.entrySet()) {
+            List<Filter> filters = field.getValue().get(0) instanceof StringFilter
+                    ? mergeStrings(field.getValue())
+                    : mergeRange(field.getValue());
+
+            if (filters == null) {
+                return null;
+            }
+
+            filters.forEach(filter -> merged.add(new Leaf(filter)));
+        }
+
+        return merged;
+    }
+
+    /**
+     * @return The field the filter of the node can be merged on, string equalities and number or
+     * instant comparisons are keyed apart so values of different types are never compared.
+     */
+    private static String mergeableField(Node node) {
+        if (!(node instanceof Leaf leaf)) {
+            return null;
+        }
+
+        if (leaf.filter() instanceof StringFilter stringFilter) {
+            return stringFilter.getOperator() == StringOperator.EQUAL && stringFilter.getValue() != null
+                    ? "string:" + stringFilter.getFieldName()
+                    : null;
+        }
+
+        if (leaf.filter() instanceof NumberFilter numberFilter) {
+            return isFinite(numberFilter.getValue()) ? "number:" + numberFilter.getFieldName() : null;
+        }
+
+        if (leaf.filter() instanceof InstantFilter instantFilter) {
+            return "instant:" + instantFilter.getFieldName();
+        }
+
+        return null;
+    }
+
+    private static boolean isFinite(Number number) {
+        if (number instanceof Double value) {
+            return Double.isFinite(value);
+        }
+
+        if (number instanceof Float value) {
+            return Float.isFinite(value);
+        }
+
+        return true;
+    }
+
+    private static List<Filter> mergeStrings(List<Filter> filters) {
+        String value = ((StringFilter) filters.get(0)).getValue();
+
+        for (Filter filter : filters) {
+            if (!value.equals(((StringFilter) filter).getValue())) {
+                return null;
+            }
+        }
+
+        return new ArrayList<>(List.of(filters.get(0)));
+    }
+
+    private static List<Filter> mergeRange(List<Filter> filters) {
+        ComparisonFilter<?> equal = null;
+        ComparisonFilter<?> lower = null;
+        ComparisonFilter<?> upper = null;
+
+        for (Filter filter : filters) {
+            ComparisonFilter<?> comparison = (ComparisonFilter<?>) filter;
+
+            switch (comparison.getOperator()) {
+                case EQUAL -> {
+                    if (equal != null && compare(equal, comparison) != 0) {
+                        return null;
+                    }
+                    equal = comparison;
+                }
+                case GREATER_THAN, GREATER_THAN_OR_EQUAL -> {
+                    int order = lower == null ? 1 : compare(comparison, lower);
+                    if (order > 0 || (order == 0 && comparison.getOperator() == ComparisonOperator.GREATER_THAN)) {
+                        lower = comparison;
+                    }
+                }
+                case LESS_THAN, LESS_THAN_OR_EQUAL -> {
+                    int order = upper == null ? -1 : compare(comparison, upper);
+                    if (order < 0 || (order == 0 && comparison.getOperator() == ComparisonOperator.LESS_THAN)) {
+                        upper = comparison;
+                    }
+                }
+            }
+        }
+
+        if (equal != null) {
+            if ((lower != null && !allows(lower, equal)) || (upper != null && !allows(upper, equal))) {
+                return null;
+            }
+            return new ArrayList<>(List.of(equal));
+        }
+
+        List<Filter> merged = new ArrayList<>(2);
+
+        if (lower != null && upper != null) {
+            int order = compare(lower, upper);
+            boolean inclusive = lower.getOperator() == ComparisonOperator.GREATER_THAN_OR_EQUAL
+                    && upper.getOperator() == ComparisonOperator.LESS_THAN_OR_EQUAL;
+
+            if (order > 0 || (order == 0 && !inclusive)) {
+                return null;
+            }
+
+            if (order == 0) {
+                merged.add(withOperator(lower, ComparisonOperator.EQUAL));
+                return merged;
+            }
+        }
+
+        if (lower != null) {
+            merged.add(lower);
+        }
+        if (upper != null) {
+            merged.add(upper);
+        }
+
+        return merged;
+    }
+
+    /**
+     * @return Whether the bound lets the value of the equality through.
+     */
+    private static boolean allows(ComparisonFilter<?> bound, ComparisonFilter<?> equal) {
+        int order = compare(equal, bound);
+
+        return switch (bound.getOperator()) {
+            case GREATER_THAN -> order > 0;
+            case GREATER_THAN_OR_EQUAL -> order >= 0;
+            case LESS_THAN -> order < 0;
+            case LESS_THAN_OR_EQUAL -> order <= 0;
+            case EQUAL -> order == 0;
+        };
+    }
+
+    private static int compare(ComparisonFilter<?> first, ComparisonFilter<?> second) {
+        if (first.getValue() instanceof Instant instant) {
+            return instant.compareTo((Instant) second.getValue());
+        }
+
+        return new BigDecimal(first.getValue().toString()).compareTo(new BigDecimal(second.getValue().toString()));
+    }
+
+    private static ComparisonFilter<?> withOperator(ComparisonFilter<?> filter, ComparisonOperator operator) {
+        if (filter instanceof InstantFilter instantFilter) {
+            return new InstantFilter(operator, instantFilter.getFieldName(), instantFilter.getValue());
+        }
+
+        NumberFilter numberFilter = (NumberFilter) filter;
+        return new NumberFilter(operator, numberFilter.getFieldName(), numberFilter.getValue());
+    }
+
+    /**
+     * @return The position of a filter within an AND node; nested logical nodes keep the first position
+     * since the flat filter list can only hold them there.
+     */
+    private int rank(Node node) {
+        if (!(node instanceof Leaf leaf)) {
+            return 0;
+        }
+
+        String field;
+        boolean equality;
+
+        if (leaf.filter() instanceof ComparisonFilter<?> comparison) {
+            field = comparison.getFieldName();
+            equality = comparison.getOperator() == ComparisonOperator.EQUAL;
+        } else {
+            StringFilter stringFilter = (StringFilter) leaf.filter();
+            field = stringFilter.getFieldName();
+            equality = stringFilter.getOperator() == StringOperator.EQUAL;
+        }
+
+        int rank = equality ? 1 : 3;
+        return indexedFields.contains(field) ? rank : rank + 1;
+    }
+
+    private interface Node {
+    }
+
+    private record Logical(LogicalOperator operator, List<Node> children) implements Node {
+    }
+
+    private record Leaf(Filter filter) implements Node {
+    }
+}
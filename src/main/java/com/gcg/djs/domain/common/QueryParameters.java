@@ -7,7 +7,7 @@ import java.util.List;
 import java.util.Objects;
 
 /**
- * Represents the parameters for a query, including filters and sorting.
+ * Represents the parameters for a query, including filters, sorting and the fields to read.
  * This is a record class which is a simple, immutable data structure.
  *
  * <p>Query parameters are typically used to define the criteria for querying
@@ -18,16 +18,35 @@ import java.util.Objects;
  *                Cannot be null.
  * @param sorts A list of {@link Sort} objects specifying the sorting order for the query.
  *              Cannot be null.
+ * @param countMode How the total number of matching items is counted when a page is read.
+ *                  Cannot be null.
+ * @param fields The fields of each item to read, empty to read every field. Cannot be null.
  */
-public record QueryParameters(List<Filter> filters, List<Sort> sorts) {
+public record QueryParameters(List<Filter> filters, List<Sort> sorts, CountMode countMode, List<String> fields) {
 
     /**
      * Constructor that validates that neither filters nor sorts are null.
      *
-     * @throws NullPointerException if either filters or sorts is null.
+     * @throws NullPointerException if filters, sorts, countMode or fields is null.
      */
     public QueryParameters {
         Objects.requireNonNull(filters);
         Objects.requireNonNull(sorts);
+        Objects.requireNonNull(countMode);
+        fields = List.copyOf(Objects.requireNonNull(fields));
+    }
+
+    /**
+     * Creates query parameters that read every field.
+     */
+    public QueryParameters(List<Filter> filters, List<Sort> sorts, CountMode countMode) {
+        this(filters, sorts, countMode, List.of());
+    }
+
+    /**
+     * Creates query parameters that count the matching items exactly.
+     */
+    public QueryParameters(List<Filter> filters, List<Sort> sorts) {
+        this(filters, sorts, CountMode.EXACT);
     }
 }
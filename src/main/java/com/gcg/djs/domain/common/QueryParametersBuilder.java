@@ -22,6 +22,8 @@ import java.util.Objects;
 public final class QueryParametersBuilder {
     private final List<Filter> filters = new ArrayList<>();
     private final List<Sort> sorts = new ArrayList<>();
+    private CountMode countMode = CountMode.EXACT;
+    private final List<String> fields = new ArrayList<>();
 
     /**
      * Adds a logical AND operator to the filters.
@@ -69,6 +71,22 @@ public final class QueryParametersBuilder {
         return this;
     }
 
+    /**
+     * Adds an EQUAL filter for a string field.
+     *
+     * @param fieldName The field name to compare.
+     * @param value The string value to compare with.
+     * @return this builder instance, allowing method chaining.
+     * @throws NullPointerException if either the field name or value is null.
+     */
+    public QueryParametersBuilder equal(String fieldName, String value) {
+        Objects.requireNonNull(Strings.trimToNull(fieldName));
+        Objects.requireNonNull(value);
+
+        filters.add(new StringFilter(StringOperator.EQUAL, fieldName, value));
+        return this;
+    }
+
     /**
      * Adds a GREATER_THAN comparison filter for a number field.
      *
@@ -211,6 +229,38 @@ public final class QueryParametersBuilder {
         return this;
     }
 
+    /**
+     * Sets how the total number of matching items is counted when a page is read.
+     *
+     * @param countMode The count mode, {@link CountMode#EXACT} by default.
+     * @return this builder instance, allowing method chaining.
+     * @throws NullPointerException if the count mode is null.
+     */
+    public QueryParametersBuilder countMode(CountMode countMode) {
+        this.countMode = Objects.requireNonNull(countMode);
+        return this;
+    }
+
+    /**
+     * Limits the fields read for each item, every field is read when none is set.
+     *
+     * @param fieldNames The fields to read.
+     * @return this builder instance, allowing method chaining.
+     * @throws NullPointerException if the field names or any of them is null or empty.
+     */
+    public QueryParametersBuilder fields(List<String> fieldNames) {
+        Objects.requireNonNull(fieldNames);
+
+        for (String fieldName : fieldNames) {
+            Objects.requireNonNull(Strings.trimToNull(fieldName), "Field name cannot be null or empty");
+            if (!fields.contains(fieldName.trim())) {
+                fields.add(fieldName.trim());
+            }
+        }
+
+        return this;
+    }
+
     private void addComparisonFilter(String fieldName, ComparisonOperator operator, Object value) {
         Objects.requireNonNull(Strings.trimToNull(fieldName));
         Objects.requireNonNull(operator);
@@ -246,6 +296,6 @@ public final class QueryParametersBuilder {
         }
 
         // Returns a new QueryParameters object based on the current filters and sorts
-        return new QueryParameters(filters.stream().toList(), sorts);
+        return new QueryParameters(filters.stream().toList(), sorts, countMode, fields);
     }
 }
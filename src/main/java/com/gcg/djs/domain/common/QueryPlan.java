@@ -0,0 +1,106 @@
+package com.gcg.djs.domain.common;
+
+import com.gcg.djs.domain.common.filters.ComparisonFilter;
+import com.gcg.djs.domain.common.filters.Filter;
+import com.gcg.djs.domain.common.filters.LogicalFilter;
+import com.gcg.djs.domain.common.filters.StringFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A compiled form of the filters of a {@link QueryParameters}.
+ * <p>
+ * Compiling resolves the structure of the filter list once: which filters are combined by which
+ * logical operator and in which order. The plan keeps no filter values, so it can be reused for
+ * every {@link QueryParameters} of the same shape and bound with that query's values.
+ */
+public final class QueryPlan {
+    private final Node root;
+
+    private QueryPlan(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles the filters of the given parameters, processing them in the same order as
+     * {@link QueryBuilder#buildQuery(QueryParameters, FilterConverter)} always did.
+     *
+     * @param parameters The query parameters, only the shape of its filters is kept.
+     * @return The compiled plan.
+     * @throws NullPointerException If {@code parameters} is {@code null}.
+     * @throws IndexOutOfBoundsException If the parameters have no filters.
+     * @throws RuntimeException If an unexpected filter type is encountered.
+     */
+    public static QueryPlan compile(QueryParameters parameters) {
+        Objects.requireNonNull(parameters);
+
+        List<Filter> filters = parameters.filters();
+        List<Node> nodes = new ArrayList<>();
+
+        for (int i = filters.size() - 1; i >= 0; i--) {
+            Filter filter = filters.get(i);
+
+            if (filter instanceof LogicalFilter) {
+                Node logical = new Logical(i, List.copyOf(nodes));
+                nodes = new ArrayList<>();
+                nodes.add(logical);
+            } else if (filter instanceof ComparisonFilter<?>) {
+                nodes.add(new Comparison(i));
+            } else if (filter instanceof StringFilter) {
+                nodes.add(new StringValue(i));
+            } else {
+                throw new RuntimeException("Unexpected filter type.");
+            }
+        }
+
+        return new QueryPlan(nodes.get(0));
+    }
+
+    /**
+     * Builds the query of the plan with the values of the given parameters.
+     *
+     * @param parameters Query parameters with the shape the plan was compiled from.
+     * @param filterConverter The converter of the filters into query components.
+     * @param <T> The type of the query representation.
+     * @return The query.
+     * @throws NullPointerException If either {@code parameters} or {@code filterConverter} is {@code null}.
+     */
+    public <T> T bind(QueryParameters parameters, FilterConverter<T> filterConverter) {
+        Objects.requireNonNull(parameters);
+        Objects.requireNonNull(filterConverter);
+
+        return root.bind(parameters.filters(), filterConverter);
+    }
+
+    private interface Node {
+        <T> T bind(List<Filter> filters, FilterConverter<T> filterConverter);
+    }
+
+    private record Logical(int index, List<Node> children) implements Node {
+        @Override
+        public <T> T bind(List<Filter> filters, FilterConverter<T> filterConverter) {
+            List<T> queries = new ArrayList<>(children.size());
+            for (Node child : children) {
+                queries.add(child.bind(filters, filterConverter));
+            }
+
+            return filterConverter.convertLogical((LogicalFilter) filters.get(index), queries);
+        }
+    }
+
+    private record Comparison(int index) implements Node {
+        @Override
+        public <T> T bind(List<Filter> filters, FilterConverter<T> filterConverter) {
+            return filterConverter.convertComparison((ComparisonFilter<?>) filters.get(index));
+        }
+    }
+
+    private record StringValue(int index) implements Node {
+        @Override
+        public <T> T bind(List<Filter> filters, FilterConverter<T> filterConverter) {
+            return filterConverter.convertString((StringFilter) filters.get(index));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.gcg.djs.domain.common;
+
+import com.gcg.djs.domain.common.filters.ComparisonFilter;
+import com.gcg.djs.domain.common.filters.Filter;
+import com.gcg.djs.domain.common.filters.LogicalFilter;
+import com.gcg.djs.domain.common.filters.StringFilter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches the {@link QueryPlan} of every query shape, so queries issued over and over with
+ * different values, like the scheduler's, are compiled once.
+ * <p>
+ * The shape of a query is the type, field and operator of each of its filters, in order. Shapes
+ * come from clients too, so the cache holds a bounded number of them and evicts the least recently
+ * used one for a new shape; the scheduler's shapes are used all the time, so they stay cached.
+ */
+public final class QueryPlanCache {
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final int maxSize;
+    private final Map<List<FilterShape>, QueryPlan> plans = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<FilterShape>, QueryPlan> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public QueryPlanCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public QueryPlanCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size cannot be negative");
+        }
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the plan of the shape of the given parameters, compiling it on first use.
+     *
+     * @param parameters The query parameters.
+     * @return The plan.
+     * @throws NullPointerException If {@code parameters} is {@code null}.
+     */
+    public QueryPlan get(QueryParameters parameters) {
+        Objects.requireNonNull(parameters);
+
+        List<FilterShape> shape = shapeOf(parameters.filters());
+
+        synchronized (plans) {
+            QueryPlan plan = plans.get(shape);
+            if (plan != null) {
+                return plan;
+            }
+        }
+
+        // Compiled outside the lock, so a slow compile does not hold up lookups of other shapes
+        QueryPlan plan = QueryPlan.compile(parameters);
+
+        synchronized (plans) {
+            QueryPlan raced = plans.putIfAbsent(shape, plan);
+            return raced != null ? raced : plan;
+        }
+    }
+
+    /**
+     * @return The number of cached plans.
+     */
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    private static List<FilterShape> shapeOf(List<Filter> filters) {
+        List<FilterShape> shape = new ArrayList<>(filters.size());
+
+        for (Filter filter : filters) {
+            if (filter instanceof LogicalFilter logicalFilter) {
+                shape.add(new FilterShape(LogicalFilter.class, null, logicalFilter.getOperator()));
+            } else if (filter instanceof ComparisonFilter<?> comparisonFilter) {
+                shape.add(new FilterShape(
+                        ComparisonFilter.class, comparisonFilter.getFieldName(), comparisonFilter.getOperator()));
+            } else if (filter instanceof StringFilter stringFilter) {
+                shape.add(new FilterShape(
+                        StringFilter.class, stringFilter.getFieldName(), stringFilter.getOperator()));
+            } else {
+                // Not cacheable, compiling it reports the unexpected type
+                shape.add(new FilterShape(filter == null ? null : filter.getClass(), null, null));
+            }
+        }
+
+        return shape;
+    }
+
+    private record FilterShape(Class<?> type, String fieldName, Enum<?> operator) {
+    }
+}
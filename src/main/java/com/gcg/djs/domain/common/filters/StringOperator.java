@@ -1,7 +1,8 @@
 package com.gcg.djs.domain.common.filters;
 
 public enum StringOperator {
-    LIKE("LIKE");
+    LIKE("LIKE"),
+    EQUAL("=");
 
     private final String symbol;
 
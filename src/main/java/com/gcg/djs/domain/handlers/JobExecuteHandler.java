@@ -1,14 +1,109 @@
 package com.gcg.djs.domain.handlers;
 
+import com.gcg.djs.domain.interfaces.external.IJobRunner;
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.interfaces.services.IJobSchedulerService;
 import com.gcg.djs.domain.interfaces.services.IJobService;
+import com.gcg.djs.domain.models.errors.ConcurrentJobModificationException;
+import com.gcg.djs.domain.models.errors.ValidationException;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobError;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
 
 public class JobExecuteHandler {
+    private static final int SCHEDULED_STATE_ATTEMPTS = 5;
+    private static final Duration SCHEDULED_STATE_WAIT = Duration.ofMillis(50);
+
     private final IJobService jobsService;
+    private final IJobSchedulerService jobSchedulerService;
+    private final IJobRunner jobRunner;
+    private final JobHeartbeatHandler heartbeatHandler;
+    private final ILog log;
+
+    public JobExecuteHandler(
+            IJobService jobsService,
+            IJobSchedulerService jobSchedulerService,
+            IJobRunner jobRunner,
+            JobHeartbeatHandler heartbeatHandler,
+            ILog log) {
+        this.jobsService = Objects.requireNonNull(jobsService);
+        this.jobSchedulerService = Objects.requireNonNull(jobSchedulerService);
+        this.jobRunner = Objects.requireNonNull(jobRunner);
+        this.heartbeatHandler = Objects.requireNonNull(heartbeatHandler);
+        this.log = Objects.requireNonNull(log);
+    }
+
+    /**
+     * Runs a dispatched job and records its outcome. Blocks until the job finishes, so it is meant
+     * to be called on its own virtual thread.
+     *
+     * @param message The dispatched job, as received from the jobs queue.
+     */
+    public void Execute(Job message) {
+        Objects.requireNonNull(message);
+
+        try {
+            Job job = loadScheduledJob(message);
+            if (job == null) {
+                return;
+            }
+
+            Job executingJob = jobSchedulerService.markJobAsExecuting(job, heartbeatHandler.workerId());
+
+            heartbeatHandler.register(executingJob.id());
+            try {
+                jobRunner.run(executingJob);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                jobSchedulerService.markJobAsFailed(executingJob, toJobError(e));
+                return;
+            } catch (Exception e) {
+                jobSchedulerService.markJobAsFailed(executingJob, toJobError(e));
+                return;
+            } finally {
+                heartbeatHandler.unregister(executingJob.id());
+            }
+
+            jobSchedulerService.markJobAsCompleted(executingJob);
+        } catch (ConcurrentJobModificationException e) {
+            // Another worker or the lease reaper changed the job first, its outcome is theirs to record
+            log.logWarning(e.getMessage());
+        } catch (ValidationException | RuntimeException e) {
+            log.logError("Executing job " + message.id() + " failed", e);
+        }
+    }
+
+    private Job loadScheduledJob(Job message) throws ValidationException {
+        // The dispatcher commits the SCHEDULED state right after publishing, so the message can be ahead of it
+        for (int attempt = 1; attempt <= SCHEDULED_STATE_ATTEMPTS; attempt++) {
+            Job job = jobsService.getJobById(message.id());
+
+            if (job.status() == JobStatus.SCHEDULED) {
+                return job;
+            }
+
+            if (job.status() != JobStatus.CREATED || attempt == SCHEDULED_STATE_ATTEMPTS) {
+                // Redelivered or cancelled jobs are skipped, the message is acknowledged anyway
+                log.logWarning(String.format("Skipping job %s in status %s", job.id(), job.status()));
+                return null;
+            }
+
+            try {
+                Thread.sleep(SCHEDULED_STATE_WAIT.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
 
-    public JobExecuteHandler(IJobService jobsService) {
-        this.jobsService = jobsService;
+        return null;
     }
 
-    public void Execute() {
+    private static JobError toJobError(Exception e) {
+        return new JobError(e.getMessage(), e.getClass().getName(), Instant.now());
     }
 }
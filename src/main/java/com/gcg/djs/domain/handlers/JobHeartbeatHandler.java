@@ -0,0 +1,90 @@
+package com.gcg.djs.domain.handlers;
+
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.interfaces.services.IJobSchedulerService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the execution leases of every job running on a worker alive.
+ * <p>
+ * Jobs register while they run, and every heartbeat renews all of their leases with a single write,
+ * so the write rate depends on the number of workers rather than the number of running jobs.
+ */
+public class JobHeartbeatHandler {
+    private final IJobSchedulerService jobSchedulerService;
+    private final String workerId;
+    private final Duration heartbeatInterval;
+    private final ILog log;
+
+    private final Set<UUID> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public JobHeartbeatHandler(
+            IJobSchedulerService jobSchedulerService,
+            String workerId,
+            Duration heartbeatInterval,
+            ILog log) {
+        this.jobSchedulerService = Objects.requireNonNull(jobSchedulerService);
+        this.workerId = Objects.requireNonNull(workerId);
+        this.heartbeatInterval = Objects.requireNonNull(heartbeatInterval);
+        this.log = Objects.requireNonNull(log);
+    }
+
+    public String workerId() {
+        return workerId;
+    }
+
+    public void register(UUID jobId) {
+        runningJobs.add(Objects.requireNonNull(jobId));
+    }
+
+    public void unregister(UUID jobId) {
+        runningJobs.remove(Objects.requireNonNull(jobId));
+    }
+
+    public void execute() {
+        while (!Thread.currentThread().isInterrupted()) {
+            heartbeat();
+
+            try {
+                Thread.sleep(heartbeatInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Renews the leases of every registered job.
+     *
+     * @return The number of leases renewed.
+     */
+    public long heartbeat() {
+        List<UUID> jobIds = List.copyOf(runningJobs);
+
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            long renewed = jobSchedulerService.renewLeases(workerId, jobIds);
+
+            if (renewed < jobIds.size()) {
+                // Those jobs were reaped or finished meanwhile, another attempt may already be running
+                log.logWarning(String.format("Worker %s lost the lease of %d of %d running jobs",
+                        workerId, jobIds.size() - renewed, jobIds.size()));
+            }
+
+            return renewed;
+        } catch (RuntimeException e) {
+            // The leases are still valid until they expire, the next heartbeat tries again
+            log.logError("Renewing execution leases failed", e);
+            return 0;
+        }
+    }
+}
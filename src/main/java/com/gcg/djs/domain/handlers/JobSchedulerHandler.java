@@ -1,45 +1,119 @@
 package com.gcg.djs.domain.handlers;
 
+import com.gcg.djs.domain.common.HierarchicalTimingWheel;
 import com.gcg.djs.domain.interfaces.external.ICoordinator;
+import com.gcg.djs.domain.interfaces.services.IDeadLetterService;
 import com.gcg.djs.domain.interfaces.services.IJobSchedulerService;
 import com.gcg.djs.domain.interfaces.services.IJobService;
+import com.gcg.djs.domain.interfaces.services.IRecurringJobSchedulerService;
 import com.gcg.djs.domain.models.errors.ValidationException;
+import com.gcg.djs.domain.models.jobs.DueJob;
+import com.gcg.djs.domain.models.scheduler.SchedulerSettings;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 public class JobSchedulerHandler {
+    private static final Duration LEADERSHIP_WAIT = Duration.ofSeconds(10);
+
     private final IJobService jobsService;
     private final IJobSchedulerService jobSchedulerService;
+    private final IDeadLetterService deadLetterService;
+    private final IRecurringJobSchedulerService recurringJobSchedulerService;
     private final ICoordinator coordinator;
+    private final SchedulerSettings settings;
+    private final Object idleMonitor = new Object();
+    private boolean wakeUpRequested;
+
+    // Upcoming jobs of the look-ahead window, keyed by id so a reload replaces instead of duplicating them
+    private final HierarchicalTimingWheel<UUID> wheel;
+    private final Map<UUID, HierarchicalTimingWheel.Timeout<UUID>> timeouts = new HashMap<>();
+    private Set<Integer> loadedPartitions = Set.of();
+    private Instant nextWindowRefresh = Instant.MIN;
+    private Instant nextRetryPoll = Instant.MIN;
+    private Instant nextLeaseReap = Instant.MIN;
+    private Instant nextOutboxPoll = Instant.MIN;
+    private Instant nextDeadLetterPoll = Instant.MIN;
+    private Instant nextRecurringPoll = Instant.MIN;
 
     public JobSchedulerHandler(
             IJobService jobsService,
             IJobSchedulerService jobSchedulerService,
+            IDeadLetterService deadLetterService,
+            IRecurringJobSchedulerService recurringJobSchedulerService,
             ICoordinator coordinator) {
+        this(jobsService, jobSchedulerService, deadLetterService, recurringJobSchedulerService, coordinator,
+                SchedulerSettings.defaults());
+    }
+
+    public JobSchedulerHandler(
+            IJobService jobsService,
+            IJobSchedulerService jobSchedulerService,
+            IDeadLetterService deadLetterService,
+            IRecurringJobSchedulerService recurringJobSchedulerService,
+            ICoordinator coordinator,
+            SchedulerSettings settings) {
         this.jobsService = jobsService;
         this.jobSchedulerService = jobSchedulerService;
+        this.deadLetterService = deadLetterService;
+        this.recurringJobSchedulerService = recurringJobSchedulerService;
         this.coordinator = coordinator;
+        this.settings = settings;
+        this.wheel = new HierarchicalTimingWheel<>(settings.tickDuration(), Instant.now());
+
+        // Wake the loop up as soon as leadership is lost instead of sleeping until the next deadline
+        this.coordinator.addLeadershipLostListener(this::wakeUp);
     }
 
     public void execute() throws ValidationException {
-        while (true) {
-            if (this.coordinator.tryAcquireLeadership()) {
-                processJobs();
-            } else {
-                sleep();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // Nodes without partitions block here until leadership or partitions are handed to them
+                if (this.coordinator.awaitLeadership(LEADERSHIP_WAIT)) {
+                    processJobs();
+                } else {
+                    unloadWindow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
     }
 
-    private void processJobs() throws ValidationException {
+    private void processJobs() {
         try {
-//            SearchJobFilters searchJobFilters = new SearchJobFilters.JobFiltersBuilder()
-//                    .setStatus(JobStatus.CREATED)
-//                    .build();
-//
-//            Page<Job> jobs = jobsService.searchJobs(1, 10, searchJobFilters);
-//
-//            for (Job job : jobs.items()) {
-//                jobSchedulerService.enqueueJob(job);
-//            }
+            Set<Integer> partitions = coordinator.ownedPartitions();
+            Instant now = Instant.now();
+            boolean dispatchDue = false;
+
+            processRecurringJobs(now);
+
+            if (!partitions.equals(loadedPartitions) || !now.isBefore(nextWindowRefresh)) {
+                loadWindow(partitions, now);
+
+                // Also catches overdue jobs and jobs created after the previous load that are already due
+                dispatchDue = true;
+            }
+
+            if (wheel.advanceTo(now, timeouts::remove) > 0) {
+                dispatchDue = true;
+            }
+
+            if (dispatchDue) {
+                dispatchDueJobs(partitions);
+            }
+
+            processRetries(partitions, now);
+            processExpiredLeases(partitions, now);
+            processOutbox(partitions, now);
+            processDeadLetters(partitions, now);
+
+            sleep();
         } catch (Exception e) {
             // Consider adding logging here
             handleException(e);
@@ -47,14 +121,158 @@ public class JobSchedulerHandler {
         }
     }
 
-    private void processRetries() {}
+    private void dispatchDueJobs(Set<Integer> partitions) {
+        // Keep draining while full pages come back, only back off once the backlog is empty
+        int dispatched;
+        do {
+            // Only the partitions owned by this node are dispatched, the other nodes take care of the rest
+            dispatched = jobSchedulerService.enqueueNextJobsPage(partitions);
+        } while (dispatched >= settings.dispatchBatchSize() && coordinator.isLeader());
+    }
+
+    private void loadWindow(Set<Integer> partitions, Instant now) {
+        if (!partitions.equals(loadedPartitions)) {
+            unloadWindow();
+        }
+
+        Instant windowEnd = now.plus(settings.lookAheadWindow());
+        List<DueJob> upcomingJobs = jobSchedulerService.getUpcomingJobs(partitions, windowEnd, settings.maxWindowSize());
+
+        for (DueJob job : upcomingJobs) {
+            var previous = timeouts.remove(job.id());
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+
+            timeouts.put(job.id(), wheel.schedule(job.id(), job.nextExecution()));
+        }
+
+        // A full window was cut short, so it only covers jobs up to the last one loaded
+        if (upcomingJobs.size() >= settings.maxWindowSize()) {
+            windowEnd = upcomingJobs.get(upcomingJobs.size() - 1).nextExecution();
+        }
+
+        Instant refreshAt = now.plus(settings.windowRefreshInterval());
+        nextWindowRefresh = refreshAt.isBefore(windowEnd) ? refreshAt : windowEnd;
+        loadedPartitions = partitions;
+    }
+
+    private void unloadWindow() {
+        // Moved to the current tick, so loading the window again does not replay the ticks spent without it
+        wheel.reset(Instant.now());
+        timeouts.clear();
+        loadedPartitions = Set.of();
+        nextWindowRefresh = Instant.MIN;
+    }
+
+    private void processRecurringJobs(Instant now) {
+        if (now.isBefore(nextRecurringPoll)) {
+            return;
+        }
+
+        int materialized = recurringJobSchedulerService.materializeDueJobsPage();
+
+        if (materialized > 0) {
+            // Reload the window right away, the new jobs may be due before the next regular refresh
+            nextWindowRefresh = Instant.MIN;
+        }
+
+        nextRecurringPoll = materialized >= settings.dispatchBatchSize()
+                ? now
+                : now.plus(settings.recurringPollInterval());
+    }
+
+    private void processRetries(Set<Integer> partitions, Instant now) {
+        if (now.isBefore(nextRetryPoll)) {
+            return;
+        }
+
+        // At most one page of retries per pass, so a retry storm cannot starve jobs that are due for the first time
+        int dispatched = jobSchedulerService.enqueueRetriesPage(partitions);
+
+        // A full page means more retries are waiting, so poll again on the next pass instead of waiting
+        nextRetryPoll = dispatched >= settings.dispatchBatchSize()
+                ? now
+                : now.plus(settings.retryPollInterval());
+    }
+
+    private void processExpiredLeases(Set<Integer> partitions, Instant now) {
+        if (now.isBefore(nextLeaseReap)) {
+            return;
+        }
+
+        // Jobs of workers that stopped sending heartbeats are failed, so they get retried after their backoff
+        int failed = jobSchedulerService.failExpiredExecutionsPage(partitions);
+
+        nextLeaseReap = failed >= settings.dispatchBatchSize()
+                ? now
+                : now.plus(settings.leaseReapInterval());
+    }
+
+    private void processOutbox(Set<Integer> partitions, Instant now) {
+        if (now.isBefore(nextOutboxPoll)) {
+            return;
+        }
+
+        // Jobs enqueued through the API are published from the outbox, in batches instead of one by one
+        int published = jobSchedulerService.publishOutboxPage(partitions);
+
+        nextOutboxPoll = published >= settings.dispatchBatchSize()
+                ? now
+                : now.plus(settings.outboxPollInterval());
+    }
+
+    private void processDeadLetters(Set<Integer> partitions, Instant now) {
+        if (now.isBefore(nextDeadLetterPoll)) {
+            return;
+        }
+
+        // Jobs out of retries are moved out of the jobs collection, so they stop weighing on the scans above
+        int moved = deadLetterService.deadLetterExhaustedJobsPage(partitions);
+
+        nextDeadLetterPoll = moved >= settings.dispatchBatchSize()
+                ? now
+                : now.plus(settings.deadLetterPollInterval());
+    }
 
     private void sleep() {
-        try {
-            // TODO Add parameter for 1000
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        Instant now = Instant.now();
+        Instant deadline = nextDeadline();
+
+        synchronized (idleMonitor) {
+            try {
+                // Nothing happens before the next deadline, so the loop does not wake up on every tick
+                if (deadline.isAfter(now) && !wakeUpRequested) {
+                    idleMonitor.wait(Math.max(1, Duration.between(now, deadline).toMillis()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                wakeUpRequested = false;
+            }
+        }
+    }
+
+    private Instant nextDeadline() {
+        Instant deadline = nextWindowRefresh;
+
+        // Every poll is scheduled ahead, so the earliest of them and of the jobs in the wheel is the next deadline
+        for (Instant candidate : List.of(
+                nextRetryPoll, nextLeaseReap, nextOutboxPoll, nextDeadLetterPoll, nextRecurringPoll)) {
+            if (candidate.isBefore(deadline)) {
+                deadline = candidate;
+            }
+        }
+
+        Instant nextJob = wheel.nextDeadline();
+        return nextJob != null && nextJob.isBefore(deadline) ? nextJob : deadline;
+    }
+
+    private void wakeUp() {
+        synchronized (idleMonitor) {
+            // Remembered, so a wake up sent while the loop is still busy is not lost
+            wakeUpRequested = true;
+            idleMonitor.notifyAll();
         }
     }
 
@@ -1,5 +1,56 @@
 package com.gcg.djs.domain.interfaces.external;
 
-public interface ICoordinator {
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * The {@link ICoordinator} interface defines how scheduler nodes agree on which node is
+ * allowed to dispatch which jobs.
+ * <p>
+ * Jobs are split into partitions (see {@link com.gcg.djs.domain.common.Partitioner}) and a node
+ * only dispatches the partitions it owns. A node holding global leadership owns every partition,
+ * while partitioned coordinators spread the partitions over all live nodes. A node is considered
+ * a leader while it owns at least one partition.
+ */
+public interface ICoordinator extends AutoCloseable {
+
+    /**
+     * Tries to acquire leadership without waiting for it.
+     *
+     * @return true if this node is the leader, false otherwise.
+     */
     boolean tryAcquireLeadership();
+
+    /**
+     * Blocks until this node becomes the leader or the timeout elapses. Implementations are
+     * expected to be notified of a leader change instead of polling for it.
+     *
+     * @param timeout The maximum time to wait for leadership.
+     * @return true if this node is the leader, false if the timeout elapsed first.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    boolean awaitLeadership(Duration timeout) throws InterruptedException;
+
+    /**
+     * Indicates whether this node currently holds leadership.
+     *
+     * @return true if this node is the leader, false otherwise.
+     */
+    boolean isLeader();
+
+    /**
+     * Returns the partitions this node is currently responsible for dispatching.
+     *
+     * @return An immutable set with the owned partitions; empty if this node owns none.
+     */
+    Set<Integer> ownedPartitions();
+
+    /**
+     * Registers a callback invoked as soon as this node loses leadership or any of its
+     * partitions, e.g. because its lease expired, another node was elected or the partitions
+     * were rebalanced.
+     *
+     * @param listener The callback to invoke.
+     */
+    void addLeadershipLostListener(Runnable listener);
 }
@@ -1,7 +1,48 @@
 package com.gcg.djs.domain.interfaces.external;
 
 import java.time.Instant;
+import java.util.List;
 
 public interface ICronService {
     Instant calculateNextRun(String cronExpression);
+
+    /**
+     * Calculates the first fire time of a cron expression strictly after the given instant.
+     *
+     * @param cronExpression The cron expression.
+     * @param after The instant to start from.
+     * @return The next fire time, or null if the expression never fires again.
+     */
+    Instant calculateNextRun(String cronExpression, Instant after);
+
+    /**
+     * Calculates the last fire time of a cron expression strictly before the given instant.
+     *
+     * @param cronExpression The cron expression.
+     * @param before The instant to look back from.
+     * @return The previous fire time, or null if the expression never fired before it.
+     */
+    Instant calculatePreviousRun(String cronExpression, Instant before);
+
+    /**
+     * Calculates the next {@code count} fire times of a cron expression strictly after the given instant.
+     *
+     * @param cronExpression The cron expression.
+     * @param after The instant to start from.
+     * @param count The number of fire times to calculate.
+     * @return The fire times in ascending order, fewer than {@code count} if the expression stops firing.
+     */
+    List<Instant> calculateNextRuns(String cronExpression, Instant after, int count);
+
+    /**
+     * Calculates the fire times of a cron expression after {@code from} and up to and including {@code to},
+     * so consecutive windows never return the same fire time twice.
+     *
+     * @param cronExpression The cron expression.
+     * @param from The exclusive start of the window.
+     * @param to The inclusive end of the window.
+     * @param limit The maximum number of fire times to calculate.
+     * @return The fire times in ascending order.
+     */
+    List<Instant> calculateRunsBetween(String cronExpression, Instant from, Instant to, int limit);
 }
@@ -0,0 +1,19 @@
+package com.gcg.djs.domain.interfaces.external;
+
+import com.gcg.djs.domain.models.jobs.Job;
+
+/**
+ * The {@link IJobRunner} interface defines how the work behind a job is executed. Implementations
+ * block until the job finishes, so they are expected to be called from a thread that is cheap to
+ * block, such as a virtual thread.
+ */
+public interface IJobRunner {
+
+    /**
+     * Runs the given job to completion.
+     *
+     * @param job The job to run.
+     * @throws Exception If the job did not complete successfully.
+     */
+    void run(Job job) throws Exception;
+}
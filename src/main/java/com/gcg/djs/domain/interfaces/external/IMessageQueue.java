@@ -1,6 +1,17 @@
 package com.gcg.djs.domain.interfaces.external;
 
+import java.util.List;
+
 public interface IMessageQueue<T> extends AutoCloseable {
     void EnqueueMessage(T message);
+
+    /**
+     * Enqueues a batch of messages, waiting once for the whole batch to be acknowledged.
+     *
+     * @param messages The messages to enqueue.
+     * @return The messages that were acknowledged by the queue, in the original order.
+     */
+    List<T> EnqueueMessages(List<T> messages);
+
     T DequeueMessage();
-}
\ No newline at end of file
+}
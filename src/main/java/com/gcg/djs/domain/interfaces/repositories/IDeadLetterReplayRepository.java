@@ -0,0 +1,23 @@
+package com.gcg.djs.domain.interfaces.repositories;
+
+import com.gcg.djs.domain.models.jobs.DeadLetterReplay;
+
+import java.util.UUID;
+
+public interface IDeadLetterReplayRepository {
+
+    /**
+     * Stores the given replay, replacing the stored progress of the same replay if there is one.
+     *
+     * @param replay The replay to store.
+     */
+    void save(DeadLetterReplay replay);
+
+    /**
+     * Retrieves a replay by its id.
+     *
+     * @param id The id of the replay.
+     * @return The replay, or null if there is none with this id.
+     */
+    DeadLetterReplay getById(UUID id);
+}
@@ -0,0 +1,48 @@
+package com.gcg.djs.domain.interfaces.repositories;
+
+import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.models.jobs.DeadLetterJob;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface IDeadLetterRepository {
+
+    /**
+     * Stores the given dead-lettered jobs with a single bulk write. Jobs that are already stored are replaced,
+     * so moving the same jobs twice after a crash does not duplicate them.
+     *
+     * @param jobs The jobs to store.
+     * @return The number of jobs stored.
+     */
+    long addAll(List<DeadLetterJob> jobs);
+
+    /**
+     * Lists up to {@code limit} dead-lettered jobs matching the given filter, oldest first.
+     *
+     * @param parameters Query parameters used to filter the jobs.
+     * @param limit The maximum number of jobs to return.
+     * @return The matching jobs.
+     */
+    List<DeadLetterJob> find(QueryParameters parameters, int limit);
+
+    /**
+     * Deletes the dead-lettered jobs with the given ids with a single write.
+     *
+     * @param ids The ids of the jobs to delete.
+     * @return The number of jobs deleted.
+     */
+    long deleteAll(Collection<UUID> ids);
+
+    /**
+     * Retrieves a paginated list of dead-lettered jobs based on the specified parameters.
+     *
+     * @param page The page number (starting from 1).
+     * @param pageSize The number of items per page.
+     * @param parameters Query parameters used to filter the results.
+     * @return A Page containing the jobs for the requested page.
+     */
+    Page<DeadLetterJob> getPage(int page, int pageSize, QueryParameters parameters);
+}
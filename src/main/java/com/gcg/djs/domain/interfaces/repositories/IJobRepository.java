@@ -0,0 +1,188 @@
+package com.gcg.djs.domain.interfaces.repositories;
+
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.models.jobs.DueJob;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobClaim;
+import com.gcg.djs.domain.models.jobs.JobError;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Job specific repository operations used by the scheduler dispatch pipeline.
+ * <p>
+ * Conditional and claim writes persist state transitions, so they only write the state of a job, its status,
+ * retries, error and dates. What the job is, its name, description and bin location, is only changed by
+ * {@link #update} and {@link #patch}.
+ */
+public interface IJobRepository extends Repository<Job> {
+
+    /**
+     * Claims up to {@code limit} jobs that are due for dispatch, i.e. jobs in status
+     * {@code CREATED} whose next execution is at or before {@code now} and that are not
+     * claimed by another scheduler.
+     *
+     * @param now The reference instant used to decide which jobs are due.
+     * @param partitions The partitions to claim jobs from, see {@link com.gcg.djs.domain.common.Partitioner}.
+     * @param limit The maximum number of jobs to claim.
+     * @param claimTimeout How long the claim is held before it lapses.
+     * @return The claim, holding the claimed jobs. Never null, but may contain no jobs.
+     */
+    JobClaim claimDueJobs(Instant now, Set<Integer> partitions, int limit, Duration claimTimeout);
+
+    /**
+     * Claims up to {@code limit} jobs in status {@code FAILED} whose retry backoff, stored as their
+     * next execution, has elapsed at {@code now} and that did not exceed {@code maxRetries}.
+     *
+     * @param now The reference instant used to decide which retries are due.
+     * @param partitions The partitions to claim jobs from.
+     * @param maxRetries The number of retries after which a job is no longer claimed.
+     * @param limit The maximum number of jobs to claim.
+     * @param claimTimeout How long the claim is held before it lapses.
+     * @return The claim, holding the claimed jobs. Never null, but may contain no jobs.
+     */
+    JobClaim claimRetryableJobs(
+            Instant now, Set<Integer> partitions, int maxRetries, int limit, Duration claimTimeout);
+
+    /**
+     * Claims up to {@code limit} jobs in status {@code EXECUTING} whose execution lease expired at
+     * {@code now}, i.e. jobs whose worker stopped sending heartbeats.
+     *
+     * @param now The reference instant used to decide which leases expired.
+     * @param partitions The partitions to claim jobs from.
+     * @param limit The maximum number of jobs to claim.
+     * @param claimTimeout How long the claim is held before it lapses.
+     * @return The claim, holding the claimed jobs. Never null, but may contain no jobs.
+     */
+    JobClaim claimExpiredLeases(Instant now, Set<Integer> partitions, int limit, Duration claimTimeout);
+
+    /**
+     * Claims up to {@code limit} jobs in status {@code FAILED} that exceeded {@code maxRetries}, so they
+     * can be moved to the dead-letter collection.
+     *
+     * @param now The reference instant used to decide which claims lapsed.
+     * @param partitions The partitions to claim jobs from.
+     * @param maxRetries The number of retries after which a job is exhausted.
+     * @param limit The maximum number of jobs to claim.
+     * @param claimTimeout How long the claim is held before it lapses.
+     * @return The claim, holding the claimed jobs. Never null, but may contain no jobs.
+     */
+    JobClaim claimExhaustedJobs(
+            Instant now, Set<Integer> partitions, int maxRetries, int limit, Duration claimTimeout);
+
+    /**
+     * Reads the errors recorded by every failed attempt of the given jobs with a single query.
+     *
+     * @param jobIds The jobs to read the error history of.
+     * @return The error history of each job, oldest first. Jobs without history are left out.
+     */
+    Map<UUID, List<JobError>> getErrorHistory(Collection<UUID> jobIds);
+
+    /**
+     * Deletes the given jobs, which must belong to the claim, with a single write.
+     *
+     * @param claim The claim the jobs were taken with.
+     * @param jobs The jobs to delete.
+     * @return The number of jobs deleted.
+     */
+    long deleteClaimed(JobClaim claim, List<Job> jobs);
+
+    /**
+     * Inserts the given jobs with a single bulk write, skipping jobs that already exist, so creating
+     * the same jobs twice after a crash neither fails nor overwrites them.
+     *
+     * @param jobs The jobs to insert.
+     * @return The number of jobs inserted.
+     */
+    long createAllIfAbsent(List<Job> jobs);
+
+    /**
+     * Persists a job that starts executing together with the execution lease of its worker, if the
+     * stored job still matches the precondition, see {@link #updateIf}.
+     *
+     * @param job The job, in status {@code EXECUTING}.
+     * @param precondition Filters the stored job must match for the update to be applied.
+     * @param leaseOwner The worker executing the job.
+     * @param leaseExpiresAt When the lease expires unless it is renewed.
+     * @return True if the job was updated, false if another writer changed it first.
+     */
+    boolean startExecution(Job job, QueryParameters precondition, String leaseOwner, Instant leaseExpiresAt);
+
+    /**
+     * Renews the execution leases the given worker holds on the given jobs with a single write.
+     * Leases that already expired are not renewed, their jobs may have been reaped already.
+     *
+     * @param leaseOwner The worker holding the leases.
+     * @param jobIds The jobs the worker is executing.
+     * @param now The reference instant used to decide which leases expired.
+     * @param leaseExpiresAt The new expiry of the leases.
+     * @return The number of leases that were renewed.
+     */
+    long renewLeases(String leaseOwner, Collection<UUID> jobIds, Instant now, Instant leaseExpiresAt);
+
+    /**
+     * Applies a conditional update like {@link #updateIf} and, in the same atomic write, records the
+     * job in the outbox so it is published by the outbox relay.
+     *
+     * @param job The updated job to persist and publish.
+     * @param precondition Filters the stored job must match for the update to be applied.
+     * @param now The instant the job entered the outbox.
+     * @return True if the job was updated, false if another writer changed it first.
+     */
+    boolean updateIfWithOutbox(Job job, QueryParameters precondition, Instant now);
+
+    /**
+     * Claims up to {@code limit} jobs waiting in the outbox to be published.
+     *
+     * @param now The reference instant used to decide which claims lapsed.
+     * @param partitions The partitions to claim jobs from.
+     * @param limit The maximum number of jobs to claim.
+     * @param claimTimeout How long the claim is held before it lapses.
+     * @return The claim, holding the claimed jobs. Never null, but may contain no jobs.
+     */
+    JobClaim claimOutbox(Instant now, Set<Integer> partitions, int limit, Duration claimTimeout);
+
+    /**
+     * Removes the given published jobs from the outbox and releases their claim with a single write.
+     *
+     * @param claim The claim the jobs were taken with.
+     * @param jobs The jobs that were published.
+     * @return The number of jobs removed from the outbox.
+     */
+    long completeOutbox(JobClaim claim, List<Job> jobs);
+
+    /**
+     * Lists the jobs in status {@code CREATED} that become due at or before {@code until},
+     * ordered by their next execution, using a single range query.
+     *
+     * @param until The end of the look-ahead window.
+     * @param partitions The partitions to list jobs from.
+     * @param limit The maximum number of jobs to return.
+     * @return The upcoming jobs, earliest first.
+     */
+    List<DueJob> getUpcomingJobs(Instant until, Set<Integer> partitions, int limit);
+
+    /**
+     * Writes the given jobs, which must belong to the claim, in a single bulk write and
+     * releases their claim. Jobs whose claim was lost in the meantime are left untouched.
+     *
+     * @param claim The claim the jobs were taken with.
+     * @param jobs The updated jobs to persist.
+     * @return The number of jobs that were persisted.
+     */
+    long commitClaim(JobClaim claim, List<Job> jobs);
+
+    /**
+     * Releases the claim on the given jobs without modifying them, so they can be claimed again.
+     *
+     * @param claim The claim the jobs were taken with.
+     * @param jobs The jobs to release.
+     */
+    void releaseClaim(JobClaim claim, List<Job> jobs);
+}
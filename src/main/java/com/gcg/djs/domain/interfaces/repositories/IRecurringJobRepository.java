@@ -0,0 +1,53 @@
+package com.gcg.djs.domain.interfaces.repositories;
+
+import com.gcg.djs.domain.models.recurringjob.RecurringJob;
+import com.gcg.djs.domain.models.recurringjob.RecurringJobClaim;
+import com.gcg.djs.domain.models.recurringjob.RecurringJobRun;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Recurring job specific repository operations used to materialize recurring jobs into jobs.
+ */
+public interface IRecurringJobRepository extends Repository<RecurringJob> {
+
+    /**
+     * Claims up to {@code limit} active recurring jobs whose next run is at or before {@code until} and that
+     * are not claimed by another scheduler.
+     *
+     * @param until The latest next run to claim.
+     * @param now The reference instant used to decide which claims lapsed.
+     * @param limit The maximum number of recurring jobs to claim.
+     * @param claimTimeout How long the claim is held before it lapses.
+     * @return The claim, holding the claimed recurring jobs. Never null, but may contain none.
+     */
+    RecurringJobClaim claimDueRecurringJobs(Instant until, Instant now, int limit, Duration claimTimeout);
+
+    /**
+     * Writes the next and last run of the given recurring jobs, which must belong to the claim, in a single
+     * bulk write and releases the claim on them. Other fields are left untouched.
+     *
+     * @param claim The claim the recurring jobs were taken with.
+     * @param recurringJobs The recurring jobs with their advanced runs.
+     * @return The number of recurring jobs written.
+     */
+    long commitClaim(RecurringJobClaim claim, List<RecurringJob> recurringJobs);
+
+    /**
+     * Lists the next run of every active recurring job, reading only the fields needed for it.
+     *
+     * @return The next run of every active recurring job.
+     */
+    List<RecurringJobRun> getScheduledRuns();
+
+    /**
+     * Lists the next run of every recurring job modified at or after {@code since}. Paused recurring jobs
+     * are returned without a next run.
+     *
+     * @param since The earliest modified date to return.
+     * @return The next run of every recurring job modified since then.
+     */
+    List<RecurringJobRun> getRunsModifiedSince(Instant since);
+}
@@ -1,8 +1,13 @@
 package com.gcg.djs.domain.interfaces.repositories;
 
+import com.gcg.djs.domain.common.BulkResult;
+import com.gcg.djs.domain.common.ConditionalWrite;
+import com.gcg.djs.domain.common.CursorPage;
 import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.PageCursor;
 import com.gcg.djs.domain.common.QueryParameters;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface Repository<T> {
@@ -23,6 +28,53 @@ public interface Repository<T> {
      */
     T update(T entity);
 
+    /**
+     * Updates an existing entity, writing only the fields that differ between its current and updated data.
+     *
+     * @param current The entity as it was read from the repository.
+     * @param updated The entity with updated data.
+     * @return The updated entity.
+     */
+    T patch(T current, T updated);
+
+    /**
+     * Updates an existing entity only if the stored entity still matches the given precondition,
+     * as a single atomic compare-and-set. This lets concurrent writers detect that another one
+     * changed the entity first instead of silently overwriting it.
+     *
+     * @param entity The entity with updated data.
+     * @param precondition Filters the stored entity must match for the update to be applied.
+     * @return True if the update was applied, false if the entity is missing or no longer matches.
+     */
+    boolean updateIf(T entity, QueryParameters precondition);
+
+    /**
+     * Creates a batch of entities with a single unordered write, so one entity failing, for example
+     * because its id already exists, does not stop the others.
+     *
+     * @param entities The entities to be created.
+     * @return The outcome of every entity, in the order of the batch.
+     */
+    BulkResult<T> createAll(List<T> entities);
+
+    /**
+     * Updates a batch of existing entities with a single unordered write.
+     *
+     * @param entities The entities with updated data.
+     * @return The outcome of every entity, in the order of the batch; entities that do not exist are not matched.
+     */
+    BulkResult<T> updateAll(List<T> entities);
+
+    /**
+     * Updates a batch of entities with a single unordered write, each one only if the stored entity still
+     * matches its precondition. This is the batch form of {@link #updateIf}.
+     *
+     * @param writes The updates and their preconditions.
+     * @return The outcome of every update, in the order of the batch; updates whose precondition no longer
+     *         holds are not matched.
+     */
+    BulkResult<T> transitionAll(List<ConditionalWrite<T>> writes);
+
     /**
      * Deletes an entity from the repository by its unique identifier.
      *
@@ -48,4 +100,16 @@ public interface Repository<T> {
      * @return A Page containing the entities for the requested page.
      */
     Page<T> getPage(int page, int pageSize, QueryParameters parameters);
+
+    /**
+     * Retrieves the page of entities that follows a cursor, using keyset pagination.
+     * Entities are ordered by the first sort of the parameters and then by id, and the page is read
+     * with a range lookup on that order, so deep pages cost the same as the first one.
+     *
+     * @param after The cursor of the previous page, or null for the first page.
+     * @param pageSize The number of items per page.
+     * @param parameters Query parameters used to filter the results, with at most one sort.
+     * @return A CursorPage containing the entities and the cursor of the next page.
+     */
+    CursorPage<T> getPageAfter(PageCursor after, int pageSize, QueryParameters parameters);
 }
@@ -0,0 +1,17 @@
+package com.gcg.djs.domain.interfaces.services;
+
+import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.models.errors.ValidationException;
+import com.gcg.djs.domain.models.jobs.DeadLetterJob;
+import com.gcg.djs.domain.models.jobs.DeadLetterReplay;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface IDeadLetterService {
+    int deadLetterExhaustedJobsPage(Set<Integer> partitions);
+    Page<DeadLetterJob> getDeadLetterJobs(int page, int pageSize, QueryParameters parameters) throws ValidationException;
+    DeadLetterReplay replay(QueryParameters parameters, int limit) throws ValidationException;
+    DeadLetterReplay getReplay(UUID id) throws ValidationException;
+}
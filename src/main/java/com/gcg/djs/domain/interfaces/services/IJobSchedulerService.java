@@ -1,12 +1,30 @@
 package com.gcg.djs.domain.interfaces.services;
 
+import com.gcg.djs.domain.common.BulkResult;
 import com.gcg.djs.domain.models.errors.ValidationException;
+import com.gcg.djs.domain.models.jobs.DueJob;
 import com.gcg.djs.domain.models.jobs.Job;
 import com.gcg.djs.domain.models.jobs.JobError;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
 public interface IJobSchedulerService {
+    int enqueueNextJobsPage();
+    int enqueueNextJobsPage(Set<Integer> partitions);
+    int enqueueRetriesPage(Set<Integer> partitions);
+    List<DueJob> getUpcomingJobs(Set<Integer> partitions, Instant until, int limit);
     void enqueueJob(Job job) throws ValidationException;
+    int publishOutboxPage(Set<Integer> partitions);
+    Job markJobAsExecuting(Job job, String workerId) throws ValidationException;
+    long renewLeases(String workerId, Collection<UUID> jobIds);
+    int failExpiredExecutionsPage(Set<Integer> partitions);
     void markJobAsCompleted(Job job) throws ValidationException;
+    BulkResult<Job> markJobsAsCompleted(List<Job> jobs);
     void markJobAsFailed(Job job, JobError jobError) throws ValidationException;
     void cancelJob(Job job) throws ValidationException;
+    BulkResult<Job> cancelJobs(List<Job> jobs);
 }
@@ -1,10 +1,13 @@
 package com.gcg.djs.domain.interfaces.services;
 
+import com.gcg.djs.domain.common.BulkResult;
 import com.gcg.djs.domain.common.QueryParameters;
 import com.gcg.djs.domain.models.errors.ValidationException;
 import com.gcg.djs.domain.models.jobs.*;
 import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.CursorPage;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface IJobService {
@@ -18,6 +21,16 @@ public interface IJobService {
      */
     Job addJob(CreateJob job) throws ValidationException;
 
+    /**
+     * Adds a batch of new jobs to the system with a single write. The whole batch is validated first, then
+     * every job is written even if some of the others fail.
+     *
+     * @param jobs The details of the jobs to create.
+     * @return The outcome of every job, in the order of the batch.
+     * @throws ValidationException If the batch is empty, too large, or any of the job details are invalid.
+     */
+    BulkResult<Job> addJobs(List<CreateJob> jobs) throws ValidationException;
+
     /**
      * Modifies the details of an existing job.
      *
@@ -55,5 +68,17 @@ public interface IJobService {
      * @throws ValidationException If the pagination or filter parameters are invalid.
      */
     Page<Job> searchJobs(int page, int pageSize, QueryParameters queryParameters) throws ValidationException;
+
+    /**
+     * Retrieves the page of jobs that follows a cursor, possibly filtered by certain criteria.
+     * Unlike {@link #searchJobs}, reading a deep page costs the same as reading the first one.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The number of jobs per page.
+     * @param queryParameters Query parameters to apply to the list of jobs, with at most one sort.
+     * @return A CursorPage containing the jobs and the cursor of the next page.
+     * @throws ValidationException If the cursor, page size or query parameters are invalid.
+     */
+    CursorPage<Job> scrollJobs(String cursor, int pageSize, QueryParameters queryParameters) throws ValidationException;
 }
 
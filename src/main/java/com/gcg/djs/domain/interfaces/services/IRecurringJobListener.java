@@ -0,0 +1,10 @@
+package com.gcg.djs.domain.interfaces.services;
+
+import com.gcg.djs.domain.models.recurringjob.RecurringJob;
+
+/**
+ * Notified when a recurring job is created or changed, so in-memory views of recurring jobs stay current.
+ */
+public interface IRecurringJobListener {
+    void onRecurringJobChanged(RecurringJob recurringJob);
+}
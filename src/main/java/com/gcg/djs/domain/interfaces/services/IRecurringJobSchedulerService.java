@@ -0,0 +1,5 @@
+package com.gcg.djs.domain.interfaces.services;
+
+public interface IRecurringJobSchedulerService {
+    int materializeDueJobsPage();
+}
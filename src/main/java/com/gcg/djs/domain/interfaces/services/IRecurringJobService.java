@@ -1,5 +1,6 @@
 package com.gcg.djs.domain.interfaces.services;
 
+import com.gcg.djs.domain.common.CursorPage;
 import com.gcg.djs.domain.common.Page;
 import com.gcg.djs.domain.common.QueryParameters;
 import com.gcg.djs.domain.models.errors.ValidationException;
@@ -11,6 +12,7 @@ import java.util.UUID;
 public interface IRecurringJobService {
     RecurringJob createRecurringJob(CreateRecurringJob createRecurringJob) throws ValidationException;
     Page<RecurringJob> getRecurringJobsPage(int page, int pageSize, QueryParameters parameters) throws ValidationException;
+    CursorPage<RecurringJob> scrollRecurringJobs(String cursor, int pageSize, QueryParameters parameters) throws ValidationException;
     RecurringJob getRecurringJobById(UUID id) throws ValidationException;
     Page<RecurringJob> getNextRun(int page, int pageSize) throws ValidationException;
     boolean pauseJob(UUID id) throws ValidationException;
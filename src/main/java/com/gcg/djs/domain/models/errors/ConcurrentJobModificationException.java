@@ -0,0 +1,13 @@
+package com.gcg.djs.domain.models.errors;
+
+import com.gcg.djs.domain.models.jobs.JobStatus;
+
+import java.util.UUID;
+
+public class ConcurrentJobModificationException extends RuntimeException {
+    public ConcurrentJobModificationException(UUID jobId, JobStatus expected, JobStatus transition) {
+        super(String.format(
+                "Job with Id: %s could not be transitioned from '%s' to '%s', it was modified concurrently",
+                jobId, expected, transition));
+    }
+}
@@ -2,6 +2,8 @@ package com.gcg.djs.domain.models.errors;
 
 public final class ErrorMessages {
     public static final String CREATE_JOB_NULL = "CreateJob parameter cannot be null.";
+    public static final String CREATE_JOBS_SIZE_INVALID = "CreateJob batch must contain between 1 and %d jobs.";
+    public static final String CREATE_JOBS_ITEM_INVALID = "CreateJob %d of the batch is invalid: %s";
     public static final String JOB_NOT_FOUND = "Job with ID %s not found.";
     public static final String JOP_ID_NULL = "Job ID must not be null";
     public static final String JOB_NAME_INVALID = "Job name must not be null, empty, or whitespace.";
@@ -11,11 +13,16 @@ public final class ErrorMessages {
     public static final String JOB_UPDATE_DESCRIPTION_INVALID = "Job update description must not be null, empty, or whitespace.";
     public static final String JOB_NEXT_EXECUTION_INVALID = "Next Execution date must not be null";
     public static final String UNEXPECTED_ERROR = "Unexpected error occurred";
+    public static final String REPLAY_LIMIT_INVALID = "Replay limit must be greater than 0";
+    public static final String REPLAY_NOT_FOUND = "Replay with ID %s not found.";
+    public static final String SORT_NOT_INDEXED =
+            "Sorting by %s is not backed by an index and is only allowed on queries matching at most %d items";
 
     public static final String CREATE_RECURRING_JOB_NULL = "CreateRecurringJob parameter cannot be null.";
     public static final String RECURRING_JOP_ID_NULL = "Recurring job ID must not be null";
     public static final String RECURRING_JOB_NAME_INVALID = "Recurring job name must not be null, empty, or whitespace.";
     public static final String RECURRING_JOB_DESCRIPTION_INVALID = "Recurring job description must not be null, empty, or whitespace.";
     public static final String RECURRING_JOB_CRON_INVALID = "Recurring job cron must not be null, empty, or whitespace.";
+    public static final String RECURRING_JOB_BIN_LOCATION_INVALID = "Recurring job bin location must not be null, empty, or whitespace.";
     public static final String RECURRING_JOB_NOT_FOUND = "Recurring job with ID %s not found.";
 }
@@ -0,0 +1,12 @@
+package com.gcg.djs.domain.models.errors;
+
+import java.util.List;
+
+/**
+ * Thrown when a query is sorted by fields no index can serve and matches too many items to be sorted in memory.
+ */
+public class UnindexedSortException extends RuntimeException {
+    public UnindexedSortException(List<String> fields, int maxItems) {
+        super(String.format(ErrorMessages.SORT_NOT_INDEXED, String.join(", ", fields), maxItems));
+    }
+}
@@ -0,0 +1,21 @@
+package com.gcg.djs.domain.models.jobs;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A job that exhausted its retries and was moved out of the jobs collection.
+ *
+ * @param job The job, as it was stored when it was dead-lettered.
+ * @param errors The errors of its failed attempts, oldest first.
+ * @param deadLetteredAt The instant the job was dead-lettered.
+ */
+public record DeadLetterJob(Job job, List<JobError> errors, Instant deadLetteredAt) {
+
+    public DeadLetterJob {
+        Objects.requireNonNull(job);
+        Objects.requireNonNull(deadLetteredAt);
+        errors = List.copyOf(Objects.requireNonNull(errors));
+    }
+}
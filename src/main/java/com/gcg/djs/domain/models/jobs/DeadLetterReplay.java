@@ -0,0 +1,44 @@
+package com.gcg.djs.domain.models.jobs;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The progress of a replay of dead-lettered jobs, which runs in the background.
+ *
+ * @param id The id of the replay.
+ * @param limit The maximum number of jobs to replay.
+ * @param replayed The number of jobs replayed so far.
+ * @param status Where the replay stands.
+ * @param requestedAt The instant the replay was requested.
+ * @param finishedAt The instant the replay completed or failed, null until then.
+ * @param error The reason the replay failed, null unless it did.
+ */
+public record DeadLetterReplay(
+        UUID id,
+        int limit,
+        int replayed,
+        ReplayStatus status,
+        Instant requestedAt,
+        Instant finishedAt,
+        String error) {
+
+    public DeadLetterReplay {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(status);
+        Objects.requireNonNull(requestedAt);
+    }
+
+    public DeadLetterReplay running(int replayed) {
+        return new DeadLetterReplay(id, limit, replayed, ReplayStatus.RUNNING, requestedAt, null, null);
+    }
+
+    public DeadLetterReplay completed(Instant now) {
+        return new DeadLetterReplay(id, limit, replayed, ReplayStatus.COMPLETED, requestedAt, now, null);
+    }
+
+    public DeadLetterReplay failed(Instant now, String error) {
+        return new DeadLetterReplay(id, limit, replayed, ReplayStatus.FAILED, requestedAt, now, error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gcg.djs.domain.models.jobs;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The minimal view of an upcoming job needed to know when it has to be dispatched.
+ *
+ * @param id The id of the job.
+ * @param nextExecution The instant the job is due.
+ */
+public record DueJob(UUID id, Instant nextExecution) {
+
+    public DueJob {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(nextExecution);
+    }
+}
@@ -0,0 +1,26 @@
+package com.gcg.djs.domain.models.jobs;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A batch of jobs exclusively claimed by one scheduler for dispatch.
+ *
+ * @param token The token stamped on every claimed job; only the holder of the token can commit or release them.
+ * @param expiresAt The instant after which the claim lapses and the jobs become claimable again.
+ * @param jobs The claimed jobs, as they were stored when the claim was taken.
+ */
+public record JobClaim(UUID token, Instant expiresAt, List<Job> jobs) {
+
+    public JobClaim {
+        Objects.requireNonNull(token);
+        Objects.requireNonNull(expiresAt);
+        Objects.requireNonNull(jobs);
+    }
+
+    public boolean isEmpty() {
+        return jobs.isEmpty();
+    }
+}
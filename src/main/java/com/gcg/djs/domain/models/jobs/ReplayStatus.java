@@ -0,0 +1,5 @@
+package com.gcg.djs.domain.models.jobs;
+
+public enum ReplayStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
@@ -9,7 +9,9 @@ import java.util.List;
 public record CreateRecurringJob(
         String cronExpression,
         String name,
-        String description
+        String description,
+        String binLocation,
+        MisfirePolicy misfirePolicy
 ) {
     public static List<String> validate(CreateRecurringJob recurringJob) {
         List<String> errors = new ArrayList<>();
@@ -31,6 +33,10 @@ public record CreateRecurringJob(
             errors.add(ErrorMessages.RECURRING_JOB_CRON_INVALID);
         }
 
+        if (Strings.isBlank(recurringJob.binLocation)) {
+            errors.add(ErrorMessages.RECURRING_JOB_BIN_LOCATION_INVALID);
+        }
+
         return errors;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.gcg.djs.domain.models.recurringjob;
+
+/**
+ * Decides what happens to the fire times of a recurring job that were missed, for example while no
+ * scheduler was running.
+ */
+public enum MisfirePolicy {
+    /**
+     * Missed fire times are collapsed into a single job, run right away.
+     */
+    FIRE_ONCE,
+
+    /**
+     * A job is run for every missed fire time.
+     */
+    FIRE_ALL,
+
+    /**
+     * Missed fire times are dropped, the recurring job resumes at its next fire time.
+     */
+    SKIP
+}
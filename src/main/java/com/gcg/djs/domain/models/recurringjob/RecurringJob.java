@@ -1,7 +1,6 @@
 package com.gcg.djs.domain.models.recurringjob;
 
 import java.time.Instant;
-import java.util.Date;
 import java.util.UUID;
 
 public record RecurringJob(
@@ -13,6 +12,14 @@ public record RecurringJob(
         Instant modifiedDate,
         Boolean active,
         Instant nextRun,
-        Instant lastRun
+        Instant lastRun,
+        String binLocation,
+        MisfirePolicy misfirePolicy
 ) {
-}
\ No newline at end of file
+    public RecurringJob {
+        // Recurring jobs stored before misfire policies existed run their missed fire times once
+        if (misfirePolicy == null) {
+            misfirePolicy = MisfirePolicy.FIRE_ONCE;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.gcg.djs.domain.models.recurringjob;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A batch of recurring jobs exclusively claimed by one scheduler for materialization.
+ *
+ * @param token The token stamped on every claimed recurring job; only the holder of the token can commit them.
+ * @param expiresAt The instant after which the claim lapses and the recurring jobs become claimable again.
+ * @param recurringJobs The claimed recurring jobs, as they were stored when the claim was taken.
+ */
+public record RecurringJobClaim(UUID token, Instant expiresAt, List<RecurringJob> recurringJobs) {
+
+    public RecurringJobClaim {
+        Objects.requireNonNull(token);
+        Objects.requireNonNull(expiresAt);
+        Objects.requireNonNull(recurringJobs);
+    }
+
+    public boolean isEmpty() {
+        return recurringJobs.isEmpty();
+    }
+}
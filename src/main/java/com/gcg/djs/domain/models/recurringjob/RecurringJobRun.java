@@ -0,0 +1,18 @@
+package com.gcg.djs.domain.models.recurringjob;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The next run of a recurring job, as loaded by the scheduler to know when to materialize it.
+ *
+ * @param id The id of the recurring job.
+ * @param nextRun The next run, or null if the recurring job is paused or never fires again.
+ */
+public record RecurringJobRun(UUID id, Instant nextRun) {
+
+    public RecurringJobRun {
+        Objects.requireNonNull(id);
+    }
+}
@@ -0,0 +1,100 @@
+package com.gcg.djs.domain.models.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a failed job is retried and when.
+ * <p>
+ * The backoff grows exponentially with the number of retries up to {@code maxBackoff}, and a random
+ * part of it, up to {@code jitter}, is taken off so jobs that failed together do not retry together.
+ *
+ * @param maxRetries The number of retries after which a job is no longer retried.
+ * @param initialBackoff The backoff before the first retry.
+ * @param maxBackoff The upper bound of the backoff.
+ * @param multiplier The factor the backoff grows by on every retry.
+ * @param jitter The fraction of the backoff, between 0 and 1, that is randomized.
+ */
+public record RetryPolicy(
+        int maxRetries,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        double multiplier,
+        double jitter) {
+
+    public static final int DEFAULT_MAX_RETRIES = 5;
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(10);
+    public static final double DEFAULT_MULTIPLIER = 2.0;
+    public static final double DEFAULT_JITTER = 0.5;
+
+    public RetryPolicy {
+        Objects.requireNonNull(initialBackoff);
+        Objects.requireNonNull(maxBackoff);
+
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Max retries must not be negative");
+        }
+
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Max backoff must be greater than or equal to the initial backoff");
+        }
+
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Multiplier must be greater than or equal to 1");
+        }
+
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1");
+        }
+    }
+
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(
+                DEFAULT_MAX_RETRIES,
+                DEFAULT_INITIAL_BACKOFF,
+                DEFAULT_MAX_BACKOFF,
+                DEFAULT_MULTIPLIER,
+                DEFAULT_JITTER);
+    }
+
+    /**
+     * @param retries The number of times the job has failed so far.
+     * @return true if the job may be retried again.
+     */
+    public boolean canRetry(int retries) {
+        return retries <= maxRetries;
+    }
+
+    /**
+     * Computes the backoff before the given retry.
+     *
+     * @param retries The number of times the job has failed so far, starting at 1.
+     * @return The jittered backoff, never more than {@code maxBackoff}.
+     */
+    public Duration backoff(int retries) {
+        return backoff(retries, ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Computes the instant a job that failed at {@code failedAt} may be retried.
+     *
+     * @param retries The number of times the job has failed so far, starting at 1.
+     * @param failedAt The instant the job failed.
+     * @return The instant the job is due again.
+     */
+    public Instant nextRetryAt(int retries, Instant failedAt) {
+        Objects.requireNonNull(failedAt);
+        return failedAt.plus(backoff(retries));
+    }
+
+    Duration backoff(int retries, double random) {
+        // Computed in doubles so a large number of retries saturates at the max backoff instead of overflowing
+        double exponential = initialBackoff.toMillis() * Math.pow(multiplier, Math.max(0, retries - 1));
+        double capped = Math.min(exponential, maxBackoff.toMillis());
+
+        return Duration.ofMillis((long) (capped * (1 - jitter * random)));
+    }
+}
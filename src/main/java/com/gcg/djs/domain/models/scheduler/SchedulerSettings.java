@@ -0,0 +1,309 @@
+package com.gcg.djs.domain.models.scheduler;
+
+import com.gcg.djs.domain.common.Partitioner;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Tunable parameters of the scheduler dispatch loop.
+ *
+ * @param dispatchBatchSize The maximum number of due jobs claimed and published per round trip.
+ * @param claimTimeout How long a claim on a batch of jobs is held before another scheduler may take it over.
+ * @param tickDuration The precision of the due-time timing wheel. The dispatch loop sleeps until the next job of
+ *                     the wheel or the next poll below is due, so this is not how often it wakes up.
+ * @param partitionCount The number of partitions jobs are split into; must be the same on every node.
+ * @param lookAheadWindow How far ahead upcoming jobs are loaded into the timing wheel.
+ * @param maxWindowSize The maximum number of upcoming jobs loaded into the timing wheel; a full window only
+ *                      covers the jobs up to the last one loaded and is refreshed from there.
+ * @param windowRefreshInterval How often the look-ahead window is reloaded, which bounds how late a job
+ *                              created after the window was loaded can be dispatched.
+ * @param retryPolicy Decides whether and when failed jobs are retried.
+ * @param retryPollInterval How often failed jobs whose backoff elapsed are looked up for dispatch.
+ * @param executionLeaseDuration How long a worker holds a job it executes without renewing its lease.
+ * @param leaseReapInterval How often jobs whose execution lease expired are looked up and failed.
+ * @param outboxPollInterval How often the outbox is looked up for jobs waiting to be published.
+ * @param deadLetterPollInterval How often failed jobs that exhausted their retries are moved to the dead letters.
+ * @param recurringPollInterval How often recurring jobs with fire times inside the look-ahead window are materialized.
+ * @param maxMaterializedJobsPerPage The maximum number of jobs a page of recurring jobs creates, so recurring jobs
+ *                                   that fell far behind catch up over several pages instead of one huge insert.
+ * @param misfireThreshold How late a fire time of a recurring job can be materialized before it counts as missed.
+ * @param recurringIndexSyncInterval How often recurring jobs changed by other nodes are merged into the in-memory
+ *                                   index of next runs.
+ * @param recurringIndexSyncOverlap How far before the previous sync recurring jobs changed by other nodes are looked
+ *                                  up. Changes are found by the time their node wrote them, so the overlap has to
+ *                                  exceed the clock skew between nodes plus the longest write in flight; changes
+ *                                  beyond it are only picked up by the next reload.
+ * @param recurringIndexReloadInterval How often the in-memory index of next runs is reloaded from scratch, which
+ *                                     bounds how long a deleted recurring job stays in it.
+ * @param fireTimeSmearWindow How far the jobs of a recurring job are delayed past their fire times, by an offset
+ *                            that is stable per recurring job, so recurring jobs sharing a cron expression do not
+ *                            all run in the same second; zero turns smearing off.
+ */
+public record SchedulerSettings(
+        int dispatchBatchSize,
+        Duration claimTimeout,
+        Duration tickDuration,
+        int partitionCount,
+        Duration lookAheadWindow,
+        int maxWindowSize,
+        Duration windowRefreshInterval,
+        RetryPolicy retryPolicy,
+        Duration retryPollInterval,
+        Duration executionLeaseDuration,
+        Duration leaseReapInterval,
+        Duration outboxPollInterval,
+        Duration deadLetterPollInterval,
+        Duration recurringPollInterval,
+        int maxMaterializedJobsPerPage,
+        Duration misfireThreshold,
+        Duration recurringIndexSyncInterval,
+        Duration recurringIndexSyncOverlap,
+        Duration recurringIndexReloadInterval,
+        Duration fireTimeSmearWindow) {
+
+    public static final int DEFAULT_DISPATCH_BATCH_SIZE = 1000;
+    public static final Duration DEFAULT_CLAIM_TIMEOUT = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+    public static final Duration DEFAULT_LOOK_AHEAD_WINDOW = Duration.ofMinutes(5);
+    public static final int DEFAULT_MAX_WINDOW_SIZE = 100_000;
+    // Jobs due within the window are fired from the wheel, only jobs created after a load wait for the next one
+    public static final Duration DEFAULT_WINDOW_REFRESH_INTERVAL = Duration.ofSeconds(30);
+    // Retries already wait out a backoff that doubles from one second, so a few more seconds hardly matter
+    public static final Duration DEFAULT_RETRY_POLL_INTERVAL = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_EXECUTION_LEASE_DURATION = Duration.ofSeconds(30);
+    // Several reaps per lease duration, so a job of a dead worker is failed soon after its lease expires
+    public static final Duration DEFAULT_LEASE_REAP_INTERVAL = Duration.ofSeconds(5);
+    // Jobs enqueued through the API are published within a second, without a query every few milliseconds
+    public static final Duration DEFAULT_OUTBOX_POLL_INTERVAL = Duration.ofSeconds(1);
+    // Exhausted jobs are already out of the dispatch path, moving them only keeps the jobs collection small
+    public static final Duration DEFAULT_DEAD_LETTER_POLL_INTERVAL = Duration.ofSeconds(10);
+    // A recurring job created through the API gets its first run materialized within a second
+    public static final Duration DEFAULT_RECURRING_POLL_INTERVAL = Duration.ofSeconds(1);
+    public static final int DEFAULT_MAX_MATERIALIZED_JOBS_PER_PAGE = 10_000;
+    public static final Duration DEFAULT_MISFIRE_THRESHOLD = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_RECURRING_INDEX_SYNC_INTERVAL = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_RECURRING_INDEX_SYNC_OVERLAP = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_RECURRING_INDEX_RELOAD_INTERVAL = Duration.ofMinutes(10);
+    public static final Duration DEFAULT_FIRE_TIME_SMEAR_WINDOW = Duration.ZERO;
+
+    public SchedulerSettings {
+        if (dispatchBatchSize <= 0) {
+            throw new IllegalArgumentException("Dispatch batch size must be greater than 0");
+        }
+
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count must be greater than 0");
+        }
+
+        if (maxWindowSize <= 0) {
+            throw new IllegalArgumentException("Max window size must be greater than 0");
+        }
+
+        if (maxMaterializedJobsPerPage <= 0) {
+            throw new IllegalArgumentException("Max materialized jobs per page must be greater than 0");
+        }
+
+        Objects.requireNonNull(claimTimeout);
+        Objects.requireNonNull(tickDuration);
+        Objects.requireNonNull(lookAheadWindow);
+        Objects.requireNonNull(windowRefreshInterval);
+        Objects.requireNonNull(retryPolicy);
+        Objects.requireNonNull(retryPollInterval);
+        Objects.requireNonNull(executionLeaseDuration);
+        Objects.requireNonNull(leaseReapInterval);
+        Objects.requireNonNull(outboxPollInterval);
+        Objects.requireNonNull(deadLetterPollInterval);
+        Objects.requireNonNull(recurringPollInterval);
+        Objects.requireNonNull(misfireThreshold);
+        Objects.requireNonNull(recurringIndexSyncInterval);
+        Objects.requireNonNull(recurringIndexSyncOverlap);
+        Objects.requireNonNull(recurringIndexReloadInterval);
+        Objects.requireNonNull(fireTimeSmearWindow);
+
+        if (recurringIndexSyncOverlap.isNegative()) {
+            throw new IllegalArgumentException("Recurring index sync overlap must not be negative");
+        }
+
+        if (fireTimeSmearWindow.isNegative()) {
+            throw new IllegalArgumentException("Fire time smear window must not be negative");
+        }
+    }
+
+    public static SchedulerSettings defaults() {
+        return new Builder().build();
+    }
+
+    public static class Builder {
+        private int dispatchBatchSize = DEFAULT_DISPATCH_BATCH_SIZE;
+        private Duration claimTimeout = DEFAULT_CLAIM_TIMEOUT;
+        private Duration tickDuration = DEFAULT_TICK_DURATION;
+        private int partitionCount = Partitioner.DEFAULT_PARTITION_COUNT;
+        private Duration lookAheadWindow = DEFAULT_LOOK_AHEAD_WINDOW;
+        private int maxWindowSize = DEFAULT_MAX_WINDOW_SIZE;
+        private Duration windowRefreshInterval = DEFAULT_WINDOW_REFRESH_INTERVAL;
+        private RetryPolicy retryPolicy = RetryPolicy.defaults();
+        private Duration retryPollInterval = DEFAULT_RETRY_POLL_INTERVAL;
+        private Duration executionLeaseDuration = DEFAULT_EXECUTION_LEASE_DURATION;
+        private Duration leaseReapInterval = DEFAULT_LEASE_REAP_INTERVAL;
+        private Duration outboxPollInterval = DEFAULT_OUTBOX_POLL_INTERVAL;
+        private Duration deadLetterPollInterval = DEFAULT_DEAD_LETTER_POLL_INTERVAL;
+        private Duration recurringPollInterval = DEFAULT_RECURRING_POLL_INTERVAL;
+        private int maxMaterializedJobsPerPage = DEFAULT_MAX_MATERIALIZED_JOBS_PER_PAGE;
+        private Duration misfireThreshold = DEFAULT_MISFIRE_THRESHOLD;
+        private Duration recurringIndexSyncInterval = DEFAULT_RECURRING_INDEX_SYNC_INTERVAL;
+        private Duration recurringIndexSyncOverlap = DEFAULT_RECURRING_INDEX_SYNC_OVERLAP;
+        private Duration recurringIndexReloadInterval = DEFAULT_RECURRING_INDEX_RELOAD_INTERVAL;
+        private Duration fireTimeSmearWindow = DEFAULT_FIRE_TIME_SMEAR_WINDOW;
+
+        public Builder() {}
+
+        public Builder(SchedulerSettings settings) {
+            this.dispatchBatchSize = settings.dispatchBatchSize;
+            this.claimTimeout = settings.claimTimeout;
+            this.tickDuration = settings.tickDuration;
+            this.partitionCount = settings.partitionCount;
+            this.lookAheadWindow = settings.lookAheadWindow;
+            this.maxWindowSize = settings.maxWindowSize;
+            this.windowRefreshInterval = settings.windowRefreshInterval;
+            this.retryPolicy = settings.retryPolicy;
+            this.retryPollInterval = settings.retryPollInterval;
+            this.executionLeaseDuration = settings.executionLeaseDuration;
+            this.leaseReapInterval = settings.leaseReapInterval;
+            this.outboxPollInterval = settings.outboxPollInterval;
+            this.deadLetterPollInterval = settings.deadLetterPollInterval;
+            this.recurringPollInterval = settings.recurringPollInterval;
+            this.maxMaterializedJobsPerPage = settings.maxMaterializedJobsPerPage;
+            this.misfireThreshold = settings.misfireThreshold;
+            this.recurringIndexSyncInterval = settings.recurringIndexSyncInterval;
+            this.recurringIndexSyncOverlap = settings.recurringIndexSyncOverlap;
+            this.recurringIndexReloadInterval = settings.recurringIndexReloadInterval;
+            this.fireTimeSmearWindow = settings.fireTimeSmearWindow;
+        }
+
+        public Builder dispatchBatchSize(int dispatchBatchSize) {
+            this.dispatchBatchSize = dispatchBatchSize;
+            return this;
+        }
+
+        public Builder claimTimeout(Duration claimTimeout) {
+            this.claimTimeout = claimTimeout;
+            return this;
+        }
+
+        public Builder tickDuration(Duration tickDuration) {
+            this.tickDuration = tickDuration;
+            return this;
+        }
+
+        public Builder partitionCount(int partitionCount) {
+            this.partitionCount = partitionCount;
+            return this;
+        }
+
+        public Builder lookAheadWindow(Duration lookAheadWindow) {
+            this.lookAheadWindow = lookAheadWindow;
+            return this;
+        }
+
+        public Builder maxWindowSize(int maxWindowSize) {
+            this.maxWindowSize = maxWindowSize;
+            return this;
+        }
+
+        public Builder windowRefreshInterval(Duration windowRefreshInterval) {
+            this.windowRefreshInterval = windowRefreshInterval;
+            return this;
+        }
+
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public Builder retryPollInterval(Duration retryPollInterval) {
+            this.retryPollInterval = retryPollInterval;
+            return this;
+        }
+
+        public Builder executionLeaseDuration(Duration executionLeaseDuration) {
+            this.executionLeaseDuration = executionLeaseDuration;
+            return this;
+        }
+
+        public Builder leaseReapInterval(Duration leaseReapInterval) {
+            this.leaseReapInterval = leaseReapInterval;
+            return this;
+        }
+
+        public Builder outboxPollInterval(Duration outboxPollInterval) {
+            this.outboxPollInterval = outboxPollInterval;
+            return this;
+        }
+
+        public Builder deadLetterPollInterval(Duration deadLetterPollInterval) {
+            this.deadLetterPollInterval = deadLetterPollInterval;
+            return this;
+        }
+
+        public Builder recurringPollInterval(Duration recurringPollInterval) {
+            this.recurringPollInterval = recurringPollInterval;
+            return this;
+        }
+
+        public Builder maxMaterializedJobsPerPage(int maxMaterializedJobsPerPage) {
+            this.maxMaterializedJobsPerPage = maxMaterializedJobsPerPage;
+            return this;
+        }
+
+        public Builder misfireThreshold(Duration misfireThreshold) {
+            this.misfireThreshold = misfireThreshold;
+            return this;
+        }
+
+        public Builder recurringIndexSyncInterval(Duration recurringIndexSyncInterval) {
+            this.recurringIndexSyncInterval = recurringIndexSyncInterval;
+            return this;
+        }
+
+        public Builder recurringIndexSyncOverlap(Duration recurringIndexSyncOverlap) {
+            this.recurringIndexSyncOverlap = recurringIndexSyncOverlap;
+            return this;
+        }
+
+        public Builder recurringIndexReloadInterval(Duration recurringIndexReloadInterval) {
+            this.recurringIndexReloadInterval = recurringIndexReloadInterval;
+            return this;
+        }
+
+        public Builder fireTimeSmearWindow(Duration fireTimeSmearWindow) {
+            this.fireTimeSmearWindow = fireTimeSmearWindow;
+            return this;
+        }
+
+        public SchedulerSettings build() {
+            return new SchedulerSettings(
+                    dispatchBatchSize,
+                    claimTimeout,
+                    tickDuration,
+                    partitionCount,
+                    lookAheadWindow,
+                    maxWindowSize,
+                    windowRefreshInterval,
+                    retryPolicy,
+                    retryPollInterval,
+                    executionLeaseDuration,
+                    leaseReapInterval,
+                    outboxPollInterval,
+                    deadLetterPollInterval,
+                    recurringPollInterval,
+                    maxMaterializedJobsPerPage,
+                    misfireThreshold,
+                    recurringIndexSyncInterval,
+                    recurringIndexSyncOverlap,
+                    recurringIndexReloadInterval,
+                    fireTimeSmearWindow
+            );
+        }
+    }
+}
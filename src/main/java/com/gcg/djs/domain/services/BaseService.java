@@ -3,8 +3,10 @@ package com.gcg.djs.domain.services;
 import com.gcg.djs.domain.interfaces.external.ILog;
 import com.gcg.djs.domain.common.CheckedSupplier;
 import com.gcg.djs.domain.models.errors.UnExpectedException;
+import com.gcg.djs.domain.models.errors.UnindexedSortException;
 import com.gcg.djs.domain.models.errors.ValidationException;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -31,7 +33,8 @@ public abstract class BaseService {
 
     /**
      * Executes the given operation and handles any exceptions that may occur.
-     * If a {@link ValidationException} is thrown, it is rethrown without modification.
+     * If a {@link ValidationException} is thrown, it is rethrown without modification, and an
+     * {@link UnindexedSortException} is rethrown as a {@link ValidationException} since the query was rejected.
      * Any other exceptions are logged and wrapped in an {@link UnExpectedException}.
      *
      * @param operation The operation to execute, represented as a {@link CheckedSupplier}.
@@ -45,6 +48,8 @@ public abstract class BaseService {
             return operation.get();
         } catch (ValidationException e) {
             throw e;
+        } catch (UnindexedSortException e) {
+            throw new ValidationException(List.of(e.getMessage()));
         } catch (Exception e) {
             this.log.logError("Unexpected error occurred", e);
             throw new UnExpectedException();
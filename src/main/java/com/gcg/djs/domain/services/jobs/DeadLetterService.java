@@ -0,0 +1,259 @@
+package com.gcg.djs.domain.services.jobs;
+
+import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.interfaces.repositories.IDeadLetterReplayRepository;
+import com.gcg.djs.domain.interfaces.repositories.IDeadLetterRepository;
+import com.gcg.djs.domain.interfaces.repositories.IJobRepository;
+import com.gcg.djs.domain.interfaces.services.IDeadLetterService;
+import com.gcg.djs.domain.models.errors.ErrorMessages;
+import com.gcg.djs.domain.models.errors.ValidationException;
+import com.gcg.djs.domain.models.jobs.DeadLetterJob;
+import com.gcg.djs.domain.models.jobs.DeadLetterReplay;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobClaim;
+import com.gcg.djs.domain.models.jobs.JobError;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.domain.models.jobs.ReplayStatus;
+import com.gcg.djs.domain.models.scheduler.SchedulerSettings;
+import com.gcg.djs.domain.services.BaseService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves jobs that exhausted their retries out of the jobs collection, so the scheduler no longer scans them,
+ * and replays them back on demand.
+ * <p>
+ * Replays run in the background, one at a time, and their progress is stored after every batch, so it can be
+ * looked up from any node. A replay whose node stopped midway stays {@link ReplayStatus#RUNNING}; requesting it
+ * again picks up the jobs it did not replay yet, since replayed jobs leave the dead letters.
+ */
+public final class DeadLetterService extends BaseService implements IDeadLetterService {
+    public static final int DEFAULT_REPLAY_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_REPLAY_BATCH_DELAY = Duration.ofSeconds(1);
+
+    private final IDeadLetterRepository deadLetterRepository;
+    private final IDeadLetterReplayRepository replayRepository;
+    private final IJobRepository jobRepository;
+    private final SchedulerSettings settings;
+    private final int replayBatchSize;
+    private final Duration replayBatchDelay;
+    private final Executor replayExecutor;
+
+    public DeadLetterService(
+            IDeadLetterRepository deadLetterRepository,
+            IDeadLetterReplayRepository replayRepository,
+            IJobRepository jobRepository,
+            SchedulerSettings settings,
+            ILog log) {
+        this(deadLetterRepository, replayRepository, jobRepository, settings, log, DEFAULT_REPLAY_BATCH_SIZE,
+                DEFAULT_REPLAY_BATCH_DELAY,
+                Executors.newSingleThreadExecutor(Thread.ofVirtual().name("dead-letter-replay").factory()));
+    }
+
+    public DeadLetterService(
+            IDeadLetterRepository deadLetterRepository,
+            IDeadLetterReplayRepository replayRepository,
+            IJobRepository jobRepository,
+            SchedulerSettings settings,
+            ILog log,
+            int replayBatchSize,
+            Duration replayBatchDelay,
+            Executor replayExecutor) {
+        super(log);
+
+        if (replayBatchSize <= 0) {
+            throw new IllegalArgumentException("Replay batch size must be greater than 0");
+        }
+
+        this.deadLetterRepository = Objects.requireNonNull(deadLetterRepository);
+        this.replayRepository = Objects.requireNonNull(replayRepository);
+        this.jobRepository = Objects.requireNonNull(jobRepository);
+        this.settings = Objects.requireNonNull(settings);
+        this.replayBatchSize = replayBatchSize;
+        this.replayBatchDelay = Objects.requireNonNull(replayBatchDelay);
+        this.replayExecutor = Objects.requireNonNull(replayExecutor);
+    }
+
+    /**
+     * Claims a page of failed jobs that exceeded the max retries of the retry policy, stores them in the
+     * dead-letter collection with their error history and deletes them from the jobs collection.
+     * <p>
+     * Dead-lettered jobs are stored before they are deleted, and storing them again replaces them, so a
+     * crash in between only repeats the move once the claim lapses.
+     *
+     * @param partitions The partitions owned by this scheduler.
+     * @return The number of jobs that were dead-lettered.
+     */
+    @Override
+    public int deadLetterExhaustedJobsPage(Set<Integer> partitions) {
+        Objects.requireNonNull(partitions);
+
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        JobClaim claim = jobRepository.claimExhaustedJobs(
+                now,
+                partitions,
+                settings.retryPolicy().maxRetries(),
+                settings.dispatchBatchSize(),
+                settings.claimTimeout());
+
+        if (claim.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, List<JobError>> histories = jobRepository.getErrorHistory(
+                claim.jobs().stream().map(Job::id).toList());
+
+        List<DeadLetterJob> deadLetterJobs = new ArrayList<>(claim.jobs().size());
+        for (Job job : claim.jobs()) {
+            // Jobs that failed before the history was recorded only have their last error
+            List<JobError> errors = histories.getOrDefault(
+                    job.id(), job.error() != null ? List.of(job.error()) : List.of());
+
+            deadLetterJobs.add(new DeadLetterJob(job, errors, now));
+        }
+
+        deadLetterRepository.addAll(deadLetterJobs);
+
+        return (int) jobRepository.deleteClaimed(claim, claim.jobs());
+    }
+
+    @Override
+    public Page<DeadLetterJob> getDeadLetterJobs(int page, int pageSize, QueryParameters parameters)
+            throws ValidationException {
+        var errors = Page.validate(page, pageSize);
+
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+
+        return executeWithErrorHandler(() -> deadLetterRepository.getPage(page, pageSize, parameters));
+    }
+
+    /**
+     * Starts moving up to {@code limit} dead-lettered jobs matching the given filter back to the jobs collection
+     * as new {@link JobStatus#CREATED} jobs with their retries reset, so they are dispatched again right away.
+     * <p>
+     * Jobs are replayed in the background, in batches with a delay in between, so recovering from an incident
+     * does not flood the workers with every failed job at once, nor hold the caller for the whole replay.
+     *
+     * @param parameters Query parameters selecting the jobs to replay.
+     * @param limit The maximum number of jobs to replay.
+     * @return The replay, whose progress is looked up with {@link #getReplay}.
+     * @throws ValidationException If the limit is invalid.
+     */
+    @Override
+    public DeadLetterReplay replay(QueryParameters parameters, int limit) throws ValidationException {
+        Objects.requireNonNull(parameters);
+
+        if (limit <= 0) {
+            throw new ValidationException(List.of(ErrorMessages.REPLAY_LIMIT_INVALID));
+        }
+
+        var replay = new DeadLetterReplay(UUID.randomUUID(), limit, 0, ReplayStatus.PENDING, Instant.now(), null, null);
+
+        // Stored before it starts, so the replay can be looked up as soon as its id is returned
+        executeWithErrorHandler(() -> save(replay));
+
+        replayExecutor.execute(() -> runReplay(replay, parameters));
+
+        return replay;
+    }
+
+    @Override
+    public DeadLetterReplay getReplay(UUID id) throws ValidationException {
+        Objects.requireNonNull(id);
+
+        DeadLetterReplay replay = executeWithErrorHandler(() -> replayRepository.getById(id));
+
+        if (replay == null) {
+            throw new ValidationException(List.of(String.format(ErrorMessages.REPLAY_NOT_FOUND, id)));
+        }
+
+        return replay;
+    }
+
+    private void runReplay(DeadLetterReplay replay, QueryParameters parameters) {
+        DeadLetterReplay current = replay;
+
+        try {
+            int replayed = 0;
+            current = save(replay.running(replayed));
+
+            while (replayed < replay.limit()) {
+                int batchSize = Math.min(replayBatchSize, replay.limit() - replayed);
+                List<DeadLetterJob> batch = deadLetterRepository.find(parameters, batchSize);
+
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                Instant now = Instant.now();
+                jobRepository.createAllIfAbsent(batch.stream().map(deadLetterJob -> toReplayedJob(deadLetterJob, now)).toList());
+                deadLetterRepository.deleteAll(batch.stream().map(deadLetterJob -> deadLetterJob.job().id()).toList());
+
+                replayed += batch.size();
+                current = save(replay.running(replayed));
+
+                if (batch.size() < batchSize || replayed >= replay.limit() || !pause()) {
+                    break;
+                }
+            }
+
+            save(replay.running(replayed).completed(Instant.now()));
+        } catch (Exception e) {
+            log.logError("Replaying dead-lettered jobs failed", e);
+            saveFailure(current.failed(Instant.now(), e.getMessage()));
+        }
+    }
+
+    private DeadLetterReplay save(DeadLetterReplay replay) {
+        replayRepository.save(replay);
+        return replay;
+    }
+
+    private void saveFailure(DeadLetterReplay replay) {
+        try {
+            replayRepository.save(replay);
+        } catch (Exception e) {
+            // The replay then stays RUNNING, the same as when its node stops
+            log.logError("Storing the failure of replay " + replay.id() + " failed", e);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(replayBatchDelay.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Job toReplayedJob(DeadLetterJob deadLetterJob, Instant now) {
+        return new Job.Builder(deadLetterJob.job())
+                .status(JobStatus.CREATED)
+                .retries(0)
+                .error(null)
+                .executionStart(null)
+                .executionEnd(null)
+                .nextExecution(now)
+                .modifiedDate(now)
+                .build();
+    }
+}
@@ -1,5 +1,9 @@
 package com.gcg.djs.domain.services.jobs;
 
+import com.gcg.djs.domain.common.BulkResult;
+import com.gcg.djs.domain.common.CursorPage;
+import com.gcg.djs.domain.common.FieldSelection;
+import com.gcg.djs.domain.common.PageCursor;
 import com.gcg.djs.domain.common.QueryParameters;
 import com.gcg.djs.domain.interfaces.external.ILog;
 import com.gcg.djs.domain.interfaces.repositories.Repository;
@@ -13,6 +17,8 @@ import java.time.Instant;
 import java.util.*;
 
 public final class JobService extends BaseService implements IJobService {
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final Repository<Job> jobRepository;
 
     public JobService(
@@ -29,27 +35,34 @@ public final class JobService extends BaseService implements IJobService {
             throw new ValidationException(errors);
         }
 
-        UUID jobId = UUID.randomUUID();
-        Instant now = Instant.now();
-
-        Job newJob = new Job(
-                jobId,
-                createJob.name(),
-                createJob.description(),
-                createJob.binLocation(),
-                JobStatus.CREATED,
-                now,
-                now,
-                null,
-                null,
-                createJob.nextExecution(),
-                0,
-                null
-        );
+        Job newJob = toNewJob(createJob, Instant.now());
 
         return executeWithErrorHandler(() -> jobRepository.create(newJob));
     }
 
+    @Override
+    public BulkResult<Job> addJobs(List<CreateJob> createJobs) throws ValidationException {
+        if (createJobs == null || createJobs.isEmpty() || createJobs.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(List.of(String.format(ErrorMessages.CREATE_JOBS_SIZE_INVALID, MAX_BATCH_SIZE)));
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < createJobs.size(); i++) {
+            for (String error : CreateJob.validate(createJobs.get(i))) {
+                errors.add(String.format(ErrorMessages.CREATE_JOBS_ITEM_INVALID, i, error));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+
+        Instant now = Instant.now();
+        List<Job> newJobs = createJobs.stream().map(createJob -> toNewJob(createJob, now)).toList();
+
+        return executeWithErrorHandler(() -> jobRepository.createAll(newJobs));
+    }
+
     @Override
     public Job modifyJob(UUID id, UpdateJob updateJob) throws ValidationException {
         return executeWithErrorHandler(() -> {
@@ -71,7 +84,7 @@ public final class JobService extends BaseService implements IJobService {
                             updateJob.error().get() : existingJob.error())
                     .build();
 
-            return jobRepository.update(updatedJob);
+            return jobRepository.patch(existingJob, updatedJob);
         });
     }
 
@@ -92,6 +105,11 @@ public final class JobService extends BaseService implements IJobService {
     public Page<Job> searchJobs(int page, int pageSize, QueryParameters queryParameters) throws ValidationException {
         var errors = Page.validate(page, pageSize);
 
+        if (queryParameters != null) {
+            errors.addAll(FieldSelection.validate(queryParameters.fields(), Job.class));
+            errors.addAll(FieldSelection.validateSorts(queryParameters.sorts(), Job.class));
+        }
+
         if(!errors.isEmpty()) {
             throw new ValidationException(errors);
         }
@@ -99,6 +117,42 @@ public final class JobService extends BaseService implements IJobService {
         return executeWithErrorHandler(() -> jobRepository.getPage(page, pageSize, queryParameters));
     }
 
+    @Override
+    public CursorPage<Job> scrollJobs(String cursor, int pageSize, QueryParameters queryParameters)
+            throws ValidationException {
+        var errors = CursorPage.validate(cursor, pageSize, queryParameters);
+
+        if (queryParameters != null) {
+            errors.addAll(FieldSelection.validate(queryParameters.fields(), Job.class));
+            errors.addAll(FieldSelection.validateSorts(queryParameters.sorts(), Job.class));
+        }
+
+        if(!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+
+        PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+
+        return executeWithErrorHandler(() -> jobRepository.getPageAfter(after, pageSize, queryParameters));
+    }
+
+    private static Job toNewJob(CreateJob createJob, Instant now) {
+        return new Job(
+                UUID.randomUUID(),
+                createJob.name(),
+                createJob.description(),
+                createJob.binLocation(),
+                JobStatus.CREATED,
+                now,
+                now,
+                null,
+                null,
+                createJob.nextExecution(),
+                0,
+                null
+        );
+    }
+
     private Job fetchJobByIdOrThrow(UUID id) throws ValidationException {
         if(id == null) {
             throw new ValidationException(List.of(ErrorMessages.JOP_ID_NULL));
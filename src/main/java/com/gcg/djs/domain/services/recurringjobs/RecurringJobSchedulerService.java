@@ -0,0 +1,256 @@
+package com.gcg.djs.domain.services.recurringjobs;
+
+import com.gcg.djs.domain.common.DueTimeIndex;
+import com.gcg.djs.domain.interfaces.external.ICronService;
+import com.gcg.djs.domain.interfaces.repositories.IJobRepository;
+import com.gcg.djs.domain.interfaces.repositories.IRecurringJobRepository;
+import com.gcg.djs.domain.interfaces.services.IRecurringJobListener;
+import com.gcg.djs.domain.interfaces.services.IRecurringJobSchedulerService;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.domain.models.recurringjob.MisfirePolicy;
+import com.gcg.djs.domain.models.recurringjob.RecurringJob;
+import com.gcg.djs.domain.models.recurringjob.RecurringJobClaim;
+import com.gcg.djs.domain.models.recurringjob.RecurringJobRun;
+import com.gcg.djs.domain.models.scheduler.SchedulerSettings;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Turns due recurring jobs into jobs.
+ * <p>
+ * Every page claims due recurring jobs, creates the jobs of their fire times, up to a cap per page, with a single
+ * bulk insert and advances their next run with a single bulk write, so the cost per page does not depend on its size.
+ * <p>
+ * The next run of every active recurring job is kept in an in-memory index, so passes with nothing due do not
+ * query the database at all. The index is loaded once, kept current by recurring jobs changed on this node and
+ * by a cheap lookup of the ones changed on other nodes, and reloaded from scratch now and then.
+ * <p>
+ * Pages are materialized by a single scheduler thread, which alone reads and writes the timing fields below.
+ * Changes made on this node arrive on request threads: they only go into the index, which is thread-safe, and
+ * raise a flag the scheduler thread picks up on its next pass.
+ * <p>
+ * When a fire time smear window is set, every job runs a fixed offset after its fire time. The offset is derived
+ * from the id of the recurring job, so each one keeps its own cadence while recurring jobs sharing a cron
+ * expression are spread over the window instead of all running at once.
+ */
+public final class RecurringJobSchedulerService implements IRecurringJobSchedulerService, IRecurringJobListener {
+    static final int MAX_RUNS_PER_RECURRING_JOB = 1000;
+
+    private final IRecurringJobRepository recurringJobRepository;
+    private final IJobRepository jobRepository;
+    private final ICronService cronService;
+    private final SchedulerSettings settings;
+
+    private final DueTimeIndex<UUID> nextRuns = new DueTimeIndex<>();
+    private final AtomicBoolean changedLocally = new AtomicBoolean();
+
+    // Confined to the scheduler thread
+    private Instant nextIndexReload = Instant.MIN;
+    private Instant nextIndexSync = Instant.MIN;
+    private Instant lastIndexSync = Instant.MIN;
+    private Instant nextClaimAttempt = Instant.MIN;
+
+    public RecurringJobSchedulerService(
+            IRecurringJobRepository recurringJobRepository,
+            IJobRepository jobRepository,
+            ICronService cronService,
+            SchedulerSettings settings) {
+        this.recurringJobRepository = Objects.requireNonNull(recurringJobRepository);
+        this.jobRepository = Objects.requireNonNull(jobRepository);
+        this.cronService = Objects.requireNonNull(cronService);
+        this.settings = Objects.requireNonNull(settings);
+    }
+
+    /**
+     * Claims a page of active recurring jobs with fire times inside the look-ahead window and materializes them.
+     * Fire times are materialized ahead of time, so every scheduler loads them into its window before they are due.
+     * <p>
+     * Fire times older than the misfire threshold were missed, and are handled as the misfire policy of the
+     * recurring job says. Job ids are derived from the recurring job and the fire time, so materializing the
+     * same fire time again after a crash does not create a second job.
+     *
+     * @return The number of recurring jobs that were materialized.
+     */
+    @Override
+    public int materializeDueJobsPage() {
+        Instant now = Instant.now();
+        Instant until = now.plus(settings.lookAheadWindow());
+
+        refreshIndex(now);
+
+        if (changedLocally.getAndSet(false)) {
+            nextClaimAttempt = Instant.MIN;
+        }
+
+        Instant earliest = nextRuns.earliest();
+        if (earliest == null || earliest.isAfter(until) || now.isBefore(nextClaimAttempt)) {
+            return 0;
+        }
+
+        // Every claimed recurring job gets at least one job, so the claim never exceeds the cap on jobs per page
+        int maxJobs = settings.maxMaterializedJobsPerPage();
+        RecurringJobClaim claim = recurringJobRepository.claimDueRecurringJobs(
+                until, now, Math.min(settings.dispatchBatchSize(), maxJobs), settings.claimTimeout());
+
+        if (claim.isEmpty()) {
+            // Another node materialized them, wait for the next sync to pick up the runs it advanced
+            nextClaimAttempt = nextIndexSync;
+            return 0;
+        }
+
+        Instant misfiredBefore = now.minus(settings.misfireThreshold());
+        int maxRuns = Math.max(1, Math.min(MAX_RUNS_PER_RECURRING_JOB, maxJobs / claim.recurringJobs().size()));
+
+        List<Job> jobs = new ArrayList<>();
+        List<RecurringJob> advanced = new ArrayList<>(claim.recurringJobs().size());
+
+        for (RecurringJob recurringJob : claim.recurringJobs()) {
+            Runs runs = runsOf(recurringJob, until, misfiredBefore, now, maxRuns);
+            Duration offset = smearOffset(recurringJob.id(), settings.fireTimeSmearWindow());
+            runs.fireTimes().forEach(fireTime -> jobs.add(toJob(recurringJob, fireTime, offset, now)));
+
+            advanced.add(new RecurringJob(
+                    recurringJob.id(),
+                    recurringJob.cronExpression(),
+                    recurringJob.name(),
+                    recurringJob.description(),
+                    recurringJob.createdDate(),
+                    now,
+                    recurringJob.active(),
+                    cronService.calculateNextRun(recurringJob.cronExpression(), runs.lastConsidered()),
+                    runs.fireTimes().isEmpty()
+                            ? recurringJob.lastRun()
+                            : runs.fireTimes().get(runs.fireTimes().size() - 1),
+                    recurringJob.binLocation(),
+                    recurringJob.misfirePolicy()));
+        }
+
+        // Jobs are created before the runs advance, a crash in between only repeats the same fire times
+        jobRepository.createAllIfAbsent(jobs);
+
+        long committed = recurringJobRepository.commitClaim(claim, advanced);
+        advanced.forEach(recurringJob -> nextRuns.put(recurringJob.id(), recurringJob.nextRun()));
+
+        return (int) committed;
+    }
+
+    @Override
+    public void onRecurringJobChanged(RecurringJob recurringJob) {
+        Objects.requireNonNull(recurringJob);
+
+        nextRuns.put(recurringJob.id(), Boolean.TRUE.equals(recurringJob.active()) ? recurringJob.nextRun() : null);
+        changedLocally.set(true);
+    }
+
+    private void refreshIndex(Instant now) {
+        if (!now.isBefore(nextIndexReload)) {
+            Map<UUID, Instant> runs = new HashMap<>();
+            recurringJobRepository.getScheduledRuns().forEach(run -> runs.put(run.id(), run.nextRun()));
+            nextRuns.reset(runs);
+
+            nextIndexReload = now.plus(settings.recurringIndexReloadInterval());
+        } else if (!now.isBefore(nextIndexSync)) {
+            // Looked up slightly before the previous sync, so writes in flight and clock skew are not missed
+            Instant since = lastIndexSync.minus(settings.recurringIndexSyncOverlap());
+
+            for (RecurringJobRun run : recurringJobRepository.getRunsModifiedSince(since)) {
+                nextRuns.put(run.id(), run.nextRun());
+            }
+        } else {
+            return;
+        }
+
+        lastIndexSync = now;
+        nextIndexSync = now.plus(settings.recurringIndexSyncInterval());
+        nextClaimAttempt = Instant.MIN;
+    }
+
+    /**
+     * Picks the fire times of a recurring job to materialize, at most {@code maxRuns} of them.
+     * <p>
+     * Every fire time from the next run on is materialized when none of them was missed, or when the misfire
+     * policy runs all missed ones; a recurring job far behind then catches up over several pages. Otherwise
+     * the missed fire times are skipped in one step, however many there are, and FIRE_ONCE runs the last of
+     * them in their place.
+     */
+    private Runs runsOf(RecurringJob recurringJob, Instant until, Instant misfiredBefore, Instant now, int maxRuns) {
+        String cronExpression = recurringJob.cronExpression();
+        List<Instant> fireTimes = new ArrayList<>();
+
+        if (!recurringJob.nextRun().isBefore(misfiredBefore) || recurringJob.misfirePolicy() == MisfirePolicy.FIRE_ALL) {
+            fireTimes.add(recurringJob.nextRun());
+            fireTimes.addAll(cronService.calculateRunsBetween(
+                    cronExpression, recurringJob.nextRun(), until, maxRuns - 1));
+
+            return new Runs(fireTimes, fireTimes.get(fireTimes.size() - 1));
+        }
+
+        Instant lastMissed = cronService.calculatePreviousRun(cronExpression, misfiredBefore);
+        if (lastMissed == null || lastMissed.isBefore(recurringJob.nextRun())) {
+            lastMissed = recurringJob.nextRun();
+        }
+
+        if (recurringJob.misfirePolicy() == MisfirePolicy.FIRE_ONCE) {
+            // Skipped when the next regular run is already due, so the catch-up run is not a duplicate of it
+            Instant firstOnTime = cronService.calculateNextRun(cronExpression, lastMissed);
+            if (firstOnTime == null || firstOnTime.isAfter(now)) {
+                fireTimes.add(lastMissed);
+            }
+        }
+
+        fireTimes.addAll(cronService.calculateRunsBetween(cronExpression, lastMissed, until, maxRuns - fireTimes.size()));
+
+        return new Runs(fireTimes, fireTimes.isEmpty() ? lastMissed : fireTimes.get(fireTimes.size() - 1));
+    }
+
+    private static Job toJob(RecurringJob recurringJob, Instant fireTime, Duration offset, Instant now) {
+        return new Job(
+                jobIdOf(recurringJob.id(), fireTime),
+                recurringJob.name(),
+                recurringJob.description(),
+                recurringJob.binLocation(),
+                JobStatus.CREATED,
+                now,
+                now,
+                null,
+                null,
+                fireTime.plus(offset),
+                0,
+                null);
+    }
+
+    static Duration smearOffset(UUID recurringJobId, Duration window) {
+        long windowMillis = window.toMillis();
+        if (windowMillis == 0) {
+            return Duration.ZERO;
+        }
+
+        // Mixed so ids that differ in a few bits still land far apart in the window
+        long hash = recurringJobId.getMostSignificantBits() * 0x9E3779B97F4A7C15L ^ recurringJobId.getLeastSignificantBits();
+        hash ^= hash >>> 32;
+
+        return Duration.ofMillis(Math.floorMod(hash, windowMillis));
+    }
+
+    static UUID jobIdOf(UUID recurringJobId, Instant fireTime) {
+        return UUID.nameUUIDFromBytes(
+                (recurringJobId + "@" + fireTime.toEpochMilli()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param fireTimes The fire times to materialize.
+     * @param lastConsidered The last fire time the page went through, the next run follows it.
+     */
+    private record Runs(List<Instant> fireTimes, Instant lastConsidered) {
+    }
+}
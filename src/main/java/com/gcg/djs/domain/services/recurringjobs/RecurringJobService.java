@@ -1,11 +1,15 @@
 package com.gcg.djs.domain.services.recurringjobs;
 
+import com.gcg.djs.domain.common.CursorPage;
+import com.gcg.djs.domain.common.FieldSelection;
 import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.PageCursor;
 import com.gcg.djs.domain.common.QueryParameters;
 import com.gcg.djs.domain.common.QueryParametersBuilder;
 import com.gcg.djs.domain.interfaces.external.ICronService;
 import com.gcg.djs.domain.interfaces.external.ILog;
 import com.gcg.djs.domain.interfaces.repositories.Repository;
+import com.gcg.djs.domain.interfaces.services.IRecurringJobListener;
 import com.gcg.djs.domain.interfaces.services.IRecurringJobService;
 import com.gcg.djs.domain.models.errors.ErrorMessages;
 import com.gcg.djs.domain.models.errors.ValidationException;
@@ -21,12 +25,22 @@ import java.util.UUID;
 public class RecurringJobService extends BaseService implements IRecurringJobService {
     private final Repository<RecurringJob> recurringRepository;
     private final ICronService cronService;
+    private final IRecurringJobListener listener;
 
     public RecurringJobService(
             ILog log, Repository<RecurringJob> repository, ICronService cronService) {
+        this(log, repository, cronService, recurringJob -> { });
+    }
+
+    public RecurringJobService(
+            ILog log,
+            Repository<RecurringJob> repository,
+            ICronService cronService,
+            IRecurringJobListener listener) {
         super(log);
         this.recurringRepository = repository;
         this.cronService = cronService;
+        this.listener = Objects.requireNonNull(listener);
     }
 
     @Override
@@ -50,10 +64,15 @@ public class RecurringJobService extends BaseService implements IRecurringJobSer
                 Instant.now(),
                 true,
                 nextRun,
-                null
+                null,
+                createRecurringJob.binLocation(),
+                createRecurringJob.misfirePolicy()
         );
 
-        return executeWithErrorHandler(() -> this.recurringRepository.create(recurringJob));
+        RecurringJob created = executeWithErrorHandler(() -> this.recurringRepository.create(recurringJob));
+        listener.onRecurringJobChanged(created);
+
+        return created;
     }
 
     @Override
@@ -62,6 +81,11 @@ public class RecurringJobService extends BaseService implements IRecurringJobSer
 
         var errors = Page.validate(page, pageSize);
 
+        if (parameters != null) {
+            errors.addAll(FieldSelection.validate(parameters.fields(), RecurringJob.class));
+            errors.addAll(FieldSelection.validateSorts(parameters.sorts(), RecurringJob.class));
+        }
+
         if(!errors.isEmpty()) {
             throw new ValidationException(errors);
         }
@@ -70,6 +94,27 @@ public class RecurringJobService extends BaseService implements IRecurringJobSer
                 () -> this.recurringRepository.getPage(page, pageSize, parameters));
     }
 
+    @Override
+    public CursorPage<RecurringJob> scrollRecurringJobs(
+            String cursor, int pageSize, QueryParameters parameters) throws ValidationException {
+
+        var errors = CursorPage.validate(cursor, pageSize, parameters);
+
+        if (parameters != null) {
+            errors.addAll(FieldSelection.validate(parameters.fields(), RecurringJob.class));
+            errors.addAll(FieldSelection.validateSorts(parameters.sorts(), RecurringJob.class));
+        }
+
+        if(!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+
+        PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+
+        return executeWithErrorHandler(
+                () -> this.recurringRepository.getPageAfter(after, pageSize, parameters));
+    }
+
     @Override
     public RecurringJob getRecurringJobById(UUID id) throws ValidationException {
         if(Objects.isNull(id)) {
@@ -117,12 +162,14 @@ public class RecurringJobService extends BaseService implements IRecurringJobSer
                 Instant.now(),
                 false,
                 recurringJob.nextRun(),
-                recurringJob.lastRun()
+                recurringJob.lastRun(),
+                recurringJob.binLocation(),
+                recurringJob.misfirePolicy()
         );
 
-        return executeWithErrorHandler(() -> {
-            this.recurringRepository.update(changed);
-            return true;
-        });
+        executeWithErrorHandler(() -> this.recurringRepository.patch(recurringJob, changed));
+        listener.onRecurringJobChanged(changed);
+
+        return true;
     }
 }
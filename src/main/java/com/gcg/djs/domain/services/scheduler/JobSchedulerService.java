@@ -1,24 +1,37 @@
 package com.gcg.djs.domain.services.scheduler;
 
+import com.gcg.djs.domain.common.BulkResult;
+import com.gcg.djs.domain.common.ConditionalWrite;
+import com.gcg.djs.domain.common.Partitioner;
 import com.gcg.djs.domain.common.QueryParameters;
 import com.gcg.djs.domain.common.QueryParametersBuilder;
 import com.gcg.djs.domain.interfaces.external.IMessageQueue;
-import com.gcg.djs.domain.interfaces.repositories.Repository;
+import com.gcg.djs.domain.interfaces.repositories.IJobRepository;
 import com.gcg.djs.domain.interfaces.services.IJobSchedulerService;
+import com.gcg.djs.domain.models.errors.ConcurrentJobModificationException;
 import com.gcg.djs.domain.models.errors.InvalidJobStateTransitionException;
 import com.gcg.djs.domain.models.errors.JobRetriesExceededException;
 import com.gcg.djs.domain.models.errors.NotConfiguredJobStateRulesException;
 import com.gcg.djs.domain.models.errors.ValidationException;
+import com.gcg.djs.domain.models.jobs.DueJob;
 import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobClaim;
 import com.gcg.djs.domain.models.jobs.JobError;
 import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.domain.models.scheduler.RetryPolicy;
+import com.gcg.djs.domain.models.scheduler.SchedulerSettings;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Function;
 
 public final class JobSchedulerService implements IJobSchedulerService {
-    private final Repository<Job> jobRepository;
+    private final IJobRepository jobRepository;
     private final IMessageQueue<Job> jobMessageQueue;
+    private final SchedulerSettings settings;
+
+    private static final String LEASE_EXPIRED_MESSAGE = "Execution lease expired before the job completed";
+    private static final String LEASE_EXPIRED_ERROR_TYPE = "ExecutionLeaseExpired";
 
     private static final Map<JobStatus, Set<JobStatus>> stateTransitionRules =
             new EnumMap<>(JobStatus.class);
@@ -26,7 +39,7 @@ public final class JobSchedulerService implements IJobSchedulerService {
     static {
 
         stateTransitionRules.put(JobStatus.SCHEDULED,
-                EnumSet.of(JobStatus.EXECUTING, JobStatus.FAILED));
+                EnumSet.of(JobStatus.CREATED, JobStatus.EXECUTING, JobStatus.FAILED));
 
         stateTransitionRules.put(JobStatus.EXECUTING,
                 EnumSet.of(JobStatus.SCHEDULED, JobStatus.CANCELED, JobStatus.FAILED, JobStatus.COMPLETED));
@@ -45,90 +58,419 @@ public final class JobSchedulerService implements IJobSchedulerService {
     }
 
     public JobSchedulerService(
-            Repository<Job> jobsRepository,
+            IJobRepository jobsRepository,
             IMessageQueue<Job> jobMessageQueue){
+        this(jobsRepository, jobMessageQueue, SchedulerSettings.defaults());
+    }
+
+    public JobSchedulerService(
+            IJobRepository jobsRepository,
+            IMessageQueue<Job> jobMessageQueue,
+            SchedulerSettings settings){
 
         Objects.requireNonNull(jobsRepository);
         Objects.requireNonNull(jobMessageQueue);
+        Objects.requireNonNull(settings);
 
         this.jobRepository = jobsRepository;
         this.jobMessageQueue = jobMessageQueue;
+        this.settings = settings;
     }
 
-    public void enqueueNextJobsPage() {
+    public int enqueueNextJobsPage() {
+        return enqueueNextJobsPage(Partitioner.allPartitions(settings.partitionCount()));
+    }
 
-//        var queryParameters = new QueryParametersBuilder()
-//                .or()
-//                .equal("status", JobStatus.CREATED.toString())
-//                .lessThan("retries", 5)
-//                .build();
+    public int enqueueNextJobsPage(Set<Integer> partitions) {
+        return enqueueNextJobsPage(partitions, settings.dispatchBatchSize());
+    }
 
+    /**
+     * Claims a page of due jobs from the given partitions, publishes them as one batch and commits their
+     * {@link JobStatus#SCHEDULED} state with a single bulk write.
+     * <p>
+     * Jobs that could not be published are released so the next pass picks them up again.
+     *
+     * @param partitions The partitions owned by this scheduler.
+     * @param pageSize The maximum number of jobs to dispatch.
+     * @return The number of jobs that were dispatched.
+     */
+    public int enqueueNextJobsPage(Set<Integer> partitions, int pageSize) {
+        Objects.requireNonNull(partitions);
+
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        return dispatch(jobRepository.claimDueJobs(now, partitions, pageSize, settings.claimTimeout()), now);
+    }
+
+    public int enqueueRetriesPage(Set<Integer> partitions) {
+        return enqueueRetriesPage(partitions, settings.dispatchBatchSize());
     }
 
+    /**
+     * Claims a page of failed jobs whose retry backoff has elapsed and dispatches them again like
+     * {@link #enqueueNextJobsPage(Set, int)}. Jobs that exceeded the max retries of the retry policy are skipped.
+     *
+     * @param partitions The partitions owned by this scheduler.
+     * @param pageSize The maximum number of jobs to dispatch.
+     * @return The number of jobs that were dispatched.
+     */
+    public int enqueueRetriesPage(Set<Integer> partitions, int pageSize) {
+        Objects.requireNonNull(partitions);
+
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        JobClaim claim = jobRepository.claimRetryableJobs(
+                now,
+                partitions,
+                settings.retryPolicy().maxRetries(),
+                pageSize,
+                settings.claimTimeout());
+
+        return dispatch(claim, now);
+    }
+
+    public List<DueJob> getUpcomingJobs(Set<Integer> partitions, Instant until, int limit) {
+        Objects.requireNonNull(partitions);
+        Objects.requireNonNull(until);
+
+        if (partitions.isEmpty()) {
+            return List.of();
+        }
+
+        return jobRepository.getUpcomingJobs(until, partitions, limit);
+    }
+
+    /**
+     * Moves a job to {@link JobStatus#SCHEDULED} and records it in the outbox with the same atomic write.
+     * The job is published later by {@link #publishOutboxPage}, so a crash cannot leave a published job
+     * that is not scheduled, nor a scheduled job that is never published.
+     *
+     * @param job The job to enqueue.
+     */
     public void enqueueJob(Job job) throws ValidationException {
         JobStatus scheduledStatus = JobStatus.SCHEDULED;
         ensureValidStateTransition(job.status(), scheduledStatus);
 
-        // TODO, set 5 as a configurable parameter
-        if(job.retries() > 5) {
-            throw new JobRetriesExceededException(job.id(), 5);
+        RetryPolicy retryPolicy = settings.retryPolicy();
+        if(!retryPolicy.canRetry(job.retries())) {
+            throw new JobRetriesExceededException(job.id(), retryPolicy.maxRetries());
         }
 
+        Instant now = Instant.now();
         Job updatedJob = new Job.Builder(job)
                 .status(scheduledStatus)
-                .modifiedDate(Instant.now())
+                .modifiedDate(now)
                 .build();
 
-        jobMessageQueue.EnqueueMessage(updatedJob);
-
-        jobRepository.update(updatedJob);
+        if (!jobRepository.updateIfWithOutbox(updatedJob, unchanged(job), now)) {
+            throw new ConcurrentJobModificationException(job.id(), job.status(), scheduledStatus);
+        }
     }
 
-    public void markJobAsCompleted(Job job) throws ValidationException {
-        JobStatus completedStatus = JobStatus.COMPLETED;
-        ensureValidStateTransition(job.status(), completedStatus);
+    /**
+     * Claims a page of jobs waiting in the outbox, publishes them as one batch and removes them from the
+     * outbox with a single bulk write. Jobs that could not be published stay in the outbox for the next pass.
+     * <p>
+     * A crash between publishing and removing them from the outbox publishes them again once the claim
+     * lapses, so delivery is at-least-once and workers skip jobs that are no longer scheduled.
+     *
+     * @param partitions The partitions owned by this scheduler.
+     * @return The number of jobs that were published.
+     */
+    public int publishOutboxPage(Set<Integer> partitions) {
+        Objects.requireNonNull(partitions);
+
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+
+        JobClaim claim = jobRepository.claimOutbox(
+                Instant.now(), partitions, settings.dispatchBatchSize(), settings.claimTimeout());
 
+        if (claim.isEmpty()) {
+            return 0;
+        }
+
+        List<Job> publishedJobs = jobMessageQueue.EnqueueMessages(claim.jobs());
+
+        jobRepository.completeOutbox(claim, publishedJobs);
+
+        if (publishedJobs.size() < claim.jobs().size()) {
+            jobRepository.releaseClaim(claim, unpublished(claim.jobs(), publishedJobs));
+        }
+
+        return publishedJobs.size();
+    }
+
+    /**
+     * Moves a job to {@link JobStatus#EXECUTING} and takes an execution lease on it for the given worker.
+     * The worker must keep renewing the lease with {@link #renewLeases}, otherwise the job is failed once
+     * the lease expires.
+     *
+     * @param job The job to execute.
+     * @param workerId The worker executing the job.
+     * @return The executing job.
+     */
+    public Job markJobAsExecuting(Job job, String workerId) throws ValidationException {
+        Objects.requireNonNull(workerId);
+
+        JobStatus executingStatus = JobStatus.EXECUTING;
+        ensureValidStateTransition(job.status(), executingStatus);
+
+        Instant now = Instant.now();
         Job updatedJob = new Job.Builder(job)
-                .status(completedStatus)
-                .modifiedDate(Instant.now())
+                .status(executingStatus)
+                .executionStart(now)
+                .executionEnd(null)
+                .modifiedDate(now)
                 .build();
 
+        // Only one worker wins when a job is delivered twice, the others see it was modified concurrently
+        if (!jobRepository.startExecution(
+                updatedJob, unchanged(job), workerId, now.plus(settings.executionLeaseDuration()))) {
+            throw new ConcurrentJobModificationException(job.id(), job.status(), executingStatus);
+        }
+
+        return updatedJob;
+    }
+
+    /**
+     * Renews the execution leases of every job the given worker is executing, with a single write.
+     *
+     * @param workerId The worker holding the leases.
+     * @param jobIds The jobs the worker is executing.
+     * @return The number of leases renewed; less than the number of jobs if some leases were lost.
+     */
+    public long renewLeases(String workerId, Collection<UUID> jobIds) {
+        Objects.requireNonNull(workerId);
+        Objects.requireNonNull(jobIds);
+
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        return jobRepository.renewLeases(workerId, jobIds, now, now.plus(settings.executionLeaseDuration()));
+    }
+
+    /**
+     * Claims a page of executing jobs whose lease expired, because their worker died or stalled, and
+     * fails them, so they are retried after their backoff like any other failure.
+     *
+     * @param partitions The partitions owned by this scheduler.
+     * @return The number of jobs that were failed.
+     */
+    public int failExpiredExecutionsPage(Set<Integer> partitions) {
+        Objects.requireNonNull(partitions);
+
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        JobClaim claim = jobRepository.claimExpiredLeases(
+                now, partitions, settings.dispatchBatchSize(), settings.claimTimeout());
+
+        if (claim.isEmpty()) {
+            return 0;
+        }
+
+        JobError leaseExpired = new JobError(LEASE_EXPIRED_MESSAGE, LEASE_EXPIRED_ERROR_TYPE, now);
+
+        List<Job> failedJobs = new ArrayList<>(claim.jobs().size());
+        for (Job job : claim.jobs()) {
+            ensureValidStateTransition(job.status(), JobStatus.FAILED);
+            failedJobs.add(toFailedJob(job, leaseExpired, now));
+        }
+
+        return (int) jobRepository.commitClaim(claim, failedJobs);
+    }
+
+    public void markJobAsCompleted(Job job) throws ValidationException {
+        ensureValidStateTransition(job.status(), JobStatus.COMPLETED);
+
+        Job updatedJob = toCompletedJob(job, Instant.now());
+
         // TODO commit message?
 
-        jobRepository.update(updatedJob);
+        transition(job, updatedJob);
+    }
+
+    /**
+     * Completes a batch of jobs with a single write, as {@link #markJobAsCompleted} does one by one.
+     *
+     * @param jobs The jobs to complete.
+     * @return The outcome of every job, in the order of the batch; jobs that cannot be completed from their
+     *         status fail and jobs modified concurrently are not matched, without affecting the others.
+     */
+    public BulkResult<Job> markJobsAsCompleted(List<Job> jobs) {
+        Instant now = Instant.now();
+        return transitionAll(jobs, JobStatus.COMPLETED, job -> toCompletedJob(job, now));
     }
 
     public void markJobAsFailed(Job job, JobError jobError) throws ValidationException {
-        JobStatus failedStatus = JobStatus.FAILED;
-        ensureValidStateTransition(job.status(), failedStatus);
+        ensureValidStateTransition(job.status(), JobStatus.FAILED);
 
-        Job updatedJob = new Job.Builder(job)
-                .status(failedStatus)
-                .retries(job.retries() + 1)
-                .error(jobError)
-                .modifiedDate(Instant.now())
-                .build();
+        Job updatedJob = toFailedJob(job, jobError, Instant.now());
 
         // TODO commit message? Add to a new queue?
 
-        jobRepository.update(updatedJob);
+        transition(job, updatedJob);
     }
 
     public void cancelJob(Job job) throws ValidationException {
-        JobStatus canceledStatus = JobStatus.CANCELED;
-        ensureValidStateTransition(job.status(), canceledStatus);
+        ensureValidStateTransition(job.status(), JobStatus.CANCELED);
 
-        Job updatedJob = new Job.Builder(job)
-                .status(canceledStatus)
-                .modifiedDate(Instant.now())
+        Job updatedJob = toCanceledJob(job, Instant.now());
+
+        transition(job, updatedJob);
+    }
+
+    /**
+     * Cancels a batch of jobs with a single write, as {@link #cancelJob} does one by one.
+     *
+     * @param jobs The jobs to cancel.
+     * @return The outcome of every job, in the order of the batch; jobs that cannot be canceled from their
+     *         status fail and jobs modified concurrently are not matched, without affecting the others.
+     */
+    public BulkResult<Job> cancelJobs(List<Job> jobs) {
+        Instant now = Instant.now();
+        return transitionAll(jobs, JobStatus.CANCELED, job -> toCanceledJob(job, now));
+    }
+
+    private int dispatch(JobClaim claim, Instant now) {
+        if (claim.isEmpty()) {
+            return 0;
+        }
+
+        List<Job> scheduledJobs = new ArrayList<>(claim.jobs().size());
+        for (Job job : claim.jobs()) {
+            ensureValidStateTransition(job.status(), JobStatus.SCHEDULED);
+
+            scheduledJobs.add(new Job.Builder(job)
+                    .status(JobStatus.SCHEDULED)
+                    .modifiedDate(now)
+                    .build());
+        }
+
+        List<Job> publishedJobs = jobMessageQueue.EnqueueMessages(scheduledJobs);
+
+        jobRepository.commitClaim(claim, publishedJobs);
+
+        if (publishedJobs.size() < scheduledJobs.size()) {
+            jobRepository.releaseClaim(claim, unpublished(scheduledJobs, publishedJobs));
+        }
+
+        return publishedJobs.size();
+    }
+
+    private static List<Job> unpublished(List<Job> jobs, List<Job> publishedJobs) {
+        Set<UUID> publishedIds = new HashSet<>();
+        publishedJobs.forEach(job -> publishedIds.add(job.id()));
+
+        return jobs.stream()
+                .filter(job -> !publishedIds.contains(job.id()))
+                .toList();
+    }
+
+    private static Job toCompletedJob(Job job, Instant now) {
+        return new Job.Builder(job)
+                .status(JobStatus.COMPLETED)
+                .executionEnd(now)
+                .modifiedDate(now)
+                .build();
+    }
+
+    private static Job toCanceledJob(Job job, Instant now) {
+        return new Job.Builder(job)
+                .status(JobStatus.CANCELED)
+                .modifiedDate(now)
                 .build();
+    }
+
+    private Job toFailedJob(Job job, JobError jobError, Instant now) {
+        int retries = job.retries() + 1;
+        RetryPolicy retryPolicy = settings.retryPolicy();
+
+        // The retry is due once the backoff elapsed, jobs out of retries are never due again
+        return new Job.Builder(job)
+                .status(JobStatus.FAILED)
+                .retries(retries)
+                .error(jobError)
+                .executionEnd(now)
+                .nextExecution(retryPolicy.canRetry(retries) ? retryPolicy.nextRetryAt(retries, now) : null)
+                .modifiedDate(now)
+                .build();
+    }
+
+    /**
+     * Persists a state transition only if the stored job is still the one the transition was computed from,
+     * so the state rules hold even when several schedulers or workers race on the same job.
+     */
+    private void transition(Job current, Job updated) {
+        if (!jobRepository.updateIf(updated, unchanged(current))) {
+            throw new ConcurrentJobModificationException(current.id(), current.status(), updated.status());
+        }
+    }
+
+    /**
+     * Persists a batch of state transitions with a single write, each one only if its stored job is unchanged.
+     * Invalid transitions are reported per job rather than thrown, so they do not reject the whole batch.
+     */
+    private BulkResult<Job> transitionAll(List<Job> jobs, JobStatus target, Function<Job, Job> toUpdated) {
+        Objects.requireNonNull(jobs);
+
+        List<BulkResult.Item<Job>> items = new ArrayList<>(Collections.nCopies(jobs.size(), null));
+        List<Integer> positions = new ArrayList<>(jobs.size());
+        List<ConditionalWrite<Job>> writes = new ArrayList<>(jobs.size());
+
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+
+            try {
+                ensureValidStateTransition(job.status(), target);
+            } catch (InvalidJobStateTransitionException e) {
+                items.set(i, BulkResult.Item.failed(job, e.getMessage()));
+                continue;
+            }
+
+            positions.add(i);
+            writes.add(new ConditionalWrite<>(toUpdated.apply(job), unchanged(job)));
+        }
+
+        if (!writes.isEmpty()) {
+            List<BulkResult.Item<Job>> written = jobRepository.transitionAll(writes).items();
+            for (int i = 0; i < written.size(); i++) {
+                items.set(positions.get(i), written.get(i));
+            }
+        }
+
+        return new BulkResult<>(items);
+    }
+
+    private static QueryParameters unchanged(Job job) {
+        var precondition = new QueryParametersBuilder()
+                .and()
+                .equal("status", job.status().toString());
+
+        // Every write sets a new modified date, so it acts as the version of the stored job
+        if (job.modifiedDate() != null) {
+            precondition.equal("modifiedDate", job.modifiedDate());
+        }
 
-        jobRepository.update(updatedJob);
+        return precondition.build();
     }
 
     private static void ensureValidStateTransition(
             JobStatus currentJobStatus, JobStatus targetJobStatus){
-        if (stateTransitionRules.containsKey(targetJobStatus)) {
+        if (!stateTransitionRules.containsKey(targetJobStatus)) {
             throw new NotConfiguredJobStateRulesException(targetJobStatus);
         }
 
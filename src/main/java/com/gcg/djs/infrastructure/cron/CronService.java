@@ -1,6 +1,5 @@
 package com.gcg.djs.infrastructure.cron;
 
-import com.cronutils.model.Cron;
 import com.cronutils.model.CronType;
 import com.cronutils.model.definition.CronDefinitionBuilder;
 import com.cronutils.model.time.ExecutionTime;
@@ -10,21 +9,139 @@ import com.gcg.djs.domain.interfaces.external.ICronService;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * Calculates cron fire times.
+ * <p>
+ * Parsing an expression is far more expensive than calculating its fire times, and many recurring jobs
+ * share the same expression, so compiled expressions are kept in a bounded least recently used cache.
+ */
 public class CronService implements ICronService {
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private static final CronParser parser = new CronParser(
+            CronDefinitionBuilder.instanceDefinitionFor(CronType.UNIX));
+
+    private final ZoneId zoneId;
+    private final Map<String, ExecutionTime> executionTimes;
+
+    public CronService() {
+        this(DEFAULT_CACHE_SIZE, ZoneId.systemDefault());
+    }
+
+    public CronService(int cacheSize, ZoneId zoneId) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        }
+
+        this.zoneId = Objects.requireNonNull(zoneId);
+        this.executionTimes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExecutionTime> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
     @Override
     public Instant calculateNextRun(String cronExpression) {
-        CronParser parser = new CronParser(
-                CronDefinitionBuilder.instanceDefinitionFor(CronType.UNIX));
+        Instant nextRun = calculateNextRun(cronExpression, Instant.now());
+
+        if (nextRun == null) {
+            throw new IllegalArgumentException("Cron expression never fires: " + cronExpression);
+        }
+
+        return nextRun;
+    }
+
+    @Override
+    public Instant calculateNextRun(String cronExpression, Instant after) {
+        Objects.requireNonNull(after);
+
+        return compile(cronExpression)
+                .nextExecution(after.atZone(zoneId))
+                .map(ZonedDateTime::toInstant)
+                .orElse(null);
+    }
+
+    @Override
+    public Instant calculatePreviousRun(String cronExpression, Instant before) {
+        Objects.requireNonNull(before);
+
+        return compile(cronExpression)
+                .lastExecution(before.atZone(zoneId))
+                .map(ZonedDateTime::toInstant)
+                .orElse(null);
+    }
+
+    @Override
+    public List<Instant> calculateNextRuns(String cronExpression, Instant after, int count) {
+        return calculateRuns(cronExpression, after, Instant.MAX, count);
+    }
+
+    @Override
+    public List<Instant> calculateRunsBetween(String cronExpression, Instant from, Instant to, int limit) {
+        Objects.requireNonNull(to);
+
+        return calculateRuns(cronExpression, from, to, limit);
+    }
+
+    private List<Instant> calculateRuns(String cronExpression, Instant after, Instant until, int limit) {
+        Objects.requireNonNull(after);
+
+        ExecutionTime executionTime = compile(cronExpression);
+        List<Instant> runs = new ArrayList<>(Math.min(Math.max(limit, 0), 64));
+
+        ZonedDateTime current = after.atZone(zoneId);
+        while (runs.size() < limit) {
+            Optional<ZonedDateTime> next = executionTime.nextExecution(current);
+
+            if (next.isEmpty() || next.get().toInstant().isAfter(until)) {
+                break;
+            }
+
+            current = next.get();
+            runs.add(current.toInstant());
+        }
+
+        return runs;
+    }
+
+    int cacheSize() {
+        synchronized (executionTimes) {
+            return executionTimes.size();
+        }
+    }
+
+    boolean isCached(String cronExpression) {
+        synchronized (executionTimes) {
+            return executionTimes.containsKey(cronExpression);
+        }
+    }
+
+    private ExecutionTime compile(String cronExpression) {
+        Objects.requireNonNull(cronExpression);
 
-        Cron cron = parser.parse(cronExpression);
+        synchronized (executionTimes) {
+            ExecutionTime executionTime = executionTimes.get(cronExpression);
+            if (executionTime != null) {
+                return executionTime;
+            }
+        }
 
-        ExecutionTime executionTime = ExecutionTime.forCron(cron);
+        // Parse outside the lock, so a slow expression does not block lookups of cached ones
+        ExecutionTime executionTime = ExecutionTime.forCron(parser.parse(cronExpression));
 
-        Optional<ZonedDateTime> nextExecutionTime =
-                executionTime.nextExecution(ZonedDateTime.now(ZoneId.systemDefault()));
+        synchronized (executionTimes) {
+            executionTimes.putIfAbsent(cronExpression, executionTime);
+        }
 
-        return nextExecutionTime.get().toInstant();
+        return executionTime;
     }
 }
@@ -0,0 +1,333 @@
+package com.gcg.djs.infrastructure.etcd;
+
+import com.gcg.djs.domain.common.Partitioner;
+import com.gcg.djs.domain.interfaces.external.ICoordinator;
+import com.gcg.djs.domain.interfaces.external.ILog;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import io.etcd.jetcd.Election;
+import io.etcd.jetcd.election.CampaignResponse;
+import io.etcd.jetcd.election.LeaderKey;
+import io.etcd.jetcd.election.LeaderResponse;
+import io.etcd.jetcd.lease.LeaseKeepAliveResponse;
+import io.etcd.jetcd.support.CloseableClient;
+import io.grpc.stub.StreamObserver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link ICoordinator} backed by the etcd election API.
+ * <p>
+ * Every node campaigns with a lease kept alive in the background. etcd only answers the
+ * campaign once the node is the leader, so followers wait on the server side and take over
+ * as soon as the leader's key is deleted, either by resigning or by its lease expiring.
+ * Leadership is dropped as soon as the lease can no longer be kept alive or the election
+ * reports another leader. The node then resigns, campaigns again and, when the election stream
+ * itself ended, observes the election again, so it keeps competing without a restart.
+ * <p>
+ * The leader owns every partition; see {@link EtcdPartitionCoordinator} to spread partitions over
+ * all live nodes instead.
+ */
+public final class EtcdCoordinator implements ICoordinator {
+    private static final Duration RECOVERY_DELAY = Duration.ofSeconds(1);
+
+    private final Client client;
+    private final ByteSequence electionName;
+    private final ByteSequence proposal;
+    private final long leaseTtlSeconds;
+    private final Set<Integer> allPartitions;
+    private final ILog log;
+
+    private final List<Runnable> leadershipLostListeners = new CopyOnWriteArrayList<>();
+    // Recovery blocks on etcd, so it must not run on the gRPC callback threads
+    private final ScheduledExecutorService recoveryExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    private long leaseId;
+    private CloseableClient keepAlive;
+    private CompletableFuture<CampaignResponse> campaign;
+    private volatile LeaderKey leaderKey;
+
+    public EtcdCoordinator(
+            Client client, String electionName, String nodeId, long leaseTtlSeconds, ILog log) {
+        this(client, electionName, nodeId, leaseTtlSeconds, Partitioner.DEFAULT_PARTITION_COUNT, log);
+    }
+
+    public EtcdCoordinator(
+            Client client,
+            String electionName,
+            String nodeId,
+            long leaseTtlSeconds,
+            int partitionCount,
+            ILog log) {
+        this.client = Objects.requireNonNull(client);
+        this.electionName = ByteSequence.from(Objects.requireNonNull(electionName), StandardCharsets.UTF_8);
+        this.proposal = ByteSequence.from(Objects.requireNonNull(nodeId), StandardCharsets.UTF_8);
+        this.leaseTtlSeconds = leaseTtlSeconds;
+        this.allPartitions = Partitioner.allPartitions(partitionCount);
+        this.log = Objects.requireNonNull(log);
+
+        if (leaseTtlSeconds <= 0) {
+            throw new IllegalArgumentException("Lease TTL must be greater than 0");
+        }
+
+        observe();
+    }
+
+    @Override
+    public boolean tryAcquireLeadership() {
+        if (isLeader()) {
+            return true;
+        }
+
+        campaign();
+        return isLeader();
+    }
+
+    @Override
+    public boolean awaitLeadership(Duration timeout) throws InterruptedException {
+        if (isLeader()) {
+            return true;
+        }
+
+        try {
+            campaign().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            // The failure is logged and retried by the campaign itself
+            return false;
+        }
+
+        return isLeader();
+    }
+
+    @Override
+    public boolean isLeader() {
+        return leaderKey != null;
+    }
+
+    @Override
+    public Set<Integer> ownedPartitions() {
+        return isLeader() ? allPartitions : Set.of();
+    }
+
+    @Override
+    public void addLeadershipLostListener(Runnable listener) {
+        leadershipLostListeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public void close() {
+        // Stops the recovery first, so nothing campaigns again once the lease is revoked
+        recoveryExecutor.shutdownNow();
+
+        LeaderKey currentLeaderKey;
+        CloseableClient currentKeepAlive;
+        long currentLeaseId;
+
+        synchronized (this) {
+            currentLeaderKey = leaderKey;
+            currentKeepAlive = keepAlive;
+            currentLeaseId = leaseId;
+
+            leaseId = 0;
+            keepAlive = null;
+            campaign = null;
+            leaderKey = null;
+        }
+
+        // Resigning deletes the leader key right away, so a follower does not wait for the lease to expire
+        if (currentLeaderKey != null) {
+            client.getElectionClient().resign(currentLeaderKey).join();
+        }
+
+        if (currentKeepAlive != null) {
+            currentKeepAlive.close();
+        }
+
+        if (currentLeaseId != 0) {
+            client.getLeaseClient().revoke(currentLeaseId).join();
+        }
+    }
+
+    private synchronized CompletableFuture<CampaignResponse> campaign() {
+        if (campaign == null) {
+            long campaignLeaseId = ensureLease();
+
+            // Completes only once this node is the leader, the wait happens inside etcd
+            CompletableFuture<CampaignResponse> started = client.getElectionClient()
+                    .campaign(electionName, campaignLeaseId, proposal)
+                    .thenApply(response -> {
+                        onElected(campaignLeaseId, response.getLeader());
+                        return response;
+                    });
+            started.whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    onCampaignFailed(started, throwable);
+                }
+            });
+            campaign = started;
+        }
+
+        return campaign;
+    }
+
+    private void observe() {
+        if (!recoveryExecutor.isShutdown()) {
+            client.getElectionClient().observe(electionName, new LeaderObserver());
+        }
+    }
+
+    private void recampaign() {
+        try {
+            campaign();
+        } catch (RuntimeException e) {
+            // Granting the lease failed, etcd is likely unreachable for now
+            log.logError("Leader election campaign could not start", e);
+            schedule(this::recampaign);
+        }
+    }
+
+    private void schedule(Runnable recovery) {
+        if (!recoveryExecutor.isShutdown()) {
+            recoveryExecutor.schedule(recovery, RECOVERY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized long ensureLease() {
+        if (leaseId == 0) {
+            leaseId = client.getLeaseClient().grant(leaseTtlSeconds).join().getID();
+            keepAlive = client.getLeaseClient().keepAlive(leaseId, new LeaseObserver(leaseId));
+        }
+
+        return leaseId;
+    }
+
+    private synchronized void onElected(long campaignLeaseId, LeaderKey key) {
+        if (campaignLeaseId == leaseId) {
+            leaderKey = key;
+            log.log("Acquired scheduler leadership with lease " + campaignLeaseId);
+        }
+    }
+
+    private void onCampaignFailed(CompletableFuture<CampaignResponse> failed, Throwable throwable) {
+        synchronized (this) {
+            // A newer campaign may already be running, that one is left alone
+            if (campaign != failed) {
+                return;
+            }
+
+            campaign = null;
+        }
+
+        log.logError("Leader election campaign failed", throwable);
+        schedule(this::recampaign);
+    }
+
+    private void onLeaseLost(long lostLeaseId) {
+        synchronized (this) {
+            if (lostLeaseId != leaseId) {
+                return;
+            }
+
+            if (keepAlive != null) {
+                keepAlive.close();
+            }
+
+            // A new lease is granted on the next campaign
+            leaseId = 0;
+            keepAlive = null;
+            campaign = null;
+        }
+
+        onLeadershipLost();
+    }
+
+    private void onLeadershipLost() {
+        LeaderKey lostLeaderKey;
+        synchronized (this) {
+            lostLeaderKey = leaderKey;
+            leaderKey = null;
+            campaign = null;
+        }
+
+        if (lostLeaderKey != null) {
+            log.logWarning("Lost scheduler leadership");
+
+            // Deletes the key if it is still there, so this node queues up behind the new leader
+            client.getElectionClient().resign(lostLeaderKey).whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    log.logWarning("Could not resign the lost leadership: " + throwable.getMessage());
+                }
+            });
+
+            leadershipLostListeners.forEach(Runnable::run);
+        }
+
+        schedule(this::recampaign);
+    }
+
+    private final class LeaseObserver implements StreamObserver<LeaseKeepAliveResponse> {
+        private final long observedLeaseId;
+
+        private LeaseObserver(long observedLeaseId) {
+            this.observedLeaseId = observedLeaseId;
+        }
+
+        @Override
+        public void onNext(LeaseKeepAliveResponse response) {
+            if (response.getTTL() <= 0) {
+                onLeaseLost(observedLeaseId);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.logError("Lease keep alive failed", throwable);
+            onLeaseLost(observedLeaseId);
+        }
+
+        @Override
+        public void onCompleted() {
+            onLeaseLost(observedLeaseId);
+        }
+    }
+
+    private final class LeaderObserver implements Election.Listener {
+        @Override
+        public void onNext(LeaderResponse response) {
+            LeaderKey currentLeaderKey = leaderKey;
+            if (currentLeaderKey != null && response.getKv().getLease() != currentLeaderKey.getLease()) {
+                onLeadershipLost();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.logError("Leader observation failed", throwable);
+            onObservationEnded();
+        }
+
+        @Override
+        public void onCompleted() {
+            onObservationEnded();
+        }
+
+        private void onObservationEnded() {
+            // Without observation another leader would go unnoticed, so the node steps down and watches again
+            onLeadershipLost();
+            schedule(EtcdCoordinator.this::observe);
+        }
+    }
+}
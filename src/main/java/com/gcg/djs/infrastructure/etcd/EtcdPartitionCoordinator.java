@@ -0,0 +1,267 @@
+package com.gcg.djs.infrastructure.etcd;
+
+import com.gcg.djs.domain.common.Partitioner;
+import com.gcg.djs.domain.interfaces.external.ICoordinator;
+import com.gcg.djs.domain.interfaces.external.ILog;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Watch;
+import io.etcd.jetcd.lease.LeaseKeepAliveResponse;
+import io.etcd.jetcd.options.GetOption;
+import io.etcd.jetcd.options.PutOption;
+import io.etcd.jetcd.options.WatchOption;
+import io.etcd.jetcd.support.CloseableClient;
+import io.grpc.stub.StreamObserver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link ICoordinator} that spreads job partitions over every live scheduler node.
+ * <p>
+ * Each node registers itself under a common prefix with a key bound to its lease and watches
+ * that prefix. Whenever a node joins, leaves or its lease expires, every node recomputes the
+ * assignment with {@link Partitioner#ownedPartitions} from the same member list, so there is no
+ * single leader and a failed node only delays the partitions it owned until its lease expires.
+ */
+public final class EtcdPartitionCoordinator implements ICoordinator {
+    private final Client client;
+    private final String membersPrefix;
+    private final String nodeId;
+    private final long leaseTtlSeconds;
+    private final int partitionCount;
+    private final ILog log;
+
+    private final List<Runnable> leadershipLostListeners = new CopyOnWriteArrayList<>();
+    // Membership refreshes block on etcd, so they must not run on the watch callback threads
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+    private final Object ownershipMonitor = new Object();
+
+    private long leaseId;
+    private CloseableClient keepAlive;
+    private Watch.Watcher watcher;
+    private volatile Set<Integer> ownedPartitions = Set.of();
+
+    public EtcdPartitionCoordinator(
+            Client client,
+            String clusterName,
+            String nodeId,
+            long leaseTtlSeconds,
+            int partitionCount,
+            ILog log) {
+        this.client = Objects.requireNonNull(client);
+        this.membersPrefix = "/" + Objects.requireNonNull(clusterName) + "/members/";
+        this.nodeId = Objects.requireNonNull(nodeId);
+        this.leaseTtlSeconds = leaseTtlSeconds;
+        this.partitionCount = partitionCount;
+        this.log = Objects.requireNonNull(log);
+
+        if (leaseTtlSeconds <= 0) {
+            throw new IllegalArgumentException("Lease TTL must be greater than 0");
+        }
+
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count must be greater than 0");
+        }
+    }
+
+    @Override
+    public boolean tryAcquireLeadership() {
+        join();
+        return isLeader();
+    }
+
+    @Override
+    public boolean awaitLeadership(Duration timeout) throws InterruptedException {
+        join();
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (ownershipMonitor) {
+            while (!isLeader()) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+
+                ownershipMonitor.wait(remainingMillis);
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isLeader() {
+        return !ownedPartitions.isEmpty();
+    }
+
+    @Override
+    public Set<Integer> ownedPartitions() {
+        return ownedPartitions;
+    }
+
+    @Override
+    public void addLeadershipLostListener(Runnable listener) {
+        leadershipLostListeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public void close() {
+        Watch.Watcher currentWatcher;
+        CloseableClient currentKeepAlive;
+        long currentLeaseId;
+
+        synchronized (this) {
+            currentWatcher = watcher;
+            currentKeepAlive = keepAlive;
+            currentLeaseId = leaseId;
+
+            watcher = null;
+            keepAlive = null;
+            leaseId = 0;
+        }
+
+        ownedPartitions = Set.of();
+
+        if (currentWatcher != null) {
+            currentWatcher.close();
+        }
+
+        if (currentKeepAlive != null) {
+            currentKeepAlive.close();
+        }
+
+        // Revoking the lease deletes the member key, so the other nodes rebalance right away
+        if (currentLeaseId != 0) {
+            client.getLeaseClient().revoke(currentLeaseId).join();
+        }
+
+        refreshExecutor.shutdown();
+    }
+
+    private synchronized void join() {
+        if (leaseId != 0) {
+            return;
+        }
+
+        leaseId = client.getLeaseClient().grant(leaseTtlSeconds).join().getID();
+        keepAlive = client.getLeaseClient().keepAlive(leaseId, new LeaseObserver(leaseId));
+
+        client.getKVClient().put(
+                toBytes(membersPrefix + nodeId),
+                toBytes(nodeId),
+                PutOption.newBuilder().withLeaseId(leaseId).build()).join();
+
+        if (watcher == null) {
+            ByteSequence prefix = toBytes(membersPrefix);
+            watcher = client.getWatchClient().watch(
+                    prefix,
+                    WatchOption.newBuilder().withPrefix(prefix).build(),
+                    Watch.listener(
+                            response -> scheduleRefresh(),
+                            throwable -> log.logError("Watching scheduler members failed", throwable)));
+        }
+
+        refreshMembership();
+    }
+
+    private void scheduleRefresh() {
+        if (!refreshExecutor.isShutdown()) {
+            refreshExecutor.execute(this::refreshMembership);
+        }
+    }
+
+    private void refreshMembership() {
+        try {
+            ByteSequence prefix = toBytes(membersPrefix);
+            List<KeyValue> members = client.getKVClient()
+                    .get(prefix, GetOption.newBuilder().withPrefix(prefix).build())
+                    .join()
+                    .getKvs();
+
+            Set<String> memberIds = new HashSet<>();
+            for (KeyValue member : members) {
+                memberIds.add(member.getValue().toString(StandardCharsets.UTF_8));
+            }
+
+            updateOwnedPartitions(Partitioner.ownedPartitions(nodeId, memberIds, partitionCount));
+        } catch (Exception e) {
+            log.logError("Refreshing scheduler members failed", e);
+        }
+    }
+
+    private void updateOwnedPartitions(Set<Integer> partitions) {
+        Set<Integer> previous = ownedPartitions;
+
+        synchronized (ownershipMonitor) {
+            ownedPartitions = partitions;
+            ownershipMonitor.notifyAll();
+        }
+
+        if (!previous.equals(partitions)) {
+            log.log(String.format("Scheduler node %s owns %d of %d partitions",
+                    nodeId, partitions.size(), partitionCount));
+        }
+
+        if (!partitions.containsAll(previous)) {
+            leadershipLostListeners.forEach(Runnable::run);
+        }
+    }
+
+    private void onLeaseLost(long lostLeaseId) {
+        synchronized (this) {
+            if (lostLeaseId != leaseId) {
+                return;
+            }
+
+            if (keepAlive != null) {
+                keepAlive.close();
+            }
+
+            // The member key went away with the lease, the node joins again on the next call
+            leaseId = 0;
+            keepAlive = null;
+        }
+
+        log.logWarning("Scheduler node " + nodeId + " lost its lease");
+        updateOwnedPartitions(Set.of());
+    }
+
+    private static ByteSequence toBytes(String value) {
+        return ByteSequence.from(value, StandardCharsets.UTF_8);
+    }
+
+    private final class LeaseObserver implements StreamObserver<LeaseKeepAliveResponse> {
+        private final long observedLeaseId;
+
+        private LeaseObserver(long observedLeaseId) {
+            this.observedLeaseId = observedLeaseId;
+        }
+
+        @Override
+        public void onNext(LeaseKeepAliveResponse response) {
+            if (response.getTTL() <= 0) {
+                onLeaseLost(observedLeaseId);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.logError("Lease keep alive failed", throwable);
+            onLeaseLost(observedLeaseId);
+        }
+
+        @Override
+        public void onCompleted() {
+            onLeaseLost(observedLeaseId);
+        }
+    }
+}
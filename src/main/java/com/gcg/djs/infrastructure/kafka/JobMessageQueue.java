@@ -4,6 +4,8 @@ import com.gcg.djs.domain.interfaces.external.IMessageQueue;
 import com.gcg.djs.domain.models.jobs.Job;
 import org.apache.commons.lang3.NotImplementedException;
 
+import java.util.List;
+
 public class JobMessageQueue implements IMessageQueue<Job> {
 
     private final Producer<Job> producer;
@@ -17,6 +19,11 @@ public class JobMessageQueue implements IMessageQueue<Job> {
         producer.produce(message);
     }
 
+    @Override
+    public List<Job> EnqueueMessages(List<Job> messages) {
+        return producer.produceAll(messages);
+    }
+
     @Override
     public Job DequeueMessage() {
         throw new NotImplementedException();
@@ -0,0 +1,245 @@
+package com.gcg.djs.infrastructure.kafka;
+
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.models.jobs.Job;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Consumes dispatched jobs and runs each of them on its own virtual thread.
+ * <p>
+ * At most {@code maxConcurrency} jobs run at once. Records that arrive while every slot is taken are
+ * held back and the assigned partitions are paused, so the consumer keeps polling (and stays in the
+ * group) without fetching more; they are resumed once the backlog fits in the free slots again.
+ * Offsets are committed only up to the oldest job that has not completed, which gives at-least-once
+ * execution: jobs running on a worker that crashes are delivered again.
+ */
+public final class KafkaJobWorker implements AutoCloseable {
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final Consumer<Job> jobHandler;
+    private final ILog log;
+
+    private final Semaphore slots;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<TopicPartition, PartitionOffsets> offsets = new ConcurrentHashMap<>();
+    private final Deque<ConsumerRecord<String, byte[]>> backlog = new ArrayDeque<>();
+
+    private volatile boolean running = true;
+    private volatile boolean paused;
+
+    public KafkaJobWorker(
+            String bootstrapServers,
+            String groupId,
+            String topic,
+            int maxConcurrency,
+            Consumer<Job> jobHandler,
+            ILog log) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be greater than 0");
+        }
+
+        this.jobHandler = Objects.requireNonNull(jobHandler);
+        this.log = Objects.requireNonNull(log);
+        this.slots = new Semaphore(maxConcurrency);
+
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        consumerProperties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        consumerProperties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        // Offsets are committed once jobs complete, never just because they were polled
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        // Never fetch more than can run at once, which bounds the records held in memory
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxConcurrency);
+
+        this.consumer = new KafkaConsumer<>(consumerProperties);
+        this.consumer.subscribe(Collections.singletonList(topic), new RebalanceListener());
+    }
+
+    /**
+     * Polls and runs jobs until {@link #close()} is called from another thread.
+     */
+    public void run() {
+        try {
+            while (running) {
+                try {
+                    for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                        offsetsOf(record).received(record.offset());
+                        backlog.add(record);
+                    }
+                } catch (WakeupException e) {
+                    // Woken up because slots were freed or the worker is closing
+                }
+
+                startBacklog();
+                applyBackpressure();
+                commitCompleted(false);
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        consumer.wakeup();
+    }
+
+    private void startBacklog() {
+        while (!backlog.isEmpty() && slots.tryAcquire()) {
+            ConsumerRecord<String, byte[]> record = backlog.poll();
+            executor.execute(() -> runJob(record));
+        }
+    }
+
+    private void runJob(ConsumerRecord<String, byte[]> record) {
+        try {
+            Job job = ProtobufConverter.protobufToDomain(JobOuterClass.Job.parseFrom(record.value()));
+            jobHandler.accept(job);
+        } catch (Exception e) {
+            log.logError("Running job from offset " + record.offset() + " failed", e);
+        } finally {
+            offsetsOf(record).completed(record.offset());
+            slots.release();
+
+            // A paused consumer only notices free slots on its next poll, wake it up to fill them right away
+            if (paused) {
+                consumer.wakeup();
+            }
+        }
+    }
+
+    private void applyBackpressure() {
+        if (!backlog.isEmpty()) {
+            // Also pauses partitions assigned since the last pass
+            consumer.pause(consumer.assignment());
+            paused = true;
+        } else if (paused) {
+            consumer.resume(consumer.paused());
+            paused = false;
+        }
+    }
+
+    private void commitCompleted(boolean sync) {
+        Map<TopicPartition, OffsetAndMetadata> committable = takeCommittable(offsets.keySet());
+
+        if (committable.isEmpty()) {
+            return;
+        }
+
+        if (sync) {
+            commitSync(committable);
+        } else {
+            consumer.commitAsync(committable, (committed, exception) -> {
+                if (exception != null) {
+                    log.logError("Committing job offsets failed", exception);
+                }
+            });
+        }
+    }
+
+    private void commitSync(Map<TopicPartition, OffsetAndMetadata> committable) {
+        try {
+            consumer.commitSync(committable);
+        } catch (WakeupException e) {
+            // A wakeup meant for poll can land on the commit instead, the commit is still wanted
+            consumer.commitSync(committable);
+        }
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> takeCommittable(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> committable = new HashMap<>();
+
+        for (TopicPartition partition : partitions) {
+            PartitionOffsets partitionOffsets = offsets.get(partition);
+            if (partitionOffsets == null) {
+                continue;
+            }
+
+            OptionalLong offset = partitionOffsets.takeCommittable();
+            if (offset.isPresent()) {
+                committable.put(partition, new OffsetAndMetadata(offset.getAsLong()));
+            }
+        }
+
+        return committable;
+    }
+
+    private PartitionOffsets offsetsOf(ConsumerRecord<String, byte[]> record) {
+        return offsets.computeIfAbsent(
+                new TopicPartition(record.topic(), record.partition()),
+                partition -> new PartitionOffsets());
+    }
+
+    private void shutdown() {
+        backlog.clear();
+        paused = false;
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.logWarning("Jobs still running on shutdown will be delivered again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            commitCompleted(true);
+        } catch (Exception e) {
+            log.logError("Committing job offsets on shutdown failed", e);
+        } finally {
+            consumer.close();
+        }
+    }
+
+    private final class RebalanceListener implements ConsumerRebalanceListener {
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            // Held back records of revoked partitions were never started, their new owner receives them again
+            backlog.removeIf(record -> partitions.contains(new TopicPartition(record.topic(), record.partition())));
+
+            Map<TopicPartition, OffsetAndMetadata> committable = takeCommittable(partitions);
+            if (!committable.isEmpty()) {
+                commitSync(committable);
+            }
+
+            partitions.forEach(offsets::remove);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        }
+    }
+}
@@ -3,10 +3,15 @@ package com.gcg.djs.infrastructure.kafka;
 import com.gcg.djs.domain.models.jobs.Job;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public final class KafkaProducer implements Producer<Job> {
 
@@ -22,22 +27,21 @@ public final class KafkaProducer implements Producer<Job> {
         producerProperties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
         producerProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
 
+        // Retries after a lost acknowledgement must not write the same record twice
+        producerProperties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerProperties.put(ProducerConfig.ACKS_CONFIG, "all");
+
+        // Let batches of dispatched jobs share requests instead of sending one request per job
+        producerProperties.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        producerProperties.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+
         // Initialize KafkaProducer with the properties
         this.producer = new org.apache.kafka.clients.producer.KafkaProducer<>(producerProperties);
     }
 
     public void produce(Job job) {
-        // Convert domain Job to Protobuf Job
-        JobOuterClass.Job protobufJob = ProtobufConverter.toProtobufJob(job);
-
-        // Serialize Protobuf Job to byte array
-        byte[] serializedJob = protobufJob.toByteArray();
-
-        // Create a producer record to send the message
-        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, job.id().toString(), serializedJob);
-
         // Send the message asynchronously
-        producer.send(record, (metadata, exception) -> {
+        producer.send(toRecord(job), (metadata, exception) -> {
             if (exception != null) {
                 System.err.println("Error sending message to Kafka: " + exception.getMessage());
             } else {
@@ -48,8 +52,45 @@ public final class KafkaProducer implements Producer<Job> {
         producer.flush();
     }
 
+    @Override
+    public List<Job> produceAll(List<Job> jobs) {
+        // Send the whole batch before waiting, so records are grouped into as few requests as possible
+        List<Future<RecordMetadata>> results = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            results.add(producer.send(toRecord(job)));
+        }
+
+        producer.flush();
+
+        List<Job> produced = new ArrayList<>(jobs.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            try {
+                results.get(i).get();
+                produced.add(jobs.get(i));
+            } catch (ExecutionException e) {
+                System.err.println("Error sending message to Kafka: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        return produced;
+    }
+
     @Override
     public void close() {
         producer.close();
     }
+
+    private ProducerRecord<String, byte[]> toRecord(Job job) {
+        // Convert domain Job to Protobuf Job
+        JobOuterClass.Job protobufJob = ProtobufConverter.toProtobufJob(job);
+
+        // Serialize Protobuf Job to byte array
+        byte[] serializedJob = protobufJob.toByteArray();
+
+        // Create a producer record to send the message
+        return new ProducerRecord<>(topic, job.id().toString(), serializedJob);
+    }
 }
@@ -0,0 +1,38 @@
+package com.gcg.djs.infrastructure.kafka;
+
+import java.util.OptionalLong;
+import java.util.TreeSet;
+
+/**
+ * Tracks the records of one partition that were received but not completed yet, so only offsets
+ * below the oldest unfinished record are committed even though records complete out of order.
+ */
+final class PartitionOffsets {
+    private final TreeSet<Long> pending = new TreeSet<>();
+    private long nextOffset = -1;
+    private long committedOffset = -1;
+
+    synchronized void received(long offset) {
+        pending.add(offset);
+        nextOffset = Math.max(nextOffset, offset + 1);
+    }
+
+    synchronized void completed(long offset) {
+        pending.remove(offset);
+    }
+
+    /**
+     * Returns the offset to commit if it moved since the last call, i.e. the oldest pending offset,
+     * or the offset after the last received record once everything completed.
+     */
+    synchronized OptionalLong takeCommittable() {
+        long committable = pending.isEmpty() ? nextOffset : pending.first();
+
+        if (committable <= committedOffset) {
+            return OptionalLong.empty();
+        }
+
+        committedOffset = committable;
+        return OptionalLong.of(committable);
+    }
+}
@@ -1,5 +1,8 @@
 package com.gcg.djs.infrastructure.kafka;
 
+import java.util.List;
+
 public interface Producer<T> extends AutoCloseable {
     void produce(T entity);
+    List<T> produceAll(List<T> entities);
 }
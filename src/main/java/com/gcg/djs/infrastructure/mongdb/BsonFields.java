@@ -0,0 +1,71 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+
+import java.time.Instant;
+
+/**
+ * Reads and writes nullable fields for the entity codecs, stored the same way the document mapping stores them.
+ */
+final class BsonFields {
+
+    private BsonFields() {
+    }
+
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value == null) {
+            writer.writeNull(name);
+        } else {
+            writer.writeString(name, value);
+        }
+    }
+
+    static void writeInstant(BsonWriter writer, String name, Instant value) {
+        if (value == null) {
+            writer.writeNull(name);
+        } else {
+            writer.writeDateTime(name, value.toEpochMilli());
+        }
+    }
+
+    static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+
+        return reader.readString();
+    }
+
+    static Instant readInstant(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+
+        return Instant.ofEpochMilli(reader.readDateTime());
+    }
+
+    static Boolean readBoolean(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+
+        return reader.readBoolean();
+    }
+
+    static int readInt(BsonReader reader, int defaultValue) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            default -> {
+                reader.skipValue();
+                yield defaultValue;
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.interfaces.repositories.IDeadLetterReplayRepository;
+import com.gcg.djs.domain.models.jobs.DeadLetterReplay;
+import com.gcg.djs.domain.models.jobs.ReplayStatus;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.ReplaceOptions;
+import org.bson.Document;
+
+import java.util.Date;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.mongodb.client.model.Filters.eq;
+
+public class DeadLetterReplayRepository implements IDeadLetterReplayRepository {
+    private static final String LIMIT = "limit";
+    private static final String REPLAYED = "replayed";
+    private static final String STATUS = "status";
+    private static final String REQUESTED_AT = "requestedAt";
+    private static final String FINISHED_AT = "finishedAt";
+    private static final String ERROR = "error";
+
+    private final MongoCollection<Document> replayCollection;
+
+    public DeadLetterReplayRepository(MongoDatabase mongoDatabase) {
+        Objects.requireNonNull(mongoDatabase);
+        this.replayCollection = mongoDatabase.getCollection("deadLetterReplays");
+    }
+
+    @Override
+    public void save(DeadLetterReplay replay) {
+        Objects.requireNonNull(replay);
+
+        replayCollection.replaceOne(
+                eq(MongoIds.ID, MongoIds.toStored(replay.id())),
+                replayToDocument(replay),
+                new ReplaceOptions().upsert(true));
+    }
+
+    @Override
+    public DeadLetterReplay getById(UUID id) {
+        Objects.requireNonNull(id);
+
+        Document doc = replayCollection.find(eq(MongoIds.ID, MongoIds.toStored(id))).first();
+        return doc != null ? documentToReplay(doc) : null;
+    }
+
+    private static Document replayToDocument(DeadLetterReplay replay) {
+        return new Document(MongoIds.ID, MongoIds.toStored(replay.id()))
+                .append(LIMIT, replay.limit())
+                .append(REPLAYED, replay.replayed())
+                .append(STATUS, replay.status().name())
+                .append(REQUESTED_AT, Date.from(replay.requestedAt()))
+                .append(FINISHED_AT, replay.finishedAt() != null ? Date.from(replay.finishedAt()) : null)
+                .append(ERROR, replay.error());
+    }
+
+    private static DeadLetterReplay documentToReplay(Document doc) {
+        Date finishedAt = doc.getDate(FINISHED_AT);
+
+        return new DeadLetterReplay(
+                MongoIds.fromStored(doc.get(MongoIds.ID)),
+                doc.getInteger(LIMIT),
+                doc.getInteger(REPLAYED),
+                ReplayStatus.valueOf(doc.getString(STATUS)),
+                doc.getDate(REQUESTED_AT).toInstant(),
+                finishedAt != null ? finishedAt.toInstant() : null,
+                doc.getString(ERROR));
+    }
+}
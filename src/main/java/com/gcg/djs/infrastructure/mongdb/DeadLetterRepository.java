@@ -0,0 +1,138 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.QueryOptimizer;
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.interfaces.repositories.IDeadLetterRepository;
+import com.gcg.djs.domain.models.jobs.DeadLetterJob;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+
+public class DeadLetterRepository implements IDeadLetterRepository {
+    private static final String ERRORS = "errors";
+    static final String DEAD_LETTERED_AT = "deadLetteredAt";
+
+    private final MongoCollection<Document> deadLetterCollection;
+    private final MongoPageCounter pageCounter;
+    private final QueryOptimizer queryOptimizer;
+
+    public DeadLetterRepository(MongoDatabase mongoDatabase, Set<String> indexedFields) {
+        Objects.requireNonNull(mongoDatabase);
+        Objects.requireNonNull(indexedFields);
+        this.deadLetterCollection = mongoDatabase.getCollection("deadLetterJobs");
+        this.pageCounter = new MongoPageCounter(deadLetterCollection);
+        this.queryOptimizer = new QueryOptimizer(indexedFields);
+    }
+
+    @Override
+    public long addAll(List<DeadLetterJob> jobs) {
+        Objects.requireNonNull(jobs);
+
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        // A dead letter stored before schema v2 under the string id of the job is replaced by its v2 form
+        deadLetterCollection.deleteMany(
+                in("_id", jobs.stream().map(job -> job.job().id().toString()).toList()));
+
+        List<WriteModel<Document>> writes = new ArrayList<>(jobs.size());
+        for (DeadLetterJob job : jobs) {
+            writes.add(new ReplaceOneModel<>(
+                    eq("_id", MongoIds.toStored(job.job().id())),
+                    deadLetterJobToDocument(job),
+                    new ReplaceOptions().upsert(true)));
+        }
+
+        var result = deadLetterCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        return result.getUpserts().size() + result.getMatchedCount();
+    }
+
+    @Override
+    public List<DeadLetterJob> find(QueryParameters parameters, int limit) {
+        Objects.requireNonNull(parameters);
+
+        var optimized = queryOptimizer.optimize(parameters);
+        if (optimized.isEmpty()) {
+            return List.of();
+        }
+
+        return deadLetterCollection
+                .find(MongoFilterConverter.toFilter(optimized.get()))
+                .sort(Sorts.ascending(DEAD_LETTERED_AT))
+                .limit(limit)
+                .map(DeadLetterRepository::documentToDeadLetterJob)
+                .into(new ArrayList<>());
+    }
+
+    @Override
+    public long deleteAll(Collection<UUID> ids) {
+        Objects.requireNonNull(ids);
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return deadLetterCollection
+                .deleteMany(MongoIds.idIn(ids))
+                .getDeletedCount();
+    }
+
+    @Override
+    public Page<DeadLetterJob> getPage(int page, int pageSize, QueryParameters parameters) {
+        Objects.requireNonNull(parameters);
+
+        var optimized = queryOptimizer.optimize(parameters);
+        if (optimized.isEmpty()) {
+            return new Page<>(page, pageSize, 0, List.of(), parameters.countMode());
+        }
+
+        Bson filters = MongoFilterConverter.toFilter(optimized.get());
+
+        List<DeadLetterJob> jobs = deadLetterCollection
+                .find(filters)
+                .sort(Sorts.ascending(DEAD_LETTERED_AT))
+                .skip((page - 1) * pageSize)
+                .limit(pageSize)
+                .map(DeadLetterRepository::documentToDeadLetterJob)
+                .into(new ArrayList<>());
+
+        long totalCount = pageCounter.count(filters, parameters.countMode());
+
+        return new Page<>(page, pageSize, totalCount, jobs, parameters.countMode());
+    }
+
+    private static Document deadLetterJobToDocument(DeadLetterJob job) {
+        // Same layout as the jobs collection, so the same filters apply to dead-lettered jobs
+        return JobRepository.jobToDocument(job.job())
+                .append(ERRORS, job.errors().stream().map(JobRepository::jobErrorToDocument).toList())
+                .append(DEAD_LETTERED_AT, Date.from(job.deadLetteredAt()));
+    }
+
+    private static DeadLetterJob documentToDeadLetterJob(Document doc) {
+        List<Document> errors = doc.getList(ERRORS, Document.class, List.of());
+
+        return new DeadLetterJob(
+                JobRepository.documentToJob(doc),
+                errors.stream().map(JobRepository::documentToJobError).toList(),
+                doc.getDate(DEAD_LETTERED_AT).toInstant());
+    }
+}
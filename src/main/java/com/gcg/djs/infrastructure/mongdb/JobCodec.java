@@ -0,0 +1,145 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.common.Partitioner;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobError;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.time.Instant;
+
+import static com.gcg.djs.infrastructure.mongdb.BsonFields.*;
+
+/**
+ * Encodes and decodes jobs straight between BSON and {@link Job}, in the same layout as
+ * {@link JobRepository#jobToDocument}, without building an intermediate {@link org.bson.Document}.
+ * <p>
+ * Jobs are encoded in schema v2, with a binary id and native dates, and decoded from both schemas.
+ * Fields the scheduler keeps next to a job, like claims, leases and the error history, are skipped on decode.
+ */
+public final class JobCodec implements Codec<Job> {
+    private final int partitionCount;
+
+    public JobCodec(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Job job, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeBinaryData("_id", MongoIds.toStored(job.id()));
+        writeString(writer, "name", job.name());
+        writeString(writer, "description", job.description());
+        writeString(writer, "binLocation", job.binLocation());
+        writer.writeString("status", job.status().toString());
+        writer.writeInt32("retries", job.retries());
+
+        if (job.error() == null) {
+            writer.writeNull("error");
+        } else {
+            writer.writeStartDocument("error");
+            writeString(writer, "errorMessage", job.error().errorMessage());
+            writeString(writer, "errorType", job.error().errorType());
+            writeInstant(writer, "errorTimestamp", job.error().errorTimestamp());
+            writer.writeEndDocument();
+        }
+
+        writeInstant(writer, "createdDate", job.createdDate());
+        writeInstant(writer, "modifiedDate", job.modifiedDate());
+        writeInstant(writer, "executionStart", job.executionStart());
+        writeInstant(writer, "executionEnd", job.executionEnd());
+        writeInstant(writer, "nextExecution", job.nextExecution());
+        writer.writeInt32(JobRepository.PARTITION, Partitioner.partitionOf(job.id(), partitionCount));
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Job decode(BsonReader reader, DecoderContext decoderContext) {
+        var builder = new Job.Builder();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> builder.jobId(MongoIds.readId(reader));
+                case "name" -> builder.name(readString(reader));
+                case "description" -> builder.description(readString(reader));
+                case "binLocation" -> builder.binLocation(readString(reader));
+                case "status" -> builder.status(JobStatus.valueOf(reader.readString()));
+                case "retries" -> builder.retries(readInt(reader, 0));
+                case "error" -> builder.error(readError(reader));
+                case "createdDate" -> builder.createdDate(readInstant(reader));
+                case "modifiedDate" -> builder.modifiedDate(readInstant(reader));
+                case "executionStart" -> builder.executionStart(readInstant(reader));
+                case "executionEnd" -> builder.executionEnd(readInstant(reader));
+                case "nextExecution" -> builder.nextExecution(readInstant(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return builder.build();
+    }
+
+    @Override
+    public Class<Job> getEncoderClass() {
+        return Job.class;
+    }
+
+    /**
+     * @return The value of a stored field of the job, as the domain type of the field, or null for a field
+     *         that is not part of a job.
+     */
+    static Object fieldValue(Job job, String field) {
+        return switch (field) {
+            case "name" -> job.name();
+            case "description" -> job.description();
+            case "binLocation" -> job.binLocation();
+            case "status" -> job.status().toString();
+            case "retries" -> job.retries();
+            case "createdDate" -> job.createdDate();
+            case "modifiedDate" -> job.modifiedDate();
+            case "executionStart" -> job.executionStart();
+            case "executionEnd" -> job.executionEnd();
+            case "nextExecution" -> job.nextExecution();
+            default -> null;
+        };
+    }
+
+    private static Instant readTimestamp(BsonReader reader) {
+        // Errors stored before schema v2 hold their timestamp as an ISO string
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return Instant.parse(reader.readString());
+        }
+
+        return readInstant(reader);
+    }
+
+    private static JobError readError(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+            reader.skipValue();
+            return null;
+        }
+
+        String errorMessage = null;
+        String errorType = null;
+        Instant errorTimestamp = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "errorMessage" -> errorMessage = readString(reader);
+                case "errorType" -> errorType = readString(reader);
+                case "errorTimestamp" -> errorTimestamp = readTimestamp(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new JobError(errorMessage, errorType, errorTimestamp);
+    }
+}
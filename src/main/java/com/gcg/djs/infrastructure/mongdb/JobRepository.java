@@ -1,56 +1,182 @@
 package com.gcg.djs.infrastructure.mongdb;
 
+import com.gcg.djs.domain.common.BulkResult;
+import com.gcg.djs.domain.common.ConditionalWrite;
+import com.gcg.djs.domain.common.CursorPage;
 import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.PageCursor;
 import com.gcg.djs.domain.common.QueryBuilder;
+import com.gcg.djs.domain.common.QueryOptimizer;
 import com.gcg.djs.domain.common.QueryParameters;
-import com.gcg.djs.domain.interfaces.repositories.Repository;
+import com.gcg.djs.domain.interfaces.repositories.IJobRepository;
+import com.gcg.djs.domain.models.jobs.DueJob;
 import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobClaim;
 import com.gcg.djs.domain.models.jobs.JobError;
 import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.PushOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.conversions.Bson;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
-import static com.mongodb.client.model.Filters.eq;
+import static com.gcg.djs.infrastructure.mongdb.MongoIds.idIn;
+import static com.gcg.djs.infrastructure.mongdb.MongoIds.idIs;
+import static com.mongodb.client.model.Filters.*;
+import static com.mongodb.client.model.Updates.*;
 
-public class JobRepository implements Repository<Job> {
-    private final MongoCollection<Document> jobCollection;
+public class JobRepository implements IJobRepository {
+    static final String CLAIM_TOKEN = "claimToken";
+    private static final String CLAIM_EXPIRES_AT = "claimExpiresAt";
+    static final String PARTITION = "partition";
+    private static final String LEASE_OWNER = "leaseOwner";
+    static final String LEASE_EXPIRES_AT = "leaseExpiresAt";
+    static final String OUTBOX_SINCE = "outboxSince";
+    private static final String ERRORS = "errors";
+    private static final int MAX_ERROR_HISTORY = 20;
 
-    public JobRepository(MongoDatabase mongoDatabase) {
+    private final MongoCollection<Job> jobCollection;
+    private final MongoPageCounter pageCounter;
+    private final QueryOptimizer queryOptimizer;
+    private final int partitionCount;
+
+    public JobRepository(MongoDatabase mongoDatabase, int partitionCount, Set<String> indexedFields) {
         Objects.requireNonNull(mongoDatabase);
+        Objects.requireNonNull(indexedFields);
 
-        this.jobCollection = mongoDatabase.getCollection("jobs");
+        // Jobs are read and inserted through their codec, without an intermediate document per job
+        this.jobCollection = mongoDatabase
+                .getCollection("jobs", Job.class)
+                .withCodecRegistry(CodecRegistries.fromRegistries(
+                        CodecRegistries.fromCodecs(new JobCodec(partitionCount)),
+                        mongoDatabase.getCodecRegistry()));
+        this.pageCounter = new MongoPageCounter(jobCollection);
+        this.queryOptimizer = new QueryOptimizer(indexedFields);
+        this.partitionCount = partitionCount;
     }
 
     @Override
     public Job create(Job job) {
         Objects.requireNonNull(job);
 
-        Document jobDoc = jobToDocument(job);
-        jobCollection.insertOne(jobDoc);
-        return documentToJob(jobDoc);
+        jobCollection.insertOne(job);
+        return job;
     }
 
     @Override
     public Job update(Job job) {
         Objects.requireNonNull(job);
 
-        Document updatedDoc = jobToDocument(job);
-        jobCollection.updateOne(eq("_id", job.id().toString()), new Document("$set", updatedDoc));
+        jobCollection.updateOne(idIs(job.id()), new Document("$set", fieldsOf(job)));
         return job;
     }
 
+    @Override
+    public Job patch(Job current, Job updated) {
+        Objects.requireNonNull(current);
+        Objects.requireNonNull(updated);
+
+        Document changes = MongoPatch.changedFields(jobToDocument(current), jobToDocument(updated));
+        if (!changes.isEmpty()) {
+            jobCollection.updateOne(idIs(updated.id()), new Document("$set", changes));
+        }
+
+        return updated;
+    }
+
+    @Override
+    public boolean updateIf(Job job, QueryParameters precondition) {
+        Objects.requireNonNull(job);
+        Objects.requireNonNull(precondition);
+
+        Document updatedDoc = jobStateToDocument(job);
+        var result = jobCollection.updateOne(
+                matching(job.id(), precondition),
+                withErrorHistory(job, withLeaseReleased(job, new Document("$set", updatedDoc))));
+
+        return result.getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean updateIfWithOutbox(Job job, QueryParameters precondition, Instant now) {
+        Objects.requireNonNull(job);
+        Objects.requireNonNull(precondition);
+        Objects.requireNonNull(now);
+
+        // The outbox record lives in the job document, so a single-document write keeps both in step
+        // without needing a multi-document transaction
+        Document updatedDoc = jobStateToDocument(job).append(OUTBOX_SINCE, Date.from(now));
+        var result = jobCollection.updateOne(
+                matching(job.id(), precondition), withLeaseReleased(job, new Document("$set", updatedDoc)));
+
+        return result.getMatchedCount() > 0;
+    }
+
+    @Override
+    public BulkResult<Job> createAll(List<Job> jobs) {
+        Objects.requireNonNull(jobs);
+
+        List<WriteModel<Job>> writes = jobs.stream()
+                .<WriteModel<Job>>map(InsertOneModel::new)
+                .toList();
+
+        return MongoBulkWriter.write(jobCollection, jobs, writes, Job::id, JobRepository::written);
+    }
+
+    @Override
+    public BulkResult<Job> updateAll(List<Job> jobs) {
+        Objects.requireNonNull(jobs);
+
+        List<WriteModel<Job>> writes = jobs.stream()
+                .<WriteModel<Job>>map(job -> new UpdateOneModel<>(
+                        idIs(job.id()), new Document("$set", fieldsOf(job))))
+                .toList();
+
+        return MongoBulkWriter.write(jobCollection, jobs, writes, Job::id, JobRepository::written);
+    }
+
+    @Override
+    public BulkResult<Job> transitionAll(List<ConditionalWrite<Job>> writes) {
+        Objects.requireNonNull(writes);
+
+        List<Job> jobs = writes.stream().map(ConditionalWrite::entity).toList();
+        List<WriteModel<Job>> models = writes.stream()
+                .<WriteModel<Job>>map(write -> new UpdateOneModel<>(
+                        matching(write.entity().id(), write.precondition()),
+                        withErrorHistory(write.entity(), withLeaseReleased(
+                                write.entity(), new Document("$set", jobStateToDocument(write.entity()))))))
+                .toList();
+
+        return MongoBulkWriter.write(jobCollection, jobs, models, Job::id, JobRepository::written);
+    }
+
     @Override
     public boolean delete(UUID id) {
         Objects.requireNonNull(id);
 
-        var result = jobCollection.deleteOne(eq("_id", id.toString()));
+        var result = jobCollection.deleteOne(idIs(id));
         return result.getDeletedCount() > 0;
     }
 
@@ -58,30 +184,365 @@ public class JobRepository implements Repository<Job> {
     public Job getById(UUID id) {
         Objects.requireNonNull(id);
 
-        Document doc = jobCollection.find(eq("_id", id.toString())).first();
-        return doc != null ? documentToJob(doc) : null;
+        return jobCollection.find(idIs(id)).first();
     }
 
     @Override
     public Page<Job> getPage(int page, int pageSize, QueryParameters parameters) {
         Objects.requireNonNull(parameters);
 
-        var filters = QueryBuilder.buildQuery(parameters, MongoFilterConverter.instance);
+        var optimized = queryOptimizer.optimize(parameters);
+        if (optimized.isEmpty()) {
+            return new Page<>(page, pageSize, 0, List.of(), parameters.countMode());
+        }
+
+        var filters = MongoFilterConverter.toFilter(optimized.get());
+        MongoSorts.ensureSortable(jobCollection, filters, parameters);
 
         List<Job> jobs = jobCollection
                 .find(filters)
+                .projection(MongoProjection.of(parameters))
+                .sort(MongoSorts.orderOf(parameters.sorts()))
                 .skip((page - 1) * pageSize)
                 .limit(pageSize)
-                .map(JobRepository::documentToJob)
-                .into(new java.util.ArrayList<>());
+                .into(new ArrayList<>(pageSize));
 
-        long totalCount = jobCollection.countDocuments(filters);
+        long totalCount = pageCounter.count(filters, parameters.countMode());
 
-        return new Page<>(page, pageSize, totalCount, jobs);
+        return new Page<>(page, pageSize, totalCount, jobs, parameters.countMode());
     }
 
-    private static Document jobToDocument(Job job) {
-        return new Document("_id", job.id().toString())
+    @Override
+    public CursorPage<Job> getPageAfter(PageCursor after, int pageSize, QueryParameters parameters) {
+        Objects.requireNonNull(parameters);
+
+        var optimized = queryOptimizer.optimize(parameters);
+        if (optimized.isEmpty()) {
+            return new CursorPage<>(pageSize, List.of(), null);
+        }
+
+        return MongoKeysetPagination.getPageAfter(
+                jobCollection, after, pageSize, optimized.get(), Job::id, JobCodec::fieldValue);
+    }
+
+    @Override
+    public JobClaim claimDueJobs(Instant now, Set<Integer> partitions, int limit, Duration claimTimeout) {
+        Objects.requireNonNull(now);
+        Objects.requireNonNull(partitions);
+
+        return claim(
+                and(eq("status", JobStatus.CREATED.toString()), lte("nextExecution", Date.from(now))),
+                now, partitions, limit, claimTimeout);
+    }
+
+    @Override
+    public JobClaim claimRetryableJobs(
+            Instant now, Set<Integer> partitions, int maxRetries, int limit, Duration claimTimeout) {
+        Objects.requireNonNull(now);
+        Objects.requireNonNull(partitions);
+
+        // Failed jobs keep their retry backoff in nextExecution, so retries use the same due-time lookup
+        return claim(
+                and(eq("status", JobStatus.FAILED.toString()),
+                        lte("nextExecution", Date.from(now)),
+                        lte("retries", maxRetries)),
+                now, partitions, limit, claimTimeout);
+    }
+
+    @Override
+    public JobClaim claimExpiredLeases(Instant now, Set<Integer> partitions, int limit, Duration claimTimeout) {
+        Objects.requireNonNull(now);
+        Objects.requireNonNull(partitions);
+
+        return claim(
+                and(eq("status", JobStatus.EXECUTING.toString()), lt(LEASE_EXPIRES_AT, Date.from(now))),
+                now, partitions, limit, claimTimeout);
+    }
+
+    @Override
+    public boolean startExecution(
+            Job job, QueryParameters precondition, String leaseOwner, Instant leaseExpiresAt) {
+        Objects.requireNonNull(job);
+        Objects.requireNonNull(precondition);
+        Objects.requireNonNull(leaseOwner);
+        Objects.requireNonNull(leaseExpiresAt);
+
+        Document updatedDoc = jobStateToDocument(job)
+                .append(LEASE_OWNER, leaseOwner)
+                .append(LEASE_EXPIRES_AT, Date.from(leaseExpiresAt));
+
+        var result = jobCollection.updateOne(
+                matching(job.id(), precondition), new Document("$set", updatedDoc));
+
+        return result.getMatchedCount() > 0;
+    }
+
+    @Override
+    public long renewLeases(String leaseOwner, Collection<UUID> jobIds, Instant now, Instant leaseExpiresAt) {
+        Objects.requireNonNull(leaseOwner);
+        Objects.requireNonNull(jobIds);
+        Objects.requireNonNull(now);
+        Objects.requireNonNull(leaseExpiresAt);
+
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+
+        return jobCollection.updateMany(
+                and(idIn(jobIds),
+                        eq("status", JobStatus.EXECUTING.toString()),
+                        eq(LEASE_OWNER, leaseOwner),
+                        gte(LEASE_EXPIRES_AT, Date.from(now))),
+                set(LEASE_EXPIRES_AT, Date.from(leaseExpiresAt)))
+                .getModifiedCount();
+    }
+
+    @Override
+    public JobClaim claimExhaustedJobs(
+            Instant now, Set<Integer> partitions, int maxRetries, int limit, Duration claimTimeout) {
+        Objects.requireNonNull(now);
+        Objects.requireNonNull(partitions);
+
+        return claim(
+                and(eq("status", JobStatus.FAILED.toString()), gt("retries", maxRetries)),
+                now, partitions, limit, claimTimeout);
+    }
+
+    @Override
+    public Map<UUID, List<JobError>> getErrorHistory(Collection<UUID> jobIds) {
+        Objects.requireNonNull(jobIds);
+
+        Map<UUID, List<JobError>> histories = new HashMap<>();
+        if (jobIds.isEmpty()) {
+            return histories;
+        }
+
+        List<Document> documents = jobCollection
+                .find(and(idIn(jobIds), exists(ERRORS)), Document.class)
+                .projection(Projections.include("_id", ERRORS))
+                .into(new ArrayList<>());
+
+        for (Document doc : documents) {
+            histories.put(
+                    MongoIds.fromStored(doc.get("_id")),
+                    doc.getList(ERRORS, Document.class).stream().map(JobRepository::documentToJobError).toList());
+        }
+
+        return histories;
+    }
+
+    @Override
+    public long deleteClaimed(JobClaim claim, List<Job> jobs) {
+        Objects.requireNonNull(claim);
+        Objects.requireNonNull(jobs);
+
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        return jobCollection.deleteMany(
+                and(idIn(jobs.stream().map(Job::id).toList()),
+                        eq(CLAIM_TOKEN, claim.token().toString())))
+                .getDeletedCount();
+    }
+
+    @Override
+    public long createAllIfAbsent(List<Job> jobs) {
+        Objects.requireNonNull(jobs);
+
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jobCollection.insertMany(jobs, new InsertManyOptions().ordered(false));
+            return jobs.size();
+        } catch (MongoBulkWriteException e) {
+            // Jobs created by a previous attempt are left as they are, any other failure is a real one
+            boolean onlyDuplicates = e.getWriteErrors().stream()
+                    .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+
+            if (!onlyDuplicates) {
+                throw e;
+            }
+
+            return e.getWriteResult().getInsertedCount();
+        }
+    }
+
+    @Override
+    public JobClaim claimOutbox(Instant now, Set<Integer> partitions, int limit, Duration claimTimeout) {
+        Objects.requireNonNull(now);
+        Objects.requireNonNull(partitions);
+
+        return claim(exists(OUTBOX_SINCE), now, partitions, limit, claimTimeout);
+    }
+
+    @Override
+    public long completeOutbox(JobClaim claim, List<Job> jobs) {
+        Objects.requireNonNull(claim);
+        Objects.requireNonNull(jobs);
+
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        return jobCollection.updateMany(
+                and(idIn(jobs.stream().map(Job::id).toList()),
+                        eq(CLAIM_TOKEN, claim.token().toString())),
+                combine(unset(OUTBOX_SINCE), unset(CLAIM_TOKEN), unset(CLAIM_EXPIRES_AT)))
+                .getModifiedCount();
+    }
+
+    @Override
+    public List<DueJob> getUpcomingJobs(Instant until, Set<Integer> partitions, int limit) {
+        Objects.requireNonNull(until);
+        Objects.requireNonNull(partitions);
+
+        return jobCollection
+                .find(and(
+                        eq("status", JobStatus.CREATED.toString()),
+                        lte("nextExecution", Date.from(until)),
+                        partitionFilter(partitions)), Document.class)
+                .projection(Projections.include("_id", "nextExecution"))
+                .sort(Sorts.ascending("nextExecution"))
+                .limit(limit)
+                .map(doc -> new DueJob(
+                        MongoIds.fromStored(doc.get("_id")),
+                        doc.getDate("nextExecution").toInstant()))
+                .into(new ArrayList<>());
+    }
+
+    @Override
+    public long commitClaim(JobClaim claim, List<Job> jobs) {
+        Objects.requireNonNull(claim);
+        Objects.requireNonNull(jobs);
+
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        List<WriteModel<Job>> writes = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            Document updatedDoc = jobStateToDocument(job);
+
+            writes.add(new UpdateOneModel<>(
+                    and(idIs(job.id()), eq(CLAIM_TOKEN, claim.token().toString())),
+                    withErrorHistory(job, withLeaseReleased(job, combine(
+                            new Document("$set", updatedDoc), unset(CLAIM_TOKEN), unset(CLAIM_EXPIRES_AT))))));
+        }
+
+        return jobCollection
+                .bulkWrite(writes, new BulkWriteOptions().ordered(false))
+                .getModifiedCount();
+    }
+
+    @Override
+    public void releaseClaim(JobClaim claim, List<Job> jobs) {
+        Objects.requireNonNull(claim);
+        Objects.requireNonNull(jobs);
+
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        jobCollection.updateMany(
+                and(idIn(jobs.stream().map(Job::id).toList()),
+                        eq(CLAIM_TOKEN, claim.token().toString())),
+                combine(unset(CLAIM_TOKEN), unset(CLAIM_EXPIRES_AT)));
+    }
+
+    private JobClaim claim(Bson due, Instant now, Set<Integer> partitions, int limit, Duration claimTimeout) {
+        Objects.requireNonNull(claimTimeout);
+
+        UUID token = UUID.randomUUID();
+        Instant expiresAt = now.plus(claimTimeout);
+
+        Bson claimable = and(
+                due,
+                or(eq(CLAIM_EXPIRES_AT, null), lt(CLAIM_EXPIRES_AT, Date.from(now))),
+                partitionFilter(partitions));
+
+        List<Job> candidates = jobCollection
+                .find(claimable)
+                .limit(limit)
+                .into(new ArrayList<>(limit));
+
+        if (candidates.isEmpty()) {
+            return new JobClaim(token, expiresAt, List.of());
+        }
+
+        List<UUID> candidateIds = candidates.stream().map(Job::id).toList();
+
+        // The claimable condition is re-checked by the update, so concurrent schedulers can never claim the same job
+        var result = jobCollection.updateMany(
+                and(idIn(candidateIds), claimable),
+                combine(set(CLAIM_TOKEN, token.toString()), set(CLAIM_EXPIRES_AT, Date.from(expiresAt))));
+
+        if (result.getModifiedCount() == candidates.size()) {
+            return new JobClaim(token, expiresAt, candidates);
+        }
+
+        // Part of the candidates were claimed by someone else, read back the ones we own
+        List<Job> claimed = jobCollection
+                .find(eq(CLAIM_TOKEN, token.toString()))
+                .into(new ArrayList<>());
+
+        return new JobClaim(token, expiresAt, claimed);
+    }
+
+    private static Bson withLeaseReleased(Job job, Bson update) {
+        if (job.status() == JobStatus.EXECUTING) {
+            return update;
+        }
+
+        // A lease only exists while the job executes, it goes in the same write that ends the execution
+        return combine(update, unset(LEASE_OWNER), unset(LEASE_EXPIRES_AT));
+    }
+
+    private static Bson withErrorHistory(Job job, Bson update) {
+        if (job.status() != JobStatus.FAILED || job.error() == null) {
+            return update;
+        }
+
+        // Every failed attempt appends its error, capped so a job failing forever cannot grow without bounds
+        return combine(update, pushEach(
+                ERRORS, List.of(jobErrorToDocument(job.error())), new PushOptions().slice(-MAX_ERROR_HISTORY)));
+    }
+
+    private static Bson written(Job job) {
+        return and(
+                idIs(job.id()),
+                eq("status", job.status().toString()),
+                eq("modifiedDate", job.modifiedDate() != null ? Date.from(job.modifiedDate()) : null));
+    }
+
+    private static Bson matching(UUID id, QueryParameters precondition) {
+        Bson byId = idIs(id);
+
+        if (precondition.filters().isEmpty()) {
+            return byId;
+        }
+
+        return and(byId, QueryBuilder.buildQuery(precondition, MongoFilterConverter.instance));
+    }
+
+    private Bson partitionFilter(Set<Integer> partitions) {
+        if (partitions.size() >= partitionCount) {
+            return new Document();
+        }
+
+        // Jobs stored before partitioning have no partition, they are dispatched by the owner of partition 0
+        List<Integer> values = new ArrayList<>(partitions);
+        if (partitions.contains(0)) {
+            values.add(null);
+        }
+
+        return in(PARTITION, values);
+    }
+
+    static Document jobToDocument(Job job) {
+        return new Document("_id", MongoIds.toStored(job.id()))
                 .append("name", job.name())
                 .append("description", job.description())
                 .append("binLocation", job.binLocation())
@@ -95,16 +556,39 @@ public class JobRepository implements Repository<Job> {
                 .append("nextExecution", job.nextExecution() != null ? Date.from(job.nextExecution()) : null);
     }
 
+    /**
+     * Every field of the job but its id, which is immutable. Documents stored before schema v2 keep their string
+     * id until they are migrated, so setting the id would fail on them.
+     */
+    private static Document fieldsOf(Job job) {
+        Document fields = jobToDocument(job);
+        fields.remove("_id");
+        return fields;
+    }
+
+    /**
+     * The fields a state transition may change. Transitions never touch what the job is, its name, description,
+     * bin location and creation date, so conditional and claim writes leave them out of the update.
+     */
+    static Document jobStateToDocument(Job job) {
+        return new Document("status", job.status().toString())
+                .append("retries", job.retries())
+                .append("error", job.error() != null ? jobErrorToDocument(job.error()) : null)
+                .append("modifiedDate", job.modifiedDate() != null ? Date.from(job.modifiedDate()) : null)
+                .append("executionStart", job.executionStart() != null ? Date.from(job.executionStart()) : null)
+                .append("executionEnd", job.executionEnd() != null ? Date.from(job.executionEnd()) : null)
+                .append("nextExecution", job.nextExecution() != null ? Date.from(job.nextExecution()) : null);
+    }
 
-    private static Document jobErrorToDocument(JobError error) {
+    static Document jobErrorToDocument(JobError error) {
         return new Document("errorMessage", error.errorMessage())
                 .append("errorType", error.errorType())
-                .append("errorTimestamp", error.errorTimestamp().toString());
+                .append("errorTimestamp", Date.from(error.errorTimestamp()));
     }
 
-    private static Job documentToJob(Document doc) {
+    static Job documentToJob(Document doc) {
         return new Job.Builder()
-                .jobId(UUID.fromString(doc.getString("_id")))
+                .jobId(MongoIds.fromStored(doc.get("_id")))
                 .name(doc.getString("name"))
                 .description(doc.getString("description"))
                 .binLocation(doc.getString("binLocation"))
@@ -120,10 +604,12 @@ public class JobRepository implements Repository<Job> {
     }
 
 
-    private static JobError documentToJobError(Document doc) {
+    static JobError documentToJobError(Document doc) {
         String errorMessage = doc.getString("errorMessage");
         String errorType = doc.getString("errorType");
-        Instant errorTimestamp = Instant.parse(doc.getString("errorTimestamp"));
+        // Errors stored before schema v2 hold their timestamp as an ISO string
+        Object timestamp = doc.get("errorTimestamp");
+        Instant errorTimestamp = timestamp instanceof Date date ? date.toInstant() : Instant.parse((String) timestamp);
         return new JobError(errorMessage, errorType, errorTimestamp);
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.common.BulkResult;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.mongodb.client.model.Filters.or;
+
+/**
+ * Runs a batch of writes as one unordered bulk write and maps the outcome back to every entity of the batch.
+ */
+final class MongoBulkWriter {
+
+    private MongoBulkWriter() {
+    }
+
+    /**
+     * @param collection The collection to write to.
+     * @param entities The entities of the batch.
+     * @param writes The write of every entity, in the same order as the entities.
+     * @param idOf The id of an entity.
+     * @param written Filter matching an entity as its write stores it, used to find out which writes were applied
+     *                when only part of them matched.
+     * @return The outcome of every entity, in the order of the batch.
+     */
+    static <T, D> BulkResult<T> write(
+            MongoCollection<D> collection,
+            List<T> entities,
+            List<WriteModel<D>> writes,
+            Function<T, UUID> idOf,
+            Function<T, Bson> written) {
+        if (entities.isEmpty()) {
+            return BulkResult.empty();
+        }
+
+        BulkWriteResult result;
+        Map<Integer, String> errors = new HashMap<>();
+        try {
+            result = collection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // Unordered writes carry on past a failed one, so the rest of the batch may still have been applied
+            e.getWriteErrors().forEach(error -> errors.put(error.getIndex(), error.getMessage()));
+            result = e.getWriteResult();
+        }
+
+        List<T> pending = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            if (!errors.containsKey(i)) {
+                pending.add(entities.get(i));
+            }
+        }
+
+        Set<UUID> appliedIds = null;
+        if (result.getInsertedCount() + result.getMatchedCount() < pending.size()) {
+            // Only counts come back for the whole batch, read back which entities hold the written state
+            appliedIds = collection
+                    .find(or(pending.stream().map(written).toList()), Document.class)
+                    .projection(Projections.include("_id"))
+                    .map(doc -> MongoIds.fromStored(doc.get("_id")))
+                    .into(new HashSet<>());
+        }
+
+        List<BulkResult.Item<T>> items = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            T entity = entities.get(i);
+
+            if (errors.containsKey(i)) {
+                items.add(BulkResult.Item.failed(entity, errors.get(i)));
+            } else if (appliedIds == null || appliedIds.contains(idOf.apply(entity))) {
+                items.add(BulkResult.Item.applied(entity));
+            } else {
+                items.add(BulkResult.Item.notMatched(entity));
+            }
+        }
+
+        return new BulkResult<>(items);
+    }
+}
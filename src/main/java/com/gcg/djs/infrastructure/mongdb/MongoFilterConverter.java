@@ -1,8 +1,11 @@
 package com.gcg.djs.infrastructure.mongdb;
 
 import com.gcg.djs.domain.common.FilterConverter;
+import com.gcg.djs.domain.common.QueryBuilder;
+import com.gcg.djs.domain.common.QueryParameters;
 import com.gcg.djs.domain.common.filters.*;
 import com.mongodb.client.model.Filters;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 
 import java.util.List;
@@ -15,6 +18,18 @@ public final class MongoFilterConverter implements FilterConverter<Bson> {
 
     private MongoFilterConverter(){}
 
+    /**
+     * Builds the Mongo filter of the given parameters; no filters match every document.
+     *
+     * @param parameters The query parameters.
+     * @return The filter.
+     */
+    public static Bson toFilter(QueryParameters parameters) {
+        return parameters.filters().isEmpty()
+                ? new Document()
+                : QueryBuilder.buildQuery(parameters, instance);
+    }
+
     private static final Map<LogicalOperator, Function<List<Bson>, Bson>> LOGICAL_OPERATOR_MAP = Map.of(
             LogicalOperator.AND, Filters::and,
             LogicalOperator.OR, Filters::or
@@ -29,7 +44,8 @@ public final class MongoFilterConverter implements FilterConverter<Bson> {
     );
 
     private static final Map<StringOperator, BiFunction<String, Object, Bson>> STRING_OPERATOR_MAP = Map.of(
-            StringOperator.LIKE, Filters::eq
+            StringOperator.LIKE, Filters::eq,
+            StringOperator.EQUAL, Filters::eq
     );
 
     @Override
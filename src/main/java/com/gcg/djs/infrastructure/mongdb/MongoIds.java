@@ -0,0 +1,79 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static com.mongodb.client.model.Filters.in;
+
+/**
+ * Maps entity ids to their stored form.
+ * <p>
+ * Ids are stored as binary UUIDs (subtype 4) since schema v2, and as their 36 character string before it.
+ * Until {@link MongoSchemaMigrator} has rewritten every document, lookups match both forms; both hit the
+ * {@code _id} index.
+ */
+final class MongoIds {
+    static final String ID = "_id";
+
+    private MongoIds() {
+    }
+
+    static BsonBinary toStored(UUID id) {
+        return new BsonBinary(id);
+    }
+
+    static Bson idIs(UUID id) {
+        return in(ID, toStored(id), id.toString());
+    }
+
+    static Bson idIn(Collection<UUID> ids) {
+        List<Object> stored = new ArrayList<>(ids.size() * 2);
+        for (UUID id : ids) {
+            stored.add(toStored(id));
+            stored.add(id.toString());
+        }
+
+        return in(ID, stored);
+    }
+
+    /**
+     * @param value The stored id, as decoded into a {@link org.bson.Document}.
+     * @return The id.
+     */
+    static UUID fromStored(Object value) {
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+
+        if (value instanceof String string) {
+            return UUID.fromString(string);
+        }
+
+        if (value instanceof BsonBinary binary) {
+            return binary.asUuid();
+        }
+
+        if (value instanceof Binary binary && binary.getType() == BsonBinarySubType.UUID_STANDARD.getValue()) {
+            return new BsonBinary(binary.getType(), binary.getData()).asUuid();
+        }
+
+        throw new IllegalArgumentException("Unsupported stored id " + value);
+    }
+
+    static UUID readId(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return UUID.fromString(reader.readString());
+        }
+
+        return reader.readBinaryData().asUuid();
+    }
+}
@@ -0,0 +1,285 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Creates the indexes behind every query path of the scheduler, and reports the query paths that would
+ * still scan a whole collection or sort in memory.
+ * <p>
+ * Indexes over the job lifecycle are partial: each one only holds the jobs in the status its query looks
+ * for, so completed and cancelled jobs, which make up most of the collection, are never indexed by them.
+ * Creating an index that already exists with the same definition does nothing, so provisioning runs on
+ * every startup.
+ */
+public class MongoIndexProvisioner {
+    private static final String JOBS = "jobs";
+    private static final String RECURRING_JOBS = "recurringJobs";
+    private static final String DEAD_LETTER_JOBS = "deadLetterJobs";
+
+    // Raised when an index with the same name or keys but different options already exists
+    private static final List<Integer> INDEX_CONFLICT_CODES = List.of(85, 86);
+
+    static final List<IndexDefinition> INDEXES = List.of(
+            new IndexDefinition(JOBS, "jobs_due",
+                    Indexes.ascending(JobRepository.PARTITION, "nextExecution"),
+                    eq("status", JobStatus.CREATED.toString())),
+            new IndexDefinition(JOBS, "jobs_failed",
+                    Indexes.ascending(JobRepository.PARTITION, "retries", "nextExecution"),
+                    eq("status", JobStatus.FAILED.toString())),
+            new IndexDefinition(JOBS, "jobs_executing",
+                    Indexes.ascending(JobRepository.PARTITION, JobRepository.LEASE_EXPIRES_AT),
+                    eq("status", JobStatus.EXECUTING.toString())),
+            new IndexDefinition(JOBS, "jobs_outbox",
+                    Indexes.ascending(JobRepository.PARTITION, JobRepository.OUTBOX_SINCE),
+                    exists(JobRepository.OUTBOX_SINCE)),
+            new IndexDefinition(JOBS, "jobs_claimed",
+                    Indexes.ascending(JobRepository.CLAIM_TOKEN),
+                    exists(JobRepository.CLAIM_TOKEN)),
+            new IndexDefinition(JOBS, "jobs_created",
+                    Indexes.ascending("createdDate", "_id"),
+                    null),
+            new IndexDefinition(RECURRING_JOBS, "recurring_due",
+                    Indexes.ascending("nextRun"),
+                    eq("active", true)),
+            new IndexDefinition(RECURRING_JOBS, "recurring_modified",
+                    Indexes.ascending("modifiedDate"),
+                    null),
+            new IndexDefinition(RECURRING_JOBS, "recurring_created",
+                    Indexes.ascending("createdDate", "_id"),
+                    null),
+            new IndexDefinition(RECURRING_JOBS, "recurring_claimed",
+                    Indexes.ascending(RecurringJobRepository.CLAIM_TOKEN),
+                    exists(RecurringJobRepository.CLAIM_TOKEN)),
+            new IndexDefinition(DEAD_LETTER_JOBS, "dead_letters_by_date",
+                    Indexes.ascending(DeadLetterRepository.DEAD_LETTERED_AT),
+                    null),
+            new IndexDefinition(DEAD_LETTER_JOBS, "dead_letters_by_error",
+                    Indexes.ascending("error.errorType", DeadLetterRepository.DEAD_LETTERED_AT),
+                    null));
+
+    private final MongoDatabase mongoDatabase;
+    private final ILog log;
+
+    public MongoIndexProvisioner(MongoDatabase mongoDatabase, ILog log) {
+        this.mongoDatabase = Objects.requireNonNull(mongoDatabase);
+        this.log = Objects.requireNonNull(log);
+    }
+
+    /**
+     * Creates every declared index that does not exist yet, then explains every query path.
+     * Failures are logged and do not stop the startup, the scheduler still works without its indexes.
+     *
+     * @return The outcome of the provisioning.
+     */
+    public Report provision() {
+        List<String> provisioned = new ArrayList<>();
+        List<String> conflicting = new ArrayList<>();
+
+        for (IndexDefinition index : INDEXES) {
+            try {
+                mongoDatabase.getCollection(index.collection()).createIndex(index.keys(), index.options());
+                provisioned.add(index.name());
+            } catch (MongoException e) {
+                if (e instanceof MongoCommandException commandException
+                        && INDEX_CONFLICT_CODES.contains(commandException.getErrorCode())) {
+                    // The existing index is kept, dropping it on a live collection is left to an operator
+                    conflicting.add(index.name());
+                    log.logWarning(String.format("Index %s on %s differs from its declared definition: %s",
+                            index.name(), index.collection(), commandException.getErrorMessage()));
+                } else {
+                    log.logError(String.format(
+                            "Creating index %s on %s failed", index.name(), index.collection()), e);
+                }
+            }
+        }
+
+        List<String> uncovered = new ArrayList<>();
+        for (QueryPath queryPath : queryPaths(Instant.now())) {
+            try {
+                String problem = explain(queryPath);
+                if (problem != null) {
+                    uncovered.add(queryPath.name());
+                    log.logWarning(String.format("Query path %s is not covered by an index: %s",
+                            queryPath.name(), problem));
+                }
+            } catch (MongoException e) {
+                log.logError("Explaining query path " + queryPath.name() + " failed", e);
+            }
+        }
+
+        log.log(String.format("Provisioned %d of %d indexes, %d query paths not covered",
+                provisioned.size(), INDEXES.size(), uncovered.size()));
+
+        return new Report(provisioned, conflicting, uncovered);
+    }
+
+    /**
+     * The fields the indexes of a collection are keyed or filtered on, used to order query filters.
+     *
+     * @param collection The collection name.
+     * @return The indexed fields.
+     */
+    public static Set<String> indexedFields(String collection) {
+        Set<String> fields = new HashSet<>();
+
+        for (IndexDefinition index : INDEXES) {
+            if (!index.collection().equals(collection)) {
+                continue;
+            }
+
+            fields.addAll(fieldsOf(index.keys()));
+            if (index.partialFilter() != null) {
+                fields.addAll(fieldsOf(index.partialFilter()));
+            }
+        }
+
+        return fields;
+    }
+
+    private static Set<String> fieldsOf(Bson bson) {
+        return toBsonDocument(bson).keySet();
+    }
+
+    /**
+     * The query shapes the repositories run on every scheduling pass, with representative values.
+     */
+    static List<QueryPath> queryPaths(Instant now) {
+        Date at = Date.from(now);
+        Bson somePartitions = in(JobRepository.PARTITION, Arrays.asList(0, null));
+
+        return List.of(
+                new QueryPath(JOBS, "claim due jobs",
+                        and(eq("status", JobStatus.CREATED.toString()), lte("nextExecution", at), somePartitions),
+                        null),
+                new QueryPath(JOBS, "load upcoming jobs",
+                        and(eq("status", JobStatus.CREATED.toString()), lte("nextExecution", at), somePartitions),
+                        Sorts.ascending("nextExecution")),
+                new QueryPath(JOBS, "claim retryable jobs",
+                        and(eq("status", JobStatus.FAILED.toString()), lte("nextExecution", at),
+                                lte("retries", 3), somePartitions),
+                        null),
+                new QueryPath(JOBS, "claim exhausted jobs",
+                        and(eq("status", JobStatus.FAILED.toString()), gt("retries", 3), somePartitions),
+                        null),
+                new QueryPath(JOBS, "claim expired leases",
+                        and(eq("status", JobStatus.EXECUTING.toString()),
+                                lt(JobRepository.LEASE_EXPIRES_AT, at), somePartitions),
+                        null),
+                new QueryPath(JOBS, "claim outbox",
+                        and(exists(JobRepository.OUTBOX_SINCE), somePartitions),
+                        null),
+                new QueryPath(JOBS, "read claimed jobs",
+                        eq(JobRepository.CLAIM_TOKEN, "token"),
+                        null),
+                new QueryPath(JOBS, "list jobs by creation date",
+                        new Document(),
+                        Sorts.descending("createdDate", "_id")),
+                new QueryPath(RECURRING_JOBS, "claim due recurring jobs",
+                        and(eq("active", true), lte("nextRun", at)),
+                        null),
+                new QueryPath(RECURRING_JOBS, "load scheduled runs",
+                        and(eq("active", true), ne("nextRun", null)),
+                        null),
+                new QueryPath(RECURRING_JOBS, "sync changed recurring jobs",
+                        gte("modifiedDate", at),
+                        null),
+                new QueryPath(RECURRING_JOBS, "list recurring jobs by creation date",
+                        new Document(),
+                        Sorts.descending("createdDate", "_id")),
+                new QueryPath(DEAD_LETTER_JOBS, "find dead letters",
+                        and(eq("error.errorType", "type"), gte(DeadLetterRepository.DEAD_LETTERED_AT, at)),
+                        Sorts.ascending(DeadLetterRepository.DEAD_LETTERED_AT)));
+    }
+
+    private String explain(QueryPath queryPath) {
+        // The driver on the classpath has no explain helper, so the explain command is run as is
+        var find = new BsonDocument("find", new BsonString(queryPath.collection()))
+                .append("filter", toBsonDocument(queryPath.filter()))
+                .append("limit", new BsonInt32(1));
+        if (queryPath.sort() != null) {
+            find.append("sort", toBsonDocument(queryPath.sort()));
+        }
+
+        Document explained = mongoDatabase.runCommand(
+                new BsonDocument("explain", find).append("verbosity", new BsonString("queryPlanner")));
+        Document plan = explained.get("queryPlanner", Document.class);
+        Object winningPlan = plan != null ? plan.get("winningPlan") : null;
+
+        if (hasStage(winningPlan, "COLLSCAN")) {
+            return "the whole collection is scanned";
+        }
+
+        if (hasStage(winningPlan, "SORT")) {
+            return "the results are sorted in memory";
+        }
+
+        return null;
+    }
+
+    private static BsonDocument toBsonDocument(Bson bson) {
+        return bson.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+    }
+
+    private static boolean hasStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            return stage.equals(document.getString("stage"))
+                    || document.values().stream().anyMatch(value -> hasStage(value, stage));
+        }
+
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> hasStage(value, stage));
+        }
+
+        return false;
+    }
+
+    /**
+     * An index one of the query paths relies on.
+     *
+     * @param partialFilter The documents the index is limited to, or null to index every document.
+     */
+    record IndexDefinition(String collection, String name, Bson keys, Bson partialFilter) {
+        IndexOptions options() {
+            var options = new IndexOptions().name(name);
+            return partialFilter != null ? options.partialFilterExpression(partialFilter) : options;
+        }
+    }
+
+    record QueryPath(String collection, String name, Bson filter, Bson sort) {
+    }
+
+    /**
+     * @param provisionedIndexes The indexes that were created or already existed as declared.
+     * @param conflictingIndexes The indexes that exist with a different definition and were left as they are.
+     * @param uncoveredQueryPaths The query paths that still scan a collection or sort in memory.
+     */
+    public record Report(
+            List<String> provisionedIndexes,
+            List<String> conflictingIndexes,
+            List<String> uncoveredQueryPaths) {
+    }
+}
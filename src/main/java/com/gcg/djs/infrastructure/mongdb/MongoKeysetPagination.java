@@ -0,0 +1,148 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.common.CursorPage;
+import com.gcg.djs.domain.common.PageCursor;
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.common.sorts.Sort;
+import com.gcg.djs.domain.common.sorts.SortOperator;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Reads pages of a collection with keyset pagination.
+ * <p>
+ * Documents are ordered by the sort field and then by id, and a page starts right after the sort key and id of
+ * the previous one. The page is a range lookup on that order instead of a skip over every earlier document, so
+ * with an index on the sort field every page costs the same.
+ */
+final class MongoKeysetPagination {
+    private static final String ID = "_id";
+
+    private MongoKeysetPagination() {}
+
+    /**
+     * @param idOf The id of an entity.
+     * @param fieldValue The value of a stored field of an entity, used to build the cursor from the last entity.
+     */
+    static <T> CursorPage<T> getPageAfter(
+            MongoCollection<T> collection,
+            PageCursor after,
+            int pageSize,
+            QueryParameters parameters,
+            Function<T, UUID> idOf,
+            BiFunction<T, String, Object> fieldValue) {
+        Objects.requireNonNull(collection);
+        Objects.requireNonNull(parameters);
+        Objects.requireNonNull(idOf);
+        Objects.requireNonNull(fieldValue);
+
+        Sort sort = CursorPage.sortOf(parameters);
+        boolean descending = sort != null && sort.operator() == SortOperator.DESC;
+
+        Bson filter = MongoFilterConverter.toFilter(parameters);
+        MongoSorts.ensureSortable(collection, filter, parameters);
+
+        // Sorted by id, the page is keyed by the id alone, the cursor still records the sort it was taken from
+        Sort keySort = sort != null && MongoSorts.storedField(sort.fieldName()).equals(ID) ? null : sort;
+
+        if (after != null) {
+            filter = and(filter, seek(keySort, descending, after, storedId(collection, after.lastId())));
+        }
+
+        // One document past the page tells whether there is a next page without a count
+        List<T> entities = collection
+                .find(filter)
+                .projection(MongoProjection.of(parameters))
+                .sort(orderOf(keySort, descending))
+                .limit(pageSize + 1)
+                .into(new ArrayList<>(pageSize + 1));
+
+        boolean hasNext = entities.size() > pageSize;
+        List<T> page = hasNext ? List.copyOf(entities.subList(0, pageSize)) : entities;
+
+        String nextCursor = hasNext ? cursorOf(page.get(page.size() - 1), sort, idOf, fieldValue).encode() : null;
+
+        return new CursorPage<>(pageSize, page, nextCursor);
+    }
+
+    private static Bson orderOf(Sort sort, boolean descending) {
+        if (sort == null) {
+            return descending ? Sorts.descending(ID) : Sorts.ascending(ID);
+        }
+
+        return descending
+                ? Sorts.descending(sort.fieldName(), ID)
+                : Sorts.ascending(sort.fieldName(), ID);
+    }
+
+    private static Bson seek(Sort sort, boolean descending, PageCursor after, Object lastId) {
+        if (sort == null) {
+            return idAfter(lastId, descending);
+        }
+
+        String field = sort.fieldName();
+        Object value = toBsonValue(after.sortValue());
+        Bson sameKey = and(eq(field, value), idAfter(lastId, descending));
+
+        // Missing values sort before every other value, so they open an ascending order and close a descending one
+        if (value == null) {
+            return descending ? sameKey : or(sameKey, ne(field, null));
+        }
+
+        return descending
+                ? or(lt(field, value), sameKey, eq(field, null))
+                : or(gt(field, value), sameKey);
+    }
+
+    private static Bson idAfter(Object lastId, boolean descending) {
+        // String ids of documents stored before schema v2 sort before binary ones, so a page that ends on a
+        // string id continues into the binary ids, and the other way round when descending
+        if (lastId instanceof String) {
+            return descending ? lt(ID, lastId) : or(gt(ID, lastId), type(ID, BsonType.BINARY));
+        }
+
+        return descending ? or(lt(ID, lastId), type(ID, BsonType.STRING)) : gt(ID, lastId);
+    }
+
+    /**
+     * @return The id of the last entity of the previous page in the form it is stored, string or binary.
+     */
+    private static Object storedId(MongoCollection<?> collection, UUID lastId) {
+        boolean storedAsString = collection
+                .find(eq(ID, lastId.toString()), Document.class)
+                .projection(Projections.include(ID))
+                .first() != null;
+
+        return storedAsString ? lastId.toString() : MongoIds.toStored(lastId);
+    }
+
+    private static <T> PageCursor cursorOf(
+            T last, Sort sort, Function<T, UUID> idOf, BiFunction<T, String, Object> fieldValue) {
+        UUID lastId = idOf.apply(last);
+
+        if (sort == null) {
+            return new PageCursor(null, null, lastId);
+        }
+
+        return new PageCursor(sort.fieldName(), fieldValue.apply(last, sort.fieldName()), lastId);
+    }
+
+    private static Object toBsonValue(Object value) {
+        return value instanceof Instant instant ? Date.from(instant) : value;
+    }
+}
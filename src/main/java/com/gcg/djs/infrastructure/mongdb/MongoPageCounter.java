@@ -0,0 +1,105 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.common.CountMode;
+import com.gcg.djs.domain.common.Page;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.CountOptions;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Counts the documents matching a page query as its {@link CountMode} asks.
+ * <p>
+ * Cached counts are kept per filter for a short time, so pages polled with the same filters share one
+ * count instead of each running their own. At most {@link #MAX_CACHED_COUNTS} filters are kept, the least
+ * recently used one goes first.
+ */
+final class MongoPageCounter {
+    static final Duration DEFAULT_CACHE_TTL = Duration.ofSeconds(5);
+    static final int DEFAULT_ESTIMATE_LIMIT = 10_000;
+    private static final int MAX_CACHED_COUNTS = 1_000;
+
+    private final MongoCollection<?> collection;
+    private final Duration cacheTtl;
+    private final int estimateLimit;
+
+    private final Map<String, CachedCount> cachedCounts = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest) {
+            return size() > MAX_CACHED_COUNTS;
+        }
+    };
+
+    MongoPageCounter(MongoCollection<?> collection) {
+        this(collection, DEFAULT_CACHE_TTL, DEFAULT_ESTIMATE_LIMIT);
+    }
+
+    MongoPageCounter(MongoCollection<?> collection, Duration cacheTtl, int estimateLimit) {
+        this.collection = Objects.requireNonNull(collection);
+        this.cacheTtl = Objects.requireNonNull(cacheTtl);
+        this.estimateLimit = estimateLimit;
+    }
+
+    /**
+     * @param filter The filter of the page query.
+     * @param countMode How to count.
+     * @return The number of matching documents, or {@link Page#UNKNOWN_TOTAL} if the count mode is NONE.
+     */
+    long count(Bson filter, CountMode countMode) {
+        Objects.requireNonNull(filter);
+        Objects.requireNonNull(countMode);
+
+        return switch (countMode) {
+            case EXACT -> collection.countDocuments(filter);
+            case ESTIMATED -> estimate(filter);
+            case CACHED -> cached(filter);
+            case NONE -> Page.UNKNOWN_TOTAL;
+        };
+    }
+
+    private long estimate(Bson filter) {
+        BsonDocument query = toBsonDocument(filter);
+
+        // Without filters the size comes from the collection metadata and no document is read
+        if (query.isEmpty()) {
+            return collection.estimatedDocumentCount();
+        }
+
+        return collection.countDocuments(filter, new CountOptions().limit(estimateLimit));
+    }
+
+    private long cached(Bson filter) {
+        String key = toBsonDocument(filter).toJson();
+        Instant now = Instant.now();
+
+        synchronized (cachedCounts) {
+            CachedCount cached = cachedCounts.get(key);
+            if (cached != null && now.isBefore(cached.expiresAt())) {
+                return cached.count();
+            }
+        }
+
+        // Counted outside the lock, so a slow count does not block lookups of cached ones
+        long count = collection.countDocuments(filter);
+
+        synchronized (cachedCounts) {
+            cachedCounts.put(key, new CachedCount(count, now.plus(cacheTtl)));
+        }
+
+        return count;
+    }
+
+    private BsonDocument toBsonDocument(Bson filter) {
+        return filter.toBsonDocument(BsonDocument.class, collection.getCodecRegistry());
+    }
+
+    private record CachedCount(long count, Instant expiresAt) {
+    }
+}
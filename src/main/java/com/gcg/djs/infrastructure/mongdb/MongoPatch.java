@@ -0,0 +1,32 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import org.bson.Document;
+
+import java.util.Objects;
+
+/**
+ * Builds updates that only carry the fields that changed, so a write costs as much as the change rather than
+ * the whole document, in the oplog as on the wire.
+ */
+final class MongoPatch {
+
+    private MongoPatch() {
+    }
+
+    /**
+     * @param current The document as it is stored.
+     * @param updated The document as it should be stored.
+     * @return The fields of {@code updated} whose value differs from {@code current}, empty if nothing changed.
+     */
+    static Document changedFields(Document current, Document updated) {
+        Document changes = new Document();
+
+        updated.forEach((field, value) -> {
+            if (!current.containsKey(field) || !Objects.equals(current.get(field), value)) {
+                changes.append(field, value);
+            }
+        });
+
+        return changes;
+    }
+}
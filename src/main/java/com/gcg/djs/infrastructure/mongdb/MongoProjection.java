@@ -0,0 +1,50 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.common.sorts.Sort;
+import com.mongodb.client.model.Projections;
+import org.bson.conversions.Bson;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the projection of the fields a query reads.
+ * <p>
+ * Field names are those of the entity, which are also the stored ones except for the id. The sort fields are
+ * always read, since the cursor of a keyset page is taken from the sort value of its last item.
+ */
+final class MongoProjection {
+    private static final String ID = "_id";
+
+    private MongoProjection() {}
+
+    /**
+     * @param parameters The query parameters.
+     * @return The projection of the fields of the query, or null to read every field.
+     */
+    static Bson of(QueryParameters parameters) {
+        List<String> fields = parameters.fields();
+
+        if (fields.isEmpty()) {
+            return null;
+        }
+
+        // The id is read anyway, it identifies the item and breaks ties between sort keys
+        Set<String> stored = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (!"id".equals(field)) {
+                stored.add(field);
+            }
+        }
+
+        for (Sort sort : parameters.sorts()) {
+            stored.add(MongoSorts.storedField(sort.fieldName()));
+        }
+
+        stored.remove(ID);
+
+        return stored.isEmpty() ? Projections.include(ID) : Projections.include(List.copyOf(stored));
+    }
+}
@@ -0,0 +1,196 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonType;
+import org.bson.Document;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.type;
+
+/**
+ * Rewrites the jobs and recurring jobs stored before schema v2 into it, online and in throttled batches.
+ * <p>
+ * Schema v2 stores ids as binary UUIDs and error timestamps as native dates. The id of a document cannot
+ * change, so every document is inserted again under its binary id and the original removed, both in one
+ * transaction per batch: readers never see a job twice or not at all, and a write racing with the batch
+ * makes the transaction retry instead of being lost. Reads accept both schemas meanwhile, see {@link MongoIds}.
+ * <p>
+ * Transactions need a replica set, which is the deployment this service assumes (see application.properties).
+ * Should it run against a standalone server anyway, nothing is migrated and the migration reports itself as
+ * skipped; documents then stay in the previous schema, which every read keeps accepting.
+ * <p>
+ * The progress of the migration, and why it stopped if it did, is kept in {@link #progress()}.
+ */
+public class MongoSchemaMigrator {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_BATCH_PAUSE = Duration.ofMillis(200);
+
+    private static final List<String> COLLECTIONS = List.of("jobs", "recurringJobs");
+
+    // Raised by servers that do not support transactions
+    private static final int ILLEGAL_OPERATION = 20;
+
+    private final MongoClient mongoClient;
+    private final MongoDatabase mongoDatabase;
+    private final ILog log;
+    private final int batchSize;
+    private final Duration batchPause;
+
+    private volatile Progress progress = new Progress(Status.NOT_STARTED, 0, null, null, null);
+
+    public MongoSchemaMigrator(MongoClient mongoClient, MongoDatabase mongoDatabase, ILog log) {
+        this(mongoClient, mongoDatabase, log, DEFAULT_BATCH_SIZE, DEFAULT_BATCH_PAUSE);
+    }
+
+    public MongoSchemaMigrator(
+            MongoClient mongoClient, MongoDatabase mongoDatabase, ILog log, int batchSize, Duration batchPause) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+
+        this.mongoClient = Objects.requireNonNull(mongoClient);
+        this.mongoDatabase = Objects.requireNonNull(mongoDatabase);
+        this.log = Objects.requireNonNull(log);
+        this.batchSize = batchSize;
+        this.batchPause = Objects.requireNonNull(batchPause);
+    }
+
+    /**
+     * Migrates batch after batch, pausing between them so the migration does not compete with the scheduler
+     * for the database, until no document of the previous schema is left. Blocks, so it is meant to be called
+     * on its own virtual thread; failures are logged and kept in the progress instead of being thrown.
+     *
+     * @return The number of documents migrated.
+     */
+    public long migrate() {
+        Instant startedAt = Instant.now();
+        long migrated = 0;
+        progress = new Progress(Status.RUNNING, 0, startedAt, null, null);
+
+        try {
+            for (String collection : COLLECTIONS) {
+                int batch;
+                do {
+                    batch = migrateBatch(collection);
+                    migrated += batch;
+                    progress = new Progress(Status.RUNNING, migrated, startedAt, null, null);
+
+                    if (batch > 0) {
+                        Thread.sleep(batchPause.toMillis());
+                    }
+                } while (batch > 0);
+            }
+
+            progress = new Progress(Status.COMPLETED, migrated, startedAt, Instant.now(), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress = new Progress(Status.INTERRUPTED, migrated, startedAt, Instant.now(), null);
+        } catch (MongoCommandException e) {
+            if (e.getErrorCode() == ILLEGAL_OPERATION) {
+                log.logWarning("Schema v2 migration skipped, the server does not support transactions: " + e.getErrorMessage());
+                progress = new Progress(Status.SKIPPED, migrated, startedAt, Instant.now(), e.getErrorMessage());
+            } else {
+                failed(e, migrated, startedAt);
+            }
+        } catch (RuntimeException e) {
+            failed(e, migrated, startedAt);
+        }
+
+        log.log(String.format("Schema v2 migration migrated %d documents", migrated));
+        return migrated;
+    }
+
+    /**
+     * @return Where the migration stands.
+     */
+    public Progress progress() {
+        return progress;
+    }
+
+    private void failed(RuntimeException e, long migrated, Instant startedAt) {
+        log.logError("Schema v2 migration failed", e);
+        progress = new Progress(Status.FAILED, migrated, startedAt, Instant.now(), e.getMessage());
+    }
+
+    /**
+     * Migrates one batch of documents of the previous schema in a single transaction.
+     *
+     * @param collectionName The collection to migrate.
+     * @return The number of documents migrated, 0 once the collection is fully migrated.
+     */
+    public int migrateBatch(String collectionName) {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+
+        try (ClientSession session = mongoClient.startSession()) {
+            return session.withTransaction(() -> {
+                List<Document> documents = collection
+                        .find(session, type("_id", BsonType.STRING))
+                        .limit(batchSize)
+                        .into(new ArrayList<>(batchSize));
+
+                if (documents.isEmpty()) {
+                    return 0;
+                }
+
+                collection.insertMany(session, documents.stream().map(MongoSchemaMigrator::toV2).toList());
+                collection.deleteMany(session, in("_id", documents.stream().map(doc -> doc.get("_id")).toList()));
+
+                return documents.size();
+            });
+        }
+    }
+
+    static Document toV2(Document document) {
+        Document migrated = new Document(document);
+        migrated.put("_id", MongoIds.toStored(UUID.fromString(document.getString("_id"))));
+
+        if (document.get("error") instanceof Document error) {
+            migrated.put("error", errorToV2(error));
+        }
+
+        if (document.get("errors") instanceof List<?> errors) {
+            migrated.put("errors", errors.stream()
+                    .map(error -> error instanceof Document errorDoc ? errorToV2(errorDoc) : error)
+                    .toList());
+        }
+
+        return migrated;
+    }
+
+    private static Document errorToV2(Document error) {
+        Document migrated = new Document(error);
+
+        if (error.get("errorTimestamp") instanceof String timestamp) {
+            migrated.put("errorTimestamp", Date.from(Instant.parse(timestamp)));
+        }
+
+        return migrated;
+    }
+
+    public enum Status {
+        NOT_STARTED, RUNNING, COMPLETED, SKIPPED, INTERRUPTED, FAILED
+    }
+
+    /**
+     * @param status Where the migration stands.
+     * @param migrated The number of documents migrated so far.
+     * @param startedAt The instant the migration started, null until it does.
+     * @param finishedAt The instant the migration stopped, null while it runs.
+     * @param error Why the migration was skipped or failed, null otherwise.
+     */
+    public record Progress(Status status, long migrated, Instant startedAt, Instant finishedAt, String error) {
+    }
+}
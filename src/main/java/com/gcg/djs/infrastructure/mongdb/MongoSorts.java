@@ -0,0 +1,238 @@
+package com.gcg.djs.infrastructure.mongdb;
+
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.common.filters.ComparisonFilter;
+import com.gcg.djs.domain.common.filters.ComparisonOperator;
+import com.gcg.djs.domain.common.filters.Filter;
+import com.gcg.djs.domain.common.filters.LogicalFilter;
+import com.gcg.djs.domain.common.filters.LogicalOperator;
+import com.gcg.djs.domain.common.filters.StringFilter;
+import com.gcg.djs.domain.common.filters.StringOperator;
+import com.gcg.djs.domain.common.sorts.Sort;
+import com.gcg.djs.domain.common.sorts.SortOperator;
+import com.gcg.djs.domain.models.errors.UnindexedSortException;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders pages by the sorts of a query, and keeps sorts no index can serve from sorting large results in memory.
+ * <p>
+ * Sort fields are those of the entity, which are also the stored ones except for the id, stored as {@code _id}.
+ * Every order ends with the id, so items with the same sort key keep their order from one page to the next.
+ * An index serves a sort when its keys, past the fields the query matches by equality, are the sort fields
+ * followed by the id, all in the sorted directions or all in the opposite ones. A partial index also needs the
+ * query to match the documents it holds by equality. Mongo sorts any other order in memory, so those sorts are
+ * only run on queries matching at most {@link #MAX_UNINDEXED_SORT_SIZE} documents.
+ */
+public final class MongoSorts {
+    public static final int MAX_UNINDEXED_SORT_SIZE = 10_000;
+
+    private static final String ID = "_id";
+
+    private MongoSorts() {}
+
+    /**
+     * @param field A field of an entity.
+     * @return The name the field is stored under.
+     */
+    static String storedField(String field) {
+        return "id".equals(field) ? ID : field;
+    }
+
+    /**
+     * @param sorts The sorts of a query.
+     * @return The order of the sorts with the id as tie-break, or null to keep the natural order of unsorted queries.
+     */
+    public static Bson orderOf(List<Sort> sorts) {
+        if (sorts.isEmpty()) {
+            return null;
+        }
+
+        List<Bson> order = new ArrayList<>(sorts.size() + 1);
+        boolean sortedById = false;
+        for (Sort sort : sorts) {
+            String field = storedField(sort.fieldName());
+            order.add(sort.operator() == SortOperator.DESC ? Sorts.descending(field) : Sorts.ascending(field));
+
+            // Ids are unique, so sorts after the id can never break a tie
+            if (field.equals(ID)) {
+                sortedById = true;
+                break;
+            }
+        }
+
+        // The tie-break follows the last sort, so an index ending with the id serves it in either direction
+        if (!sortedById) {
+            boolean descending = sorts.get(sorts.size() - 1).operator() == SortOperator.DESC;
+            order.add(descending ? Sorts.descending(ID) : Sorts.ascending(ID));
+        }
+
+        return Sorts.orderBy(order);
+    }
+
+    /**
+     * Checks whether one of the indexes of a collection returns the documents of the query in its sorted order.
+     *
+     * @param collection The collection name.
+     * @param parameters The filters and sorts of the query.
+     * @return Whether the sort is served by an index, unsorted queries always are.
+     */
+    public static boolean isServedByIndex(String collection, QueryParameters parameters) {
+        Bson order = orderOf(parameters.sorts());
+        if (order == null) {
+            return true;
+        }
+
+        List<Map.Entry<String, BsonValue>> sortKeys = List.copyOf(toBsonDocument(order).entrySet());
+        Map<String, Object> equalities = equalitiesOf(parameters.filters());
+
+        if (serves(toBsonDocument(Indexes.ascending(ID)), sortKeys, equalities)) {
+            return true;
+        }
+
+        for (MongoIndexProvisioner.IndexDefinition index : MongoIndexProvisioner.INDEXES) {
+            if (!index.collection().equals(collection)) {
+                continue;
+            }
+
+            if (index.partialFilter() != null && !matches(toBsonDocument(index.partialFilter()), equalities)) {
+                continue;
+            }
+
+            if (serves(toBsonDocument(index.keys()), sortKeys, equalities)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Rejects a sort no index serves when the query matches more documents than can be sorted in memory.
+     * Counting stops right past the limit, so the check costs at most that many index entries or documents.
+     *
+     * @param collection The collection of the query.
+     * @param filter The filter of the query.
+     * @param parameters The filters and sorts of the query.
+     * @throws UnindexedSortException If the sort is not indexed and the query matches too many documents.
+     */
+    static void ensureSortable(MongoCollection<?> collection, Bson filter, QueryParameters parameters) {
+        if (isServedByIndex(collection.getNamespace().getCollectionName(), parameters)) {
+            return;
+        }
+
+        long matching = collection.countDocuments(filter, new CountOptions().limit(MAX_UNINDEXED_SORT_SIZE + 1));
+
+        if (matching > MAX_UNINDEXED_SORT_SIZE) {
+            throw new UnindexedSortException(
+                    parameters.sorts().stream().map(Sort::fieldName).toList(), MAX_UNINDEXED_SORT_SIZE);
+        }
+    }
+
+    private static boolean serves(
+            BsonDocument indexKeys, List<Map.Entry<String, BsonValue>> sortKeys, Map<String, Object> equalities) {
+        List<Map.Entry<String, BsonValue>> keys = new ArrayList<>(indexKeys.entrySet());
+
+        // Index fields matched by equality hold a single value, so they do not change the order of the rest
+        int start = 0;
+        while (start < keys.size() && equalities.containsKey(keys.get(start).getKey())) {
+            start++;
+        }
+
+        if (keys.size() - start < sortKeys.size()) {
+            return false;
+        }
+
+        Boolean reversed = null;
+        for (int i = 0; i < sortKeys.size(); i++) {
+            Map.Entry<String, BsonValue> key = keys.get(start + i);
+            Map.Entry<String, BsonValue> sortKey = sortKeys.get(i);
+
+            if (!key.getKey().equals(sortKey.getKey()) || !key.getValue().isNumber()) {
+                return false;
+            }
+
+            boolean opposite = key.getValue().asNumber().intValue() != sortKey.getValue().asNumber().intValue();
+            if (reversed != null && reversed != opposite) {
+                return false;
+            }
+            reversed = opposite;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Whether the equalities of the query limit it to the documents of a partial index.
+     */
+    private static boolean matches(BsonDocument partialFilter, Map<String, Object> equalities) {
+        for (Map.Entry<String, BsonValue> condition : partialFilter.entrySet()) {
+            Object value = equalities.get(condition.getKey());
+
+            if (value == null || !sameValue(condition.getValue(), value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean sameValue(BsonValue stored, Object value) {
+        if (stored.isString()) {
+            return stored.asString().getValue().equals(value);
+        }
+
+        if (stored.isNumber() && value instanceof Number number) {
+            return stored.asNumber().doubleValue() == number.doubleValue();
+        }
+
+        if (stored.isDateTime() && value instanceof Instant instant) {
+            return stored.asDateTime().getValue() == instant.toEpochMilli();
+        }
+
+        return false;
+    }
+
+    /**
+     * @return The fields the query matches by equality, those of the filters its top level AND combines.
+     */
+    private static Map<String, Object> equalitiesOf(List<Filter> filters) {
+        Map<String, Object> equalities = new HashMap<>();
+
+        if (filters.isEmpty()
+                || !(filters.get(0) instanceof LogicalFilter logical)
+                || logical.getOperator() != LogicalOperator.AND) {
+            return equalities;
+        }
+
+        // The filters of the top level node come before the first nested logical filter
+        for (int i = 1; i < filters.size() && !(filters.get(i) instanceof LogicalFilter); i++) {
+            if (filters.get(i) instanceof ComparisonFilter<?> comparison
+                    && comparison.getOperator() == ComparisonOperator.EQUAL) {
+                equalities.put(comparison.getFieldName(), comparison.getValue());
+            } else if (filters.get(i) instanceof StringFilter stringFilter
+                    && stringFilter.getOperator() == StringOperator.EQUAL
+                    && stringFilter.getValue() != null) {
+                equalities.put(stringFilter.getFieldName(), stringFilter.getValue());
+            }
+        }
+
+        return equalities;
+    }
+
+    private static BsonDocument toBsonDocument(Bson bson) {
+        return bson.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+    }
+}
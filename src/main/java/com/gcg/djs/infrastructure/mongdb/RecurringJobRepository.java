@@ -1,98 +1,315 @@
 package com.gcg.djs.infrastructure.mongdb;
 
+import com.gcg.djs.domain.common.BulkResult;
+import com.gcg.djs.domain.common.ConditionalWrite;
+import com.gcg.djs.domain.common.CursorPage;
 import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.PageCursor;
 import com.gcg.djs.domain.common.QueryBuilder;
+import com.gcg.djs.domain.common.QueryOptimizer;
 import com.gcg.djs.domain.common.QueryParameters;
-import com.gcg.djs.domain.interfaces.repositories.Repository;
+import com.gcg.djs.domain.interfaces.repositories.IRecurringJobRepository;
 import com.gcg.djs.domain.models.recurringjob.RecurringJob;
+import com.gcg.djs.domain.models.recurringjob.RecurringJobClaim;
+import com.gcg.djs.domain.models.recurringjob.RecurringJobRun;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.conversions.Bson;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
-import static com.mongodb.client.model.Filters.eq;
+import static com.gcg.djs.infrastructure.mongdb.MongoIds.idIs;
+import static com.mongodb.client.model.Filters.*;
+import static com.mongodb.client.model.Updates.*;
 
-public class RecurringJobRepository implements Repository<RecurringJob> {
-    private final MongoCollection<Document> recurringJobCollection;
+public class RecurringJobRepository implements IRecurringJobRepository {
+    static final String CLAIM_TOKEN = "claimToken";
+    private static final String CLAIM_EXPIRES_AT = "claimExpiresAt";
 
-    public RecurringJobRepository(MongoDatabase mongoDatabase) {
+    private final MongoCollection<RecurringJob> recurringJobCollection;
+    private final MongoPageCounter pageCounter;
+    private final QueryOptimizer queryOptimizer;
+
+    public RecurringJobRepository(MongoDatabase mongoDatabase, Set<String> indexedFields) {
         Objects.requireNonNull(mongoDatabase);
-        this.recurringJobCollection = mongoDatabase.getCollection("recurringJobs");
+        Objects.requireNonNull(indexedFields);
+        this.recurringJobCollection = mongoDatabase
+                .getCollection("recurringJobs", RecurringJob.class)
+                .withCodecRegistry(CodecRegistries.fromRegistries(
+                        CodecRegistries.fromCodecs(new RecurringJobCodec()),
+                        mongoDatabase.getCodecRegistry()));
+        this.pageCounter = new MongoPageCounter(recurringJobCollection);
+        this.queryOptimizer = new QueryOptimizer(indexedFields);
     }
 
     @Override
     public RecurringJob create(RecurringJob recurringJob) {
         Objects.requireNonNull(recurringJob);
-        Document recurringJobDoc = recurringJobToDocument(recurringJob);
-        recurringJobCollection.insertOne(recurringJobDoc);
-        return documentToRecurringJob(recurringJobDoc);
+        recurringJobCollection.insertOne(recurringJob);
+        return recurringJob;
     }
 
     @Override
     public RecurringJob update(RecurringJob recurringJob) {
         Objects.requireNonNull(recurringJob);
         Document updatedDoc = recurringJobToDocument(recurringJob);
-        recurringJobCollection.updateOne(eq("_id", recurringJob.id().toString()), new Document("$set", updatedDoc));
+        recurringJobCollection.updateOne(idIs(recurringJob.id()), new Document("$set", updatedDoc));
         return recurringJob;
     }
 
+    @Override
+    public RecurringJob patch(RecurringJob current, RecurringJob updated) {
+        Objects.requireNonNull(current);
+        Objects.requireNonNull(updated);
+
+        Document changes = MongoPatch.changedFields(recurringJobToDocument(current), recurringJobToDocument(updated));
+        if (!changes.isEmpty()) {
+            recurringJobCollection.updateOne(idIs(updated.id()), new Document("$set", changes));
+        }
+
+        return updated;
+    }
+
+    @Override
+    public boolean updateIf(RecurringJob recurringJob, QueryParameters precondition) {
+        Objects.requireNonNull(recurringJob);
+        Objects.requireNonNull(precondition);
+
+        Document updatedDoc = recurringJobToDocument(recurringJob);
+        return recurringJobCollection
+                .updateOne(matching(recurringJob.id(), precondition), new Document("$set", updatedDoc))
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public BulkResult<RecurringJob> createAll(List<RecurringJob> recurringJobs) {
+        Objects.requireNonNull(recurringJobs);
+
+        List<WriteModel<RecurringJob>> writes = recurringJobs.stream()
+                .<WriteModel<RecurringJob>>map(InsertOneModel::new)
+                .toList();
+
+        return MongoBulkWriter.write(recurringJobCollection, recurringJobs, writes,
+                RecurringJob::id, RecurringJobRepository::written);
+    }
+
+    @Override
+    public BulkResult<RecurringJob> updateAll(List<RecurringJob> recurringJobs) {
+        Objects.requireNonNull(recurringJobs);
+
+        List<WriteModel<RecurringJob>> writes = recurringJobs.stream()
+                .<WriteModel<RecurringJob>>map(recurringJob -> new UpdateOneModel<>(
+                        idIs(recurringJob.id()),
+                        new Document("$set", recurringJobToDocument(recurringJob))))
+                .toList();
+
+        return MongoBulkWriter.write(recurringJobCollection, recurringJobs, writes,
+                RecurringJob::id, RecurringJobRepository::written);
+    }
+
+    @Override
+    public BulkResult<RecurringJob> transitionAll(List<ConditionalWrite<RecurringJob>> writes) {
+        Objects.requireNonNull(writes);
+
+        List<RecurringJob> recurringJobs = writes.stream().map(ConditionalWrite::entity).toList();
+        List<WriteModel<RecurringJob>> models = writes.stream()
+                .<WriteModel<RecurringJob>>map(write -> new UpdateOneModel<>(
+                        matching(write.entity().id(), write.precondition()),
+                        new Document("$set", recurringJobToDocument(write.entity()))))
+                .toList();
+
+        return MongoBulkWriter.write(recurringJobCollection, recurringJobs, models,
+                RecurringJob::id, RecurringJobRepository::written);
+    }
+
     @Override
     public boolean delete(UUID id) {
         Objects.requireNonNull(id);
-        var result = recurringJobCollection.deleteOne(eq("_id", id.toString()));
+        var result = recurringJobCollection.deleteOne(idIs(id));
         return result.getDeletedCount() > 0;
     }
 
     @Override
     public RecurringJob getById(UUID id) {
         Objects.requireNonNull(id);
-        Document doc = recurringJobCollection.find(eq("_id", id.toString())).first();
-        return doc != null ? documentToRecurringJob(doc) : null;
+        return recurringJobCollection.find(idIs(id)).first();
     }
 
     @Override
     public Page<RecurringJob> getPage(int page, int pageSize, QueryParameters parameters) {
         Objects.requireNonNull(parameters);
-        var filters = QueryBuilder.buildQuery(parameters, MongoFilterConverter.instance);
+
+        var optimized = queryOptimizer.optimize(parameters);
+        if (optimized.isEmpty()) {
+            return new Page<>(page, pageSize, 0, List.of(), parameters.countMode());
+        }
+
+        var filters = MongoFilterConverter.toFilter(optimized.get());
+        MongoSorts.ensureSortable(recurringJobCollection, filters, parameters);
 
         List<RecurringJob> recurringJobs = recurringJobCollection
                 .find(filters)
+                .projection(MongoProjection.of(parameters))
+                .sort(MongoSorts.orderOf(parameters.sorts()))
                 .skip((page - 1) * pageSize)
                 .limit(pageSize)
-                .map(RecurringJobRepository::documentToRecurringJob)
-                .into(new java.util.ArrayList<>());
+                .into(new ArrayList<>(pageSize));
+
+        long totalCount = pageCounter.count(filters, parameters.countMode());
+        return new Page<>(page, pageSize, totalCount, recurringJobs, parameters.countMode());
+    }
+
+    @Override
+    public CursorPage<RecurringJob> getPageAfter(PageCursor after, int pageSize, QueryParameters parameters) {
+        Objects.requireNonNull(parameters);
+
+        var optimized = queryOptimizer.optimize(parameters);
+        if (optimized.isEmpty()) {
+            return new CursorPage<>(pageSize, List.of(), null);
+        }
+
+        return MongoKeysetPagination.getPageAfter(
+                recurringJobCollection, after, pageSize, optimized.get(),
+                RecurringJob::id, RecurringJobCodec::fieldValue);
+    }
+
+    @Override
+    public RecurringJobClaim claimDueRecurringJobs(Instant until, Instant now, int limit, Duration claimTimeout) {
+        Objects.requireNonNull(until);
+        Objects.requireNonNull(now);
+        Objects.requireNonNull(claimTimeout);
+
+        UUID token = UUID.randomUUID();
+        Instant expiresAt = now.plus(claimTimeout);
+
+        Bson claimable = and(
+                eq("active", true),
+                lte("nextRun", Date.from(until)),
+                or(eq(CLAIM_EXPIRES_AT, null), lt(CLAIM_EXPIRES_AT, Date.from(now))));
+
+        List<Object> candidateIds = recurringJobCollection
+                .find(claimable, Document.class)
+                .projection(Projections.include("_id"))
+                .limit(limit)
+                .map(doc -> doc.get("_id"))
+                .into(new ArrayList<>());
+
+        if (candidateIds.isEmpty()) {
+            return new RecurringJobClaim(token, expiresAt, List.of());
+        }
+
+        // The claimable condition is re-checked by the update, so concurrent schedulers never claim the same job
+        recurringJobCollection.updateMany(
+                and(in("_id", candidateIds), claimable),
+                combine(set(CLAIM_TOKEN, token.toString()), set(CLAIM_EXPIRES_AT, Date.from(expiresAt))));
+
+        List<RecurringJob> claimed = recurringJobCollection
+                .find(eq(CLAIM_TOKEN, token.toString()))
+                .into(new ArrayList<>());
+
+        return new RecurringJobClaim(token, expiresAt, claimed);
+    }
+
+    @Override
+    public long commitClaim(RecurringJobClaim claim, List<RecurringJob> recurringJobs) {
+        Objects.requireNonNull(claim);
+        Objects.requireNonNull(recurringJobs);
+
+        if (recurringJobs.isEmpty()) {
+            return 0;
+        }
+
+        List<WriteModel<RecurringJob>> writes = new ArrayList<>(recurringJobs.size());
+        for (RecurringJob recurringJob : recurringJobs) {
+            // Only the runs are written, so a recurring job paused meanwhile stays paused
+            writes.add(new UpdateOneModel<>(
+                    and(idIs(recurringJob.id()), eq(CLAIM_TOKEN, claim.token().toString())),
+                    combine(
+                            set("nextRun", recurringJob.nextRun() != null ? Date.from(recurringJob.nextRun()) : null),
+                            set("lastRun", recurringJob.lastRun() != null ? Date.from(recurringJob.lastRun()) : null),
+                            set("modifiedDate", Date.from(recurringJob.modifiedDate())),
+                            unset(CLAIM_TOKEN),
+                            unset(CLAIM_EXPIRES_AT))));
+        }
+
+        return recurringJobCollection
+                .bulkWrite(writes, new BulkWriteOptions().ordered(false))
+                .getModifiedCount();
+    }
+
+    @Override
+    public List<RecurringJobRun> getScheduledRuns() {
+        return recurringJobCollection
+                .find(and(eq("active", true), ne("nextRun", null)), Document.class)
+                .projection(Projections.include("_id", "active", "nextRun"))
+                .map(RecurringJobRepository::documentToRecurringJobRun)
+                .into(new ArrayList<>());
+    }
+
+    @Override
+    public List<RecurringJobRun> getRunsModifiedSince(Instant since) {
+        Objects.requireNonNull(since);
+
+        return recurringJobCollection
+                .find(gte("modifiedDate", Date.from(since)), Document.class)
+                .projection(Projections.include("_id", "active", "nextRun"))
+                .map(RecurringJobRepository::documentToRecurringJobRun)
+                .into(new ArrayList<>());
+    }
+
+    private static Bson matching(UUID id, QueryParameters precondition) {
+        Bson byId = idIs(id);
+
+        if (precondition.filters().isEmpty()) {
+            return byId;
+        }
+
+        return and(byId, QueryBuilder.buildQuery(precondition, MongoFilterConverter.instance));
+    }
+
+    private static Bson written(RecurringJob recurringJob) {
+        return and(
+                idIs(recurringJob.id()),
+                eq("modifiedDate", recurringJob.modifiedDate() != null ? Date.from(recurringJob.modifiedDate()) : null));
+    }
+
+    private static RecurringJobRun documentToRecurringJobRun(Document doc) {
+        boolean active = Boolean.TRUE.equals(doc.getBoolean("active"));
+        Date nextRun = doc.getDate("nextRun");
 
-        long totalCount = recurringJobCollection.countDocuments(filters);
-        return new Page<>(page, pageSize, totalCount, recurringJobs);
+        return new RecurringJobRun(
+                MongoIds.fromStored(doc.get("_id")),
+                active && nextRun != null ? nextRun.toInstant() : null);
     }
 
+    /**
+     * Every field of the recurring job but its id, for updates; the id is immutable and recurring jobs are
+     * inserted through {@link RecurringJobCodec}.
+     */
     private static Document recurringJobToDocument(RecurringJob recurringJob) {
-        return new Document("_id", recurringJob.id().toString())
-                .append("cronExpression", recurringJob.cronExpression())
+        return new Document("cronExpression", recurringJob.cronExpression())
                 .append("name", recurringJob.name())
                 .append("description", recurringJob.description())
                 .append("createdDate", recurringJob.createdDate() != null ? Date.from(recurringJob.createdDate()) : null)
                 .append("modifiedDate", recurringJob.modifiedDate() != null ? Date.from(recurringJob.modifiedDate()) : null)
                 .append("active", recurringJob.active())
                 .append("nextRun", recurringJob.nextRun() != null ? Date.from(recurringJob.nextRun()) : null)
-                .append("lastRun", recurringJob.lastRun() != null ? Date.from(recurringJob.lastRun()) : null);
-    }
-
-    private static RecurringJob documentToRecurringJob(Document doc) {
-        return new RecurringJob(
-                UUID.fromString(doc.getString("_id")),
-                doc.getString("cronExpression"),
-                doc.getString("name"),
-                doc.getString("description"),
-                doc.getDate("createdDate") != null ? doc.getDate("createdDate").toInstant() : null,
-                doc.getDate("modifiedDate") != null ? doc.getDate("modifiedDate").toInstant() : null,
-                doc.getBoolean("active"),
-                doc.getDate("nextRun") != null ? doc.getDate("nextRun").toInstant() : null,
-                doc.getDate("lastRun") != null ? doc.getDate("lastRun").toInstant() : null
-        );
+                .append("lastRun", recurringJob.lastRun() != null ? Date.from(recurringJob.lastRun()) : null)
+                .append("binLocation", recurringJob.binLocation())
+                .append("misfirePolicy", recurringJob.misfirePolicy().toString());
     }
 }
\ No newline at end of file
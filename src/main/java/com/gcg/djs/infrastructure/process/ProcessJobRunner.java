@@ -0,0 +1,43 @@
+package com.gcg.djs.infrastructure.process;
+
+import com.gcg.djs.domain.interfaces.external.IJobRunner;
+import com.gcg.djs.domain.models.jobs.Job;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IJobRunner} that runs the binary at the job's bin location as a child process and
+ * waits for it to exit. A non-zero exit code or a run longer than the timeout fails the job.
+ */
+public final class ProcessJobRunner implements IJobRunner {
+    private final Duration timeout;
+
+    public ProcessJobRunner(Duration timeout) {
+        this.timeout = Objects.requireNonNull(timeout);
+    }
+
+    @Override
+    public void run(Job job) throws IOException, InterruptedException {
+        Objects.requireNonNull(job);
+
+        Process process = new ProcessBuilder(job.binLocation())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        try {
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException(String.format("Job %s did not finish within %s", job.id(), timeout));
+            }
+        } finally {
+            process.destroyForcibly();
+        }
+
+        if (process.exitValue() != 0) {
+            throw new IOException(String.format("Job %s exited with code %d", job.id(), process.exitValue()));
+        }
+    }
+}
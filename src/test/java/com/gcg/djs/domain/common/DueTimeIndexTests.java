@@ -0,0 +1,111 @@
+package com.gcg.djs.domain.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DueTimeIndexTests {
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    public void earliest_severalKeys_shouldReturnSmallestDueTime() {
+        // Arrange
+        var index = new DueTimeIndex<String>();
+        index.put("late", START.plusSeconds(30));
+        index.put("early", START.plusSeconds(10));
+        index.put("middle", START.plusSeconds(20));
+
+        // Act
+        Instant earliest = index.earliest();
+
+        // Assert
+        assertEquals(START.plusSeconds(10), earliest);
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void earliest_noKeys_shouldReturnNull() {
+        // Arrange
+        var index = new DueTimeIndex<String>();
+
+        // Act & Assert
+        assertNull(index.earliest());
+    }
+
+    @Test
+    public void put_existingKey_shouldReplaceItsDueTime() {
+        // Arrange
+        var index = new DueTimeIndex<String>();
+        index.put("first", START.plusSeconds(10));
+        index.put("second", START.plusSeconds(20));
+
+        // Act
+        index.put("first", START.plusSeconds(30));
+
+        // Assert
+        assertEquals(START.plusSeconds(20), index.earliest());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void put_nullDueTime_shouldRemoveKey() {
+        // Arrange
+        var index = new DueTimeIndex<String>();
+        index.put("first", START.plusSeconds(10));
+        index.put("second", START.plusSeconds(20));
+
+        // Act
+        index.put("first", null);
+
+        // Assert
+        assertEquals(START.plusSeconds(20), index.earliest());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void remove_lastKey_shouldLeaveIndexEmpty() {
+        // Arrange
+        var index = new DueTimeIndex<String>();
+        index.put("job", START);
+
+        // Act
+        index.remove("job");
+
+        // Assert
+        assertNull(index.earliest());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void reset_shouldReplaceEveryKey() {
+        // Arrange
+        var index = new DueTimeIndex<String>();
+        index.put("old", START);
+
+        // Act
+        index.reset(Map.of("new", START.plusSeconds(10)));
+
+        // Assert
+        assertEquals(START.plusSeconds(10), index.earliest());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void put_manyUpdatesOfSameKey_shouldKeepLatestDueTime() {
+        // Arrange
+        var index = new DueTimeIndex<String>();
+
+        // Act
+        for (int i = 1000; i > 0; i--) {
+            index.put("job", START.plusSeconds(i));
+        }
+        index.put("job", START.plusSeconds(500));
+
+        // Assert
+        assertEquals(START.plusSeconds(500), index.earliest());
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,90 @@
+package com.gcg.djs.domain.common;
+
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldSelectionTests {
+
+    @Test
+    public void validate_shouldReportUnknownFields() {
+        // Act
+        var errors = FieldSelection.validate(List.of("id", "owner", "status", "priority"), Job.class);
+
+        // Assert
+        assertEquals(List.of(String.format(ErrorMessages.FIELDS_INVALID, "owner, priority")), errors);
+    }
+
+    @Test
+    public void validate_withKnownFields_shouldReturnNoErrors() {
+        // Act
+        var errors = FieldSelection.validate(List.of("id", "status", "nextExecution"), Job.class);
+
+        // Assert
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void validateSorts_shouldReportUnknownSortFields() {
+        // Arrange
+        var parameters = new QueryParametersBuilder().sortByAsc("id").sortByDesc("owner").build();
+
+        // Act
+        var errors = FieldSelection.validateSorts(parameters.sorts(), Job.class);
+
+        // Assert
+        assertEquals(List.of(String.format(ErrorMessages.SORT_FIELDS_INVALID, "owner")), errors);
+    }
+
+    @Test
+    public void select_shouldOnlyKeepTheRequestedFields() {
+        // Arrange
+        Job job = getJob();
+        Page<Job> page = new Page<>(1, 10, 1, List.of(job), CountMode.ESTIMATED);
+
+        // Act
+        var selected = FieldSelection.select(page, List.of("status", "id"));
+
+        // Assert
+        assertEquals(List.of(Map.of("status", JobStatus.CREATED, "id", job.id())), selected.items());
+        assertEquals(List.of("status", "id"), List.copyOf(selected.items().get(0).keySet()));
+        assertEquals(1, selected.totalItems());
+        assertEquals(CountMode.ESTIMATED, selected.countMode());
+    }
+
+    @Test
+    public void select_shouldKeepTheCursorOfTheNextPage() {
+        // Arrange
+        CursorPage<Job> page = new CursorPage<>(1, List.of(getJob()), "next");
+
+        // Act
+        var selected = FieldSelection.select(page, List.of("name"));
+
+        // Assert
+        assertEquals(List.of(Map.of("name", "Job Name")), selected.items());
+        assertEquals("next", selected.nextCursor());
+    }
+
+    private static Job getJob() {
+        return new Job(
+                UUID.randomUUID(),
+                "Job Name",
+                "Description",
+                "Location",
+                JobStatus.CREATED,
+                Instant.now(),
+                Instant.now(),
+                null,
+                null,
+                Instant.now(),
+                0,
+                null);
+    }
+}
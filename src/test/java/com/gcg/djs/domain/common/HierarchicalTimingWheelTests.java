@@ -0,0 +1,188 @@
+package com.gcg.djs.domain.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimingWheelTests {
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    public void advanceTo_itemDue_shouldFireAtDueTime() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+        wheel.schedule("job", START.plusMillis(50));
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        int count = wheel.advanceTo(START.plusMillis(50), fired::add);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals(List.of("job"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void advanceTo_itemNotYetDue_shouldNotFireEarly() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+        wheel.schedule("job", START.plusMillis(55));
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        wheel.advanceTo(START.plusMillis(54), fired::add);
+
+        // Assert
+        assertTrue(fired.isEmpty());
+        assertEquals(1, wheel.size());
+
+        wheel.advanceTo(START.plusMillis(60), fired::add);
+        assertEquals(List.of("job"), fired);
+    }
+
+    @Test
+    public void advanceTo_itemAlreadyOverdue_shouldFireOnNextAdvance() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+        wheel.schedule("job", START.minusSeconds(60));
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        wheel.advanceTo(START, fired::add);
+
+        // Assert
+        assertEquals(List.of("job"), fired);
+    }
+
+    @Test
+    public void cancel_pendingItem_shouldNotFire() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+        var timeout = wheel.schedule("cancelled", START.plusMillis(30));
+        wheel.schedule("kept", START.plusMillis(30));
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        boolean cancelled = wheel.cancel(timeout);
+        wheel.advanceTo(START.plusMillis(30), fired::add);
+
+        // Assert
+        assertTrue(cancelled);
+        assertFalse(timeout.isPending());
+        assertFalse(wheel.cancel(timeout));
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    public void advanceTo_longDelays_shouldCascadeAndFireInOrder() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+        wheel.schedule("hours", START.plus(Duration.ofHours(5)));
+        wheel.schedule("seconds", START.plusSeconds(3));
+        wheel.schedule("minutes", START.plus(Duration.ofMinutes(7)));
+        wheel.schedule("days", START.plus(Duration.ofDays(400)));
+        List<String> fired = new ArrayList<>();
+
+        // Act & Assert
+        wheel.advanceTo(START.plusSeconds(3).minusMillis(1), fired::add);
+        assertTrue(fired.isEmpty());
+
+        wheel.advanceTo(START.plusSeconds(3), fired::add);
+        assertEquals(List.of("seconds"), fired);
+
+        wheel.advanceTo(START.plus(Duration.ofMinutes(7)), fired::add);
+        assertEquals(List.of("seconds", "minutes"), fired);
+
+        wheel.advanceTo(START.plus(Duration.ofHours(5)).minusMillis(10), fired::add);
+        assertEquals(List.of("seconds", "minutes"), fired);
+
+        wheel.advanceTo(START.plus(Duration.ofHours(5)), fired::add);
+        assertEquals(List.of("seconds", "minutes", "hours"), fired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void nextDeadline_emptyWheel_shouldBeNull() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+
+        // Act & Assert
+        assertNull(wheel.nextDeadline());
+    }
+
+    @Test
+    public void nextDeadline_itemsOnSeveralLevels_shouldBeTheEarliestDueTime() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+        wheel.schedule("days", START.plus(Duration.ofDays(3)));
+        wheel.schedule("minutes", START.plus(Duration.ofMinutes(5)));
+        wheel.schedule("seconds", START.plusMillis(5_005));
+
+        // Act & Assert, the deadline is the tick boundary the item fires on
+        assertEquals(START.plusMillis(5_010), wheel.nextDeadline());
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(wheel.nextDeadline(), fired::add);
+        assertEquals(List.of("seconds"), fired);
+        assertEquals(START.plus(Duration.ofMinutes(5)), wheel.nextDeadline());
+
+        wheel.advanceTo(wheel.nextDeadline(), fired::add);
+        assertEquals(List.of("seconds", "minutes"), fired);
+        assertEquals(START.plus(Duration.ofDays(3)), wheel.nextDeadline());
+    }
+
+    @Test
+    public void nextDeadline_overdueItem_shouldBeTheCurrentTick() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+        wheel.schedule("job", START.minusSeconds(60));
+
+        // Act & Assert
+        assertEquals(START, wheel.nextDeadline());
+    }
+
+    @Test
+    public void clear_pendingItems_shouldRemoveWithoutFiring() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+        wheel.schedule("first", START.plusMillis(10));
+        wheel.schedule("second", START.plusSeconds(10));
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        wheel.clear();
+        wheel.advanceTo(START.plusSeconds(10), fired::add);
+
+        // Assert
+        assertTrue(fired.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void reset_laterStart_shouldDropItemsAndCountTicksFromTheNewStart() {
+        // Arrange
+        var wheel = new HierarchicalTimingWheel<String>(Duration.ofMillis(10), START);
+        wheel.schedule("dropped", START.plusSeconds(10));
+        var restart = START.plus(Duration.ofDays(30));
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        wheel.reset(restart);
+        wheel.schedule("overdue", START.plusSeconds(20));
+        wheel.schedule("next", restart.plusMillis(10));
+
+        // Assert
+        wheel.advanceTo(restart, fired::add);
+        assertEquals(List.of("overdue"), fired);
+
+        wheel.advanceTo(restart.plusMillis(10), fired::add);
+        assertEquals(List.of("overdue", "next"), fired);
+        assertEquals(0, wheel.size());
+    }
+}
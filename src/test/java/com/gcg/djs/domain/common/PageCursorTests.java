@@ -0,0 +1,70 @@
+package com.gcg.djs.domain.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTests {
+
+    static Stream<Object> sortValues() {
+        return Stream.of("CREATED", 42L, 7, 1.5d, true, Instant.parse("2024-01-01T00:00:00.123456789Z"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortValues")
+    public void decode_encodedCursor_shouldReturnSameCursor(Object sortValue) {
+        // Arrange
+        var cursor = new PageCursor("field", sortValue, UUID.randomUUID());
+
+        // Act
+        var decoded = PageCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    public void decode_cursorWithoutSort_shouldReturnSameCursor() {
+        // Arrange
+        var cursor = new PageCursor(null, null, UUID.randomUUID());
+
+        // Act
+        var decoded = PageCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    public void encode_shouldBeUrlSafe() {
+        // Arrange
+        var cursor = new PageCursor("name", "a/b+c?d=e", UUID.randomUUID());
+
+        // Act
+        String token = cursor.encode();
+
+        // Assert
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor", "AQ", "AQAB"})
+    public void decode_malformedToken_shouldThrowIllegalArgumentException(String token) {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(token));
+    }
+
+    @Test
+    public void constructor_unsupportedSortValue_shouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new PageCursor("field", new Object(), UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.gcg.djs.domain.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionerTests {
+    @Test
+    public void partitionOf_sameId_shouldAlwaysReturnTheSamePartition() {
+        // Arrange
+        var id = UUID.randomUUID();
+
+        // Act
+        var first = Partitioner.partitionOf(id, 64);
+        var second = Partitioner.partitionOf(UUID.fromString(id.toString()), 64);
+
+        // Assert
+        assertEquals(first, second);
+        assertTrue(first >= 0 && first < 64);
+    }
+
+    @Test
+    public void ownedPartitions_severalMembers_shouldAssignEveryPartitionExactlyOnce() {
+        // Arrange
+        var members = List.of("node-a", "node-b", "node-c");
+
+        // Act
+        Set<Integer> assigned = new HashSet<>();
+        int total = 0;
+        for (String member : members) {
+            var owned = Partitioner.ownedPartitions(member, members, 64);
+            assigned.addAll(owned);
+            total += owned.size();
+        }
+
+        // Assert
+        assertEquals(64, total);
+        assertEquals(Partitioner.allPartitions(64), assigned);
+    }
+
+    @Test
+    public void ownedPartitions_memberLeaves_shouldOnlyMoveItsPartitions() {
+        // Arrange
+        var before = List.of("node-a", "node-b", "node-c");
+        var after = List.of("node-a", "node-b");
+
+        var ownedByABefore = Partitioner.ownedPartitions("node-a", before, 64);
+        var ownedByBBefore = Partitioner.ownedPartitions("node-b", before, 64);
+
+        // Act
+        var ownedByAAfter = Partitioner.ownedPartitions("node-a", after, 64);
+        var ownedByBAfter = Partitioner.ownedPartitions("node-b", after, 64);
+
+        // Assert
+        assertTrue(ownedByAAfter.containsAll(ownedByABefore));
+        assertTrue(ownedByBAfter.containsAll(ownedByBBefore));
+    }
+
+    @Test
+    public void ownedPartitions_notAMember_shouldOwnNothing() {
+        // Act
+        var owned = Partitioner.ownedPartitions("node-z", List.of("node-a"), 64);
+
+        // Assert
+        assertTrue(owned.isEmpty());
+    }
+}
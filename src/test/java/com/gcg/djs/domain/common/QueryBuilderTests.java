@@ -35,6 +35,29 @@ public class QueryBuilderTests {
         assertEquals(expectedFilter, actual);
     }
 
+    @Test
+    public void buildQuery_withSameShape_shouldBindTheValuesOfEachQuery() {
+        // Arrange
+        var first = new QueryParametersBuilder()
+                .and()
+                    .equal("status", "CREATED")
+                    .lessThan("retries", 3)
+                .build();
+        var second = new QueryParametersBuilder()
+                .and()
+                    .equal("status", "FAILED")
+                    .lessThan("retries", 5)
+                .build();
+
+        // Act
+        var firstQuery = QueryBuilder.buildQuery(first, FilterConverterMock.instance);
+        var secondQuery = QueryBuilder.buildQuery(second, FilterConverterMock.instance);
+
+        // Assert
+        assertEquals("retries<3&status=CREATED", firstQuery);
+        assertEquals("retries<5&status=FAILED", secondQuery);
+    }
+
 
     private final static class FilterConverterMock implements FilterConverter<String> {
         public static final FilterConverterMock instance = new FilterConverterMock();
@@ -0,0 +1,219 @@
+package com.gcg.djs.domain.common;
+
+import com.gcg.djs.domain.common.filters.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryOptimizerTests {
+
+    private final QueryOptimizer optimizer = new QueryOptimizer(Set.of("status"));
+
+    @Test
+    public void optimize_shouldKeepTheNarrowestRange() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .lessThan("retries", 5)
+                    .lessThan("retries", 3)
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertEquals("AND[retries<3]", toQuery(optimized.orElseThrow()));
+    }
+
+    @Test
+    public void optimize_shouldKeepTheLatestInstantLowerBound() {
+        // Arrange
+        var earlier = Instant.parse("2024-01-01T00:00:00Z");
+        var later = Instant.parse("2024-01-02T00:00:00Z");
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .greaterThan("nextExecution", later)
+                    .greaterThanOrEqual("nextExecution", earlier)
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertEquals("AND[nextExecution>" + later + "]", toQuery(optimized.orElseThrow()));
+    }
+
+    @Test
+    public void optimize_shouldTurnAClosedSingleValueRangeIntoAnEquality() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .greaterThanOrEqual("retries", 3)
+                    .lessThanOrEqual("retries", 3)
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertEquals("AND[retries==3]", toQuery(optimized.orElseThrow()));
+    }
+
+    @Test
+    public void optimize_shouldFlattenNestedNodesOfTheSameOperator() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .lessThan("retries", 3)
+                .and()
+                    .equal("status", "CREATED")
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertEquals("AND[status=CREATED, retries<3]", toQuery(optimized.orElseThrow()));
+    }
+
+    @Test
+    public void optimize_shouldOrderIndexedEqualitiesFirst() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .greaterThan("retries", 1)
+                    .equal("name", "report")
+                    .equal("status", "CREATED")
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertEquals("AND[status=CREATED, name=report, retries>1]", toQuery(optimized.orElseThrow()));
+    }
+
+    @Test
+    public void optimize_shouldMatchNothing_WhenRangesDoNotOverlap() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .lessThan("retries", 3)
+                    .greaterThan("retries", 5)
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertTrue(optimized.isEmpty());
+    }
+
+    @Test
+    public void optimize_shouldMatchNothing_WhenEqualitiesDiffer() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .equal("status", "CREATED")
+                    .equal("status", "FAILED")
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertTrue(optimized.isEmpty());
+    }
+
+    @Test
+    public void optimize_shouldMatchNothing_WhenEqualityIsOutOfRange() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .equal("retries", 7)
+                    .lessThanOrEqual("retries", 5)
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertTrue(optimized.isEmpty());
+    }
+
+    @Test
+    public void optimize_shouldDropBranchesThatMatchNothing() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .or()
+                    .equal("status", "CREATED")
+                .and()
+                    .greaterThan("retries", 5)
+                    .lessThan("retries", 3)
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertEquals("AND[status=CREATED]", toQuery(optimized.orElseThrow()));
+    }
+
+    @Test
+    public void optimize_shouldKeepSortsAndCountMode() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .lessThan("retries", 3)
+                .sortByDesc("createdDate")
+                .countMode(CountMode.NONE)
+                .build();
+
+        // Act
+        var optimized = optimizer.optimize(parameters).orElseThrow();
+
+        // Assert
+        assertEquals(parameters.sorts(), optimized.sorts());
+        assertEquals(CountMode.NONE, optimized.countMode());
+    }
+
+    @Test
+    public void optimize_withoutLeadingLogicalFilter_shouldKeepTheFilters() {
+        // Arrange
+        var parameters = new QueryParameters(
+                List.of(new NumberFilter(ComparisonOperator.LESS_THAN, "retries", 3)), List.of());
+
+        // Act
+        var optimized = optimizer.optimize(parameters);
+
+        // Assert
+        assertSame(parameters, optimized.orElseThrow());
+    }
+
+    private static String toQuery(QueryParameters parameters) {
+        return QueryBuilder.buildQuery(parameters, FilterConverterMock.instance);
+    }
+
+    private final static class FilterConverterMock implements FilterConverter<String> {
+        public static final FilterConverterMock instance = new FilterConverterMock();
+
+        @Override
+        public String convertComparison(ComparisonFilter<?> comparisonFilter) {
+            return comparisonFilter.getFieldName() + comparisonFilter.getOperator() + comparisonFilter.getValue();
+        }
+
+        @Override
+        public String convertLogical(LogicalFilter logicalFilter, List<String> filters) {
+            return logicalFilter.getOperator().name() + filters;
+        }
+
+        @Override
+        public String convertString(StringFilter stringFilter) {
+            return stringFilter.getFieldName() + stringFilter.getOperator() + stringFilter.getValue();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.gcg.djs.domain.common.sorts.SortOperator;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -94,12 +95,59 @@ public class QueryParameterBuilderTests {
         assertEquals(SortOperator.DESC, actual.sorts().get(1).operator());
     }
 
+    @Test
+    public void build_withStringEqualFilter() {
+        // Arrange
+        var queryParametersBuilder = new QueryParametersBuilder()
+                .and()
+                    .equal("status", "EXECUTING");
+
+        // Act
+        var actual = queryParametersBuilder.build();
+
+        // Assert
+        assertEquals(2, actual.filters().size());
+        assertStringFilter(actual.filters().get(1), "status", StringOperator.EQUAL, "EXECUTING");
+    }
+
+    @Test
+    public void build_withoutCountMode_shouldCountExactly() {
+        // Act
+        QueryParameters queryParameters = new QueryParametersBuilder().build();
+
+        // Assert
+        assertEquals(CountMode.EXACT, queryParameters.countMode());
+    }
+
+    @Test
+    public void build_withCountMode_shouldKeepIt() {
+        // Act
+        QueryParameters queryParameters = new QueryParametersBuilder()
+                .countMode(CountMode.CACHED)
+                .build();
+
+        // Assert
+        assertEquals(CountMode.CACHED, queryParameters.countMode());
+    }
+
     private static void assertLogicalFilter(Filter logicalFilter, LogicalOperator expectedOperator) {
         assertInstanceOf(LogicalFilter.class, logicalFilter);
         LogicalFilter firstFilter = (LogicalFilter) logicalFilter;
         assertEquals(expectedOperator, firstFilter.getOperator());
     }
 
+    @Test
+    public void fields_shouldKeepEachFieldOnce() {
+        // Act
+        var parameters = new QueryParametersBuilder()
+                .fields(List.of("id", "status"))
+                .fields(List.of(" status ", "name"))
+                .build();
+
+        // Assert
+        assertEquals(List.of("id", "status", "name"), parameters.fields());
+    }
+
     private static void assertInstantFilter(
             Filter filter, String expectedField, ComparisonOperator expectedOperator) {
 
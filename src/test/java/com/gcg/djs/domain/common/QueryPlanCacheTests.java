@@ -0,0 +1,65 @@
+package com.gcg.djs.domain.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryPlanCacheTests {
+
+    @Test
+    public void get_withSameShape_shouldReuseThePlan() {
+        // Arrange
+        var cache = new QueryPlanCache();
+        var first = new QueryParametersBuilder().and().lessThanOrEqual("nextRun", Instant.now()).build();
+        var second = new QueryParametersBuilder().and().lessThanOrEqual("nextRun", Instant.now().plusSeconds(60)).build();
+
+        // Act
+        var firstPlan = cache.get(first);
+        var secondPlan = cache.get(second);
+
+        // Assert
+        assertSame(firstPlan, secondPlan);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void get_withDifferentShape_shouldCompileAnotherPlan() {
+        // Arrange
+        var cache = new QueryPlanCache();
+        var lessThan = new QueryParametersBuilder().and().lessThan("retries", 3).build();
+        var lessThanOrEqual = new QueryParametersBuilder().and().lessThanOrEqual("retries", 3).build();
+        var otherField = new QueryParametersBuilder().and().lessThan("partition", 3).build();
+
+        // Act
+        var plans = Set.of(cache.get(lessThan), cache.get(lessThanOrEqual), cache.get(otherField));
+
+        // Assert
+        assertEquals(3, plans.size());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void get_whenFull_shouldEvictTheLeastRecentlyUsedShape() {
+        // Arrange
+        var cache = new QueryPlanCache(2);
+        var retries = new QueryParametersBuilder().and().lessThan("retries", 3).build();
+        var status = new QueryParametersBuilder().and().equal("status", "CREATED").build();
+        var partition = new QueryParametersBuilder().and().lessThan("partition", 3).build();
+
+        var retriesPlan = cache.get(retries);
+        var statusPlan = cache.get(status);
+        cache.get(retries);
+
+        // Act
+        var partitionPlan = cache.get(partition);
+
+        // Assert, the shape used last stays cached while the other one makes room
+        assertEquals(2, cache.size());
+        assertSame(retriesPlan, cache.get(retries));
+        assertSame(partitionPlan, cache.get(partition));
+        assertNotSame(statusPlan, cache.get(status));
+    }
+}
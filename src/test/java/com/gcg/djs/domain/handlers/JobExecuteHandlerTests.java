@@ -0,0 +1,142 @@
+package com.gcg.djs.domain.handlers;
+
+import com.gcg.djs.domain.interfaces.external.IJobRunner;
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.interfaces.services.IJobSchedulerService;
+import com.gcg.djs.domain.interfaces.services.IJobService;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobError;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class JobExecuteHandlerTests {
+
+    @Mock
+    private IJobService jobService;
+
+    @Mock
+    private IJobSchedulerService jobSchedulerService;
+
+    @Mock
+    private IJobRunner jobRunner;
+
+    @Mock
+    private ILog log;
+
+    private JobHeartbeatHandler heartbeatHandler;
+
+    private JobExecuteHandler jobExecuteHandler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        heartbeatHandler = new JobHeartbeatHandler(jobSchedulerService, "worker-1", Duration.ofSeconds(10), log);
+        jobExecuteHandler = new JobExecuteHandler(jobService, jobSchedulerService, jobRunner, heartbeatHandler, log);
+    }
+
+    @Test
+    void execute_shouldRunJobAndMarkItAsCompleted() throws Exception {
+        // Arrange
+        var job = getJob(JobStatus.SCHEDULED);
+        var executingJob = new Job.Builder(job).status(JobStatus.EXECUTING).build();
+
+        when(jobService.getJobById(job.id())).thenReturn(job);
+        when(jobSchedulerService.markJobAsExecuting(job, "worker-1")).thenReturn(executingJob);
+
+        // Act
+        jobExecuteHandler.Execute(job);
+
+        // Assert
+        verify(jobRunner, times(1)).run(executingJob);
+        verify(jobSchedulerService, times(1)).markJobAsCompleted(executingJob);
+        verify(jobSchedulerService, never()).markJobAsFailed(any(), any());
+    }
+
+    @Test
+    void execute_shouldMarkJobAsFailed_WhenRunnerThrows() throws Exception {
+        // Arrange
+        var job = getJob(JobStatus.SCHEDULED);
+        var executingJob = new Job.Builder(job).status(JobStatus.EXECUTING).build();
+
+        when(jobService.getJobById(job.id())).thenReturn(job);
+        when(jobSchedulerService.markJobAsExecuting(job, "worker-1")).thenReturn(executingJob);
+        doThrow(new IOException("exit code 1")).when(jobRunner).run(executingJob);
+
+        // Act
+        jobExecuteHandler.Execute(job);
+
+        // Assert
+        ArgumentCaptor<JobError> error = ArgumentCaptor.forClass(JobError.class);
+        verify(jobSchedulerService, times(1)).markJobAsFailed(eq(executingJob), error.capture());
+        verify(jobSchedulerService, never()).markJobAsCompleted(any());
+
+        assertEquals("exit code 1", error.getValue().errorMessage());
+        assertEquals(IOException.class.getName(), error.getValue().errorType());
+    }
+
+    @Test
+    void execute_shouldHeartbeatJobOnlyWhileItRuns() throws Exception {
+        // Arrange
+        var job = getJob(JobStatus.SCHEDULED);
+        var executingJob = new Job.Builder(job).status(JobStatus.EXECUTING).build();
+
+        when(jobService.getJobById(job.id())).thenReturn(job);
+        when(jobSchedulerService.markJobAsExecuting(job, "worker-1")).thenReturn(executingJob);
+        when(jobSchedulerService.renewLeases(eq("worker-1"), anyCollection())).thenReturn(1L);
+        doAnswer(invocation -> {
+            heartbeatHandler.heartbeat();
+            return null;
+        }).when(jobRunner).run(executingJob);
+
+        // Act
+        jobExecuteHandler.Execute(job);
+        long renewedAfterCompletion = heartbeatHandler.heartbeat();
+
+        // Assert
+        verify(jobSchedulerService, times(1)).renewLeases("worker-1", List.of(job.id()));
+        assertEquals(0, renewedAfterCompletion);
+    }
+
+    @Test
+    void execute_shouldSkipJob_WhenItIsNoLongerScheduled() throws Exception {
+        // Arrange
+        var job = getJob(JobStatus.CANCELED);
+        when(jobService.getJobById(job.id())).thenReturn(job);
+
+        // Act
+        jobExecuteHandler.Execute(job);
+
+        // Assert
+        verifyNoInteractions(jobRunner, jobSchedulerService);
+    }
+
+    private static Job getJob(JobStatus status) {
+        return new Job(
+                UUID.randomUUID(),
+                "Job Name",
+                "Description",
+                "Location",
+                status,
+                Instant.now(),
+                Instant.now(),
+                null,
+                null,
+                Instant.now(),
+                0,
+                null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.gcg.djs.domain.handlers;
+
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.interfaces.services.IJobSchedulerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class JobHeartbeatHandlerTests {
+
+    @Mock
+    private IJobSchedulerService jobSchedulerService;
+
+    @Mock
+    private ILog log;
+
+    private JobHeartbeatHandler heartbeatHandler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        heartbeatHandler = new JobHeartbeatHandler(jobSchedulerService, "worker-1", Duration.ofSeconds(10), log);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void heartbeat_shouldRenewEveryRunningJobInOneCall() {
+        // Arrange
+        var first = UUID.randomUUID();
+        var second = UUID.randomUUID();
+        heartbeatHandler.register(first);
+        heartbeatHandler.register(second);
+
+        when(jobSchedulerService.renewLeases(eq("worker-1"), anyCollection())).thenReturn(2L);
+
+        // Act
+        long renewed = heartbeatHandler.heartbeat();
+
+        // Assert
+        assertEquals(2, renewed);
+
+        ArgumentCaptor<Collection<UUID>> jobIds = ArgumentCaptor.forClass(Collection.class);
+        verify(jobSchedulerService, times(1)).renewLeases(eq("worker-1"), jobIds.capture());
+        assertEquals(Set.of(first, second), Set.copyOf(jobIds.getValue()));
+        verifyNoInteractions(log);
+    }
+
+    @Test
+    void heartbeat_shouldNotWrite_WhenNoJobIsRunning() {
+        // Arrange
+        var jobId = UUID.randomUUID();
+        heartbeatHandler.register(jobId);
+        heartbeatHandler.unregister(jobId);
+
+        // Act
+        long renewed = heartbeatHandler.heartbeat();
+
+        // Assert
+        assertEquals(0, renewed);
+        verifyNoInteractions(jobSchedulerService);
+    }
+
+    @Test
+    void heartbeat_shouldWarn_WhenLeasesWereLost() {
+        // Arrange
+        heartbeatHandler.register(UUID.randomUUID());
+        heartbeatHandler.register(UUID.randomUUID());
+
+        when(jobSchedulerService.renewLeases(eq("worker-1"), anyCollection())).thenReturn(1L);
+
+        // Act
+        heartbeatHandler.heartbeat();
+
+        // Assert
+        verify(log, times(1)).logWarning(anyString());
+    }
+}
@@ -0,0 +1,69 @@
+package com.gcg.djs.domain.models.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryPolicyTests {
+    private final RetryPolicy retryPolicy =
+            new RetryPolicy(3, Duration.ofSeconds(1), Duration.ofSeconds(30), 2.0, 0.5);
+
+    @Test
+    public void backoff_withoutJitter_shouldGrowExponentially() {
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(1), retryPolicy.backoff(1, 0));
+        assertEquals(Duration.ofSeconds(2), retryPolicy.backoff(2, 0));
+        assertEquals(Duration.ofSeconds(4), retryPolicy.backoff(3, 0));
+    }
+
+    @Test
+    public void backoff_manyRetries_shouldBeCappedAtMaxBackoff() {
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(30), retryPolicy.backoff(10, 0));
+        assertEquals(Duration.ofSeconds(30), retryPolicy.backoff(5000, 0));
+    }
+
+    @Test
+    public void backoff_withJitter_shouldStayWithinJitterRange() {
+        // Act & Assert
+        assertEquals(Duration.ofMillis(2000), retryPolicy.backoff(2, 0));
+        assertEquals(Duration.ofMillis(1000), retryPolicy.backoff(2, 1));
+
+        for (int i = 0; i < 100; i++) {
+            Duration backoff = retryPolicy.backoff(2);
+            assertTrue(backoff.compareTo(Duration.ofMillis(1000)) >= 0);
+            assertTrue(backoff.compareTo(Duration.ofMillis(2000)) <= 0);
+        }
+    }
+
+    @Test
+    public void nextRetryAt_shouldAddBackoffToFailureTime() {
+        // Arrange
+        var failedAt = Instant.parse("2024-01-01T00:00:00Z");
+
+        // Act
+        var nextRetry = retryPolicy.nextRetryAt(1, failedAt);
+
+        // Assert
+        assertFalse(nextRetry.isBefore(failedAt.plusMillis(500)));
+        assertFalse(nextRetry.isAfter(failedAt.plusSeconds(1)));
+    }
+
+    @Test
+    public void canRetry_shouldAllowUpToMaxRetries() {
+        // Act & Assert
+        assertTrue(retryPolicy.canRetry(0));
+        assertTrue(retryPolicy.canRetry(3));
+        assertFalse(retryPolicy.canRetry(4));
+    }
+
+    @Test
+    public void constructor_invalidJitter_shouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(3, Duration.ofSeconds(1), Duration.ofSeconds(30), 2.0, 1.5));
+    }
+}
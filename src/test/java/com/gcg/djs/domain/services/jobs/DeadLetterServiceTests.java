@@ -0,0 +1,249 @@
+package com.gcg.djs.domain.services.jobs;
+
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.interfaces.repositories.IDeadLetterReplayRepository;
+import com.gcg.djs.domain.interfaces.repositories.IDeadLetterRepository;
+import com.gcg.djs.domain.interfaces.repositories.IJobRepository;
+import com.gcg.djs.domain.models.errors.ValidationException;
+import com.gcg.djs.domain.models.jobs.DeadLetterJob;
+import com.gcg.djs.domain.models.jobs.DeadLetterReplay;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobClaim;
+import com.gcg.djs.domain.models.jobs.JobError;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.domain.models.jobs.ReplayStatus;
+import com.gcg.djs.domain.models.scheduler.RetryPolicy;
+import com.gcg.djs.domain.models.scheduler.SchedulerSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DeadLetterServiceTests {
+
+    @Mock
+    private IDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private IDeadLetterReplayRepository replayRepository;
+
+    @Mock
+    private IJobRepository jobRepository;
+
+    @Mock
+    private ILog log;
+
+    private DeadLetterService deadLetterService;
+
+    // Stands in for the replays collection, so the progress written by the replay can be read back
+    private final Map<UUID, DeadLetterReplay> storedReplays = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        doAnswer(invocation -> {
+            DeadLetterReplay replay = invocation.getArgument(0);
+            storedReplays.put(replay.id(), replay);
+            return null;
+        }).when(replayRepository).save(any(DeadLetterReplay.class));
+        when(replayRepository.getById(any(UUID.class))).thenAnswer(invocation -> storedReplays.get(invocation.getArgument(0)));
+
+        var settings = new SchedulerSettings.Builder()
+                .dispatchBatchSize(10)
+                .retryPolicy(new RetryPolicy(2, Duration.ofSeconds(10), Duration.ofMinutes(1), 2.0, 0))
+                .build();
+        deadLetterService = new DeadLetterService(
+                deadLetterRepository, replayRepository, jobRepository, settings, log, 2, Duration.ZERO, Runnable::run);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void deadLetterExhaustedJobsPage_shouldMoveJobsWithTheirErrorHistory() {
+        // Arrange
+        var firstError = new JobError("first", "IOException", Instant.now().minusSeconds(60));
+        var lastError = new JobError("last", "IOException", Instant.now());
+        var withHistory = getFailedJob(lastError);
+        var withoutHistory = getFailedJob(lastError);
+        var claim = new JobClaim(
+                UUID.randomUUID(), Instant.now().plusSeconds(30), List.of(withHistory, withoutHistory));
+
+        when(jobRepository.claimExhaustedJobs(any(Instant.class), eq(Set.of(0)), eq(2), eq(10), any(Duration.class)))
+                .thenReturn(claim);
+        when(jobRepository.getErrorHistory(anyCollection()))
+                .thenReturn(Map.of(withHistory.id(), List.of(firstError, lastError)));
+        when(jobRepository.deleteClaimed(claim, claim.jobs())).thenReturn(2L);
+
+        // Act
+        int moved = deadLetterService.deadLetterExhaustedJobsPage(Set.of(0));
+
+        // Assert
+        assertEquals(2, moved);
+
+        ArgumentCaptor<List<DeadLetterJob>> added = ArgumentCaptor.forClass(List.class);
+        var order = inOrder(deadLetterRepository, jobRepository);
+        order.verify(deadLetterRepository).addAll(added.capture());
+        order.verify(jobRepository).deleteClaimed(claim, claim.jobs());
+
+        assertEquals(List.of(firstError, lastError), added.getValue().get(0).errors());
+        assertEquals(List.of(lastError), added.getValue().get(1).errors());
+    }
+
+    @Test
+    void deadLetterExhaustedJobsPage_shouldNotWrite_WhenNoJobIsExhausted() {
+        // Arrange
+        when(jobRepository.claimExhaustedJobs(any(Instant.class), anySet(), anyInt(), anyInt(), any(Duration.class)))
+                .thenReturn(new JobClaim(UUID.randomUUID(), Instant.now(), List.of()));
+
+        // Act
+        int moved = deadLetterService.deadLetterExhaustedJobsPage(Set.of(0));
+
+        // Assert
+        assertEquals(0, moved);
+        verifyNoInteractions(deadLetterRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void replay_shouldRestoreJobsInBatchesUntilLimit() throws ValidationException {
+        // Arrange
+        var parameters = new QueryParameters(List.of(), List.of());
+        when(deadLetterRepository.find(eq(parameters), anyInt())).thenAnswer(invocation -> {
+            int limit = invocation.getArgument(1);
+            return Stream.generate(DeadLetterServiceTests::getDeadLetterJob).limit(limit).toList();
+        });
+
+        // Act
+        DeadLetterReplay replay = deadLetterService.replay(parameters, 3);
+
+        // Assert
+        assertEquals(ReplayStatus.COMPLETED, deadLetterService.getReplay(replay.id()).status());
+        assertEquals(3, deadLetterService.getReplay(replay.id()).replayed());
+        verify(deadLetterRepository).find(parameters, 2);
+        verify(deadLetterRepository).find(parameters, 1);
+
+        ArgumentCaptor<List<Job>> restored = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository, times(2)).createAllIfAbsent(restored.capture());
+        verify(deadLetterRepository, times(2)).deleteAll(anyCollection());
+
+        assertTrue(restored.getAllValues().stream().flatMap(List::stream).allMatch(job ->
+                job.status() == JobStatus.CREATED && job.retries() == 0 && job.error() == null));
+    }
+
+    @Test
+    void replay_shouldStop_WhenNoMoreJobsMatch() throws ValidationException {
+        // Arrange
+        var parameters = new QueryParameters(List.of(), List.of());
+        when(deadLetterRepository.find(eq(parameters), anyInt())).thenReturn(List.of(getDeadLetterJob()));
+
+        // Act
+        DeadLetterReplay replay = deadLetterService.replay(parameters, 100);
+
+        // Assert
+        assertEquals(1, deadLetterService.getReplay(replay.id()).replayed());
+        verify(deadLetterRepository, times(1)).find(parameters, 2);
+    }
+
+    @Test
+    void replay_shouldThrow_WhenLimitIsInvalid() {
+        // Act & Assert
+        assertThrows(ValidationException.class,
+                () -> deadLetterService.replay(new QueryParameters(List.of(), List.of()), 0));
+        verifyNoInteractions(deadLetterRepository, jobRepository);
+    }
+
+    @Test
+    void replay_shouldRunInTheBackground() throws ValidationException {
+        // Arrange
+        List<Runnable> queued = new ArrayList<>();
+        deadLetterService = new DeadLetterService(
+                deadLetterRepository, replayRepository, jobRepository, SchedulerSettings.defaults(), log, 2,
+                Duration.ZERO, queued::add);
+        var parameters = new QueryParameters(List.of(), List.of());
+        when(deadLetterRepository.find(eq(parameters), anyInt())).thenReturn(List.of(getDeadLetterJob()));
+
+        // Act
+        DeadLetterReplay replay = deadLetterService.replay(parameters, 100);
+
+        // Assert
+        assertEquals(ReplayStatus.PENDING, replay.status());
+        assertEquals(ReplayStatus.PENDING, deadLetterService.getReplay(replay.id()).status());
+        verifyNoInteractions(deadLetterRepository, jobRepository);
+
+        queued.forEach(Runnable::run);
+        assertEquals(ReplayStatus.COMPLETED, deadLetterService.getReplay(replay.id()).status());
+        assertNotNull(deadLetterService.getReplay(replay.id()).finishedAt());
+    }
+
+    @Test
+    void replay_shouldReportTheFailure_WhenABatchFails() throws ValidationException {
+        // Arrange
+        var parameters = new QueryParameters(List.of(), List.of());
+        when(deadLetterRepository.find(eq(parameters), anyInt())).thenThrow(new IllegalStateException("down"));
+
+        // Act
+        DeadLetterReplay replay = deadLetterService.replay(parameters, 100);
+
+        // Assert
+        DeadLetterReplay current = deadLetterService.getReplay(replay.id());
+        assertEquals(ReplayStatus.FAILED, current.status());
+        assertEquals("down", current.error());
+        verify(log).logError(anyString(), any(IllegalStateException.class));
+    }
+
+    @Test
+    void getReplay_shouldReturnTheStoredProgress_WhenAnotherNodeRunsTheReplay() throws ValidationException {
+        // Arrange
+        var replay = new DeadLetterReplay(UUID.randomUUID(), 100, 40, ReplayStatus.RUNNING, Instant.now(), null, null);
+        storedReplays.put(replay.id(), replay);
+
+        // Act
+        DeadLetterReplay current = deadLetterService.getReplay(replay.id());
+
+        // Assert
+        assertEquals(replay, current);
+    }
+
+    @Test
+    void getReplay_shouldThrow_WhenReplayIsUnknown() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> deadLetterService.getReplay(UUID.randomUUID()));
+    }
+
+    private static DeadLetterJob getDeadLetterJob() {
+        var error = new JobError("failed", "IOException", Instant.now());
+        return new DeadLetterJob(getFailedJob(error), List.of(error), Instant.now());
+    }
+
+    private static Job getFailedJob(JobError error) {
+        return new Job(
+                UUID.randomUUID(),
+                "Job Name",
+                "Description",
+                "Location",
+                JobStatus.FAILED,
+                Instant.now(),
+                Instant.now(),
+                Instant.now(),
+                Instant.now(),
+                null,
+                3,
+                error);
+    }
+}
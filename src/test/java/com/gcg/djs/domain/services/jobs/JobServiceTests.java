@@ -1,11 +1,16 @@
 package com.gcg.djs.domain.services.jobs;
 
+import com.gcg.djs.domain.common.BulkResult;
+import com.gcg.djs.domain.common.CursorPage;
 import com.gcg.djs.domain.common.Page;
+import com.gcg.djs.domain.common.PageCursor;
 import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.common.QueryParametersBuilder;
 import com.gcg.djs.domain.interfaces.external.ILog;
 import com.gcg.djs.domain.interfaces.repositories.Repository;
 import com.gcg.djs.domain.models.errors.ErrorMessages;
 import com.gcg.djs.domain.models.errors.UnExpectedException;
+import com.gcg.djs.domain.models.errors.UnindexedSortException;
 import com.gcg.djs.domain.models.errors.ValidationException;
 import com.gcg.djs.domain.models.jobs.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -141,6 +146,52 @@ class JobServiceTests {
                 .logError(eq(ErrorMessages.UNEXPECTED_ERROR), any(RuntimeException.class));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void addJobs_shouldCreateEveryJobWithOneBulkWrite() throws ValidationException {
+        // Arrange
+        var createJobs = List.of(
+                new CreateJob("First", "Description", "Location", Instant.now()),
+                new CreateJob("Second", "Description", "Location", Instant.now()));
+
+        when(jobRepository.createAll(anyList())).thenAnswer(invocation -> new BulkResult<>(
+                ((List<Job>) invocation.getArgument(0)).stream().map(BulkResult.Item::applied).toList()));
+
+        // Act
+        BulkResult<Job> result = jobService.addJobs(createJobs);
+
+        // Assert
+        assertTrue(result.allApplied());
+        assertEquals(List.of("First", "Second"), result.applied().stream().map(Job::name).toList());
+        assertTrue(result.applied().stream().allMatch(job -> job.status() == JobStatus.CREATED));
+
+        verify(jobRepository, times(1)).createAll(anyList());
+        verify(jobRepository, never()).create(any(Job.class));
+    }
+
+    @Test
+    void addJobs_shouldRejectWholeBatch_WhenAnyJobIsInvalid() {
+        // Arrange
+        var createJobs = List.of(
+                new CreateJob("First", "Description", "Location", Instant.now()),
+                new CreateJob("Second", "Description", "Location", null));
+
+        var expectedErrorMessage = String.format(
+                ErrorMessages.CREATE_JOBS_ITEM_INVALID, 1, ErrorMessages.JOB_NEXT_EXECUTION_INVALID);
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class, () -> jobService.addJobs(createJobs));
+        assertEquals(expectedErrorMessage, exception.getMessage());
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void addJobs_shouldThrowValidationException_WhenBatchIsEmpty() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> jobService.addJobs(List.of()));
+        verifyNoInteractions(jobRepository);
+    }
+
     @Test
     void modifyJob_shouldModifyJobSuccessfully() throws ValidationException {
         // Arrange
@@ -188,7 +239,7 @@ class JobServiceTests {
                         expectedError.errorMessage(), expectedError.errorType(), expectedError.errorTimestamp()));
 
         when(jobRepository.getById(jobId)).thenReturn(existingJob);
-        when(jobRepository.update(any(Job.class))).thenReturn(updatedJob);
+        when(jobRepository.patch(eq(existingJob), any(Job.class))).thenReturn(updatedJob);
 
         // Act
         Job result = jobService.modifyJob(jobId, updateJob);
@@ -202,7 +253,8 @@ class JobServiceTests {
         assertEquals(expectedError, result.error());
 
         verify(jobRepository, times(1)).getById(jobId);
-        verify(jobRepository, times(1)).update(any(Job.class));
+        verify(jobRepository, times(1)).patch(eq(existingJob), any(Job.class));
+        verify(jobRepository, never()).update(any(Job.class));
         verifyNoMoreInteractions(jobRepository);
     }
 
@@ -427,6 +479,50 @@ class JobServiceTests {
         verifyNoMoreInteractions(jobRepository);
     }
 
+    @Test
+    void searchJobsPage_shouldThrowValidationException_WhenFieldsAreUnknown() {
+        // Arrange
+        QueryParameters parameters = new QueryParametersBuilder().fields(List.of("status", "owner")).build();
+
+        // Act & Assert
+        ValidationException exception = assertThrows(
+                ValidationException.class, () -> jobService.searchJobs(1, 10, parameters));
+
+        assertEquals(String.format(
+                com.gcg.djs.domain.common.ErrorMessages.FIELDS_INVALID, "owner"), exception.getMessage());
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void searchJobsPage_shouldThrowValidationException_WhenSortFieldIsUnknown() {
+        // Arrange
+        QueryParameters parameters = new QueryParametersBuilder().sortByAsc("owner").build();
+
+        // Act & Assert
+        ValidationException exception = assertThrows(
+                ValidationException.class, () -> jobService.searchJobs(1, 10, parameters));
+
+        assertEquals(String.format(
+                com.gcg.djs.domain.common.ErrorMessages.SORT_FIELDS_INVALID, "owner"), exception.getMessage());
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void searchJobsPage_shouldThrowValidationException_WhenSortIsNotIndexed() {
+        // Arrange
+        QueryParameters parameters = new QueryParametersBuilder().sortByAsc("name").build();
+
+        when(jobRepository.getPage(1, 10, parameters))
+                .thenThrow(new UnindexedSortException(List.of("name"), 10_000));
+
+        // Act & Assert
+        ValidationException exception = assertThrows(
+                ValidationException.class, () -> jobService.searchJobs(1, 10, parameters));
+
+        assertEquals(String.format(ErrorMessages.SORT_NOT_INDEXED, "name", 10_000), exception.getMessage());
+        verify(log, never()).logError(anyString(), any());
+    }
+
     @ParameterizedTest
     @CsvSource({
             "0, 10, number",   // Invalid page number
@@ -472,6 +568,48 @@ class JobServiceTests {
                 .logError(eq(ErrorMessages.UNEXPECTED_ERROR), any(RuntimeException.class));
     }
 
+    @Test
+    void scrollJobs_shouldPassDecodedCursorToRepository() throws ValidationException {
+        // Arrange
+        var parameters = new QueryParametersBuilder().sortByDesc("nextExecution").build();
+        var cursor = new PageCursor("nextExecution", Instant.now(), UUID.randomUUID());
+        var expected = new CursorPage<Job>(10, List.of(getDefaultJob()), null);
+
+        when(jobRepository.getPageAfter(cursor, 10, parameters)).thenReturn(expected);
+
+        // Act
+        CursorPage<Job> result = jobService.scrollJobs(cursor.encode(), 10, parameters);
+
+        // Assert
+        assertSame(expected, result);
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void scrollJobs_shouldThrowValidationException_WhenCursorWasTakenWithAnotherSort() {
+        // Arrange
+        var parameters = new QueryParametersBuilder().sortByAsc("name").build();
+        var cursor = new PageCursor("nextExecution", Instant.now(), UUID.randomUUID()).encode();
+
+        // Act & Assert
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> jobService.scrollJobs(cursor, 10, parameters));
+
+        assertEquals(com.gcg.djs.domain.common.ErrorMessages.PAGE_CURSOR_INVALID, exception.getMessage());
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void scrollJobs_shouldThrowValidationException_WhenCursorIsMalformed() {
+        // Act & Assert
+        assertThrows(
+                ValidationException.class,
+                () -> jobService.scrollJobs("not-a-cursor", 10, new QueryParameters(List.of(), List.of())));
+
+        verifyNoInteractions(jobRepository);
+    }
+
     private static Job getDefaultJob(){
         return new Job(
                 UUID.randomUUID(),
@@ -0,0 +1,338 @@
+package com.gcg.djs.domain.services.recurringjobs;
+
+import com.gcg.djs.domain.interfaces.external.ICronService;
+import com.gcg.djs.domain.interfaces.repositories.IJobRepository;
+import com.gcg.djs.domain.interfaces.repositories.IRecurringJobRepository;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.domain.models.recurringjob.MisfirePolicy;
+import com.gcg.djs.domain.models.recurringjob.RecurringJob;
+import com.gcg.djs.domain.models.recurringjob.RecurringJobClaim;
+import com.gcg.djs.domain.models.recurringjob.RecurringJobRun;
+import com.gcg.djs.domain.models.scheduler.SchedulerSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecurringJobSchedulerServiceTests {
+
+    private static final String CRON = "*/30 * * * *";
+
+    @Mock
+    private IRecurringJobRepository recurringJobRepository;
+
+    @Mock
+    private IJobRepository jobRepository;
+
+    @Mock
+    private ICronService cronService;
+
+    private RecurringJobSchedulerService recurringJobSchedulerService;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        var settings = new SchedulerSettings.Builder()
+                .dispatchBatchSize(10)
+                .lookAheadWindow(Duration.ofMinutes(5))
+                .misfireThreshold(Duration.ofMinutes(1))
+                .build();
+        recurringJobSchedulerService = new RecurringJobSchedulerService(
+                recurringJobRepository, jobRepository, cronService, settings);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void materializeDueJobsPage_shouldCreateJobAndAdvanceNextRun() {
+        // Arrange
+        var recurringJob = getRecurringJob(now.plusSeconds(60), MisfirePolicy.FIRE_ONCE);
+        var claim = claimOf(recurringJob);
+        var followingRun = now.plus(Duration.ofMinutes(30));
+
+        when(cronService.calculateRunsBetween(eq(CRON), eq(recurringJob.nextRun()), any(Instant.class), anyInt()))
+                .thenReturn(List.of());
+        when(cronService.calculateNextRun(CRON, recurringJob.nextRun())).thenReturn(followingRun);
+        when(recurringJobRepository.commitClaim(eq(claim), anyList())).thenReturn(1L);
+
+        // Act
+        int materialized = recurringJobSchedulerService.materializeDueJobsPage();
+
+        // Assert
+        assertEquals(1, materialized);
+
+        List<Job> jobs = createdJobs();
+        assertEquals(1, jobs.size());
+        assertEquals(recurringJob.nextRun(), jobs.get(0).nextExecution());
+        assertEquals(JobStatus.CREATED, jobs.get(0).status());
+        assertEquals(recurringJob.binLocation(), jobs.get(0).binLocation());
+
+        ArgumentCaptor<List<RecurringJob>> advanced = ArgumentCaptor.forClass(List.class);
+        verify(recurringJobRepository).commitClaim(eq(claim), advanced.capture());
+        assertEquals(followingRun, advanced.getValue().get(0).nextRun());
+        assertEquals(recurringJob.nextRun(), advanced.getValue().get(0).lastRun());
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldRunMissedFireTimesOnce_WhenPolicyIsFireOnce() {
+        // Act
+        List<Job> jobs = materializeMissedRuns(MisfirePolicy.FIRE_ONCE);
+
+        // Assert
+        assertEquals(List.of(now.minus(Duration.ofMinutes(30)), now.plus(Duration.ofMinutes(2))),
+                jobs.stream().map(Job::nextExecution).toList());
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldRunEveryMissedFireTime_WhenPolicyIsFireAll() {
+        // Act
+        List<Job> jobs = materializeMissedRuns(MisfirePolicy.FIRE_ALL);
+
+        // Assert
+        assertEquals(3, jobs.size());
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldDropMissedFireTimes_WhenPolicyIsSkip() {
+        // Act
+        List<Job> jobs = materializeMissedRuns(MisfirePolicy.SKIP);
+
+        // Assert
+        assertEquals(List.of(now.plus(Duration.ofMinutes(2))), jobs.stream().map(Job::nextExecution).toList());
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldJumpPastMissedFireTimes_WhenPolicyIsFireOnce() {
+        // Act
+        materializeMissedRuns(MisfirePolicy.FIRE_ONCE);
+
+        // Assert
+        verify(cronService, never()).calculateRunsBetween(
+                eq(CRON), eq(now.minus(Duration.ofHours(1))), any(Instant.class), anyInt());
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldCapJobsPerPage_WhenRecurringJobsFellBehind() {
+        // Arrange
+        recurringJobSchedulerService = new RecurringJobSchedulerService(
+                recurringJobRepository, jobRepository, cronService,
+                new SchedulerSettings.Builder().dispatchBatchSize(10).maxMaterializedJobsPerPage(6).build());
+
+        var first = getRecurringJob(now.minus(Duration.ofHours(1)), MisfirePolicy.FIRE_ALL);
+        var second = getRecurringJob(now.minus(Duration.ofHours(1)), MisfirePolicy.FIRE_ALL);
+        var claim = new RecurringJobClaim(UUID.randomUUID(), now.plusSeconds(30), List.of(first, second));
+
+        when(recurringJobRepository.getScheduledRuns())
+                .thenReturn(List.of(new RecurringJobRun(first.id(), first.nextRun())));
+        when(recurringJobRepository.claimDueRecurringJobs(any(Instant.class), any(Instant.class), eq(6), any(Duration.class)))
+                .thenReturn(claim);
+        when(cronService.calculateRunsBetween(eq(CRON), any(Instant.class), any(Instant.class), anyInt()))
+                .thenAnswer(invocation -> IntStream.range(0, invocation.<Integer>getArgument(3))
+                        .mapToObj(i -> first.nextRun().plus(Duration.ofMinutes(30L * (i + 1))))
+                        .toList());
+
+        // Act
+        recurringJobSchedulerService.materializeDueJobsPage();
+
+        // Assert
+        assertEquals(6, createdJobs().size());
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldDeriveSameJobId_ForSameFireTime() {
+        // Arrange
+        var recurringJobId = UUID.randomUUID();
+
+        // Act & Assert
+        assertEquals(
+                RecurringJobSchedulerService.jobIdOf(recurringJobId, now),
+                RecurringJobSchedulerService.jobIdOf(recurringJobId, now));
+        assertNotEquals(
+                RecurringJobSchedulerService.jobIdOf(recurringJobId, now),
+                RecurringJobSchedulerService.jobIdOf(recurringJobId, now.plusSeconds(1)));
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldDelayJobByStableOffset_WhenSmearingIsOn() {
+        // Arrange
+        var window = Duration.ofMinutes(1);
+        recurringJobSchedulerService = new RecurringJobSchedulerService(
+                recurringJobRepository, jobRepository, cronService,
+                new SchedulerSettings.Builder().dispatchBatchSize(10).fireTimeSmearWindow(window).build());
+
+        var recurringJob = getRecurringJob(now.plusSeconds(60), MisfirePolicy.FIRE_ONCE);
+        claimOf(recurringJob);
+        when(cronService.calculateRunsBetween(eq(CRON), eq(recurringJob.nextRun()), any(Instant.class), anyInt()))
+                .thenReturn(List.of());
+
+        // Act
+        recurringJobSchedulerService.materializeDueJobsPage();
+
+        // Assert
+        Job job = createdJobs().get(0);
+        var offset = RecurringJobSchedulerService.smearOffset(recurringJob.id(), window);
+        assertEquals(recurringJob.nextRun().plus(offset), job.nextExecution());
+        assertEquals(RecurringJobSchedulerService.jobIdOf(recurringJob.id(), recurringJob.nextRun()), job.id());
+    }
+
+    @Test
+    void smearOffset_shouldSpreadRecurringJobsOverTheWindow() {
+        // Arrange
+        var window = Duration.ofMinutes(1);
+
+        // Act
+        var offsets = IntStream.range(0, 1000)
+                .mapToObj(i -> RecurringJobSchedulerService.smearOffset(UUID.randomUUID(), window))
+                .toList();
+
+        // Assert
+        assertTrue(offsets.stream().allMatch(offset -> !offset.isNegative() && offset.compareTo(window) < 0));
+        assertTrue(offsets.stream().map(Duration::toSeconds).distinct().count() > 50);
+
+        var id = UUID.randomUUID();
+        assertEquals(RecurringJobSchedulerService.smearOffset(id, window), RecurringJobSchedulerService.smearOffset(id, window));
+        assertEquals(Duration.ZERO, RecurringJobSchedulerService.smearOffset(id, Duration.ZERO));
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldNotWrite_WhenNothingIsDue() {
+        // Arrange
+        when(recurringJobRepository.getScheduledRuns()).thenReturn(List.of());
+
+        // Act
+        int materialized = recurringJobSchedulerService.materializeDueJobsPage();
+
+        // Assert
+        assertEquals(0, materialized);
+        verify(recurringJobRepository, never()).claimDueRecurringJobs(any(), any(), anyInt(), any());
+        verifyNoInteractions(jobRepository, cronService);
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldNotClaim_WhenEarliestRunIsOutsideTheWindow() {
+        // Arrange
+        when(recurringJobRepository.getScheduledRuns())
+                .thenReturn(List.of(new RecurringJobRun(UUID.randomUUID(), now.plus(Duration.ofHours(1)))));
+
+        // Act
+        recurringJobSchedulerService.materializeDueJobsPage();
+        recurringJobSchedulerService.materializeDueJobsPage();
+
+        // Assert
+        verify(recurringJobRepository, times(1)).getScheduledRuns();
+        verify(recurringJobRepository, never()).claimDueRecurringJobs(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldClaim_WhenChangedRecurringJobBecomesDue() {
+        // Arrange
+        var recurringJob = getRecurringJob(now.plusSeconds(60), MisfirePolicy.FIRE_ONCE);
+        when(recurringJobRepository.getScheduledRuns()).thenReturn(List.of());
+        when(recurringJobRepository.claimDueRecurringJobs(any(Instant.class), any(Instant.class), anyInt(), any(Duration.class)))
+                .thenReturn(new RecurringJobClaim(UUID.randomUUID(), now, List.of()));
+        recurringJobSchedulerService.materializeDueJobsPage();
+
+        // Act
+        recurringJobSchedulerService.onRecurringJobChanged(recurringJob);
+        recurringJobSchedulerService.materializeDueJobsPage();
+
+        // Assert
+        verify(recurringJobRepository, times(1)).claimDueRecurringJobs(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void materializeDueJobsPage_shouldNotClaim_WhenChangedRecurringJobIsPaused() {
+        // Arrange
+        var recurringJob = getRecurringJob(now.plusSeconds(60), MisfirePolicy.FIRE_ONCE);
+        when(recurringJobRepository.getScheduledRuns())
+                .thenReturn(List.of(new RecurringJobRun(recurringJob.id(), recurringJob.nextRun())));
+        when(recurringJobRepository.claimDueRecurringJobs(any(Instant.class), any(Instant.class), anyInt(), any(Duration.class)))
+                .thenReturn(new RecurringJobClaim(UUID.randomUUID(), now, List.of()));
+        recurringJobSchedulerService.materializeDueJobsPage();
+        clearInvocations(recurringJobRepository);
+
+        var paused = new RecurringJob(
+                recurringJob.id(),
+                CRON,
+                recurringJob.name(),
+                recurringJob.description(),
+                recurringJob.createdDate(),
+                now,
+                false,
+                recurringJob.nextRun(),
+                null,
+                recurringJob.binLocation(),
+                recurringJob.misfirePolicy());
+
+        // Act
+        recurringJobSchedulerService.onRecurringJobChanged(paused);
+        recurringJobSchedulerService.materializeDueJobsPage();
+
+        // Assert
+        verify(recurringJobRepository, never()).claimDueRecurringJobs(any(), any(), anyInt(), any());
+    }
+
+    private List<Job> materializeMissedRuns(MisfirePolicy misfirePolicy) {
+        var recurringJob = getRecurringJob(now.minus(Duration.ofHours(1)), misfirePolicy);
+        var lastMissed = now.minus(Duration.ofMinutes(30));
+        var firstOnTime = now.plus(Duration.ofMinutes(2));
+        claimOf(recurringJob);
+
+        when(cronService.calculateRunsBetween(eq(CRON), eq(recurringJob.nextRun()), any(Instant.class), anyInt()))
+                .thenReturn(List.of(lastMissed, firstOnTime));
+        when(cronService.calculatePreviousRun(eq(CRON), any(Instant.class))).thenReturn(lastMissed);
+        when(cronService.calculateNextRun(CRON, lastMissed)).thenReturn(firstOnTime);
+        when(cronService.calculateRunsBetween(eq(CRON), eq(lastMissed), any(Instant.class), anyInt()))
+                .thenReturn(List.of(firstOnTime));
+
+        recurringJobSchedulerService.materializeDueJobsPage();
+
+        return createdJobs();
+    }
+
+    private RecurringJobClaim claimOf(RecurringJob recurringJob) {
+        var claim = new RecurringJobClaim(UUID.randomUUID(), now.plusSeconds(30), List.of(recurringJob));
+        when(recurringJobRepository.getScheduledRuns())
+                .thenReturn(List.of(new RecurringJobRun(recurringJob.id(), recurringJob.nextRun())));
+        when(recurringJobRepository.claimDueRecurringJobs(any(Instant.class), any(Instant.class), eq(10), any(Duration.class)))
+                .thenReturn(claim);
+        return claim;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Job> createdJobs() {
+        ArgumentCaptor<List<Job>> jobs = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository).createAllIfAbsent(jobs.capture());
+        return jobs.getValue();
+    }
+
+    private static RecurringJob getRecurringJob(Instant nextRun, MisfirePolicy misfirePolicy) {
+        return new RecurringJob(
+                UUID.randomUUID(),
+                CRON,
+                "Name",
+                "Description",
+                Instant.now(),
+                Instant.now(),
+                true,
+                nextRun,
+                null,
+                "Location",
+                misfirePolicy);
+    }
+}
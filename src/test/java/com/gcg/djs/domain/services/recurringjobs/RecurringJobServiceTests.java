@@ -5,10 +5,12 @@ import com.gcg.djs.domain.common.QueryParameters;
 import com.gcg.djs.domain.interfaces.external.ICronService;
 import com.gcg.djs.domain.interfaces.external.ILog;
 import com.gcg.djs.domain.interfaces.repositories.Repository;
+import com.gcg.djs.domain.interfaces.services.IRecurringJobListener;
 import com.gcg.djs.domain.models.errors.ErrorMessages;
 import com.gcg.djs.domain.models.errors.UnExpectedException;
 import com.gcg.djs.domain.models.errors.ValidationException;
 import com.gcg.djs.domain.models.recurringjob.CreateRecurringJob;
+import com.gcg.djs.domain.models.recurringjob.MisfirePolicy;
 import com.gcg.djs.domain.models.recurringjob.RecurringJob;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -37,12 +40,15 @@ class RecurringJobServiceTests {
     @Mock
     private ILog log;
 
+    @Mock
+    private IRecurringJobListener listener;
+
     private RecurringJobService recurringJobService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        recurringJobService = new RecurringJobService(log, recurringRepository, cronService);
+        recurringJobService = new RecurringJobService(log, recurringRepository, cronService, listener);
     }
 
     @Test
@@ -51,7 +57,9 @@ class RecurringJobServiceTests {
         CreateRecurringJob createJob = new CreateRecurringJob(
                 "0 0 * * *",
                 "Recurring Job Name",
-                "Description");
+                "Description",
+                "Location",
+                null);
 
         Instant nextRun = Instant.now().plusSeconds(3600);
         when(cronService.calculateNextRun(createJob.cronExpression())).thenReturn(nextRun);
@@ -65,7 +73,9 @@ class RecurringJobServiceTests {
                         Instant.now(),
                         true,
                         nextRun,
-                        null));
+                        null,
+                        "Location",
+                        MisfirePolicy.FIRE_ONCE));
 
         // Act
         RecurringJob createdJob = recurringJobService.createRecurringJob(createJob);
@@ -84,7 +94,9 @@ class RecurringJobServiceTests {
         CreateRecurringJob createJob = new CreateRecurringJob(
                 "0 0 * * *",
                 value,
-                value);
+                value,
+                "Location",
+                null);
         String expectedErrorMessage = "Recurring job name must not be null, empty, or whitespace." +
                 ", Recurring job description must not be null, empty, or whitespace.";
 
@@ -101,7 +113,9 @@ class RecurringJobServiceTests {
         CreateRecurringJob createJob = new CreateRecurringJob(
                 "0 0 * * *",
                 "Name",
-                "Description");
+                "Description",
+                "Location",
+                null);
         when(recurringRepository.create(any(RecurringJob.class))).thenThrow(new RuntimeException("Unexpected error"));
 
         // Act & Assert
@@ -118,7 +132,7 @@ class RecurringJobServiceTests {
         int page = 1;
         int pageSize = 10;
         QueryParameters filters = new QueryParameters(List.of(), List.of());
-        Page<RecurringJob> expectedPage = new Page<>(page, pageSize, 1, List.of(new RecurringJob(UUID.randomUUID(), "0 0 * * *", "Name", "Description", Instant.now(), Instant.now(), true, Instant.now(), null)));
+        Page<RecurringJob> expectedPage = new Page<>(page, pageSize, 1, List.of(new RecurringJob(UUID.randomUUID(), "0 0 * * *", "Name", "Description", Instant.now(), Instant.now(), true, Instant.now(), null, "Location", MisfirePolicy.FIRE_ONCE)));
         when(recurringRepository.getPage(page, pageSize, filters)).thenReturn(expectedPage);
 
         // Act
@@ -147,7 +161,7 @@ class RecurringJobServiceTests {
     void getRecurringJobById_shouldReturnJob() throws ValidationException {
         // Arrange
         UUID id = UUID.randomUUID();
-        RecurringJob expectedJob = new RecurringJob(id, "0 0 * * *", "Name", "Description", Instant.now(), Instant.now(), true, Instant.now(), null);
+        RecurringJob expectedJob = new RecurringJob(id, "0 0 * * *", "Name", "Description", Instant.now(), Instant.now(), true, Instant.now(), null, "Location", MisfirePolicy.FIRE_ONCE);
         when(recurringRepository.getById(id)).thenReturn(expectedJob);
 
         // Act
@@ -170,7 +184,7 @@ class RecurringJobServiceTests {
         // Arrange
         int page = 1;
         int pageSize = 10;
-        Page<RecurringJob> expectedPage = new Page<>(page, pageSize, 1, List.of(new RecurringJob(UUID.randomUUID(), "0 0 * * *", "Name", "Description", Instant.now(), Instant.now(), true, Instant.now().minusSeconds(10), null)));
+        Page<RecurringJob> expectedPage = new Page<>(page, pageSize, 1, List.of(new RecurringJob(UUID.randomUUID(), "0 0 * * *", "Name", "Description", Instant.now(), Instant.now(), true, Instant.now().minusSeconds(10), null, "Location", MisfirePolicy.FIRE_ONCE)));
         when(recurringRepository.getPage(eq(page), eq(pageSize), any(QueryParameters.class))).thenReturn(expectedPage);
 
         // Act
@@ -185,15 +199,34 @@ class RecurringJobServiceTests {
     void pauseJob_shouldPauseJobSuccessfully() throws ValidationException {
         // Arrange
         UUID id = UUID.randomUUID();
-        RecurringJob job = new RecurringJob(id, "0 0 * * *", "Name", "Description", Instant.now(), Instant.now(), true, Instant.now(), null);
+        RecurringJob job = new RecurringJob(id, "0 0 * * *", "Name", "Description", Instant.now(), Instant.now(), true, Instant.now(), null, "Location", MisfirePolicy.FIRE_ONCE);
         when(recurringRepository.getById(id)).thenReturn(job);
-        when(recurringRepository.update(any(RecurringJob.class))).thenReturn(job);
+        when(recurringRepository.patch(eq(job), any(RecurringJob.class))).thenReturn(job);
 
         // Act
         boolean result = recurringJobService.pauseJob(id);
 
         // Assert
         assertTrue(result);
-        verify(recurringRepository).update(any(RecurringJob.class));
+        ArgumentCaptor<RecurringJob> paused = ArgumentCaptor.forClass(RecurringJob.class);
+        verify(recurringRepository).patch(eq(job), paused.capture());
+        assertFalse(paused.getValue().active());
+    }
+
+    @Test
+    void pauseJob_shouldNotifyListenerOfPausedJob() throws ValidationException {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        RecurringJob job = new RecurringJob(id, "0 0 * * *", "Name", "Description", Instant.now(), Instant.now(), true, Instant.now(), null, "Location", MisfirePolicy.FIRE_ONCE);
+        when(recurringRepository.getById(id)).thenReturn(job);
+
+        // Act
+        recurringJobService.pauseJob(id);
+
+        // Assert
+        ArgumentCaptor<RecurringJob> changed = ArgumentCaptor.forClass(RecurringJob.class);
+        verify(listener).onRecurringJobChanged(changed.capture());
+        assertEquals(id, changed.getValue().id());
+        assertFalse(changed.getValue().active());
     }
-}
\ No newline at end of file
+}
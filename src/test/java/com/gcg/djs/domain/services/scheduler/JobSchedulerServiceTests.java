@@ -1,4 +1,449 @@
 package com.gcg.djs.domain.services.scheduler;
 
+import com.gcg.djs.domain.common.BulkResult;
+import com.gcg.djs.domain.common.ConditionalWrite;
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.common.filters.InstantFilter;
+import com.gcg.djs.domain.common.filters.StringFilter;
+import com.gcg.djs.domain.common.filters.StringOperator;
+import com.gcg.djs.domain.interfaces.external.IMessageQueue;
+import com.gcg.djs.domain.interfaces.repositories.IJobRepository;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobClaim;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.domain.models.errors.ConcurrentJobModificationException;
+import com.gcg.djs.domain.models.errors.JobRetriesExceededException;
+import com.gcg.djs.domain.models.jobs.JobError;
+import com.gcg.djs.domain.models.scheduler.RetryPolicy;
+import com.gcg.djs.domain.models.scheduler.SchedulerSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
 public class JobSchedulerServiceTests {
+
+    @Mock
+    private IJobRepository jobRepository;
+
+    @Mock
+    private IMessageQueue<Job> jobMessageQueue;
+
+    private JobSchedulerService jobSchedulerService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        var settings = new SchedulerSettings.Builder()
+                .dispatchBatchSize(10)
+                .claimTimeout(Duration.ofSeconds(30))
+                .partitionCount(4)
+                .retryPolicy(new RetryPolicy(2, Duration.ofSeconds(10), Duration.ofMinutes(1), 2.0, 0))
+                .build();
+        jobSchedulerService = new JobSchedulerService(jobRepository, jobMessageQueue, settings);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void enqueueNextJobsPage_shouldPublishAndCommitClaimedJobsInOneBatch() {
+        // Arrange
+        var claim = new JobClaim(
+                UUID.randomUUID(), Instant.now().plusSeconds(30), List.of(getDefaultJob(), getDefaultJob()));
+
+        when(jobRepository.claimDueJobs(any(Instant.class), eq(Set.of(0, 1, 2, 3)), eq(10), eq(Duration.ofSeconds(30))))
+                .thenReturn(claim);
+        when(jobMessageQueue.EnqueueMessages(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        int dispatched = jobSchedulerService.enqueueNextJobsPage();
+
+        // Assert
+        assertEquals(2, dispatched);
+
+        ArgumentCaptor<List<Job>> committed = ArgumentCaptor.forClass(List.class);
+        verify(jobMessageQueue, times(1)).EnqueueMessages(anyList());
+        verify(jobRepository, times(1)).commitClaim(eq(claim), committed.capture());
+        verify(jobRepository, never()).releaseClaim(any(), anyList());
+
+        assertEquals(2, committed.getValue().size());
+        assertTrue(committed.getValue().stream().allMatch(job -> job.status() == JobStatus.SCHEDULED));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void enqueueNextJobsPage_shouldReleaseJobsThatWereNotPublished() {
+        // Arrange
+        var published = getDefaultJob();
+        var notPublished = getDefaultJob();
+        var claim = new JobClaim(
+                UUID.randomUUID(), Instant.now().plusSeconds(30), List.of(published, notPublished));
+
+        when(jobRepository.claimDueJobs(any(Instant.class), anySet(), anyInt(), any(Duration.class)))
+                .thenReturn(claim);
+        when(jobMessageQueue.EnqueueMessages(anyList()))
+                .thenAnswer(invocation -> ((List<Job>) invocation.getArgument(0)).subList(0, 1));
+
+        // Act
+        int dispatched = jobSchedulerService.enqueueNextJobsPage();
+
+        // Assert
+        assertEquals(1, dispatched);
+
+        ArgumentCaptor<List<Job>> released = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository, times(1)).releaseClaim(eq(claim), released.capture());
+
+        assertEquals(1, released.getValue().size());
+        assertEquals(notPublished.id(), released.getValue().get(0).id());
+    }
+
+    @Test
+    void enqueueNextJobsPage_shouldNotPublish_WhenNothingIsDue() {
+        // Arrange
+        when(jobRepository.claimDueJobs(any(Instant.class), anySet(), anyInt(), any(Duration.class)))
+                .thenReturn(new JobClaim(UUID.randomUUID(), Instant.now(), List.of()));
+
+        // Act
+        int dispatched = jobSchedulerService.enqueueNextJobsPage();
+
+        // Assert
+        assertEquals(0, dispatched);
+        verifyNoInteractions(jobMessageQueue);
+        verify(jobRepository, never()).commitClaim(any(), anyList());
+    }
+
+    @Test
+    void enqueueNextJobsPage_shouldOnlyClaimOwnedPartitions() {
+        // Arrange
+        when(jobRepository.claimDueJobs(any(Instant.class), anySet(), anyInt(), any(Duration.class)))
+                .thenReturn(new JobClaim(UUID.randomUUID(), Instant.now(), List.of()));
+
+        // Act
+        jobSchedulerService.enqueueNextJobsPage(Set.of(1, 3));
+
+        // Assert
+        verify(jobRepository, times(1))
+                .claimDueJobs(any(Instant.class), eq(Set.of(1, 3)), eq(10), any(Duration.class));
+    }
+
+    @Test
+    void enqueueNextJobsPage_shouldNotClaim_WhenNoPartitionIsOwned() {
+        // Act
+        int dispatched = jobSchedulerService.enqueueNextJobsPage(Set.of());
+
+        // Assert
+        assertEquals(0, dispatched);
+        verifyNoInteractions(jobRepository, jobMessageQueue);
+    }
+
+    @Test
+    void enqueueRetriesPage_shouldClaimRetriesWithinMaxRetries() {
+        // Arrange
+        var failedJob = new Job.Builder(getDefaultJob()).status(JobStatus.FAILED).retries(1).build();
+        var claim = new JobClaim(UUID.randomUUID(), Instant.now().plusSeconds(30), List.of(failedJob));
+
+        when(jobRepository.claimRetryableJobs(any(Instant.class), eq(Set.of(1)), eq(2), eq(10), any(Duration.class)))
+                .thenReturn(claim);
+        when(jobMessageQueue.EnqueueMessages(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        int dispatched = jobSchedulerService.enqueueRetriesPage(Set.of(1));
+
+        // Assert
+        assertEquals(1, dispatched);
+        verify(jobRepository, times(1)).commitClaim(eq(claim), anyList());
+        verify(jobRepository, never()).claimDueJobs(any(), anySet(), anyInt(), any());
+    }
+
+    @Test
+    void markJobAsFailed_shouldScheduleRetryAfterBackoff() throws Exception {
+        // Arrange
+        var job = new Job.Builder(getDefaultJob()).status(JobStatus.EXECUTING).retries(1).build();
+        var before = Instant.now();
+        when(jobRepository.updateIf(any(Job.class), any(QueryParameters.class))).thenReturn(true);
+
+        // Act
+        jobSchedulerService.markJobAsFailed(job, new JobError("error", "type", Instant.now()));
+
+        // Assert
+        ArgumentCaptor<Job> updated = ArgumentCaptor.forClass(Job.class);
+        verify(jobRepository, times(1)).updateIf(updated.capture(), any(QueryParameters.class));
+
+        assertEquals(JobStatus.FAILED, updated.getValue().status());
+        assertEquals(2, updated.getValue().retries());
+        assertFalse(updated.getValue().nextExecution().isBefore(before.plusSeconds(20)));
+    }
+
+    @Test
+    void markJobAsFailed_shouldNotScheduleRetry_WhenRetriesAreExhausted() throws Exception {
+        // Arrange
+        var job = new Job.Builder(getDefaultJob()).status(JobStatus.EXECUTING).retries(2).build();
+        when(jobRepository.updateIf(any(Job.class), any(QueryParameters.class))).thenReturn(true);
+
+        // Act
+        jobSchedulerService.markJobAsFailed(job, new JobError("error", "type", Instant.now()));
+
+        // Assert
+        ArgumentCaptor<Job> updated = ArgumentCaptor.forClass(Job.class);
+        verify(jobRepository, times(1)).updateIf(updated.capture(), any(QueryParameters.class));
+
+        assertEquals(3, updated.getValue().retries());
+        assertNull(updated.getValue().nextExecution());
+    }
+
+    @Test
+    void enqueueJob_shouldThrow_WhenRetriesExceedPolicy() {
+        // Arrange
+        var job = new Job.Builder(getDefaultJob()).status(JobStatus.FAILED).retries(3).build();
+
+        // Act & Assert
+        assertThrows(JobRetriesExceededException.class, () -> jobSchedulerService.enqueueJob(job));
+        verifyNoInteractions(jobMessageQueue);
+    }
+
+    @Test
+    void enqueueJob_shouldScheduleJobAndRecordItInOutboxWithoutPublishing() throws Exception {
+        // Arrange
+        var job = getDefaultJob();
+        when(jobRepository.updateIfWithOutbox(any(Job.class), any(QueryParameters.class), any(Instant.class)))
+                .thenReturn(true);
+
+        // Act
+        jobSchedulerService.enqueueJob(job);
+
+        // Assert
+        ArgumentCaptor<Job> updated = ArgumentCaptor.forClass(Job.class);
+        verify(jobRepository, times(1))
+                .updateIfWithOutbox(updated.capture(), any(QueryParameters.class), any(Instant.class));
+        verify(jobRepository, never()).updateIf(any(), any());
+        verifyNoInteractions(jobMessageQueue);
+
+        assertEquals(JobStatus.SCHEDULED, updated.getValue().status());
+    }
+
+    @Test
+    void enqueueJob_shouldThrow_WhenJobWasModifiedConcurrently() {
+        // Arrange
+        when(jobRepository.updateIfWithOutbox(any(Job.class), any(QueryParameters.class), any(Instant.class)))
+                .thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ConcurrentJobModificationException.class, () -> jobSchedulerService.enqueueJob(getDefaultJob()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void publishOutboxPage_shouldPublishBatchAndCompleteOutbox() {
+        // Arrange
+        var published = getDefaultJob();
+        var notPublished = getDefaultJob();
+        var claim = new JobClaim(
+                UUID.randomUUID(), Instant.now().plusSeconds(30), List.of(published, notPublished));
+
+        when(jobRepository.claimOutbox(any(Instant.class), eq(Set.of(0, 1)), eq(10), eq(Duration.ofSeconds(30))))
+                .thenReturn(claim);
+        when(jobMessageQueue.EnqueueMessages(anyList()))
+                .thenAnswer(invocation -> ((List<Job>) invocation.getArgument(0)).subList(0, 1));
+
+        // Act
+        int publishedCount = jobSchedulerService.publishOutboxPage(Set.of(0, 1));
+
+        // Assert
+        assertEquals(1, publishedCount);
+        verify(jobMessageQueue, times(1)).EnqueueMessages(claim.jobs());
+        verify(jobRepository, times(1)).completeOutbox(claim, List.of(published));
+        verify(jobRepository, times(1)).releaseClaim(claim, List.of(notPublished));
+    }
+
+    @Test
+    void publishOutboxPage_shouldNotPublish_WhenOutboxIsEmpty() {
+        // Arrange
+        when(jobRepository.claimOutbox(any(Instant.class), anySet(), anyInt(), any(Duration.class)))
+                .thenReturn(new JobClaim(UUID.randomUUID(), Instant.now(), List.of()));
+
+        // Act
+        int published = jobSchedulerService.publishOutboxPage(Set.of(0));
+
+        // Assert
+        assertEquals(0, published);
+        verifyNoInteractions(jobMessageQueue);
+        verify(jobRepository, never()).completeOutbox(any(), anyList());
+    }
+
+    @Test
+    void markJobAsExecuting_shouldTakeExecutionLease() throws Exception {
+        // Arrange
+        var job = new Job.Builder(getDefaultJob()).status(JobStatus.SCHEDULED).build();
+        var before = Instant.now();
+
+        when(jobRepository.startExecution(any(Job.class), any(QueryParameters.class), anyString(), any(Instant.class)))
+                .thenReturn(true);
+
+        // Act
+        var executingJob = jobSchedulerService.markJobAsExecuting(job, "worker-1");
+
+        // Assert
+        ArgumentCaptor<Instant> leaseExpiresAt = ArgumentCaptor.forClass(Instant.class);
+        verify(jobRepository, times(1)).startExecution(
+                eq(executingJob), any(QueryParameters.class), eq("worker-1"), leaseExpiresAt.capture());
+
+        assertEquals(JobStatus.EXECUTING, executingJob.status());
+        assertNotNull(executingJob.executionStart());
+        assertFalse(leaseExpiresAt.getValue().isBefore(before.plus(SchedulerSettings.DEFAULT_EXECUTION_LEASE_DURATION)));
+    }
+
+    @Test
+    void markJobAsExecuting_shouldThrow_WhenAnotherWorkerStartedTheJobFirst() {
+        // Arrange
+        var job = new Job.Builder(getDefaultJob()).status(JobStatus.SCHEDULED).build();
+
+        when(jobRepository.startExecution(any(Job.class), any(QueryParameters.class), anyString(), any(Instant.class)))
+                .thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ConcurrentJobModificationException.class,
+                () -> jobSchedulerService.markJobAsExecuting(job, "worker-1"));
+    }
+
+    @Test
+    void markJobAsCompleted_shouldOnlyUpdateIfStatusAndVersionAreUnchanged() throws Exception {
+        // Arrange
+        var job = new Job.Builder(getDefaultJob()).status(JobStatus.EXECUTING).build();
+        when(jobRepository.updateIf(any(Job.class), any(QueryParameters.class))).thenReturn(true);
+
+        // Act
+        jobSchedulerService.markJobAsCompleted(job);
+
+        // Assert
+        ArgumentCaptor<QueryParameters> precondition = ArgumentCaptor.forClass(QueryParameters.class);
+        verify(jobRepository, times(1)).updateIf(any(Job.class), precondition.capture());
+        verify(jobRepository, never()).update(any());
+
+        var filters = precondition.getValue().filters();
+        assertEquals(3, filters.size());
+
+        var status = (StringFilter) filters.get(1);
+        assertEquals("status", status.getFieldName());
+        assertEquals(StringOperator.EQUAL, status.getOperator());
+        assertEquals(JobStatus.EXECUTING.toString(), status.getValue());
+
+        var version = (InstantFilter) filters.get(2);
+        assertEquals("modifiedDate", version.getFieldName());
+        assertEquals(job.modifiedDate(), version.getValue());
+    }
+
+    @Test
+    void cancelJob_shouldThrow_WhenJobWasModifiedConcurrently() {
+        // Arrange
+        var job = new Job.Builder(getDefaultJob()).status(JobStatus.SCHEDULED).build();
+        when(jobRepository.updateIf(any(Job.class), any(QueryParameters.class))).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ConcurrentJobModificationException.class, () -> jobSchedulerService.cancelJob(job));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void cancelJobs_shouldTransitionValidJobsWithOneBulkWriteAndReportTheOthers() {
+        // Arrange
+        var scheduledJob = new Job.Builder(getDefaultJob()).status(JobStatus.SCHEDULED).build();
+        var completedJob = new Job.Builder(getDefaultJob()).status(JobStatus.COMPLETED).build();
+        var executingJob = new Job.Builder(getDefaultJob()).status(JobStatus.EXECUTING).build();
+
+        when(jobRepository.transitionAll(anyList())).thenAnswer(invocation -> {
+            List<ConditionalWrite<Job>> writes = invocation.getArgument(0);
+            return new BulkResult<>(List.of(
+                    BulkResult.Item.applied(writes.get(0).entity()),
+                    BulkResult.Item.notMatched(writes.get(1).entity())));
+        });
+
+        // Act
+        var result = jobSchedulerService.cancelJobs(List.of(scheduledJob, completedJob, executingJob));
+
+        // Assert
+        ArgumentCaptor<List<ConditionalWrite<Job>>> writes = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository, times(1)).transitionAll(writes.capture());
+        verify(jobRepository, never()).updateIf(any(Job.class), any(QueryParameters.class));
+
+        assertEquals(2, writes.getValue().size());
+        assertTrue(writes.getValue().stream().allMatch(write -> write.entity().status() == JobStatus.CANCELED));
+
+        var items = result.items();
+        assertEquals(BulkResult.Status.APPLIED, items.get(0).status());
+        assertEquals(scheduledJob.id(), items.get(0).entity().id());
+        assertEquals(BulkResult.Status.FAILED, items.get(1).status());
+        assertEquals(completedJob, items.get(1).entity());
+        assertNotNull(items.get(1).error());
+        assertEquals(BulkResult.Status.NOT_MATCHED, items.get(2).status());
+        assertEquals(executingJob.id(), items.get(2).entity().id());
+    }
+
+    @Test
+    void markJobsAsCompleted_shouldNotWrite_WhenNoJobCanBeCompleted() {
+        // Arrange
+        var createdJob = new Job.Builder(getDefaultJob()).status(JobStatus.CREATED).build();
+
+        // Act
+        var result = jobSchedulerService.markJobsAsCompleted(List.of(createdJob));
+
+        // Assert
+        assertEquals(BulkResult.Status.FAILED, result.items().get(0).status());
+        verifyNoInteractions(jobRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void failExpiredExecutionsPage_shouldFailJobsWithExpiredLeases() {
+        // Arrange
+        var executingJob = new Job.Builder(getDefaultJob()).status(JobStatus.EXECUTING).build();
+        var claim = new JobClaim(UUID.randomUUID(), Instant.now().plusSeconds(30), List.of(executingJob));
+
+        when(jobRepository.claimExpiredLeases(any(Instant.class), eq(Set.of(0)), eq(10), any(Duration.class)))
+                .thenReturn(claim);
+        when(jobRepository.commitClaim(eq(claim), anyList())).thenReturn(1L);
+
+        // Act
+        int failed = jobSchedulerService.failExpiredExecutionsPage(Set.of(0));
+
+        // Assert
+        assertEquals(1, failed);
+
+        ArgumentCaptor<List<Job>> committed = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository, times(1)).commitClaim(eq(claim), committed.capture());
+
+        var failedJob = committed.getValue().get(0);
+        assertEquals(JobStatus.FAILED, failedJob.status());
+        assertEquals(1, failedJob.retries());
+        assertNotNull(failedJob.nextExecution());
+        assertNotNull(failedJob.error());
+    }
+
+    private static Job getDefaultJob() {
+        return new Job(
+                UUID.randomUUID(),
+                "Job Name",
+                "Description",
+                "Location",
+                JobStatus.CREATED,
+                Instant.now(),
+                Instant.now(),
+                null,
+                null,
+                Instant.now(),
+                0,
+                null);
+    }
 }
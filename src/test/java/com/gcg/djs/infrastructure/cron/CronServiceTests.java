@@ -0,0 +1,128 @@
+package com.gcg.djs.infrastructure.cron;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CronServiceTests {
+
+    private final CronService cronService = new CronService(2, ZoneOffset.UTC);
+
+    @Test
+    public void calculateNextRun_shouldReturnFirstFireTimeAfterInstant() {
+        // Act
+        Instant nextRun = cronService.calculateNextRun("*/15 * * * *", Instant.parse("2024-01-01T10:07:00Z"));
+
+        // Assert
+        assertEquals(Instant.parse("2024-01-01T10:15:00Z"), nextRun);
+    }
+
+    @Test
+    public void calculatePreviousRun_shouldReturnLastFireTimeBeforeInstant() {
+        // Act
+        Instant previousRun = cronService.calculatePreviousRun("*/15 * * * *", Instant.parse("2024-01-01T10:07:00Z"));
+
+        // Assert
+        assertEquals(Instant.parse("2024-01-01T10:00:00Z"), previousRun);
+    }
+
+    @Test
+    public void calculateNextRuns_shouldReturnRequestedNumberOfFireTimes() {
+        // Act
+        List<Instant> runs = cronService.calculateNextRuns("0 * * * *", Instant.parse("2024-01-01T10:00:00Z"), 3);
+
+        // Assert
+        assertEquals(List.of(
+                Instant.parse("2024-01-01T11:00:00Z"),
+                Instant.parse("2024-01-01T12:00:00Z"),
+                Instant.parse("2024-01-01T13:00:00Z")), runs);
+    }
+
+    @Test
+    public void calculateRunsBetween_shouldExcludeStartAndIncludeEnd() {
+        // Act
+        List<Instant> runs = cronService.calculateRunsBetween(
+                "*/30 * * * *",
+                Instant.parse("2024-01-01T10:00:00Z"),
+                Instant.parse("2024-01-01T11:00:00Z"),
+                100);
+
+        // Assert
+        assertEquals(List.of(
+                Instant.parse("2024-01-01T10:30:00Z"),
+                Instant.parse("2024-01-01T11:00:00Z")), runs);
+    }
+
+    @Test
+    public void calculateRunsBetween_shouldStopAtLimit() {
+        // Act
+        List<Instant> runs = cronService.calculateRunsBetween(
+                "* * * * *",
+                Instant.parse("2024-01-01T10:00:00Z"),
+                Instant.parse("2024-01-02T10:00:00Z"),
+                5);
+
+        // Assert
+        assertEquals(5, runs.size());
+    }
+
+    @Test
+    public void calculateNextRun_shouldEvictLeastRecentlyUsedExpression_WhenCacheIsFull() {
+        // Arrange
+        Instant after = Instant.parse("2024-01-01T10:00:00Z");
+
+        // Act
+        cronService.calculateNextRun("0 * * * *", after);
+        cronService.calculateNextRun("30 * * * *", after);
+        cronService.calculateNextRun("15 * * * *", after);
+
+        // Assert
+        assertEquals(2, cronService.cacheSize());
+        assertFalse(cronService.isCached("0 * * * *"));
+        assertTrue(cronService.isCached("30 * * * *"));
+        assertTrue(cronService.isCached("15 * * * *"));
+    }
+
+    @Test
+    public void calculateNextRun_shouldKeepRecentlyUsedExpression_WhenCacheIsFull() {
+        // Arrange
+        Instant after = Instant.parse("2024-01-01T10:00:00Z");
+        cronService.calculateNextRun("0 * * * *", after);
+        cronService.calculateNextRun("30 * * * *", after);
+
+        // Act, using the oldest expression again makes the other one the least recently used
+        cronService.calculateNextRun("0 * * * *", after);
+        cronService.calculateNextRun("15 * * * *", after);
+
+        // Assert
+        assertTrue(cronService.isCached("0 * * * *"));
+        assertFalse(cronService.isCached("30 * * * *"));
+    }
+
+    @Test
+    public void calculateNextRun_shouldKeepWorking_WhenCacheEvictsExpressions() {
+        // Arrange
+        Instant after = Instant.parse("2024-01-01T10:00:00Z");
+        cronService.calculateNextRun("0 * * * *", after);
+        cronService.calculateNextRun("30 * * * *", after);
+        cronService.calculateNextRun("15 * * * *", after);
+
+        // Act
+        Instant nextRun = cronService.calculateNextRun("0 * * * *", after);
+
+        // Assert
+        assertEquals(Instant.parse("2024-01-01T11:00:00Z"), nextRun);
+        assertTrue(cronService.isCached("0 * * * *"));
+    }
+
+    @Test
+    public void calculateNextRun_shouldThrow_WhenExpressionIsInvalid() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> cronService.calculateNextRun("not a cron", Instant.now()));
+    }
+}
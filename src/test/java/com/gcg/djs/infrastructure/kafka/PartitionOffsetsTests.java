@@ -0,0 +1,66 @@
+package com.gcg.djs.infrastructure.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionOffsetsTests {
+
+    @Test
+    public void takeCommittable_nothingReceived_shouldReturnEmpty() {
+        // Arrange
+        var offsets = new PartitionOffsets();
+
+        // Act & Assert
+        assertEquals(OptionalLong.empty(), offsets.takeCommittable());
+    }
+
+    @Test
+    public void takeCommittable_laterRecordCompletedFirst_shouldStopAtOldestPendingRecord() {
+        // Arrange
+        var offsets = new PartitionOffsets();
+        offsets.received(10);
+        offsets.received(11);
+        offsets.received(12);
+
+        // Act
+        offsets.completed(11);
+        offsets.completed(12);
+
+        // Assert
+        assertEquals(OptionalLong.of(10), offsets.takeCommittable());
+    }
+
+    @Test
+    public void takeCommittable_everythingCompleted_shouldCommitAfterLastRecord() {
+        // Arrange
+        var offsets = new PartitionOffsets();
+        offsets.received(10);
+        offsets.received(11);
+
+        // Act
+        offsets.completed(11);
+        offsets.completed(10);
+
+        // Assert
+        assertEquals(OptionalLong.of(12), offsets.takeCommittable());
+    }
+
+    @Test
+    public void takeCommittable_unchangedOffset_shouldOnlyBeReturnedOnce() {
+        // Arrange
+        var offsets = new PartitionOffsets();
+        offsets.received(10);
+        offsets.completed(10);
+
+        // Act
+        var first = offsets.takeCommittable();
+        var second = offsets.takeCommittable();
+
+        // Assert
+        assertEquals(OptionalLong.of(11), first);
+        assertEquals(OptionalLong.empty(), second);
+    }
+}
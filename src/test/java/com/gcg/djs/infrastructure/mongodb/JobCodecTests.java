@@ -0,0 +1,132 @@
+package com.gcg.djs.infrastructure.mongodb;
+
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobError;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.infrastructure.mongdb.JobCodec;
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobCodecTests {
+
+    private final JobCodec codec = new JobCodec(4);
+
+    @Test
+    void decode_shouldReturnTheEncodedJob() {
+        // Arrange
+        Job job = getJob();
+
+        // Act
+        Job decoded = decode(encode(job));
+
+        // Assert
+        assertEquals(job, decoded);
+    }
+
+    @Test
+    void encode_shouldStoreSchemaV2WithThePartition() {
+        // Arrange
+        Job job = getJob();
+
+        // Act
+        BsonDocument document = encode(job);
+
+        // Assert
+        assertEquals(new BsonBinary(job.id()), document.get("_id"));
+        assertEquals(new BsonDateTime(job.nextExecution().toEpochMilli()), document.get("nextExecution"));
+        assertEquals(
+                new BsonDateTime(job.error().errorTimestamp().toEpochMilli()),
+                document.getDocument("error").get("errorTimestamp"));
+        assertTrue(document.get("executionEnd").isNull());
+        assertTrue(document.containsKey("partition"));
+    }
+
+    @Test
+    void decode_shouldSkipFieldsStoredNextToTheJob() {
+        // Arrange
+        Job job = getJob();
+        BsonDocument document = encode(job)
+                .append("claimToken", new BsonString(UUID.randomUUID().toString()))
+                .append("leaseExpiresAt", new BsonDateTime(0))
+                .append("errors", new BsonArray());
+
+        // Act
+        Job decoded = decode(document);
+
+        // Assert
+        assertEquals(job, decoded);
+    }
+
+    @Test
+    void decode_shouldReadJobsStoredBeforeSchemaV2() {
+        // Arrange
+        Job job = getJob();
+        BsonDocument document = encode(job);
+        document.put("_id", new BsonString(job.id().toString()));
+        document.getDocument("error").put("errorTimestamp", new BsonString(job.error().errorTimestamp().toString()));
+
+        // Act
+        Job decoded = decode(document);
+
+        // Assert
+        assertEquals(job, decoded);
+    }
+
+    @Test
+    void decode_shouldDefaultRetries_WhenTheyAreMissing() {
+        // Arrange
+        BsonDocument document = encode(getJob());
+        document.remove("retries");
+        document.put("name", new BsonString("Renamed"));
+        document.put("partition", new BsonInt32(0));
+
+        // Act
+        Job decoded = decode(document);
+
+        // Assert
+        assertEquals(0, decoded.retries());
+        assertEquals("Renamed", decoded.name());
+    }
+
+    private BsonDocument encode(Job job) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), job, EncoderContext.builder().build());
+        return document;
+    }
+
+    private Job decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    private static Job getJob() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new Job(
+                UUID.randomUUID(),
+                "Job Name",
+                "Description",
+                "Location",
+                JobStatus.FAILED,
+                now,
+                now,
+                now,
+                null,
+                now.plusSeconds(60),
+                2,
+                new JobError("exit code 1", "java.io.IOException", now));
+    }
+}
@@ -5,7 +5,9 @@ import com.gcg.djs.domain.common.filters.NumberFilter;
 import com.gcg.djs.domain.common.filters.ComparisonFilter;
 import com.gcg.djs.domain.common.filters.LogicalFilter;
 import com.gcg.djs.domain.common.filters.LogicalOperator;
+import com.gcg.djs.domain.common.QueryParameters;
 import com.gcg.djs.infrastructure.mongdb.MongoFilterConverter;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.junit.jupiter.api.Test;
 
@@ -112,4 +114,13 @@ public class MongoFilterConverterTests {
         assertNotNull(actualBson);
         assertEquals("Or Filter{filters=[]}", actualBson.toString());
     }
+
+    @Test
+    public void toFilter_withoutFilters_shouldMatchEveryDocument() {
+        // Act
+        Bson actualBson = MongoFilterConverter.toFilter(new QueryParameters(List.of(), List.of()));
+
+        // Assert
+        assertEquals(new Document(), actualBson);
+    }
 }
@@ -0,0 +1,88 @@
+package com.gcg.djs.infrastructure.mongodb;
+
+import com.gcg.djs.domain.common.QueryParametersBuilder;
+import com.gcg.djs.infrastructure.mongdb.MongoSorts;
+import com.mongodb.client.model.Sorts;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MongoSortsTests {
+
+    @Test
+    public void orderOf_shouldBreakTiesById() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .sortByAsc("status")
+                .sortByDesc("createdDate")
+                .build();
+
+        // Act
+        var order = MongoSorts.orderOf(parameters.sorts());
+
+        // Assert
+        assertEquals(
+                Sorts.orderBy(Sorts.ascending("status"), Sorts.descending("createdDate"), Sorts.descending("_id")).toString(),
+                order.toString());
+    }
+
+    @Test
+    public void orderOf_sortedById_shouldSortByTheStoredId() {
+        // Arrange
+        var parameters = new QueryParametersBuilder().sortByDesc("id").build();
+
+        // Act
+        var order = MongoSorts.orderOf(parameters.sorts());
+
+        // Assert
+        assertEquals(Sorts.orderBy(Sorts.descending("_id")).toString(), order.toString());
+        assertTrue(MongoSorts.isServedByIndex("jobs", parameters));
+    }
+
+    @Test
+    public void orderOf_withoutSorts_shouldKeepTheNaturalOrder() {
+        // Act & Assert
+        assertNull(MongoSorts.orderOf(List.of()));
+    }
+
+    @Test
+    public void isServedByIndex_shouldAcceptIndexedSortsInEitherDirection() {
+        // Arrange
+        var ascending = new QueryParametersBuilder().sortByAsc("createdDate").build();
+        var descending = new QueryParametersBuilder().sortByDesc("createdDate").build();
+
+        // Act & Assert
+        assertTrue(MongoSorts.isServedByIndex("jobs", ascending));
+        assertTrue(MongoSorts.isServedByIndex("jobs", descending));
+    }
+
+    @Test
+    public void isServedByIndex_shouldRejectSortsWithoutIndex() {
+        // Arrange
+        var parameters = new QueryParametersBuilder().sortByAsc("name").build();
+
+        // Act & Assert
+        assertFalse(MongoSorts.isServedByIndex("jobs", parameters));
+    }
+
+    @Test
+    public void isServedByIndex_shouldRejectIndexesWhosePrefixIsNotMatchedByEquality() {
+        // Arrange
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .equal("status", "CREATED")
+                .sortByAsc("nextExecution")
+                .build();
+
+        // Act & Assert
+        assertFalse(MongoSorts.isServedByIndex("jobs", parameters));
+    }
+
+    @Test
+    public void isServedByIndex_withoutSorts_shouldBeServed() {
+        // Act & Assert
+        assertTrue(MongoSorts.isServedByIndex("jobs", new QueryParametersBuilder().build()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.gcg.djs.integration.config;
+
+import com.gcg.djs.application.restapi.AppConfig;
+import com.gcg.djs.domain.interfaces.services.IRecurringJobListener;
+import com.gcg.djs.domain.interfaces.services.IRecurringJobService;
+import com.gcg.djs.domain.models.recurringjob.CreateRecurringJob;
+import com.gcg.djs.domain.models.recurringjob.RecurringJob;
+import com.gcg.djs.domain.services.recurringjobs.RecurringJobSchedulerService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AppConfigTests {
+    private static final String TEST_MARK = "5f0f7b8e-3c55-4f3e-9f43-7d1e2a4b6c90";
+
+    private final MongoClient mongoClient;
+    private final MongoDatabase mongoDatabase;
+    private final ApplicationContextRunner contextRunner;
+
+    public AppConfigTests() {
+        this.mongoClient = MongoClients.create("mongodb://localhost:27017");
+        this.mongoDatabase = this.mongoClient.getDatabase("jobschedulerdb");
+        this.contextRunner = new ApplicationContextRunner()
+                .withUserConfiguration(AppConfig.class)
+                .withBean(MongoClient.class, () -> MongoClients.create("mongodb://localhost:27017"))
+                .withPropertyValues(
+                        "spring.data.mongodb.database=jobschedulerdb",
+                        "scheduler.partition-count=64",
+                        "scheduler.schema-migration.enabled=false",
+                        "scheduler.schema-migration.batch-size=500",
+                        "scheduler.schema-migration.batch-pause-millis=200");
+    }
+
+    @BeforeEach
+    public void databaseCleanups() {
+        this.mongoDatabase.getCollection("recurringJobs").deleteMany(Filters.regex("name", TEST_MARK));
+        this.mongoDatabase.getCollection("jobs").deleteMany(Filters.regex("name", TEST_MARK));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        databaseCleanups();
+        mongoClient.close();
+    }
+
+    @Test
+    public void recurringJobService_IsWired_SchedulerIsTheListener() {
+        contextRunner.run(context -> assertSame(
+                context.getBean(RecurringJobSchedulerService.class),
+                context.getBean(IRecurringJobListener.class)));
+    }
+
+    @Test
+    public void createRecurringJob_AfterTheSchedulerLoadedItsIndex_SchedulerMaterializesItWithoutWaitingForASync() {
+        contextRunner.run(context -> {
+            // Arrange
+            var scheduler = context.getBean(RecurringJobSchedulerService.class);
+            var recurringJobService = context.getBean(IRecurringJobService.class);
+
+            // Loads the index, the recurring job created below is not in it
+            scheduler.materializeDueJobsPage();
+
+            // Act
+            RecurringJob created = recurringJobService.createRecurringJob(new CreateRecurringJob(
+                    "* * * * *",
+                    "Every minute - " + TEST_MARK,
+                    "Recurring job created through the Spring config",
+                    "Location",
+                    null));
+
+            int materialized = scheduler.materializeDueJobsPage();
+
+            // Assert
+            assertTrue(materialized >= 1);
+            assertTrue(mongoDatabase.getCollection("jobs").countDocuments(Filters.regex("name", TEST_MARK)) >= 1);
+            assertNotNull(created.nextRun());
+        });
+    }
+}
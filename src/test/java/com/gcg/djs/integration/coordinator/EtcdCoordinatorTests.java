@@ -0,0 +1,114 @@
+package com.gcg.djs.integration.coordinator;
+
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.infrastructure.etcd.EtcdCoordinator;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EtcdCoordinatorTests {
+    private final String electionName = "djs-tests-" + UUID.randomUUID();
+
+    private Client client;
+
+    @Mock
+    private ILog log;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        this.client = Client.builder().endpoints("http://localhost:2379").build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    public void awaitLeadership_SingleNode_BecomesLeader() throws InterruptedException {
+        // Arrange
+        var coordinator = new EtcdCoordinator(client, electionName, "node-1", 5, log);
+
+        // Act
+        var isLeader = coordinator.awaitLeadership(Duration.ofSeconds(5));
+
+        // Assert
+        assertTrue(isLeader);
+        assertTrue(coordinator.isLeader());
+
+        coordinator.close();
+    }
+
+    @Test
+    public void awaitLeadership_LeaderResigns_FollowerTakesOver() throws InterruptedException {
+        // Arrange
+        var leader = new EtcdCoordinator(client, electionName, "node-1", 5, log);
+        var follower = new EtcdCoordinator(client, electionName, "node-2", 5, log);
+
+        assertTrue(leader.awaitLeadership(Duration.ofSeconds(5)));
+        assertFalse(follower.awaitLeadership(Duration.ofMillis(500)));
+
+        // Act
+        leader.close();
+        var followerIsLeader = follower.awaitLeadership(Duration.ofSeconds(1));
+
+        // Assert
+        assertTrue(followerIsLeader);
+        assertFalse(leader.isLeader());
+
+        follower.close();
+    }
+
+    @Test
+    public void leadershipLostListener_LeaseRevoked_ListenerIsInvokedAndLeadershipIsRegained() throws Exception {
+        // Arrange
+        var coordinator = new EtcdCoordinator(client, electionName, "node-1", 5, log);
+        var lost = new AtomicBoolean(false);
+        coordinator.addLeadershipLostListener(() -> lost.set(true));
+
+        assertTrue(coordinator.awaitLeadership(Duration.ofSeconds(5)));
+
+        // The leader key of the election is held by the lease of the coordinator, and only by it
+        var leaderKey = client.getElectionClient()
+                .leader(ByteSequence.from(electionName, StandardCharsets.UTF_8))
+                .get()
+                .getKv();
+
+        // Act, revoking the lease deletes the leader key the same way an expired lease does
+        client.getLeaseClient().revoke(leaderKey.getLease()).get();
+
+        // Assert
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!lost.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertTrue(lost.get());
+
+        // The coordinator campaigns again with a new lease, and as the only node it wins
+        assertTrue(coordinator.awaitLeadership(Duration.ofSeconds(10)));
+        assertNotEquals(
+                leaderKey.getLease(),
+                client.getElectionClient()
+                        .leader(ByteSequence.from(electionName, StandardCharsets.UTF_8))
+                        .get()
+                        .getKv()
+                        .getLease());
+
+        coordinator.close();
+    }
+}
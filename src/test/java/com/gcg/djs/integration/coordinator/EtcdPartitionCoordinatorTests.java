@@ -0,0 +1,140 @@
+package com.gcg.djs.integration.coordinator;
+
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.infrastructure.etcd.EtcdPartitionCoordinator;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EtcdPartitionCoordinatorTests {
+    private static final int PARTITION_COUNT = 16;
+
+    private final String clusterName = "djs-tests-" + UUID.randomUUID();
+    private final Set<Integer> allPartitions = IntStream.range(0, PARTITION_COUNT).boxed().collect(Collectors.toSet());
+
+    private Client client;
+
+    @Mock
+    private ILog log;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        this.client = Client.builder().endpoints("http://localhost:2379").build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    public void awaitLeadership_SingleNode_OwnsEveryPartition() throws InterruptedException {
+        // Arrange
+        var coordinator = new EtcdPartitionCoordinator(client, clusterName, "node-1", 5, PARTITION_COUNT, log);
+
+        // Act
+        var isLeader = coordinator.awaitLeadership(Duration.ofSeconds(5));
+
+        // Assert
+        assertTrue(isLeader);
+        assertEquals(allPartitions, coordinator.ownedPartitions());
+
+        coordinator.close();
+    }
+
+    @Test
+    public void awaitLeadership_TwoNodes_SplitThePartitions() throws InterruptedException {
+        // Arrange
+        var first = new EtcdPartitionCoordinator(client, clusterName, "node-1", 5, PARTITION_COUNT, log);
+        var second = new EtcdPartitionCoordinator(client, clusterName, "node-2", 5, PARTITION_COUNT, log);
+
+        // Act
+        first.awaitLeadership(Duration.ofSeconds(5));
+        second.awaitLeadership(Duration.ofSeconds(5));
+
+        // Assert, every partition ends up owned by exactly one node once both saw the other join
+        assertTrue(waitUntil(() -> first.ownedPartitions().size() + second.ownedPartitions().size() == PARTITION_COUNT
+                && first.ownedPartitions().size() < PARTITION_COUNT));
+
+        var owned = new HashSet<>(first.ownedPartitions());
+        owned.addAll(second.ownedPartitions());
+        assertEquals(allPartitions, owned);
+
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void close_NodeLeaves_RemainingNodeTakesOverItsPartitions() throws InterruptedException {
+        // Arrange
+        var leaving = new EtcdPartitionCoordinator(client, clusterName, "node-1", 5, PARTITION_COUNT, log);
+        var remaining = new EtcdPartitionCoordinator(client, clusterName, "node-2", 5, PARTITION_COUNT, log);
+
+        leaving.awaitLeadership(Duration.ofSeconds(5));
+        remaining.awaitLeadership(Duration.ofSeconds(5));
+        assertTrue(waitUntil(() -> remaining.ownedPartitions().size() < PARTITION_COUNT));
+
+        // Act
+        leaving.close();
+
+        // Assert
+        assertTrue(waitUntil(() -> remaining.ownedPartitions().equals(allPartitions)));
+        assertTrue(leaving.ownedPartitions().isEmpty());
+
+        remaining.close();
+    }
+
+    @Test
+    public void leadershipLostListener_LeaseRevoked_ListenerIsInvoked() throws Exception {
+        // Arrange
+        var coordinator = new EtcdPartitionCoordinator(client, clusterName, "node-1", 5, PARTITION_COUNT, log);
+        var lost = new AtomicBoolean(false);
+        coordinator.addLeadershipLostListener(() -> lost.set(true));
+
+        assertTrue(coordinator.awaitLeadership(Duration.ofSeconds(5)));
+
+        // The member key of the node is bound to its lease
+        var memberKey = client.getKVClient()
+                .get(ByteSequence.from("/" + clusterName + "/members/node-1", StandardCharsets.UTF_8))
+                .get()
+                .getKvs()
+                .get(0);
+
+        // Act
+        client.getLeaseClient().revoke(memberKey.getLease()).get();
+
+        // Assert
+        assertTrue(waitUntil(lost::get));
+        assertTrue(coordinator.ownedPartitions().isEmpty());
+
+        coordinator.close();
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,141 @@
+package com.gcg.djs.integration.repositories;
+
+import com.gcg.djs.domain.common.Partitioner;
+import com.gcg.djs.domain.common.BulkResult;
+import com.gcg.djs.domain.common.ConditionalWrite;
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.common.QueryParametersBuilder;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.infrastructure.mongdb.JobRepository;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonBinary;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static com.mongodb.client.model.Filters.eq;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobRepositoryBulkWriteTests {
+    private final MongoClient mongoClient;
+    private final MongoDatabase mongoDatabase;
+
+    private JobRepository jobRepository;
+
+    public JobRepositoryBulkWriteTests() {
+        this.mongoClient = MongoClients.create("mongodb://localhost:27017");
+        this.mongoDatabase = this.mongoClient.getDatabase("jobschedulerdb");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = new JobRepository(
+                mongoDatabase, Partitioner.DEFAULT_PARTITION_COUNT, MongoIndexProvisioner.indexedFields("jobs"));
+    }
+
+    @Test
+    public void createAll_shouldCreateTheRestOfTheBatch_WhenOneJobAlreadyExists() {
+        // Arrange
+        Job existing = jobRepository.create(getJob());
+        List<Job> batch = List.of(getJob(), existing, getJob());
+
+        // Act
+        BulkResult<Job> result = jobRepository.createAll(batch);
+
+        // Assert
+        assertEquals(BulkResult.Status.APPLIED, result.items().get(0).status());
+        assertEquals(BulkResult.Status.FAILED, result.items().get(1).status());
+        assertNotNull(result.items().get(1).error());
+        assertEquals(BulkResult.Status.APPLIED, result.items().get(2).status());
+        assertNotNull(jobRepository.getById(batch.get(2).id()));
+    }
+
+    @Test
+    public void transitionAll_shouldOnlyApplyWritesWhosePreconditionHolds() {
+        // Arrange
+        Job current = jobRepository.create(getJob());
+        Job stale = jobRepository.create(getJob());
+
+        jobRepository.update(new Job.Builder(stale).modifiedDate(stale.modifiedDate().plusSeconds(1)).build());
+
+        // Act
+        BulkResult<Job> result = jobRepository.transitionAll(List.of(
+                new ConditionalWrite<>(canceled(current), unchanged(current)),
+                new ConditionalWrite<>(canceled(stale), unchanged(stale))));
+
+        // Assert
+        assertEquals(BulkResult.Status.APPLIED, result.items().get(0).status());
+        assertEquals(BulkResult.Status.NOT_MATCHED, result.items().get(1).status());
+        assertEquals(JobStatus.CANCELED, jobRepository.getById(current.id()).status());
+        assertEquals(JobStatus.CREATED, jobRepository.getById(stale.id()).status());
+    }
+
+    @Test
+    public void transitionAll_shouldReleaseTheLease_WhenTheJobCompletes() {
+        // Arrange
+        Job created = jobRepository.create(getJob());
+        Job executing = new Job.Builder(created)
+                .status(JobStatus.EXECUTING)
+                .modifiedDate(created.modifiedDate().plusMillis(1))
+                .build();
+        assertTrue(jobRepository.startExecution(executing, unchanged(created), "worker-1", Instant.now().plusSeconds(30)));
+
+        Job completed = new Job.Builder(executing)
+                .status(JobStatus.COMPLETED)
+                .modifiedDate(executing.modifiedDate().plusMillis(1))
+                .build();
+
+        // Act
+        BulkResult<Job> result = jobRepository.transitionAll(
+                List.of(new ConditionalWrite<>(completed, unchanged(executing))));
+
+        // Assert
+        assertEquals(BulkResult.Status.APPLIED, result.items().get(0).status());
+
+        Document stored = mongoDatabase.getCollection("jobs").find(eq("_id", new BsonBinary(created.id()))).first();
+        assertNotNull(stored);
+        assertFalse(stored.containsKey("leaseOwner"));
+        assertFalse(stored.containsKey("leaseExpiresAt"));
+    }
+
+    private static Job canceled(Job job) {
+        return new Job.Builder(job)
+                .status(JobStatus.CANCELED)
+                .modifiedDate(job.modifiedDate().plusMillis(1))
+                .build();
+    }
+
+    private static QueryParameters unchanged(Job job) {
+        return new QueryParametersBuilder()
+                .and()
+                .equal("status", job.status().toString())
+                .equal("modifiedDate", job.modifiedDate())
+                .build();
+    }
+
+    private static Job getJob() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new Job(
+                UUID.randomUUID(),
+                "Job Name",
+                "Description",
+                "Location",
+                JobStatus.CREATED,
+                now,
+                now,
+                null,
+                null,
+                now,
+                0,
+                null);
+    }
+}
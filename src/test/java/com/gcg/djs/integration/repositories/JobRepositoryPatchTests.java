@@ -0,0 +1,92 @@
+package com.gcg.djs.integration.repositories;
+
+import com.gcg.djs.domain.common.Partitioner;
+import com.gcg.djs.domain.common.QueryParameters;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.infrastructure.mongdb.JobRepository;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobRepositoryPatchTests {
+    private final MongoClient mongoClient;
+    private final MongoDatabase mongoDatabase;
+
+    private JobRepository jobRepository;
+
+    public JobRepositoryPatchTests() {
+        this.mongoClient = MongoClients.create("mongodb://localhost:27017");
+        this.mongoDatabase = this.mongoClient.getDatabase("jobschedulerdb");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = new JobRepository(
+                mongoDatabase, Partitioner.DEFAULT_PARTITION_COUNT, MongoIndexProvisioner.indexedFields("jobs"));
+    }
+
+    @Test
+    public void patch_shouldOnlyWriteChangedFields() {
+        // Arrange
+        Job job = jobRepository.create(getJob());
+        jobRepository.update(new Job.Builder(job).description("Changed by another writer").build());
+
+        Job renamed = new Job.Builder(job).name("Renamed").build();
+
+        // Act
+        jobRepository.patch(job, renamed);
+
+        // Assert
+        Job stored = jobRepository.getById(job.id());
+        assertEquals("Renamed", stored.name());
+        assertEquals("Changed by another writer", stored.description());
+    }
+
+    @Test
+    public void updateIf_shouldOnlyWriteTheStateOfTheJob() {
+        // Arrange
+        Job job = jobRepository.create(getJob());
+        Job canceled = new Job.Builder(job)
+                .name("Ignored")
+                .status(JobStatus.CANCELED)
+                .build();
+
+        // Act
+        boolean updated = jobRepository.updateIf(canceled, new QueryParameters(List.of(), List.of()));
+
+        // Assert
+        assertTrue(updated);
+
+        Job stored = jobRepository.getById(job.id());
+        assertEquals(JobStatus.CANCELED, stored.status());
+        assertEquals("Job Name", stored.name());
+    }
+
+    private static Job getJob() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new Job(
+                UUID.randomUUID(),
+                "Job Name",
+                "Description",
+                "Location",
+                JobStatus.CREATED,
+                now,
+                now,
+                null,
+                null,
+                now,
+                0,
+                null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.gcg.djs.integration.repositories;
+
+import com.gcg.djs.domain.common.Partitioner;
+import com.gcg.djs.domain.common.QueryParametersBuilder;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.infrastructure.mongdb.JobRepository;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobRepositoryProjectionTests {
+    private final MongoClient mongoClient;
+    private final MongoDatabase mongoDatabase;
+
+    private JobRepository jobRepository;
+
+    public JobRepositoryProjectionTests() {
+        this.mongoClient = MongoClients.create("mongodb://localhost:27017");
+        this.mongoDatabase = this.mongoClient.getDatabase("jobschedulerdb");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = new JobRepository(
+                mongoDatabase, Partitioner.DEFAULT_PARTITION_COUNT, MongoIndexProvisioner.indexedFields("jobs"));
+    }
+
+    @Test
+    public void getPage_shouldOnlyReadTheRequestedFields() {
+        // Arrange
+        Job job = jobRepository.create(getJob());
+
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .equal("name", job.name())
+                .fields(List.of("id", "status"))
+                .build();
+
+        // Act
+        var page = jobRepository.getPage(1, 10, parameters);
+
+        // Assert
+        Job read = page.items().get(0);
+        assertEquals(job.id(), read.id());
+        assertEquals(JobStatus.CREATED, read.status());
+        assertNull(read.name());
+        assertNull(read.description());
+        assertNull(read.nextExecution());
+    }
+
+    @Test
+    public void getPageAfter_shouldReadTheSortFieldForTheCursor() {
+        // Arrange
+        String name = "Projected " + UUID.randomUUID();
+        jobRepository.create(new Job.Builder(getJob()).jobId(UUID.randomUUID()).name(name).build());
+        jobRepository.create(new Job.Builder(getJob()).jobId(UUID.randomUUID()).name(name).build());
+
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .equal("name", name)
+                .sortByAsc("createdDate")
+                .fields(List.of("status"))
+                .build();
+
+        // Act
+        var first = jobRepository.getPageAfter(null, 1, parameters);
+
+        // Assert
+        assertTrue(first.hasNext());
+        assertNotNull(first.items().get(0).createdDate());
+        assertNull(first.items().get(0).name());
+    }
+
+    private static Job getJob() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new Job(
+                UUID.randomUUID(),
+                "Projected " + UUID.randomUUID(),
+                "Description",
+                "Location",
+                JobStatus.CREATED,
+                now,
+                now,
+                null,
+                null,
+                now,
+                0,
+                null);
+    }
+}
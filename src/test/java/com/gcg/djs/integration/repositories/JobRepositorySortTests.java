@@ -0,0 +1,100 @@
+package com.gcg.djs.integration.repositories;
+
+import com.gcg.djs.domain.common.Partitioner;
+import com.gcg.djs.domain.common.QueryParametersBuilder;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.infrastructure.mongdb.JobRepository;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobRepositorySortTests {
+    private final MongoClient mongoClient;
+    private final MongoDatabase mongoDatabase;
+
+    private JobRepository jobRepository;
+
+    public JobRepositorySortTests() {
+        this.mongoClient = MongoClients.create("mongodb://localhost:27017");
+        this.mongoDatabase = this.mongoClient.getDatabase("jobschedulerdb");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = new JobRepository(
+                mongoDatabase, Partitioner.DEFAULT_PARTITION_COUNT, MongoIndexProvisioner.indexedFields("jobs"));
+    }
+
+    @Test
+    public void getPage_shouldSortByTheRequestedField() {
+        // Arrange
+        String name = "Sorted " + UUID.randomUUID();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Job oldest = jobRepository.create(getJob(name, now.minusSeconds(120), 2));
+        Job newest = jobRepository.create(getJob(name, now, 0));
+        Job middle = jobRepository.create(getJob(name, now.minusSeconds(60), 1));
+
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .equal("name", name)
+                .sortByDesc("createdDate")
+                .build();
+
+        // Act
+        var page = jobRepository.getPage(1, 10, parameters);
+
+        // Assert
+        assertEquals(List.of(newest.id(), middle.id(), oldest.id()), page.items().stream().map(Job::id).toList());
+    }
+
+    @Test
+    public void getPage_shouldSortUnindexedFields_WhenFewJobsMatch() {
+        // Arrange
+        String name = "Sorted " + UUID.randomUUID();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Job twice = jobRepository.create(getJob(name, now, 2));
+        Job never = jobRepository.create(getJob(name, now, 0));
+        Job once = jobRepository.create(getJob(name, now, 1));
+
+        var parameters = new QueryParametersBuilder()
+                .and()
+                    .equal("name", name)
+                .sortByAsc("retries")
+                .build();
+
+        // Act
+        var page = jobRepository.getPage(1, 10, parameters);
+
+        // Assert
+        assertEquals(List.of(never.id(), once.id(), twice.id()), page.items().stream().map(Job::id).toList());
+    }
+
+    private static Job getJob(String name, Instant createdDate, int retries) {
+        return new Job(
+                UUID.randomUUID(),
+                name,
+                "Description",
+                "Location",
+                JobStatus.CREATED,
+                createdDate,
+                createdDate,
+                null,
+                null,
+                createdDate,
+                retries,
+                null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.gcg.djs.integration.repositories;
+
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class MongoIndexProvisionerTests {
+    private final MongoClient mongoClient;
+    private final MongoDatabase mongoDatabase;
+
+    @Mock
+    private ILog log;
+
+    private MongoIndexProvisioner provisioner;
+
+    public MongoIndexProvisionerTests() {
+        this.mongoClient = MongoClients.create("mongodb://localhost:27017");
+        this.mongoDatabase = this.mongoClient.getDatabase("jobschedulerdb");
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        provisioner = new MongoIndexProvisioner(mongoDatabase, log);
+    }
+
+    @Test
+    public void provision_shouldCoverEveryQueryPath() {
+        // Act
+        MongoIndexProvisioner.Report report = provisioner.provision();
+
+        // Assert
+        assertTrue(report.uncoveredQueryPaths().isEmpty(), "Uncovered: " + report.uncoveredQueryPaths());
+        assertTrue(report.conflictingIndexes().isEmpty());
+        verify(log, never()).logWarning(anyString());
+    }
+
+    @Test
+    public void provision_shouldBeRepeatable() {
+        // Arrange
+        provisioner.provision();
+
+        // Act
+        MongoIndexProvisioner.Report report = provisioner.provision();
+
+        // Assert
+        assertTrue(report.conflictingIndexes().isEmpty());
+        assertTrue(indexNames("jobs").containsAll(List.of("jobs_due", "jobs_failed", "jobs_executing")));
+        assertTrue(indexNames("recurringJobs").contains("recurring_due"));
+    }
+
+    private List<String> indexNames(String collection) {
+        return mongoDatabase.getCollection(collection)
+                .listIndexes()
+                .map(index -> index.getString("name"))
+                .into(new ArrayList<>());
+    }
+}
@@ -0,0 +1,133 @@
+package com.gcg.djs.integration.repositories;
+
+import com.gcg.djs.domain.common.Partitioner;
+import com.gcg.djs.domain.interfaces.external.ILog;
+import com.gcg.djs.domain.models.jobs.Job;
+import com.gcg.djs.domain.models.jobs.JobStatus;
+import com.gcg.djs.infrastructure.mongdb.JobRepository;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
+import com.gcg.djs.infrastructure.mongdb.MongoSchemaMigrator;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MongoSchemaMigratorTests {
+    private final MongoClient mongoClient;
+    private final MongoDatabase mongoDatabase;
+
+    @Mock
+    private ILog log;
+
+    private JobRepository jobRepository;
+    private MongoSchemaMigrator migrator;
+
+    public MongoSchemaMigratorTests() {
+        this.mongoClient = MongoClients.create("mongodb://localhost:27017");
+        this.mongoDatabase = this.mongoClient.getDatabase("jobschedulerdb");
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jobRepository = new JobRepository(
+                mongoDatabase, Partitioner.DEFAULT_PARTITION_COUNT, MongoIndexProvisioner.indexedFields("jobs"));
+        migrator = new MongoSchemaMigrator(mongoClient, mongoDatabase, log, 10, Duration.ZERO);
+    }
+
+    @Test
+    public void getById_shouldReadJobsStoredBeforeSchemaV2() {
+        // Arrange
+        UUID id = insertV1Job();
+
+        // Act
+        Job job = jobRepository.getById(id);
+
+        // Assert
+        assertNotNull(job);
+        assertEquals(id, job.id());
+        assertEquals("exit code 1", job.error().errorMessage());
+    }
+
+    @Test
+    public void update_shouldUpdateJobsStoredBeforeSchemaV2() {
+        // Arrange
+        UUID id = insertV1Job();
+        Job job = jobRepository.getById(id);
+
+        // Act
+        jobRepository.update(new Job.Builder(job).name("Renamed").build());
+
+        // Assert
+        assertEquals("Renamed", jobRepository.getById(id).name());
+    }
+
+    @Test
+    public void migrate_shouldKeepJobsReadable() {
+        // Arrange
+        UUID id = insertV1Job();
+        Job before = jobRepository.getById(id);
+
+        // Act
+        migrator.migrate();
+
+        // Assert
+        assertEquals(before, jobRepository.getById(id));
+    }
+
+    @Test
+    public void migrate_shouldReportWhereItStopped() {
+        // Arrange
+        insertV1Job();
+
+        // Act
+        migrator.migrate();
+
+        // Assert, the tests run against the replica set of compose.yaml, so the migration runs to the end
+        var progress = migrator.progress();
+        assertEquals(MongoSchemaMigrator.Status.COMPLETED, progress.status());
+        assertNotNull(progress.startedAt());
+        assertNotNull(progress.finishedAt());
+    }
+
+    @Test
+    public void constructor_shouldThrow_WhenBatchSizeIsInvalid() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new MongoSchemaMigrator(mongoClient, mongoDatabase, log, 0, Duration.ZERO));
+    }
+
+    private UUID insertV1Job() {
+        UUID id = UUID.randomUUID();
+        Date now = Date.from(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+
+        mongoDatabase.getCollection("jobs").insertOne(new Document("_id", id.toString())
+                .append("name", "Job Name")
+                .append("description", "Description")
+                .append("binLocation", "Location")
+                .append("status", JobStatus.FAILED.toString())
+                .append("retries", 1)
+                .append("error", new Document("errorMessage", "exit code 1")
+                        .append("errorType", "java.io.IOException")
+                        .append("errorTimestamp", Instant.now().toString()))
+                .append("createdDate", now)
+                .append("modifiedDate", now)
+                .append("executionStart", null)
+                .append("executionEnd", null)
+                .append("nextExecution", now));
+
+        return id;
+    }
+}
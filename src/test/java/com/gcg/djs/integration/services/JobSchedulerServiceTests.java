@@ -1,11 +1,13 @@
 package com.gcg.djs.integration.services;
 
+import com.gcg.djs.domain.common.Partitioner;
 import com.gcg.djs.domain.interfaces.external.ILog;
 import com.gcg.djs.domain.services.jobs.JobService;
 import com.gcg.djs.domain.services.scheduler.JobSchedulerService;
 import com.gcg.djs.infrastructure.kafka.JobMessageQueue;
 import com.gcg.djs.infrastructure.kafka.KafkaProducer;
 import com.gcg.djs.infrastructure.mongdb.JobRepository;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
 import com.mongodb.client.MongoClients;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -20,7 +22,8 @@ public class JobSchedulerServiceTests {
         var mongoClient = MongoClients.create("mongodb://localhost:27017");
         var mongoDatabase = mongoClient.getDatabase("jobschedulerdb");
 
-        var jobRepository = new JobRepository(mongoDatabase);
+        var jobRepository = new JobRepository(
+                mongoDatabase, Partitioner.DEFAULT_PARTITION_COUNT, MongoIndexProvisioner.indexedFields("jobs"));
         var jobService = new JobService(jobRepository, this.log);
 
         var messageQueue = new JobMessageQueue(
@@ -1,5 +1,6 @@
 package com.gcg.djs.integration.services;
 
+import com.gcg.djs.domain.common.Partitioner;
 import com.gcg.djs.domain.common.QueryParameters;
 import com.gcg.djs.domain.common.filters.*;
 import com.gcg.djs.domain.interfaces.external.ILog;
@@ -8,6 +9,7 @@ import com.gcg.djs.domain.models.errors.ValidationException;
 import com.gcg.djs.domain.models.jobs.*;
 import com.gcg.djs.domain.services.jobs.JobService;
 import com.gcg.djs.infrastructure.mongdb.JobRepository;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
 import com.gcg.djs.integration.utils.JobTestUtils;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
@@ -52,7 +54,8 @@ public class JobServiceTests {
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        var jobRepository = new JobRepository(this.mongoDatabase);
+        var jobRepository = new JobRepository(
+                this.mongoDatabase, Partitioner.DEFAULT_PARTITION_COUNT, MongoIndexProvisioner.indexedFields("jobs"));
         this.jobService = new JobService(jobRepository, this.log);
     }
 
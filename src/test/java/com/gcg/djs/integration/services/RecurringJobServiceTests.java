@@ -6,9 +6,11 @@ import com.gcg.djs.domain.interfaces.external.ILog;
 import com.gcg.djs.domain.interfaces.services.IRecurringJobService;
 import com.gcg.djs.domain.models.errors.ValidationException;
 import com.gcg.djs.domain.models.recurringjob.CreateRecurringJob;
+import com.gcg.djs.domain.models.recurringjob.MisfirePolicy;
 import com.gcg.djs.domain.models.recurringjob.RecurringJob;
 import com.gcg.djs.domain.services.recurringjobs.RecurringJobService;
 import com.gcg.djs.infrastructure.cron.CronService;
+import com.gcg.djs.infrastructure.mongdb.MongoIndexProvisioner;
 import com.gcg.djs.infrastructure.mongdb.RecurringJobRepository;
 import com.gcg.djs.integration.utils.RecurringJobTestUtils;
 import com.mongodb.client.MongoClient;
@@ -55,7 +57,8 @@ public class RecurringJobServiceTests {
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        var recurringJobRepository = new RecurringJobRepository(this.mongoDatabase);
+        var recurringJobRepository = new RecurringJobRepository(
+                this.mongoDatabase, MongoIndexProvisioner.indexedFields("recurringJobs"));
         this.recurringJobService = new RecurringJobService(this.log, recurringJobRepository, new CronService());
     }
 
@@ -83,7 +86,9 @@ public class RecurringJobServiceTests {
         var createJob = new CreateRecurringJob(
                 midnightCron,
                 "Test Recurring Job 1 - " + TEST_MARK,
-                "Test Recurring Job description 1");
+                "Test Recurring Job description 1",
+                "Location",
+                null);
 
         LocalDateTime now = LocalDateTime.now();
         System.out.println("Current time: " + now);
@@ -123,7 +128,9 @@ public class RecurringJobServiceTests {
                 Instant.now().truncatedTo(ChronoUnit.SECONDS),
                 true,
                 Instant.now().plusSeconds(3600).truncatedTo(ChronoUnit.SECONDS),
-                null
+                null,
+                "Location",
+                MisfirePolicy.FIRE_ONCE
         );
 
         this.mongoDatabase
@@ -175,7 +182,9 @@ public class RecurringJobServiceTests {
                     Instant.now().truncatedTo(ChronoUnit.SECONDS),
                     true,
                     Instant.now().truncatedTo(ChronoUnit.SECONDS),
-                    null
+                    null,
+                    "Location",
+                    MisfirePolicy.FIRE_ONCE
             );
 
             jobs.add(job);
@@ -226,7 +235,9 @@ public class RecurringJobServiceTests {
                     Instant.now().minusSeconds(60 * 60 * (i + 1)),
                     true,
                     nextExecution,
-                    null
+                    null,
+                    "Location",
+                    MisfirePolicy.FIRE_ONCE
             );
 
             jobs.add(job);
@@ -296,7 +307,9 @@ public class RecurringJobServiceTests {
                 Instant.now(),
                 true,
                 Instant.now().plusSeconds(3600),
-                null
+                null,
+                "Location",
+                MisfirePolicy.FIRE_ONCE
         );
 
         this.mongoDatabase
@@ -334,7 +347,9 @@ public class RecurringJobServiceTests {
                 Instant.now(),
                 false,
                 Instant.now().plusSeconds(3600),
-                null
+                null,
+                "Location",
+                MisfirePolicy.FIRE_ONCE
         );
 
         this.mongoDatabase
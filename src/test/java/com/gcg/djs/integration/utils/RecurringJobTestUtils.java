@@ -1,5 +1,6 @@
 package com.gcg.djs.integration.utils;
 
+import com.gcg.djs.domain.models.recurringjob.MisfirePolicy;
 import com.gcg.djs.domain.models.recurringjob.RecurringJob;
 import org.bson.Document;
 
@@ -35,6 +36,7 @@ public class RecurringJobTestUtils {
         assertEquals(job.name(), doc.getString("name"));
         assertEquals(job.description(), doc.getString("description"));
         assertEquals(job.active(), doc.getBoolean("active"));
+        assertEquals(job.binLocation(), doc.getString("binLocation"));
 
         assertEquals(removeInstantPrecision(job.createdDate()), removeInstantPrecision(toInstantSafely(doc.getDate("createdDate"))));
         assertEquals(removeInstantPrecision(job.modifiedDate()), removeInstantPrecision(toInstantSafely(doc.getDate("modifiedDate"))));
@@ -51,7 +53,9 @@ public class RecurringJobTestUtils {
                 .append("modifiedDate", recurringJob.modifiedDate() != null ? Date.from(recurringJob.modifiedDate()) : null)
                 .append("active", recurringJob.active())
                 .append("nextRun", recurringJob.nextRun() != null ? Date.from(recurringJob.nextRun()) : null)
-                .append("lastRun", recurringJob.lastRun() != null ? Date.from(recurringJob.lastRun()) : null);
+                .append("lastRun", recurringJob.lastRun() != null ? Date.from(recurringJob.lastRun()) : null)
+                .append("binLocation", recurringJob.binLocation())
+                .append("misfirePolicy", recurringJob.misfirePolicy().toString());
     }
 
     public static RecurringJob documentToRecurringJob(Document doc) {
@@ -68,7 +72,9 @@ public class RecurringJobTestUtils {
                 toInstantSafely(doc.getDate("modifiedDate")),
                 doc.getBoolean("active"),
                 toInstantSafely(doc.getDate("nextRun")),
-                toInstantSafely(doc.getDate("lastRun"))
+                toInstantSafely(doc.getDate("lastRun")),
+                doc.getString("binLocation"),
+                doc.getString("misfirePolicy") != null ? MisfirePolicy.valueOf(doc.getString("misfirePolicy")) : null
         );
     }
 